@@ -0,0 +1,64 @@
+package aibe.hosik.analysis.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini 응답 파싱 비교: 기존 방식(문자열 -> Map -> 캐스팅) vs 스트리밍 파서(byte[] -> 필요한 필드만)
+ * 호출당 할당량은 gc 프로파일러의 gc.alloc.rate.norm 으로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeminiResponseParserBenchmark {
+    // 후보 텍스트 길이 (글자 수)
+    @Param({"1000", "20000"})
+    private int textLength;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        String text = "지원자의 경험이 모집 내용과 잘 맞습니다. ".repeat(textLength / 24 + 1).substring(0, textLength);
+        String json = """
+                {"candidates": [{"content": {"parts": [{"text": "%s"}], "role": "model"}, "finishReason": "STOP",
+                  "safetyRatings": [{"category": "HARM_CATEGORY_HATE_SPEECH", "probability": "NEGLIGIBLE"},
+                                    {"category": "HARM_CATEGORY_DANGEROUS_CONTENT", "probability": "NEGLIGIBLE"},
+                                    {"category": "HARM_CATEGORY_HARASSMENT", "probability": "NEGLIGIBLE"},
+                                    {"category": "HARM_CATEGORY_SEXUALLY_EXPLICIT", "probability": "NEGLIGIBLE"}],
+                  "avgLogprobs": -0.12}],
+                 "usageMetadata": {"promptTokenCount": 1800, "candidatesTokenCount": 420, "totalTokenCount": 2220},
+                 "modelVersion": "gemini-2.0-flash"}
+                """.formatted(text);
+        body = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public String mapBased() throws IOException {
+        Map<String, Object> parsed = objectMapper.readValue(new String(body, StandardCharsets.UTF_8), Map.class);
+        List<Map<String, Object>> candidates = (List<Map<String, Object>>) parsed.get("candidates");
+        Map<String, Object> content = (Map<String, Object>) candidates.get(0).get("content");
+        List<Map<String, Object>> parts = (List<Map<String, Object>>) content.get("parts");
+        return (String) parts.get(0).get("text");
+    }
+
+    @Benchmark
+    public GeminiResponse streaming() throws IOException {
+        return GeminiResponseParser.parse(body);
+    }
+}
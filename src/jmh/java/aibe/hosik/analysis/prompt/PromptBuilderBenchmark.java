@@ -0,0 +1,113 @@
+package aibe.hosik.analysis.prompt;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모델 1, 2 점수 분석 프롬프트 생성 비교
+ * - format: 기존 방식 (단계마다 String.format 두 번, 길이 제한 없음)
+ * - builder: 미리 해석한 템플릿으로 한 번 만들어 두 단계가 공유, 토큰 예산 적용
+ * 결과의 예상 입력 토큰 수는 보조 지표(tokens)로 함께 출력된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PromptBuilderBenchmark {
+    private static final long TOKEN_BUDGET = 8000;
+
+    // 이력서 길이 (글자 수)
+    @Param({"2000", "100000"})
+    private int resumeLength;
+
+    private final PromptBuilder promptBuilder = new PromptBuilder();
+    private String postContent;
+    private String resumeContent;
+    private final List<String> postSkills = List.of("Java", "Spring", "MySQL", "AWS");
+    private final List<String> resumeSkills = List.of("Java", "Spring", "React");
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Tokens {
+        // 마지막으로 만든 프롬프트의 예상 입력 토큰 수 (두 단계 합계)
+        public long tokens;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            tokens = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        postContent = "스프링 부트 기반 백엔드 개발자를 모집합니다. 주 2회 오프라인 회의가 있습니다. ".repeat(20);
+        resumeContent = "대규모 트래픽 서비스에서 결제 시스템을 운영하며 장애 대응 경험을 쌓았습니다.\n"
+                .repeat(resumeLength / 44 + 1).substring(0, resumeLength);
+    }
+
+    @Benchmark
+    public String format(Tokens counter) {
+        String first = formatPrompt();
+        String second = formatPrompt();
+        counter.tokens = TokenEstimator.estimate(first) + TokenEstimator.estimate(second);
+        return second;
+    }
+
+    @Benchmark
+    public String builder(Tokens counter) {
+        String context = promptBuilder.render(PromptTemplateId.MATCH_CONTEXT, Map.of(
+                "postContent", PromptField.shrinkable(postContent),
+                "requirementPersonality", PromptField.shrinkable("꼼꼼하고 책임감 있는 분"),
+                "postSkills", PromptField.fixed(postSkills)), TOKEN_BUDGET / 2).text();
+        String prompt = promptBuilder.render(PromptTemplateId.MATCH_APPLICANT, Map.of(
+                "resumeContent", PromptField.shrinkable(resumeContent),
+                "applyReason", PromptField.shrinkable("함께 성장하고 싶습니다."),
+                "resumePersonality", PromptField.shrinkable("적극적이고 꼼꼼합니다."),
+                "resumeSkills", PromptField.fixed(resumeSkills)), TOKEN_BUDGET - TokenEstimator.estimate(context)).text();
+        // 두 단계가 같은 프롬프트를 사용
+        counter.tokens = 2 * (TokenEstimator.estimate(context) + TokenEstimator.estimate(prompt));
+        return prompt;
+    }
+
+    private String formatPrompt() {
+        return String.format("""
+                        당신은 지원서를 보고 모집글에 가장 적합한 지원서를 점수화하고, 지원자를 선정하는데 최적화된 AI 어시스턴트입니다.
+                        모집글의 정보는 다음과 같습니다.
+                        [모집글 정보]
+                        - 모집 내용 : %s
+                        - 요구사항 및 요구성격, 우대사항 : %s
+                        - 필요 기술 스킬 : %s
+
+                        분석에 사용할 기준은 다음과 같습니다.
+                        [기준]
+                        - 내용 적합도 점수는 [모집글 정보]의 "모집 내용"과, [지원자 정보]의 "이력서", "지원 동기" 파트를 비교하여 지원자가 모집글에 어울리는 사람인지 판단해주세요.
+                        - 성격 점수는 [모집글 정보]의 "요구사항 및 요구성격, 우대사항"과 [지원자 정보]의 "성격 및 특징"을 비교하고 분석하여 두 사람이 성격적으로 잘 맞을지 판단해주세요.
+                        - 스킬 점수는 [모집글 정보]의 "필요 기술 스킬"과 [지원자 정보]의 "보유하고 있는 기술 스킬"의 일치도를 바탕으로 나타내주세요. 모두 일치할 경우 100. 그외에는 비슷한 스킬의 경우일 경우 점수 부여.
+
+                        [기준]을 바탕으로 아래 JSON 형식으로 분석 결과를 제공해주세요. 숫자의 크기가 클수록 일치도가 높고 적합한 사람입니다
+                        다른 설명이나 코드 블록 없이 JSON 객체 하나만 출력해주세요.
+                        [결과 형식]
+                        {"contentScore": 0-100 사이의 정수, "personalityScore": 0-100 사이의 정수, "skillScore": 0-100 사이의 정수, "reason": "내용 적합도, 성격, 스킬을 바탕으로 점수 선정 이유와 추천 이유를 400자 이내로 작성"}
+
+                        """, postContent, "꼼꼼하고 책임감 있는 분", postSkills)
+                + String.format("""
+                        지원자 정보는 다음과 같습니다.
+                        [지원자 정보]
+                        - 이력서 : %s
+                        - 지원 동기 : %s
+                        - 성격 및 특징 : %s
+                        - 보유하고 있는 기술 스킬 : %s
+                        """, resumeContent, "함께 성장하고 싶습니다.", "적극적이고 꼼꼼합니다.", resumeSkills);
+    }
+}
@@ -2,12 +2,28 @@ package aibe.hosik.analysis.client;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 public class AppConfig {
+    /**
+     * Gemini 호출용 HTTP 클라이언트
+     * 커넥션(keep-alive, HTTP/2)을 재사용하고, 응답 처리는 전용 스레드에서 수행해 공용 ForkJoinPool 을 점유하지 않는다.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public HttpClient geminiHttpClient(GeminiProperties geminiProperties) {
+        AtomicInteger seq = new AtomicInteger();
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(geminiProperties.getConnectTimeout())
+                .executor(Executors.newFixedThreadPool(geminiProperties.getIoThreads(), r -> {
+                    Thread thread = new Thread(r, "gemini-http-" + seq.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }))
+                .build();
     }
 }
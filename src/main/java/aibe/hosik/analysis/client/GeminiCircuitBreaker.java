@@ -0,0 +1,176 @@
+package aibe.hosik.analysis.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * 모델별 서킷 브레이커
+ * 최근 windowSize 번의 호출 중 실패(오류, 형식 오류, 느린 응답) 비율이 기준을 넘으면 openDuration 동안 호출을 막고,
+ * 이후 한 번의 시험 호출 결과로 다시 닫거나 연다. 성공한 호출의 응답 시간으로 p95 도 계산한다. (헤징 지연 기준)
+ */
+@Slf4j
+class GeminiCircuitBreaker {
+    enum State {CLOSED, OPEN, HALF_OPEN}
+
+    // p95 를 계산하기 위한 최소 표본 수
+    private static final int MIN_LATENCY_SAMPLES = 5;
+
+    private final String model;
+    private final GeminiProperties.Resilience config;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] outcomes;
+    private int outcomeIndex;
+    private int outcomeCount;
+    private int failureCount;
+
+    private final long[] latencies;
+    private int latencyIndex;
+    private int latencyCount;
+
+    private State state = State.CLOSED;
+    private long openUntilNanos;
+    private boolean probeInFlight;
+
+    GeminiCircuitBreaker(String model, GeminiProperties.Resilience config) {
+        this(model, config, System::nanoTime);
+    }
+
+    GeminiCircuitBreaker(String model, GeminiProperties.Resilience config, LongSupplier nanoClock) {
+        this.model = model;
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.outcomes = new boolean[config.getWindowSize()];
+        this.latencies = new long[config.getWindowSize()];
+    }
+
+    /**
+     * 호출 가능 여부. 반열림 상태에서는 시험 호출 한 건만 허용한다.
+     */
+    synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() < openUntilNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess(long latencyNanos) {
+        boolean slow = latencyNanos > config.getSlowCallThreshold().toNanos();
+        latencies[latencyIndex] = latencyNanos;
+        latencyIndex = (latencyIndex + 1) % latencies.length;
+        latencyCount = Math.min(latencyCount + 1, latencies.length);
+
+        if (state == State.HALF_OPEN) {
+            if (slow) {
+                open();
+            } else {
+                close();
+            }
+            return;
+        }
+        record(slow);
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+    }
+
+    /**
+     * 다른 시도가 먼저 성공해 취소된 호출. 결과를 알 수 없으므로 집계하지 않는다.
+     */
+    synchronized void onCancelled() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    /**
+     * 최근 성공 호출의 p95 응답 시간. 표본이 부족하면 null
+     */
+    synchronized Duration p95() {
+        return percentile(0.95);
+    }
+
+    /**
+     * 최근 성공 호출의 중앙값 응답 시간 (모델 라우팅 기준). 표본이 부족하면 null
+     */
+    synchronized Duration p50() {
+        return percentile(0.5);
+    }
+
+    /**
+     * 최근 호출의 실패율 (서킷이 열리거나 닫히면 초기화됨)
+     */
+    synchronized double failureRate() {
+        return outcomeCount == 0 ? 0.0 : (double) failureCount / outcomeCount;
+    }
+
+    private Duration percentile(double quantile) {
+        if (latencyCount < MIN_LATENCY_SAMPLES) {
+            return null;
+        }
+        long[] sorted = Arrays.copyOf(latencies, latencyCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(sorted.length * quantile) - 1;
+        return Duration.ofNanos(sorted[index]);
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (outcomeCount == outcomes.length && outcomes[outcomeIndex]) {
+            failureCount--;
+        }
+        outcomes[outcomeIndex] = failed;
+        if (failed) {
+            failureCount++;
+        }
+        outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+        outcomeCount = Math.min(outcomeCount + 1, outcomes.length);
+
+        if (outcomeCount >= config.getMinimumCalls()
+                && (double) failureCount / outcomeCount >= config.getFailureRateThreshold()) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openUntilNanos = nanoClock.getAsLong() + config.getOpenDuration().toNanos();
+        resetWindow();
+        log.warn("Gemini 모델 호출 차단 - model: {}, {}초", model, config.getOpenDuration().toSeconds());
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        resetWindow();
+        log.info("Gemini 모델 호출 재개 - model: {}", model);
+    }
+
+    private void resetWindow() {
+        Arrays.fill(outcomes, false);
+        outcomeIndex = 0;
+        outcomeCount = 0;
+        failureCount = 0;
+        probeInFlight = false;
+    }
+}
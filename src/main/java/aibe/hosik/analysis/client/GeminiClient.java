@@ -1,113 +1,282 @@
 package aibe.hosik.analysis.client;
 
 
+import aibe.hosik.analysis.entity.AnalysisStage;
+import aibe.hosik.analysis.prompt.TokenEstimator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class GeminiClient {
-    private final RestTemplate restTemplate;
+    private final HttpClient geminiHttpClient;
     private final GeminiProperties geminiProperties;
+    private final ObjectMapper objectMapper;
+    private final GeminiResponseCache geminiResponseCache;
+    private final GeminiRateLimiter geminiRateLimiter;
+    private final GeminiContextCache geminiContextCache;
+    private final GeminiMetrics geminiMetrics;
+    private final GeminiModelRouter geminiModelRouter;
+    private final GeminiTokenLedger geminiTokenLedger;
 
-    private String getApiKeyForModel(String model) {
-        String key = geminiProperties.getModelKeys().get(model);
-        if (key == null) {
-            throw new IllegalArgumentException("해당 모델에 대한 API 키가 존재하지 않습니다: " + model);
+    /**
+     * 각 모델을 사용하여 Gemini API에 비동기로 요청을 보냄
+     * 동일한 (model, prompt) 는 캐시된 응답을 재사용하며, 실패 시 예외로 완료되는 future 를 반환한다.
+     * validator 를 통과한 응답만 캐시에 저장한다. (단계의 형식 검증과 같은 조건)
+     */
+    public CompletableFuture<String> generateContentAsync(String prompt, String model, Predicate<String> validator) {
+        return generateContentAsync(null, prompt, model, validator);
+    }
+
+    /**
+     * 공유 프롬프트(context) + 개별 프롬프트로 요청을 보냄
+     * context 는 서버 측 캐시로 한 번만 올리고 참조하며, 캐시를 쓸 수 없으면 이어 붙여 그대로 보낸다.
+     */
+    public CompletableFuture<String> generateContentAsync(PromptContext context, String prompt, String model,
+                                                          Predicate<String> validator) {
+        String fullPrompt = context == null ? prompt : context.text() + prompt;
+        return geminiResponseCache.getOrLoad(model, fullPrompt, validator, () -> requestContent(context, prompt, model));
+    }
+
+    private CompletableFuture<String> requestContent(PromptContext context, String prompt, String model) {
+        String fullPrompt = context == null ? prompt : context.text() + prompt;
+        Call call = new Call();
+        // 키별 요청 한도를 지키도록 키를 할당받은 뒤 호출 (한도 초과 시 대기)
+        return call.abortOnCancel(acquire(model, fullPrompt, call)
+                .thenCompose(lease -> sendWithContext(context, prompt, fullPrompt, model, lease, call)
+                        .whenComplete((response, error) -> lease.release())));
+    }
+
+    private CompletableFuture<GeminiKeyLease> acquire(String model, String prompt, Call call) {
+        return call.track(geminiRateLimiter.acquire(model, TokenEstimator.estimate(prompt)))
+                .whenComplete((lease, error) -> {
+                    if (error != null && !(unwrap(error) instanceof CancellationException)) {
+                        geminiMetrics.error(model, "quota_wait");
+                    }
+                });
+    }
+
+    private CompletableFuture<String> sendWithContext(PromptContext context, String prompt, String fullPrompt,
+                                                      String model, GeminiKeyLease lease, Call call) {
+        return geminiContextCache.resolve(context, model, lease.apiKey())
+                .thenCompose(cachedContent -> {
+                    if (cachedContent.isEmpty()) {
+                        return send(fullPrompt, null, model, lease, call);
+                    }
+                    return send(prompt, cachedContent.get(), model, lease, call)
+                            .exceptionallyCompose(error -> {
+                                // 캐시가 만료/삭제된 경우 핸들을 버리고 전체 프롬프트로 한 번 더 호출
+                                if (unwrap(error) instanceof GeminiException e && isMissingCache(e)) {
+                                    geminiContextCache.evict(context, model, lease.apiKey());
+                                    return send(fullPrompt, null, model, lease, call);
+                                }
+                                return CompletableFuture.failedFuture(error);
+                            });
+                });
+    }
+
+    private boolean isMissingCache(GeminiException e) {
+        return e.getStatusCode() == 403 || e.getStatusCode() == 404;
+    }
+
+    private Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private CompletableFuture<String> send(String prompt, String cachedContent, String model, GeminiKeyLease lease, Call call) {
+        HttpRequest request;
+        try {
+            String url = String.format("%s/models/%s:generateContent?key=%s", geminiProperties.getBaseUrl(), model, lease.apiKey());
+            request = buildRequest(url, model, prompt, cachedContent);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
         }
-        return key;
+
+        // API 호출 및 응답 처리 (HTTP 클라이언트 전용 스레드에서 수행)
+        GeminiMetrics.Sample sample = geminiMetrics.start(model, "generate");
+        return call.track(geminiHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()))
+                .thenApply(response -> {
+                    if (response.statusCode() == 429) {
+                        // 서버 측 한도 초과: 해당 키를 잠시 쉬게 함
+                        lease.throttle();
+                    }
+                    return parseResponse(model, lease, response);
+                })
+                .whenComplete((text, error) -> geminiMetrics.stop(sample, error));
     }
 
-    // 모델 분리 4번 호출, 3개 모델 적용
-    private static final String model1 = "gemini-2.0-flash-lite";
-    private static final String model2 = "gemini-1.5-flash-8b";
-    private static final String model3 = "gemini-2.0-flash";
-    private static final String model4 = "gemini-2.0-flash";
+    /**
+     * 응답을 조각 단위로 받아 onChunk 로 전달하고, 완료 시 전체 텍스트로 완료되는 future 를 반환한다.
+     * 캐시된 응답이나 진행 중인 동일 요청에 합류한 경우에는 전체 텍스트를 한 조각으로 전달한다.
+     */
+    public CompletableFuture<String> streamContentAsync(String prompt, String model, Predicate<String> validator,
+                                                       Consumer<String> onChunk) {
+        AtomicBoolean streamed = new AtomicBoolean();
+        Consumer<String> tracking = chunk -> {
+            streamed.set(true);
+            onChunk.accept(chunk);
+        };
+        return geminiResponseCache.getOrLoad(model, prompt, validator, () -> {
+                    Call call = new Call();
+                    return call.abortOnCancel(acquire(model, prompt, call)
+                            .thenCompose(lease -> sendStream(prompt, model, lease, tracking, call)
+                                    .whenComplete((response, error) -> lease.release())));
+                })
+                .thenApply(response -> {
+                    if (!streamed.get()) {
+                        onChunk.accept(response);
+                    }
+                    return response;
+                });
+    }
 
-    // 각 모델을 사용하여 Gemini API에 요청을 보냄
-    public String generateContent(String prompt, String model) {
+    private CompletableFuture<String> sendStream(String prompt, String model, GeminiKeyLease lease,
+                                                 Consumer<String> onChunk, Call call) {
+        HttpRequest request;
         try {
-            String apiKey = getApiKeyForModel(model);
-            String url = String.format("%s/models/%s:generateContent?key=%s", geminiProperties.getBaseUrl(), model, apiKey);
-
-            // HTTP 헤더 설정 - JSON 컨텐츠 타입 지정
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            // Gemini API 요청 본문 구성
-            Map<String, Object> requestBody = new HashMap<>();
-            Map<String, Object> content = new HashMap<>();
-            Map<String, Object> part = new HashMap<>();
-            part.put("text", prompt);
-            content.put("parts", List.of(part));
-            requestBody.put("contents", List.of(content));
-
-            // HTTP 요청 엔티티 생성 (헤더와 본문 포함)
-            HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody, headers);
-
-            // API 호출 및 응답 받기
-            Map<String, Object> response = restTemplate.postForObject(url, request, Map.class);
-
-            // 응답 처리
-            if (response != null && response.containsKey("candidates")) {
-                List<Map<String, Object>> candidates = (List<Map<String, Object>>) response.get("candidates");
-                if (!candidates.isEmpty()) {
-                    Map<String, Object> candidate = candidates.get(0);
-                    Map<String, Object> candidateContent = (Map<String, Object>) candidate.get("content");
-                    List<Map<String, Object>> parts = (List<Map<String, Object>>) candidateContent.get("parts");
-                    if (!parts.isEmpty()) {
-                        return (String) parts.get(0).get("text");
+            String url = String.format("%s/models/%s:streamGenerateContent?alt=sse&key=%s",
+                    geminiProperties.getBaseUrl(), model, lease.apiKey());
+            request = buildRequest(url, model, prompt, null);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        GeminiStreamCollector collector = new GeminiStreamCollector(onChunk);
+        GeminiMetrics.Sample sample = geminiMetrics.start(model, "stream");
+        return call.track(geminiHttpClient.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(collector, c -> c, null)))
+                .thenApply(response -> {
+                    if (response.statusCode() == 429) {
+                        lease.throttle();
                     }
-                }
-            }
+                    if (response.statusCode() != 200) {
+                        throw new GeminiException(model, response.statusCode(), collector.raw());
+                    }
+                    geminiMetrics.usage(model, collector.usage());
+                    geminiTokenLedger.record(model, lease.apiKey(), collector.usage());
+                    if (collector.text().isEmpty()) {
+                        throw new GeminiException(model, response.statusCode(), "응답 파싱 실패");
+                    }
+                    return collector.text();
+                })
+                .whenComplete((text, error) -> geminiMetrics.stop(sample, error));
+    }
+
+    private HttpRequest buildRequest(String url, String model, String prompt, String cachedContent) throws JsonProcessingException {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(geminiProperties.getTimeoutForModel(model))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(GeminiRequest.of(prompt, cachedContent))))
+                .build();
+    }
+
+    private String parseResponse(String model, GeminiKeyLease lease, HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200) {
+            throw new GeminiException(model, response.statusCode(), new String(response.body(), StandardCharsets.UTF_8));
+        }
+
+        GeminiResponse parsed;
+        try {
+            parsed = GeminiResponseParser.parse(response.body());
+        } catch (IOException e) {
+            throw new GeminiException(model, response.statusCode(), "응답 파싱 실패: " + e.getMessage());
+        }
 
-            log.error("Failed to parse Gemini API response: {}", response);
-            return "응답 파싱 실패";
-        } catch (Exception e) {
-            log.error("Error generating content from Gemini API", e);
-            return "분석 과정에서 오류가 발생했습니다.";
+        geminiMetrics.usage(model, parsed.usage());
+        geminiTokenLedger.record(model, lease.apiKey(), parsed.usage());
+        if (parsed.usage() != null) {
+            log.debug("Gemini 토큰 사용량 - model: {}, prompt: {}, cached: {}, candidates: {}", model,
+                    parsed.usage().promptTokenCount(), parsed.usage().cachedContentTokenCount(),
+                    parsed.usage().candidatesTokenCount());
+        }
+        if (!parsed.isComplete()) {
+            log.warn("Gemini 응답이 완전하지 않습니다. model: {}, finishReason: {}", model, parsed.finishReason());
         }
+        if (parsed.text() == null || parsed.text().isEmpty()) {
+            throw new GeminiException(model, response.statusCode(), "응답 파싱 실패 (finishReason: " + parsed.finishReason() + ")");
+        }
+        return parsed.text();
     }
 
+    /**
+     * 하나의 Gemini 호출(키 대기 -> HTTP 요청)을 중단하기 위한 핸들
+     * 결과 future 가 취소되면 키 대기와 진행 중인 HTTP 요청을 취소한다. (JDK HttpClient 는 취소 시 요청을 끊음)
+     */
+    private static final class Call {
+        private final Set<CompletableFuture<?>> stages = ConcurrentHashMap.newKeySet();
+        private volatile boolean aborted;
+
+        private <T> CompletableFuture<T> track(CompletableFuture<T> stage) {
+            stages.add(stage);
+            stage.whenComplete((value, error) -> stages.remove(stage));
+            if (aborted) {
+                stage.cancel(true);
+            }
+            return stage;
+        }
+
+        private CompletableFuture<String> abortOnCancel(CompletableFuture<String> result) {
+            result.whenComplete((value, error) -> {
+                if (result.isCancelled()) {
+                    aborted = true;
+                    stages.forEach(stage -> stage.cancel(true));
+                }
+            });
+            return result;
+        }
+    }
 
     /**
-     * 모델 1을 사용하여 스킬 및 성격 분석을 수행합니다.
+     * 분석 단계별 이번 호출의 모델 순서 (기본 모델 + 대체 모델, gemini.stages 설정 기준)
      */
-    public CompletableFuture<String> analysisWithModel1(String prompt) {
-        return CompletableFuture.supplyAsync(() -> generateContent(prompt, model1));
+    public List<String> modelsFor(AnalysisStage stage) {
+        return geminiModelRouter.route(stage);
     }
 
     /**
-     * 모델 2를 사용하여 스킬 및 성격 분석을 수행합니다.
+     * 단계에서 사용할 프롬프트의 입력 토큰 예산 (대체 모델을 포함해 가장 작은 값)
+     * 대체 모델로 넘어가거나 라우팅 순서가 바뀌어도 같은 프롬프트를 보내야 응답 캐시, 체크포인트가 유지되기 때문
      */
-    public CompletableFuture<String> analysisWithModel2(String prompt) {
-        return CompletableFuture.supplyAsync(() -> generateContent(prompt, model2));
+    public long inputTokenBudget(AnalysisStage stage) {
+        return geminiModelRouter.candidates(stage).stream()
+                .mapToLong(geminiProperties::getInputTokenBudgetForModel)
+                .min()
+                .orElse(geminiProperties.getDefaultInputTokenBudget());
     }
 
     /**
-     * 모델 3을 사용하여 자기소개서 요약을 수행합니다.
+     * 모델 3(자기소개서 요약)의 입력 토큰 예산
      */
-    public CompletableFuture<String> summarizeResume(String prompt) {
-        return CompletableFuture.supplyAsync(() -> generateContent(prompt, model3));
+    public long summaryInputTokenBudget() {
+        return inputTokenBudget(AnalysisStage.RESUME_SUMMARY);
     }
 
     /**
-     * 모델 4를 사용하여 모델 1 + 모델 2 결과를 종합 제공
+     * 공유 프롬프트의 내용이 바뀌었을 때 서버 측 캐시를 삭제합니다.
      */
-    public CompletableFuture<String> generateFinalAnalysis(String prompt) {
-        return CompletableFuture.supplyAsync(() -> generateContent(prompt, model4));
+    public void invalidateContext(String contextId) {
+        geminiContextCache.invalidate(contextId);
     }
 }
-    
-
@@ -0,0 +1,174 @@
+package aibe.hosik.analysis.client;
+
+import aibe.hosik.analysis.prompt.TokenEstimator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 공유 프롬프트(PromptContext)에 대한 Gemini 서버 측 캐시(cachedContents) 핸들 관리
+ * 캐시는 모델과 API 키(프로젝트)에 묶이므로 (context, 버전, model, key) 단위로 한 번만 생성하고,
+ * 생성에 실패하면 같은 버전 동안은 다시 시도하지 않고 프롬프트를 그대로 보내도록 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiContextCache {
+    private final HttpClient geminiHttpClient;
+    private final GeminiProperties geminiProperties;
+    private final ObjectMapper objectMapper;
+
+    private final Map<HandleKey, CompletableFuture<Handle>> handles = new ConcurrentHashMap<>();
+
+    private record HandleKey(String contextId, String fingerprint, String model, String apiKey) {
+    }
+
+    // cachedContents 생성 요청 본문
+    record CachedContentRequest(String model, List<GeminiRequest.Content> contents, String ttl) {
+    }
+
+    // name 이 null 이면 생성 실패 (만료 시까지 캐시 없이 호출)
+    private record Handle(String name, Instant expiresAt) {
+        boolean isExpired(Instant now) {
+            return !expiresAt.isAfter(now);
+        }
+    }
+
+    /**
+     * 공유 프롬프트의 캐시 이름을 반환한다. 캐시를 쓸 수 없으면 빈 값으로 완료된다. (실패로 완료되지 않음)
+     *
+     * @param context 공유 프롬프트
+     * @param model   모델 이름
+     * @param apiKey  호출에 사용할 API 키
+     * @return cachedContents 이름 (예: cachedContents/abc)
+     */
+    public CompletableFuture<Optional<String>> resolve(PromptContext context, String model, String apiKey) {
+        if (!isCacheable(context, model)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        HandleKey key = new HandleKey(context.id(), context.fingerprint(), model, apiKey);
+        Instant now = Instant.now();
+        CompletableFuture<Handle> handle = handles.compute(key, (k, existing) -> {
+            if (existing != null && (!existing.isDone() || !existing.join().isExpired(now))) {
+                return existing;
+            }
+            return create(context, model, apiKey);
+        });
+        return handle.thenApply(h -> Optional.ofNullable(h.name()));
+    }
+
+    /**
+     * 서버에서 캐시를 찾을 수 없다고 응답한 경우 핸들을 버린다. 다음 요청에서 다시 생성된다.
+     */
+    public void evict(PromptContext context, String model, String apiKey) {
+        handles.remove(new HandleKey(context.id(), context.fingerprint(), model, apiKey));
+    }
+
+    /**
+     * 공유 프롬프트의 내용이 바뀌었을 때 모든 버전의 캐시를 삭제한다.
+     *
+     * @param contextId 공유 단위 식별자
+     */
+    public void invalidate(String contextId) {
+        handles.entrySet().removeIf(entry -> {
+            if (!entry.getKey().contextId().equals(contextId)) {
+                return false;
+            }
+            entry.getValue().thenAccept(handle -> delete(handle, entry.getKey().apiKey()));
+            return true;
+        });
+    }
+
+    @Scheduled(fixedDelay = 10 * 60 * 1000)
+    public void evictExpired() {
+        Instant now = Instant.now();
+        handles.values().removeIf(handle -> handle.isDone() && handle.join().isExpired(now));
+    }
+
+    private boolean isCacheable(PromptContext context, String model) {
+        GeminiProperties.ContextCache config = geminiProperties.getContextCache();
+        return context != null
+                && config.isEnabled()
+                && (config.getModels().isEmpty() || config.getModels().contains(model))
+                && TokenEstimator.estimate(context.text()) >= config.getMinTokens();
+    }
+
+    private CompletableFuture<Handle> create(PromptContext context, String model, String apiKey) {
+        Instant expiresAt = Instant.now().plus(geminiProperties.getContextCache().getTtl());
+        HttpRequest request;
+        try {
+            CachedContentRequest requestBody = new CachedContentRequest("models/" + model,
+                    GeminiRequest.of(context.text(), null).contents(),
+                    geminiProperties.getContextCache().getTtl().toSeconds() + "s");
+            request = HttpRequest.newBuilder()
+                    .uri(URI.create(String.format("%s/cachedContents?key=%s", geminiProperties.getBaseUrl(), apiKey)))
+                    .timeout(geminiProperties.getTimeoutForModel(model))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(requestBody)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.completedFuture(new Handle(null, expiresAt));
+        }
+
+        return geminiHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        log.warn("컨텍스트 캐시 생성 실패 - context: {}, model: {}, status: {}",
+                                context.id(), model, response.statusCode());
+                        return new Handle(null, expiresAt);
+                    }
+                    String name = readName(response.body());
+                    log.info("컨텍스트 캐시 생성 - context: {}, model: {}, name: {}", context.id(), model, name);
+                    return new Handle(name, expiresAt);
+                })
+                .exceptionally(e -> {
+                    log.warn("컨텍스트 캐시 생성 실패 - context: {}, model: {}", context.id(), model, e);
+                    return new Handle(null, expiresAt);
+                });
+    }
+
+    private String readName(String body) {
+        try {
+            JsonNode name = objectMapper.readTree(body).path("name");
+            return name.isTextual() ? name.asText() : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private void delete(Handle handle, String apiKey) {
+        if (handle.name() == null || handle.isExpired(Instant.now())) {
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(String.format("%s/%s?key=%s", geminiProperties.getBaseUrl(), handle.name(), apiKey)))
+                .timeout(geminiProperties.getDefaultTimeout())
+                .DELETE()
+                .build();
+        // 삭제 실패는 TTL 만료로 정리되므로 기록만 남김
+        geminiHttpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, e) -> {
+                    if (e != null || response.statusCode() != 200) {
+                        log.warn("컨텍스트 캐시 삭제 실패 - name: {}", handle.name());
+                    }
+                });
+    }
+}
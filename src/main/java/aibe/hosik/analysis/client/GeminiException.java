@@ -0,0 +1,18 @@
+package aibe.hosik.analysis.client;
+
+import lombok.Getter;
+
+/**
+ * Gemini API 호출 실패 (HTTP 오류 응답 또는 응답 파싱 실패)
+ */
+@Getter
+public class GeminiException extends RuntimeException {
+    private final String model;
+    private final int statusCode;
+
+    public GeminiException(String model, int statusCode, String message) {
+        super(String.format("Gemini 호출 실패 - model: %s, status: %d, message: %s", model, statusCode, message));
+        this.model = model;
+        this.statusCode = statusCode;
+    }
+}
@@ -0,0 +1,215 @@
+package aibe.hosik.analysis.client;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 모델 목록(기본 + 대체)을 따라 호출하는 실행기
+ * - 서킷이 열린 모델은 건너뛴다.
+ * - 첫 시도가 해당 모델의 p95 응답 시간 안에 끝나지 않으면 다음 모델로 한 번 중복 요청(헤징)한다.
+ * - 먼저 성공한 응답을 사용하고 나머지 시도는 취소한다.
+ * - 실패(오류 또는 형식 오류)하면 남은 모델로 넘어간다.
+ * - 반환한 future 를 취소하거나 예외로 완료하면 진행 중인 시도를 모두 취소한다. (지원서 삭제, 모집 마감, 단계 제한 시간 등)
+ */
+@Slf4j
+@Component
+public class GeminiFailoverExecutor {
+    private final GeminiProperties geminiProperties;
+    private final GeminiMetrics geminiMetrics;
+    private final Map<String, GeminiCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "gemini-hedge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GeminiFailoverExecutor(GeminiProperties geminiProperties, GeminiMetrics geminiMetrics) {
+        this.geminiProperties = geminiProperties;
+        this.geminiMetrics = geminiMetrics;
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * @param models    호출 순서대로 정렬된 모델 목록
+     * @param call      모델 이름을 받아 호출하는 함수
+     * @param validator 응답을 사용할 수 있는지 검사 (통과하지 못하면 실패로 처리)
+     * @param hedge     중복 요청 허용 여부 (스트리밍처럼 응답이 섞이면 안 되는 경우 false)
+     * @return 처음으로 검증을 통과한 응답 (모든 모델이 실패하면 마지막 오류로 완료)
+     */
+    public CompletableFuture<ModelResponse> execute(List<String> models,
+                                                    Function<String, CompletableFuture<String>> call,
+                                                    Predicate<String> validator,
+                                                    boolean hedge) {
+        Execution execution = new Execution(models, call, validator,
+                hedge && geminiProperties.getResilience().isHedgeEnabled());
+        execution.start();
+        execution.result.whenComplete((response, error) -> {
+            // 취소되거나 호출 측에서 제한 시간 초과로 끝낸 경우
+            if (error != null) {
+                execution.cancelAttempts();
+            }
+        });
+        return execution.result;
+    }
+
+    public GeminiCircuitBreaker.State state(String model) {
+        return breaker(model).state();
+    }
+
+    GeminiCircuitBreaker breaker(String model) {
+        return breakers.computeIfAbsent(model, m -> new GeminiCircuitBreaker(m, geminiProperties.getResilience()));
+    }
+
+    private Duration hedgeDelay(String model) {
+        GeminiProperties.Resilience config = geminiProperties.getResilience();
+        Duration p95 = breaker(model).p95();
+        Duration delay = p95 != null ? p95 : config.getDefaultHedgeDelay();
+        if (delay.compareTo(config.getMinHedgeDelay()) < 0) {
+            return config.getMinHedgeDelay();
+        }
+        return delay.compareTo(config.getMaxHedgeDelay()) > 0 ? config.getMaxHedgeDelay() : delay;
+    }
+
+    private final class Execution {
+        private final List<String> models;
+        private final Function<String, CompletableFuture<String>> call;
+        private final Predicate<String> validator;
+        private final boolean hedge;
+        private final CompletableFuture<ModelResponse> result = new CompletableFuture<>();
+        private final List<CompletableFuture<String>> attempts = new ArrayList<>();
+        private int nextIndex;
+        private int running;
+        private Throwable lastError;
+
+        private Execution(List<String> models, Function<String, CompletableFuture<String>> call,
+                          Predicate<String> validator, boolean hedge) {
+            this.models = models;
+            this.call = call;
+            this.validator = validator;
+            this.hedge = hedge;
+        }
+
+        private synchronized void start() {
+            String first = startNext();
+            if (first == null) {
+                finishIfExhausted();
+                return;
+            }
+            if (hedge && nextIndex < models.size()) {
+                Duration delay = hedgeDelay(first);
+                scheduler.schedule(this::hedge, delay.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private synchronized void hedge() {
+            if (result.isDone()) {
+                return;
+            }
+            String model = startNext();
+            if (model != null) {
+                geminiMetrics.hedge(model);
+                log.info("Gemini 응답 지연으로 중복 요청 - model: {}", model);
+            }
+        }
+
+        /**
+         * 서킷이 닫힌 다음 모델로 시도를 시작한다.
+         *
+         * @return 시작한 모델 (남은 모델이 없으면 null)
+         */
+        private String startNext() {
+            while (nextIndex < models.size()) {
+                String model = models.get(nextIndex++);
+                GeminiCircuitBreaker breaker = breaker(model);
+                if (!breaker.tryAcquirePermission()) {
+                    geminiMetrics.error(model, "circuit_open");
+                    log.debug("서킷이 열려 있어 건너뜀 - model: {}", model);
+                    continue;
+                }
+                attempt(model, breaker);
+                return model;
+            }
+            return null;
+        }
+
+        private void attempt(String model, GeminiCircuitBreaker breaker) {
+            running++;
+            long start = System.nanoTime();
+            CompletableFuture<String> future;
+            try {
+                future = call.apply(model);
+            } catch (Exception e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            attempts.add(future);
+            future.whenComplete((text, error) -> onComplete(model, breaker, start, text, error));
+        }
+
+        private synchronized void onComplete(String model, GeminiCircuitBreaker breaker, long start,
+                                             String text, Throwable error) {
+            running--;
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof CancellationException) {
+                breaker.onCancelled();
+                return;
+            }
+
+            if (cause == null && validator.test(text)) {
+                breaker.onSuccess(System.nanoTime() - start);
+                if (!result.isDone()) {
+                    // 늦게 끝나는 다른 시도는 기다리지 않음 (같은 요청을 기다리는 다른 호출자가 없으면 HTTP 요청도 중단됨)
+                    // 결과를 알리기 전에 취소해야 호출 측이 깨어났을 때 이미 정리되어 있음
+                    cancelAttempts();
+                    result.complete(new ModelResponse(model, text));
+                }
+                return;
+            }
+
+            breaker.onFailure();
+            if (cause == null) {
+                // HTTP 호출은 성공했지만 다음 단계에서 쓸 수 없는 응답 (HTTP 오류는 GeminiClient 에서 기록)
+                geminiMetrics.error(model, "invalid_response");
+            }
+            lastError = cause != null ? cause : new GeminiException(model, 200, "응답 형식이 올바르지 않습니다.");
+            if (result.isDone()) {
+                return;
+            }
+            log.warn("Gemini 호출 실패, 대체 모델로 전환 - model: {}, error: {}", model, lastError.getMessage());
+            if (running == 0 && startNext() == null) {
+                finishIfExhausted();
+            }
+        }
+
+        private synchronized void cancelAttempts() {
+            attempts.forEach(attempt -> attempt.cancel(true));
+        }
+
+        private void finishIfExhausted() {
+            if (running > 0 || result.isDone()) {
+                return;
+            }
+            result.completeExceptionally(lastError != null
+                    ? lastError
+                    : new GeminiException(String.join(",", models), 503, "사용 가능한 모델이 없습니다. (서킷 열림)"));
+        }
+    }
+}
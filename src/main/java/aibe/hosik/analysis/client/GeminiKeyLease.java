@@ -0,0 +1,13 @@
+package aibe.hosik.analysis.client;
+
+/**
+ * 요청 한 건에 할당된 API 키
+ * 호출이 끝나면 release, 서버가 429를 반환하면 throttle 을 호출한다.
+ */
+public interface GeminiKeyLease {
+    String apiKey();
+
+    void release();
+
+    void throttle();
+}
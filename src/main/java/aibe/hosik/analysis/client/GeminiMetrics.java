@@ -0,0 +1,167 @@
+package aibe.hosik.analysis.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gemini 호출 지표 (/actuator/prometheus 로 수집)
+ * - gemini.request: 모델, 호출 방식(generate/stream), 결과별 HTTP 호출 시간 (히스토그램)
+ * - gemini.errors: 모델, 원인별 실패 수 (HTTP 오류, 시간 초과, 형식 오류, 한도 대기 초과, 서킷 차단)
+ * - gemini.tokens: 모델, 종류(prompt/cached/candidates)별 토큰 수 (응답의 usageMetadata 기준)
+ * - gemini.cost: 모델별 예상 비용 (USD, gemini.pricing 설정 기준)
+ * - gemini.requests.in.flight: 모델별 응답을 기다리는 HTTP 호출 수
+ * - gemini.hedges: 모델별 중복 요청 수
+ */
+@Component
+public class GeminiMetrics {
+    private static final double TOKENS_PER_MILLION = 1_000_000.0;
+
+    private final MeterRegistry registry;
+    private final GeminiProperties geminiProperties;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public GeminiMetrics(MeterRegistry registry, GeminiProperties geminiProperties) {
+        this.registry = registry;
+        this.geminiProperties = geminiProperties;
+    }
+
+    /**
+     * HTTP 호출 시작. 반환된 Sample 로 {@link #stop} 을 한 번 호출해야 한다.
+     */
+    public Sample start(String model, String operation) {
+        inFlight.computeIfAbsent(model, m -> {
+            AtomicInteger count = new AtomicInteger();
+            Gauge.builder("gemini.requests.in.flight", count, AtomicInteger::get)
+                    .description("응답을 기다리는 Gemini HTTP 호출 수")
+                    .tag("model", m)
+                    .register(registry);
+            return count;
+        }).incrementAndGet();
+        return new Sample(model, operation, System.nanoTime());
+    }
+
+    /**
+     * HTTP 호출 종료 (성공이면 error 는 null)
+     */
+    public void stop(Sample sample, Throwable error) {
+        inFlight.get(sample.model()).decrementAndGet();
+        String outcome = error == null ? "success" : cause(error);
+        Timer.builder("gemini.request")
+                .description("Gemini HTTP 호출 시간")
+                .tags("model", sample.model(), "operation", sample.operation(), "outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(50))
+                .maximumExpectedValue(Duration.ofSeconds(60))
+                .register(registry)
+                .record(System.nanoTime() - sample.startNanos(), TimeUnit.NANOSECONDS);
+        if (error != null && !"cancelled".equals(outcome)) {
+            error(sample.model(), outcome);
+        }
+    }
+
+    /**
+     * HTTP 호출 밖에서 생긴 실패 (형식 오류, 한도 대기 초과, 서킷 차단 등)
+     */
+    public void error(String model, String cause) {
+        Counter.builder("gemini.errors")
+                .description("Gemini 호출 실패 수")
+                .tags("model", model, "cause", cause)
+                .register(registry)
+                .increment();
+    }
+
+    public void hedge(String model) {
+        Counter.builder("gemini.hedges")
+                .description("응답 지연으로 보낸 중복 요청 수")
+                .tag("model", model)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * 응답의 토큰 사용량과 예상 비용을 기록한다. (캐시된 입력 토큰은 promptTokenCount 에 포함되어 있음)
+     */
+    public void usage(String model, GeminiResponse.UsageMetadata usage) {
+        if (usage == null) {
+            return;
+        }
+        long cached = usage.cachedContentTokenCount();
+        long prompt = Math.max(0, usage.promptTokenCount() - cached);
+        long candidates = usage.candidatesTokenCount();
+        tokens(model, "prompt", prompt);
+        tokens(model, "cached", cached);
+        tokens(model, "candidates", candidates);
+
+        GeminiProperties.Pricing pricing = geminiProperties.getPricing().get(model);
+        if (pricing == null) {
+            return;
+        }
+        double cost = (prompt * pricing.getInputPerMillion()
+                + cached * pricing.getCachedInputPerMillion()
+                + candidates * pricing.getOutputPerMillion()) / TOKENS_PER_MILLION;
+        Counter.builder("gemini.cost")
+                .description("Gemini 예상 비용")
+                .baseUnit("usd")
+                .tag("model", model)
+                .register(registry)
+                .increment(cost);
+    }
+
+    private void tokens(String model, String type, long count) {
+        if (count <= 0) {
+            return;
+        }
+        Counter.builder("gemini.tokens")
+                .description("Gemini 토큰 사용량")
+                .baseUnit("tokens")
+                .tags("model", model, "type", type)
+                .register(registry)
+                .increment(count);
+    }
+
+    /**
+     * 실패 원인 분류 (태그 값이 늘어나지 않도록 고정된 값만 사용)
+     */
+    static String cause(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            return "cancelled";
+        }
+        if (cause instanceof HttpTimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof IOException) {
+            return "io";
+        }
+        if (cause instanceof GeminiException e) {
+            int status = e.getStatusCode();
+            if (status == 429) {
+                return "rate_limited";
+            }
+            if (status >= 500) {
+                return "server_error";
+            }
+            if (status >= 400) {
+                return "client_error";
+            }
+            return "invalid_response";
+        }
+        return "other";
+    }
+
+    public record Sample(String model, String operation, long startNanos) {
+    }
+}
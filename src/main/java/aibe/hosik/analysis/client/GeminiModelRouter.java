@@ -0,0 +1,109 @@
+package aibe.hosik.analysis.client;
+
+import aibe.hosik.analysis.entity.AnalysisStage;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 모델 등록부(gemini.stages)를 기준으로 분석 단계별 호출 모델을 정한다.
+ * - 고정 라우팅: 설정한 순서 그대로 (첫 번째가 기본, 나머지는 대체)
+ * - 적응형 라우팅: 가중치 x 성공률 / 중앙값 응답 시간이 큰 순서 (서킷이 열린 모델은 마지막)
+ * - 그림자 평가: 설정한 비율만큼 새 모델을 함께 호출할지 정한다. (결과는 사용자에게 쓰지 않음)
+ * 시작 시 모든 단계에 후보 모델과 API 키가 있는지 검사한다.
+ */
+@Component
+public class GeminiModelRouter {
+    private final GeminiProperties geminiProperties;
+    private final GeminiFailoverExecutor geminiFailoverExecutor;
+
+    public GeminiModelRouter(GeminiProperties geminiProperties, GeminiFailoverExecutor geminiFailoverExecutor) {
+        this.geminiProperties = geminiProperties;
+        this.geminiFailoverExecutor = geminiFailoverExecutor;
+        validate();
+    }
+
+    /**
+     * 단계에 설정된 후보 모델 (설정 순서, 체크포인트 비교와 토큰 예산 계산용)
+     */
+    public List<String> candidates(AnalysisStage stage) {
+        return stage(stage).getModels();
+    }
+
+    /**
+     * 이번 호출에서 시도할 모델 순서
+     */
+    public List<String> route(AnalysisStage stage) {
+        GeminiProperties.Stage config = stage(stage);
+        if (!config.isAdaptive() || config.getModels().size() < 2) {
+            return config.getModels();
+        }
+        List<String> models = new ArrayList<>(config.getModels());
+        // 점수가 같으면 설정 순서 유지 (안정 정렬)
+        models.sort(Comparator.comparingDouble((String model) -> score(config, model)).reversed());
+        return models;
+    }
+
+    /**
+     * 단계 전체 제한 시간 (없으면 null)
+     */
+    public Duration timeout(AnalysisStage stage) {
+        return stage(stage).getTimeout();
+    }
+
+    /**
+     * 그림자 평가 대상이면 호출할 모델을 반환한다.
+     */
+    public Optional<String> shadow(AnalysisStage stage) {
+        GeminiProperties.Shadow shadow = stage(stage).getShadow();
+        if (shadow.getModel() == null || shadow.getModel().isBlank()
+                || ThreadLocalRandom.current().nextDouble() >= shadow.getSampleRate()) {
+            return Optional.empty();
+        }
+        return Optional.of(shadow.getModel());
+    }
+
+    /**
+     * 클수록 먼저 호출한다. 응답 시간 표본이 없으면 기본 헤징 지연을 예상 응답 시간으로 본다.
+     */
+    double score(GeminiProperties.Stage config, String model) {
+        GeminiCircuitBreaker breaker = geminiFailoverExecutor.breaker(model);
+        if (breaker.state() == GeminiCircuitBreaker.State.OPEN) {
+            return 0.0;
+        }
+        Duration p50 = breaker.p50();
+        Duration latency = p50 != null ? p50 : geminiProperties.getResilience().getDefaultHedgeDelay();
+        double seconds = Math.max(latency.toMillis(), 1) / 1000.0;
+        return config.getWeightForModel(model) * (1.0 - breaker.failureRate()) / seconds;
+    }
+
+    private GeminiProperties.Stage stage(AnalysisStage stage) {
+        return geminiProperties.getStages().get(stage);
+    }
+
+    private void validate() {
+        for (AnalysisStage stage : AnalysisStage.values()) {
+            GeminiProperties.Stage config = geminiProperties.getStages().get(stage);
+            if (config == null || config.getModels().isEmpty()) {
+                throw new IllegalStateException("gemini.stages." + stage + ".models 설정이 없습니다.");
+            }
+            config.getModels().forEach(model -> requireKeys(stage, model));
+            String shadow = config.getShadow().getModel();
+            if (shadow != null && !shadow.isBlank()) {
+                requireKeys(stage, shadow);
+            }
+        }
+    }
+
+    private void requireKeys(AnalysisStage stage, String model) {
+        List<String> keys = geminiProperties.getModelKeys() == null ? null : geminiProperties.getModelKeys().get(model);
+        if (keys == null || keys.isEmpty()) {
+            throw new IllegalStateException(stage + " 단계 모델 " + model + " 의 API 키(gemini.model-keys)가 없습니다.");
+        }
+    }
+}
@@ -1,17 +1,172 @@
 package aibe.hosik.analysis.client;
 
+import aibe.hosik.analysis.entity.AnalysisStage;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Getter
 @Setter
 @Configuration
 @ConfigurationProperties(prefix = "gemini")
 public class GeminiProperties {
-    private Map<String, String> modelKeys;
+    // 모델별 API 키 목록 (쉼표로 여러 개 지정 가능)
+    // 모델 이름에 '.' 이 들어가므로 모델별 설정의 키는 "[gemini-2.0-flash]" 처럼 대괄호로 감싸야 한다.
+    private Map<String, List<String>> modelKeys;
+    // 모델 등록부: 분석 단계별 후보 모델, 가중치, 제한 시간, 라우팅 방식, 그림자 평가. 모든 단계에 필요
+    private Map<AnalysisStage, Stage> stages = new EnumMap<>(AnalysisStage.class);
     private String baseUrl;
-}
\ No newline at end of file
+
+    // 연결 수립 제한 시간 (모든 모델 공통, 커넥션 풀을 공유하기 때문)
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    // 모델별 응답 제한 시간이 없을 때 사용하는 기본값
+    private Duration defaultTimeout = Duration.ofSeconds(30);
+    // 모델별 응답 제한 시간
+    private Map<String, Duration> modelTimeouts = new HashMap<>();
+    // HTTP 응답 처리 스레드 수
+    private int ioThreads = 4;
+    // Gemini 응답 이후 DB 작업(응답 캐시, 단계 체크포인트, 요약 저장) 스레드 수
+    private int storeThreads = 4;
+    // 응답 캐시 설정
+    private Cache cache = new Cache();
+    // (model, key) 단위 요청 한도. 모델별 설정이 없으면 기본값 사용
+    private Quota defaultQuota = new Quota();
+    private Map<String, Quota> modelQuotas = new HashMap<>();
+    // 한도 초과 시 키가 빌 때까지 기다리는 최대 시간
+    private Duration maxQueueWait = Duration.ofMinutes(2);
+    // 모집글 정보 등 공유 프롬프트의 서버 측 캐시(cachedContents) 설정
+    private ContextCache contextCache = new ContextCache();
+    // 서킷 브레이커, 헤징 설정
+    private Resilience resilience = new Resilience();
+    // 모델별 입력 토큰 예산. 넘으면 이력서 등 긴 필드를 요약하거나 잘라서 보냄
+    private long defaultInputTokenBudget = 8000;
+    private Map<String, Long> modelInputTokenBudgets = new HashMap<>();
+    // 모델별 100만 토큰당 가격 (USD, 예상 비용 지표용). 없으면 비용을 기록하지 않음
+    private Map<String, Pricing> pricing = new HashMap<>();
+    // 하루 토큰 예산과 예산 소진에 따른 단계 축소 설정
+    private Budget budget = new Budget();
+
+    public Duration getTimeoutForModel(String model) {
+        return modelTimeouts.getOrDefault(model, defaultTimeout);
+    }
+
+    public Quota getQuotaForModel(String model) {
+        return modelQuotas.getOrDefault(model, defaultQuota);
+    }
+
+    public long getInputTokenBudgetForModel(String model) {
+        return modelInputTokenBudgets.getOrDefault(model, defaultInputTokenBudget);
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        // DB 캐시 사용 여부
+        private boolean persistent = true;
+        // 메모리 캐시 최대 항목 수
+        private int maxSize = 1000;
+        private Duration memoryTtl = Duration.ofHours(6);
+        private Duration storeTtl = Duration.ofDays(7);
+    }
+
+    @Getter
+    @Setter
+    public static class ContextCache {
+        private boolean enabled = true;
+        // 서버 측 캐시를 지원하는 모델 (비어 있으면 모든 모델)
+        private Set<String> models = new HashSet<>();
+        // 이보다 짧은 공유 프롬프트는 캐시하지 않고 그대로 보냄 (API 최소 토큰 수)
+        private long minTokens = 1024;
+        private Duration ttl = Duration.ofHours(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Resilience {
+        // 실패율을 계산하는 최근 호출 수, 최소 호출 수
+        private int windowSize = 50;
+        private int minimumCalls = 10;
+        // 이 비율 이상 실패(오류, 형식 오류, 느린 응답)하면 모델 호출을 잠시 차단
+        private double failureRateThreshold = 0.5;
+        private Duration slowCallThreshold = Duration.ofSeconds(20);
+        private Duration openDuration = Duration.ofSeconds(30);
+        // 첫 시도가 p95 응답 시간 안에 끝나지 않으면 다음 모델로 중복 요청
+        private boolean hedgeEnabled = true;
+        private Duration defaultHedgeDelay = Duration.ofSeconds(5);
+        private Duration minHedgeDelay = Duration.ofSeconds(1);
+        private Duration maxHedgeDelay = Duration.ofSeconds(15);
+    }
+
+    @Getter
+    @Setter
+    public static class Stage {
+        // 후보 모델 (고정 라우팅이면 이 순서대로 호출, 첫 번째가 기본이고 나머지는 대체)
+        private List<String> models = new ArrayList<>();
+        // true 면 최근 응답 시간, 실패율, 가중치로 후보 순서를 정함
+        private boolean adaptive = false;
+        // 모델별 가중치 (비용, 품질 선호. 클수록 우선). 없으면 1
+        private Map<String, Double> weights = new HashMap<>();
+        // 단계 전체 제한 시간 (대체 모델, 중복 요청 포함). 없으면 모델별 응답 제한 시간만 적용
+        private Duration timeout;
+        // 새 모델을 사용자 응답에 영향 없이 일부 요청에만 함께 호출해 비교
+        private Shadow shadow = new Shadow();
+
+        public double getWeightForModel(String model) {
+            return weights.getOrDefault(model, 1.0);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Shadow {
+        // 그림자 평가 모델 (비어 있으면 사용 안 함)
+        private String model;
+        // 그림자 요청을 보낼 비율 (0 ~ 1)
+        private double sampleRate = 0.0;
+    }
+
+    @Getter
+    @Setter
+    public static class Quota {
+        // 분당 요청 수
+        private long rpm = 15;
+        // 분당 토큰 수
+        private long tpm = 1_000_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Budget {
+        // false 면 사용량만 기록하고 단계를 줄이지 않음
+        private boolean enabled = false;
+        // 모델별 하루 토큰 예산 (입력 + 출력, 모든 키 합계). 없는 모델은 제한 없음
+        private Map<String, Long> dailyTokens = new HashMap<>();
+        // 남은 비율이 이 값 이하이면 일반 작업에서 자기소개서 요약을 건너뜀
+        private double skipSummaryBelow = 0.4;
+        // 남은 비율이 이 값 이하이면 일반 작업에서 추천 문구도 건너뜀
+        private double skipNarrativeBelow = 0.25;
+        // 남은 비율이 이 값 이하이면 일반 작업은 로컬 점수만 사용 (나머지는 작성자가 기다리는 우선 작업용)
+        private double priorityReserve = 0.1;
+        // 사용량을 DB 장부에 반영하는 주기
+        private long flushIntervalMs = 30_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Pricing {
+        private double inputPerMillion;
+        private double cachedInputPerMillion;
+        private double outputPerMillion;
+    }
+}
@@ -0,0 +1,155 @@
+package aibe.hosik.analysis.client;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 모델별 API 키 풀과 (model, key) 단위 토큰 버킷(RPM, TPM)
+ * 여유가 가장 많은 키를 고르고, 모든 키가 한도를 넘으면 실패시키지 않고 토큰이 찰 때까지 대기시킨다.
+ */
+@Slf4j
+@Component
+public class GeminiRateLimiter {
+    private final GeminiProperties geminiProperties;
+    private final Map<String, List<KeySlot>> slotsByModel = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "gemini-rate-limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GeminiRateLimiter(GeminiProperties geminiProperties) {
+        this.geminiProperties = geminiProperties;
+    }
+
+    private static final class KeySlot implements GeminiKeyLease {
+        private final String apiKey;
+        private final TokenBucket requests;
+        private final TokenBucket tokens;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private KeySlot(String apiKey, GeminiProperties.Quota quota) {
+            this.apiKey = apiKey;
+            this.requests = new TokenBucket(quota.getRpm());
+            this.tokens = new TokenBucket(quota.getTpm());
+        }
+
+        @Override
+        public String apiKey() {
+            return apiKey;
+        }
+
+        @Override
+        public void release() {
+            inFlight.decrementAndGet();
+        }
+
+        @Override
+        public void throttle() {
+            requests.drain();
+        }
+
+        /**
+         * @return 성공 시 0, 실패 시 대기 시간(ns)
+         */
+        private long tryAcquire(long estimatedTokens) {
+            long requestWait = requests.tryAcquire(1);
+            if (requestWait > 0) {
+                return requestWait;
+            }
+            long tokenWait = tokens.tryAcquire(estimatedTokens);
+            if (tokenWait > 0) {
+                requests.refund(1);
+                return tokenWait;
+            }
+            inFlight.incrementAndGet();
+            return 0;
+        }
+    }
+
+    /**
+     * 모델에 사용할 API 키를 할당받는다.
+     *
+     * @param model           모델 이름
+     * @param estimatedTokens 예상 입력 토큰 수
+     * @return 키 할당 future (한도 초과 시 토큰이 찰 때까지 지연되고, 최대 대기 시간을 넘으면 예외로 완료)
+     */
+    public CompletableFuture<GeminiKeyLease> acquire(String model, long estimatedTokens) {
+        List<KeySlot> slots;
+        try {
+            slots = slotsByModel.computeIfAbsent(model, this::createSlots);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<GeminiKeyLease> lease = new CompletableFuture<>();
+        long deadline = System.nanoTime() + geminiProperties.getMaxQueueWait().toNanos();
+        tryAcquire(model, slots, estimatedTokens, deadline, lease);
+        return lease;
+    }
+
+    private void tryAcquire(String model, List<KeySlot> slots, long estimatedTokens, long deadline,
+                            CompletableFuture<GeminiKeyLease> lease) {
+        if (lease.isDone()) {
+            // 대기 중 호출이 취소된 경우
+            return;
+        }
+
+        // 남은 요청 수가 많고, 진행 중인 요청이 적은 키부터 시도
+        List<KeySlot> ordered = slots.stream()
+                .sorted(Comparator.comparingDouble((KeySlot slot) -> -slot.requests.available())
+                        .thenComparingInt(slot -> slot.inFlight.get()))
+                .toList();
+
+        long minWait = Long.MAX_VALUE;
+        for (KeySlot slot : ordered) {
+            long wait = slot.tryAcquire(estimatedTokens);
+            if (wait == 0) {
+                if (!lease.complete(slot)) {
+                    slot.release();
+                }
+                return;
+            }
+            minWait = Math.min(minWait, wait);
+        }
+
+        if (System.nanoTime() + minWait > deadline) {
+            lease.completeExceptionally(new GeminiException(model, 429, "요청 한도 초과 (대기 시간 초과)"));
+            return;
+        }
+        log.debug("Gemini 요청 한도 초과로 대기 - model: {}, {} ms", model, TimeUnit.NANOSECONDS.toMillis(minWait));
+        scheduler.schedule(() -> tryAcquire(model, slots, estimatedTokens, deadline, lease), minWait, TimeUnit.NANOSECONDS);
+    }
+
+    private List<KeySlot> createSlots(String model) {
+        List<String> keys = geminiProperties.getModelKeys().get(model);
+        if (keys == null || keys.isEmpty()) {
+            throw new IllegalArgumentException("해당 모델에 대한 API 키가 존재하지 않습니다: " + model);
+        }
+        GeminiProperties.Quota quota = geminiProperties.getQuotaForModel(model);
+        List<KeySlot> slots = keys.stream()
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .map(key -> new KeySlot(key, quota))
+                .toList();
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("해당 모델에 대한 API 키가 존재하지 않습니다: " + model);
+        }
+        return slots;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
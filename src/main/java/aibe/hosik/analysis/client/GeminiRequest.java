@@ -0,0 +1,25 @@
+package aibe.hosik.analysis.client;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * generateContent / streamGenerateContent 요청 본문
+ *
+ * @param contents      대화 내용 (단일 사용자 메시지)
+ * @param cachedContent 서버 측 캐시 이름 (없으면 생략)
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record GeminiRequest(List<Content> contents, String cachedContent) {
+
+    public record Content(String role, List<Part> parts) {
+    }
+
+    public record Part(String text) {
+    }
+
+    public static GeminiRequest of(String prompt, String cachedContent) {
+        return new GeminiRequest(List.of(new Content("user", List.of(new Part(prompt)))), cachedContent);
+    }
+}
@@ -0,0 +1,19 @@
+package aibe.hosik.analysis.client;
+
+/**
+ * generateContent 응답에서 사용하는 부분만 담은 결과
+ *
+ * @param text         첫 번째 후보의 텍스트 (여러 part 는 이어 붙임)
+ * @param finishReason 생성 종료 사유 (STOP, MAX_TOKENS, SAFETY 등)
+ * @param usage        토큰 사용량 (응답에 없으면 null)
+ */
+public record GeminiResponse(String text, String finishReason, UsageMetadata usage) {
+
+    public record UsageMetadata(int promptTokenCount, int candidatesTokenCount, int totalTokenCount,
+                                int cachedContentTokenCount) {
+    }
+
+    public boolean isComplete() {
+        return finishReason == null || "STOP".equals(finishReason);
+    }
+}
@@ -0,0 +1,279 @@
+package aibe.hosik.analysis.client;
+
+import aibe.hosik.analysis.dto.GeminiCacheStats;
+import aibe.hosik.analysis.entity.GeminiCacheEntry;
+import aibe.hosik.analysis.repository.GeminiCacheEntryRepository;
+import aibe.hosik.common.Fingerprint;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Gemini 응답 캐시
+ * (model, prompt) 해시를 키로 메모리(LRU + TTL) -> DB 순서로 조회하고,
+ * 동일한 요청이 동시에 들어오면 하나의 upstream 호출 결과를 공유한다.
+ * 실패한 호출과 검증을 통과하지 못한 응답은 캐시하지 않는다. 기다리는 호출자가 모두 취소하면 upstream 호출도 중단한다.
+ * 대체 모델, 중복 요청은 HTTP 응답 처리 스레드에서 호출되므로 DB 조회와 저장은 GeminiStoreExecutor 에서 실행한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeminiResponseCache {
+    private final GeminiCacheEntryRepository geminiCacheEntryRepository;
+    private final GeminiProperties geminiProperties;
+    private final GeminiStoreExecutor geminiStoreExecutor;
+
+    private final Map<String, InFlightLoad> inFlight = new ConcurrentHashMap<>();
+    private Map<String, CachedResponse> memory;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong storeHits = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record CachedResponse(String response, long expiresAtMillis) {
+    }
+
+    @PostConstruct
+    void init() {
+        int maxSize = geminiProperties.getCache().getMaxSize();
+        memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 캐시된 응답을 반환하거나, 없으면 loader 로 호출한 결과를 캐시에 저장한다.
+     * validator 를 통과한 응답만 저장하고, 저장된 응답이 통과하지 못하면 지우고 다시 호출한다.
+     * (형식이 잘못된 응답을 재시도할 때마다 다시 돌려주지 않도록)
+     *
+     * @param model     모델 이름
+     * @param prompt    프롬프트
+     * @param validator 응답을 사용할 수 있는지 검사 (통과하지 못한 응답도 호출자에게는 그대로 전달)
+     * @param loader    실제 Gemini 호출
+     * @return 응답 future (호출자별로 분리되어 있어 취소해도 다른 호출자에게 영향 없음, 마지막 호출자가 취소하면 upstream 호출 중단)
+     */
+    public CompletableFuture<String> getOrLoad(String model, String prompt, Predicate<String> validator,
+                                               Supplier<CompletableFuture<String>> loader) {
+        if (!geminiProperties.getCache().isEnabled()) {
+            return loader.get();
+        }
+
+        String key = Fingerprint.of(model, prompt);
+
+        String cached = getFromMemory(key);
+        if (cached != null) {
+            if (validator.test(cached)) {
+                memoryHits.incrementAndGet();
+                return CompletableFuture.completedFuture(cached);
+            }
+            // DB 에 남은 응답은 load 에서 검증 후 삭제
+            removeFromMemory(key);
+        }
+
+        while (true) {
+            InFlightLoad created = new InFlightLoad();
+            InFlightLoad existing = inFlight.putIfAbsent(key, created);
+            if (existing == null) {
+                CompletableFuture<String> caller = created.attach();
+                try {
+                    geminiStoreExecutor.executor().execute(() -> load(key, model, validator, loader, created));
+                } catch (RejectedExecutionException e) {
+                    inFlight.remove(key, created);
+                    created.result.completeExceptionally(e);
+                }
+                return caller;
+            }
+            CompletableFuture<String> caller = existing.attach();
+            if (caller != null) {
+                coalesced.incrementAndGet();
+                return caller;
+            }
+            // 모든 호출자가 취소해 중단 중인 호출에는 합류하지 않고 새로 시작
+            inFlight.remove(key, existing);
+        }
+    }
+
+    // DB 캐시를 조회하고 없으면 upstream 을 호출한다. (GeminiStoreExecutor 스레드)
+    private void load(String key, String model, Predicate<String> validator,
+                      Supplier<CompletableFuture<String>> loader, InFlightLoad created) {
+        CompletableFuture<String> result = created.result;
+        try {
+            Optional<GeminiCacheEntry> stored = geminiCacheEntryRepository
+                    .findByFingerprintAndExpiresAtAfter(key, LocalDateTime.now());
+            if (stored.isPresent() && !validator.test(stored.get().getResponse())) {
+                evict(key);
+                stored = Optional.empty();
+            }
+            if (stored.isPresent()) {
+                storeHits.incrementAndGet();
+                String response = stored.get().getResponse();
+                putInMemory(key, response);
+                inFlight.remove(key, created);
+                result.complete(response);
+                return;
+            }
+
+            misses.incrementAndGet();
+            CompletableFuture<String> upstream = loader.get();
+            created.upstream(upstream);
+            upstream.whenComplete((response, error) -> {
+                if (error != null) {
+                    inFlight.remove(key, created);
+                    result.completeExceptionally(error);
+                    return;
+                }
+                boolean valid = validator.test(response);
+                if (valid) {
+                    putInMemory(key, response);
+                }
+                inFlight.remove(key, created);
+                result.complete(response);
+                if (valid) {
+                    persistAsync(key, model, response);
+                }
+            });
+        } catch (Exception e) {
+            inFlight.remove(key, created);
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 진행 중인 upstream 호출과 기다리는 호출자 수
+     */
+    private static final class InFlightLoad {
+        private final CompletableFuture<String> result = new CompletableFuture<>();
+        private CompletableFuture<String> upstream;
+        private int callers;
+        private boolean abandoned;
+
+        /**
+         * @return 호출자 전용 future (이미 중단된 호출이면 null)
+         */
+        private synchronized CompletableFuture<String> attach() {
+            if (abandoned) {
+                return null;
+            }
+            callers++;
+            CompletableFuture<String> caller = result.thenApply(Function.identity());
+            caller.whenComplete((response, error) -> {
+                if (caller.isCancelled()) {
+                    detach();
+                }
+            });
+            return caller;
+        }
+
+        private synchronized void detach() {
+            if (--callers > 0 || result.isDone()) {
+                return;
+            }
+            abandoned = true;
+            if (upstream != null) {
+                upstream.cancel(true);
+            }
+        }
+
+        private synchronized void upstream(CompletableFuture<String> upstream) {
+            this.upstream = upstream;
+            if (abandoned) {
+                upstream.cancel(true);
+            }
+        }
+    }
+
+    private String getFromMemory(String key) {
+        synchronized (memory) {
+            CachedResponse cached = memory.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAtMillis() < System.currentTimeMillis()) {
+                memory.remove(key);
+                return null;
+            }
+            return cached.response();
+        }
+    }
+
+    private void putInMemory(String key, String response) {
+        long expiresAt = System.currentTimeMillis() + geminiProperties.getCache().getMemoryTtl().toMillis();
+        synchronized (memory) {
+            memory.put(key, new CachedResponse(response, expiresAt));
+        }
+    }
+
+    private void removeFromMemory(String key) {
+        synchronized (memory) {
+            memory.remove(key);
+        }
+    }
+
+    // 검증을 통과하지 못한 응답을 메모리와 DB 에서 지운다.
+    private void evict(String key) {
+        removeFromMemory(key);
+        try {
+            geminiCacheEntryRepository.deleteById(key);
+            log.info("검증에 실패한 Gemini 응답 캐시 삭제 - key: {}", key);
+        } catch (Exception e) {
+            log.warn("Gemini 응답 캐시 삭제 실패 - key: {}", key, e);
+        }
+    }
+
+    // upstream 응답은 HTTP 응답 처리 스레드에서 완료되므로 저장은 넘겨서 실행
+    private void persistAsync(String key, String model, String response) {
+        if (!geminiProperties.getCache().isPersistent()) {
+            return;
+        }
+        try {
+            geminiStoreExecutor.executor().execute(() -> persist(key, model, response));
+        } catch (RejectedExecutionException e) {
+            log.warn("Gemini 응답 캐시 저장 생략 - model: {}", model, e);
+        }
+    }
+
+    private void persist(String key, String model, String response) {
+        try {
+            LocalDateTime expiresAt = LocalDateTime.now().plus(geminiProperties.getCache().getStoreTtl());
+            geminiCacheEntryRepository.save(GeminiCacheEntry.of(key, model, response, expiresAt));
+        } catch (Exception e) {
+            // 캐시 저장 실패는 분석 결과에 영향을 주지 않음
+            log.warn("Gemini 응답 캐시 저장 실패 - model: {}", model, e);
+        }
+    }
+
+    /**
+     * 매일 새벽 4시 만료된 캐시 정리
+     */
+    @Scheduled(cron = "0 0 4 * * ?")
+    public void evictExpired() {
+        int deleted = geminiCacheEntryRepository.deleteExpired(LocalDateTime.now());
+        log.info("만료된 Gemini 캐시 {}건 삭제", deleted);
+    }
+
+    public GeminiCacheStats stats() {
+        int size;
+        synchronized (memory) {
+            size = memory.size();
+        }
+        return new GeminiCacheStats(memoryHits.get(), storeHits.get(), coalesced.get(), misses.get(), size);
+    }
+}
@@ -0,0 +1,147 @@
+package aibe.hosik.analysis.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Gemini 응답을 스트리밍 방식으로 읽어 첫 번째 후보의 텍스트, 종료 사유, 토큰 사용량만 추출한다.
+ * 전체 응답을 Map/트리로 만들지 않고, 필요 없는 필드(안전성 평가, 나머지 후보 등)는 건너뛴다.
+ */
+final class GeminiResponseParser {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private GeminiResponseParser() {
+    }
+
+    static GeminiResponse parse(byte[] body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser);
+        }
+    }
+
+    static GeminiResponse parse(String body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parse(parser);
+        }
+    }
+
+    private static GeminiResponse parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("JSON 객체가 아닙니다.");
+        }
+        TextBuffer text = null;
+        String finishReason = null;
+        GeminiResponse.UsageMetadata usage = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("candidates".equals(field) && value == JsonToken.START_ARRAY) {
+                // 첫 번째 후보만 읽고 나머지는 건너뜀
+                boolean first = true;
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    if (first) {
+                        text = new TextBuffer();
+                        finishReason = readCandidate(parser, text);
+                        first = false;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if ("usageMetadata".equals(field) && value == JsonToken.START_OBJECT) {
+                usage = readUsage(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new GeminiResponse(text != null ? text.result() : null, finishReason, usage);
+    }
+
+    // candidate 객체 안에서 content.parts[].text 를 모으고 finishReason 을 반환
+    private static String readCandidate(JsonParser parser, TextBuffer text) throws IOException {
+        String finishReason = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("content".equals(field) && value == JsonToken.START_OBJECT) {
+                readContent(parser, text);
+            } else if ("finishReason".equals(field) && value == JsonToken.VALUE_STRING) {
+                finishReason = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return finishReason;
+    }
+
+    private static void readContent(JsonParser parser, TextBuffer text) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("parts".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String partField = parser.currentName();
+                        JsonToken partValue = parser.nextToken();
+                        if ("text".equals(partField) && partValue == JsonToken.VALUE_STRING) {
+                            text.append(parser.getText());
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static GeminiResponse.UsageMetadata readUsage(JsonParser parser) throws IOException {
+        int prompt = 0;
+        int candidates = 0;
+        int total = 0;
+        int cached = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value != JsonToken.VALUE_NUMBER_INT) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case "promptTokenCount" -> prompt = parser.getIntValue();
+                case "candidatesTokenCount" -> candidates = parser.getIntValue();
+                case "totalTokenCount" -> total = parser.getIntValue();
+                case "cachedContentTokenCount" -> cached = parser.getIntValue();
+                default -> {
+                }
+            }
+        }
+        return new GeminiResponse.UsageMetadata(prompt, candidates, total, cached);
+    }
+
+    // part 가 하나뿐인 일반적인 경우에는 문자열을 복사하지 않음
+    private static final class TextBuffer {
+        private String first;
+        private StringBuilder joined;
+
+        private void append(String part) {
+            if (first == null) {
+                first = part;
+            } else {
+                if (joined == null) {
+                    joined = new StringBuilder(first);
+                }
+                joined.append(part);
+            }
+        }
+
+        private String result() {
+            String text = joined != null ? joined.toString() : first;
+            return text == null || text.isEmpty() ? null : text;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package aibe.hosik.analysis.client;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gemini 호출 전후의 DB 작업(응답 캐시 조회/저장, 단계 체크포인트, 요약, 추천 문구 저장) 전용 실행기
+ * Gemini 응답은 HTTP 응답 처리 스레드(gemini-http)나 제한 시간 스레드에서 완료되므로,
+ * 그 스레드에서 JPA 호출로 막히면 다른 모든 Gemini 응답 처리가 밀린다. 후속 DB 작업은 이 실행기로 넘겨서 실행한다.
+ * (Executor 빈으로 등록하면 스프링 기본 비동기 실행기 자동 구성이 꺼지므로 감싸서 제공)
+ */
+@Component
+@RequiredArgsConstructor
+public class GeminiStoreExecutor {
+    private final GeminiProperties geminiProperties;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger seq = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(geminiProperties.getStoreThreads(), r -> {
+            Thread thread = new Thread(r, "gemini-store-" + seq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdown();
+    }
+
+    public Executor executor() {
+        return executor;
+    }
+}
@@ -0,0 +1,81 @@
+package aibe.hosik.analysis.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+/**
+ * streamGenerateContent(alt=sse) 응답을 줄 단위로 받아 텍스트 조각을 전달하고 전체 텍스트를 모은다.
+ * HTTP 클라이언트 스레드에서 호출되므로 블로킹 작업을 하지 않는다.
+ */
+@Slf4j
+class GeminiStreamCollector implements Flow.Subscriber<String> {
+    private static final String DATA_PREFIX = "data:";
+
+    private final Consumer<String> onChunk;
+    private final StringBuilder text = new StringBuilder();
+    // SSE 형식이 아닌 응답 (오류 응답 본문)
+    private final StringBuilder raw = new StringBuilder();
+    // 조각마다 누적 사용량이 오므로 마지막 값을 사용
+    private volatile GeminiResponse.UsageMetadata usage;
+
+    GeminiStreamCollector(Consumer<String> onChunk) {
+        this.onChunk = onChunk;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(String line) {
+        if (!line.startsWith(DATA_PREFIX)) {
+            raw.append(line);
+            return;
+        }
+        String chunk;
+        try {
+            // 각 조각은 generateContent 응답과 같은 형식
+            GeminiResponse parsed = GeminiResponseParser.parse(line.substring(DATA_PREFIX.length()));
+            if (parsed.usage() != null) {
+                usage = parsed.usage();
+            }
+            chunk = parsed.text() != null ? parsed.text() : "";
+        } catch (Exception e) {
+            log.warn("스트리밍 응답 조각 파싱 실패: {}", line);
+            return;
+        }
+        if (chunk.isEmpty()) {
+            return;
+        }
+        text.append(chunk);
+        try {
+            onChunk.accept(chunk);
+        } catch (Exception e) {
+            // 구독자 전달 실패가 응답 수집을 멈추지 않도록 함
+            log.warn("스트리밍 응답 조각 전달 실패", e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+    }
+
+    @Override
+    public void onComplete() {
+    }
+
+    String text() {
+        return text.toString();
+    }
+
+    GeminiResponse.UsageMetadata usage() {
+        return usage;
+    }
+
+    String raw() {
+        return raw.toString();
+    }
+}
@@ -0,0 +1,263 @@
+package aibe.hosik.analysis.client;
+
+import aibe.hosik.analysis.entity.GeminiTokenUsage;
+import aibe.hosik.analysis.repository.GeminiTokenUsageRepository;
+import aibe.hosik.common.Fingerprint;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gemini 일별 토큰 사용량 장부 (모델, API 키 단위)
+ * 응답의 usageMetadata 를 메모리에 모았다가 주기적으로 DB 에 더하고, 다른 인스턴스 사용량을 포함한 오늘 합계를 다시 읽는다.
+ * 사용량 = DB 합계 + 아직 반영하지 않은 이 인스턴스의 사용량
+ * 최근 1시간 소비 속도는 이 인스턴스 기준이다.
+ */
+@Slf4j
+@Component
+public class GeminiTokenLedger {
+    private static final int WINDOW_MINUTES = 60;
+
+    private final GeminiTokenUsageRepository geminiTokenUsageRepository;
+    private final Clock clock;
+    // 아직 DB 에 반영하지 않은 사용량
+    private final Map<Entry, Usage> pending = new ConcurrentHashMap<>();
+    // 최근 1시간 분 단위 사용량 (모델별)
+    private final Map<String, MinuteWindow> recent = new ConcurrentHashMap<>();
+    // 마지막으로 읽은 오늘의 DB 합계
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public GeminiTokenLedger(GeminiTokenUsageRepository geminiTokenUsageRepository) {
+        this(geminiTokenUsageRepository, Clock.systemDefaultZone());
+    }
+
+    GeminiTokenLedger(GeminiTokenUsageRepository geminiTokenUsageRepository, Clock clock) {
+        this.geminiTokenUsageRepository = geminiTokenUsageRepository;
+        this.clock = clock;
+        this.snapshot = new Snapshot(LocalDate.now(clock), List.of());
+    }
+
+    /**
+     * 응답의 토큰 사용량을 기록한다. (usageMetadata 가 없으면 무시)
+     */
+    public void record(String model, String apiKey, GeminiResponse.UsageMetadata usage) {
+        if (usage == null) {
+            return;
+        }
+        long cached = usage.cachedContentTokenCount();
+        long prompt = Math.max(0, usage.promptTokenCount() - cached);
+        long output = usage.candidatesTokenCount();
+        Entry entry = new Entry(LocalDate.now(clock), model, keyId(apiKey));
+        // remove 와 원자적으로 동작하도록 compute 안에서 더함 (반영 중인 값이 유실되지 않음)
+        pending.compute(entry, (key, current) -> {
+            Usage updated = current != null ? current : new Usage();
+            updated.add(prompt, cached, output, 1);
+            return updated;
+        });
+        recent.computeIfAbsent(model, m -> new MinuteWindow()).add(minute(), prompt + cached + output);
+    }
+
+    /**
+     * 오늘 사용한 토큰 수 (모든 키 합계)
+     */
+    public long usedToday(String model) {
+        LocalDate today = LocalDate.now(clock);
+        Snapshot current = snapshot;
+        long used = current.date().equals(today) ? current.totalByModel().getOrDefault(model, 0L) : 0L;
+        for (Map.Entry<Entry, Usage> entry : pending.entrySet()) {
+            if (entry.getKey().date().equals(today) && entry.getKey().model().equals(model)) {
+                used += entry.getValue().total();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * 이 인스턴스의 최근 1시간 토큰 사용량
+     */
+    public long lastHour(String model) {
+        MinuteWindow window = recent.get(model);
+        return window == null ? 0 : window.sum(minute());
+    }
+
+    /**
+     * 오늘의 키별 사용량 (DB 반영분 + 미반영분)
+     */
+    public List<KeyUsage> todayByKey() {
+        LocalDate today = LocalDate.now(clock);
+        Map<Entry, Usage> merged = new HashMap<>();
+        Snapshot current = snapshot;
+        if (current.date().equals(today)) {
+            for (GeminiTokenUsage row : current.rows()) {
+                Usage usage = new Usage();
+                usage.add(row.getPromptTokens(), row.getCachedTokens(), row.getOutputTokens(), row.getRequests());
+                merged.put(new Entry(today, row.getModel(), row.getKeyId()), usage);
+            }
+        }
+        pending.forEach((entry, usage) -> {
+            if (entry.date().equals(today)) {
+                merged.computeIfAbsent(entry, e -> new Usage()).add(usage);
+            }
+        });
+        return merged.entrySet().stream()
+                .map(e -> new KeyUsage(e.getKey().model(), e.getKey().keyId(), e.getValue().prompt,
+                        e.getValue().cached, e.getValue().output, e.getValue().requests))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * 미반영 사용량을 DB 에 더하고 오늘 합계를 다시 읽는다.
+     */
+    @Scheduled(fixedDelayString = "${gemini.budget.flush-interval-ms:30000}")
+    public void flush() {
+        for (Entry entry : List.copyOf(pending.keySet())) {
+            Usage usage = pending.remove(entry);
+            if (usage == null) {
+                continue;
+            }
+            try {
+                write(entry, usage);
+            } catch (Exception e) {
+                // 다음 주기에 다시 반영
+                pending.merge(entry, usage, Usage::add);
+                log.warn("Gemini 토큰 사용량 반영 실패 - model: {}", entry.model(), e);
+            }
+        }
+        refresh();
+    }
+
+    private void write(Entry entry, Usage usage) {
+        if (add(entry, usage) > 0) {
+            return;
+        }
+        try {
+            geminiTokenUsageRepository.save(GeminiTokenUsage.builder()
+                    .usageDate(entry.date())
+                    .model(entry.model())
+                    .keyId(entry.keyId())
+                    .promptTokens(usage.prompt)
+                    .cachedTokens(usage.cached)
+                    .outputTokens(usage.output)
+                    .requests(usage.requests)
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 다른 인스턴스가 먼저 행을 만든 경우
+            add(entry, usage);
+        }
+    }
+
+    private int add(Entry entry, Usage usage) {
+        return geminiTokenUsageRepository.addUsage(entry.date(), entry.model(), entry.keyId(),
+                usage.prompt, usage.cached, usage.output, usage.requests);
+    }
+
+    private void refresh() {
+        LocalDate today = LocalDate.now(clock);
+        try {
+            snapshot = new Snapshot(today, geminiTokenUsageRepository.findByUsageDate(today));
+        } catch (Exception e) {
+            log.warn("Gemini 토큰 사용량 조회 실패", e);
+        }
+    }
+
+    private long minute() {
+        return clock.millis() / 60_000;
+    }
+
+    private static String keyId(String apiKey) {
+        return Fingerprint.of(apiKey).substring(0, 16);
+    }
+
+    /**
+     * @param model        모델
+     * @param keyId        API 키 해시 앞 16자리
+     * @param promptTokens 입력 토큰 (캐시된 입력 제외)
+     */
+    public record KeyUsage(String model, String keyId, long promptTokens, long cachedTokens, long outputTokens,
+                           long requests) {
+    }
+
+    private record Entry(LocalDate date, String model, String keyId) {
+    }
+
+    private record Snapshot(LocalDate date, List<GeminiTokenUsage> rows, Map<String, Long> totalByModel) {
+        private Snapshot(LocalDate date, List<GeminiTokenUsage> rows) {
+            this(date, rows, total(rows));
+        }
+
+        private static Map<String, Long> total(List<GeminiTokenUsage> rows) {
+            Map<String, Long> totals = new HashMap<>();
+            rows.forEach(row -> totals.merge(row.getModel(), row.totalTokens(), Long::sum));
+            return totals;
+        }
+    }
+
+    private static final class Usage {
+        private long prompt;
+        private long cached;
+        private long output;
+        private long requests;
+
+        private synchronized void add(long prompt, long cached, long output, long requests) {
+            this.prompt += prompt;
+            this.cached += cached;
+            this.output += output;
+            this.requests += requests;
+        }
+
+        private Usage add(Usage other) {
+            synchronized (other) {
+                add(other.prompt, other.cached, other.output, other.requests);
+            }
+            return this;
+        }
+
+        private synchronized long total() {
+            return prompt + cached + output;
+        }
+    }
+
+    /**
+     * 분 단위 원형 버퍼 (최근 WINDOW_MINUTES 분)
+     */
+    private static final class MinuteWindow {
+        private final long[] minutes = new long[WINDOW_MINUTES];
+        private final long[] tokens = new long[WINDOW_MINUTES];
+
+        private synchronized void add(long minute, long count) {
+            int index = (int) (minute % WINDOW_MINUTES);
+            if (minutes[index] != minute) {
+                minutes[index] = minute;
+                tokens[index] = 0;
+            }
+            tokens[index] += count;
+        }
+
+        private synchronized long sum(long currentMinute) {
+            long sum = 0;
+            for (int i = 0; i < WINDOW_MINUTES; i++) {
+                if (currentMinute - minutes[i] < WINDOW_MINUTES) {
+                    sum += tokens[i];
+                }
+            }
+            return sum;
+        }
+    }
+}
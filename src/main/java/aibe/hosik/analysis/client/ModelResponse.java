@@ -0,0 +1,7 @@
+package aibe.hosik.analysis.client;
+
+/**
+ * 실제로 응답한 모델과 응답 텍스트
+ */
+public record ModelResponse(String model, String text) {
+}
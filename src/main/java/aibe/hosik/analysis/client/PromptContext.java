@@ -0,0 +1,16 @@
+package aibe.hosik.analysis.client;
+
+import aibe.hosik.common.Fingerprint;
+
+/**
+ * 여러 요청이 공유하는 프롬프트 앞부분 (예: 모집글 정보)
+ * 같은 id 라도 내용이 바뀌면 fingerprint 가 달라지므로 이전 버전의 캐시는 사용되지 않는다.
+ *
+ * @param id   공유 단위 식별자 (무효화 기준)
+ * @param text 프롬프트 앞부분
+ */
+public record PromptContext(String id, String text) {
+    public String fingerprint() {
+        return Fingerprint.of(text);
+    }
+}
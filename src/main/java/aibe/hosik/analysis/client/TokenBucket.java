@@ -0,0 +1,82 @@
+package aibe.hosik.analysis.client;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * 분당 한도를 갖는 lock-free 토큰 버킷
+ * 상태(남은 토큰, 마지막 충전 시각)를 불변 객체로 두고 CAS 로 교체한다.
+ */
+public class TokenBucket {
+    private static final long NANOS_PER_MINUTE = 60_000_000_000L;
+
+    private record State(double tokens, long refilledAt) {
+    }
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(long perMinute) {
+        this(perMinute, System::nanoTime);
+    }
+
+    TokenBucket(long perMinute, LongSupplier nanoClock) {
+        this.capacity = perMinute;
+        this.refillPerNano = (double) perMinute / NANOS_PER_MINUTE;
+        this.nanoClock = nanoClock;
+        this.state = new AtomicReference<>(new State(perMinute, nanoClock.getAsLong()));
+    }
+
+    /**
+     * 토큰을 가져온다. 한 번에 용량보다 많이 요청하면 용량만큼만 차감한다. (큰 프롬프트가 영원히 대기하지 않도록)
+     *
+     * @param permits 필요한 토큰 수
+     * @return 성공 시 0, 실패 시 필요한 토큰이 모일 때까지 기다려야 하는 시간(ns)
+     */
+    public long tryAcquire(double permits) {
+        double need = Math.min(permits, capacity);
+        while (true) {
+            long now = nanoClock.getAsLong();
+            State current = state.get();
+            double tokens = refill(current, now);
+            if (tokens < need) {
+                return (long) Math.ceil((need - tokens) / refillPerNano);
+            }
+            if (state.compareAndSet(current, new State(tokens - need, now))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 가져간 토큰을 되돌려준다. (다른 버킷 획득에 실패한 경우)
+     */
+    public void refund(double permits) {
+        double amount = Math.min(permits, capacity);
+        while (true) {
+            long now = nanoClock.getAsLong();
+            State current = state.get();
+            double tokens = Math.min(capacity, refill(current, now) + amount);
+            if (state.compareAndSet(current, new State(tokens, now))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 남은 토큰을 모두 비운다. (서버가 429를 반환한 경우 잠시 해당 키 사용을 멈추기 위해)
+     */
+    public void drain() {
+        state.set(new State(0, nanoClock.getAsLong()));
+    }
+
+    public double available() {
+        return refill(state.get(), nanoClock.getAsLong());
+    }
+
+    private double refill(State current, long now) {
+        return Math.min(capacity, current.tokens() + (now - current.refilledAt()) * refillPerNano);
+    }
+}
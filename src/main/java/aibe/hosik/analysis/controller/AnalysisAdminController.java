@@ -0,0 +1,43 @@
+package aibe.hosik.analysis.controller;
+
+import aibe.hosik.analysis.client.GeminiResponseCache;
+import aibe.hosik.analysis.dto.AnalysisBudgetStatus;
+import aibe.hosik.analysis.dto.GeminiCacheStats;
+import aibe.hosik.analysis.service.AnalysisBudget;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 분석 운영용 관리자 API (ADMIN 권한 필요, SecurityConfig 참고)
+ */
+@RestController
+@RequestMapping("/api/admin/analyses")
+@RequiredArgsConstructor
+@Tag(name = "Analysis Admin", description = "분석 운영 관리자 API") // Swagger Tag
+public class AnalysisAdminController {
+    private final AnalysisBudget analysisBudget;
+    private final GeminiResponseCache geminiResponseCache;
+
+    @Operation(
+            summary = "Gemini 토큰 예산 현황",
+            description = "모델별 하루 예산, 오늘 사용량, 최근 1시간/시간당 평균 소비 속도, 예상 소진 시각, 키별 사용량과 현재 단계 축소 수준을 조회"
+    )
+    @GetMapping("/budget")
+    public ResponseEntity<AnalysisBudgetStatus> getBudget() {
+        return ResponseEntity.ok(analysisBudget.status());
+    }
+
+    @Operation(
+            summary = "Gemini 응답 캐시 통계",
+            description = "메모리/DB 캐시 적중, 동일 요청 합류, 실제 호출 횟수를 조회"
+    )
+    @GetMapping("/cache/stats")
+    public ResponseEntity<GeminiCacheStats> getCacheStats() {
+        return ResponseEntity.ok(geminiResponseCache.stats());
+    }
+}
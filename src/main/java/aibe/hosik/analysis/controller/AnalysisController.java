@@ -1,15 +1,25 @@
 package aibe.hosik.analysis.controller;
 
+import aibe.hosik.analysis.dto.AnalysisHistoryResponse;
 import aibe.hosik.analysis.service.AnalysisService;
+import aibe.hosik.handler.exception.CustomException;
+import aibe.hosik.handler.exception.ErrorCode;
+import aibe.hosik.user.entity.User;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -20,22 +30,63 @@ public class AnalysisController {
     private final AnalysisService analysisService;
 
     /**
-     * 수동으로 AI 분석을 재실행하는 엔드포인트
+     * 수동으로 AI 분석을 재실행하는 엔드포인트 (모집글 작성자만)
+     * 작업 큐에 등록만 하고 바로 응답하며, 결과는 stream 또는 history 로 확인한다.
      *
      * @param applyId 지원서 ID
-     * @return 성공 또는 실패 메시지
+     * @param user    요청 사용자 (모집글 작성자)
+     * @return 등록 메시지
      */
     @Operation(
             summary = "AI 분석 수동 재시도",
-            description = "지원서 ID를 기반으로 AI 분석을 수동으로 재실행"
+            description = "지원서 ID를 기반으로 AI 분석을 작업 큐에 다시 등록 (모집글 작성자만)"
     )
     @PostMapping("/retry/{applyId}")
-    public ResponseEntity<String> retryAnalysis(@PathVariable Long applyId) {
-        try {
-            analysisService.analysisApply(applyId);  // 동기 실행
-            return ResponseEntity.ok("AI 분석이 성공적으로 완료");
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError().body("AI 분석 중 오류 발생: " + e.getMessage());
+    public ResponseEntity<String> retryAnalysis(@PathVariable Long applyId, @AuthenticationPrincipal User user) {
+        if (user == null) {
+            throw new CustomException(ErrorCode.LOGIN_REQUIRED);
+        }
+        analysisService.retry(applyId, user);
+        return ResponseEntity.accepted().body("AI 분석 재시도가 등록되었습니다.");
+    }
+
+    /**
+     * 지원서 분석 진행 상황을 SSE 로 구독하는 엔드포인트
+     * 이벤트: stage(단계 완료), score(최종 점수), chunk(추천 문구 조각), complete(분석 결과, 마지막), error
+     *
+     * @param applyId 지원서 ID
+     * @param user    요청 사용자 (모집글 작성자)
+     * @return SSE 연결
+     */
+    @Operation(
+            summary = "AI 분석 진행 상황 스트림",
+            description = "지원서의 분석 단계 완료, 점수, 추천 문구 생성 과정을 Server-Sent Events 로 전달"
+    )
+    @GetMapping(value = "/{applyId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAnalysis(@PathVariable Long applyId, @AuthenticationPrincipal User user) {
+        if (user == null) {
+            throw new CustomException(ErrorCode.LOGIN_REQUIRED);
+        }
+        return analysisService.subscribe(applyId, user);
+    }
+
+    /**
+     * 지원서의 AI 분석 이력 조회 (최신 순)
+     *
+     * @param applyId 지원서 ID
+     * @param user    요청 사용자 (모집글 작성자)
+     * @return 분석 이력
+     */
+    @Operation(
+            summary = "AI 분석 이력 조회",
+            description = "지원서의 분석 차수별 점수, 사용 모델, 프롬프트 해시, 생성 시각을 최신 순으로 조회"
+    )
+    @GetMapping("/{applyId}/history")
+    public ResponseEntity<List<AnalysisHistoryResponse>> getAnalysisHistory(@PathVariable Long applyId,
+                                                                            @AuthenticationPrincipal User user) {
+        if (user == null) {
+            throw new CustomException(ErrorCode.LOGIN_REQUIRED);
         }
+        return ResponseEntity.ok(analysisService.getHistory(applyId, user));
     }
 }
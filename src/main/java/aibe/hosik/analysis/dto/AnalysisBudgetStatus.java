@@ -0,0 +1,46 @@
+package aibe.hosik.analysis.dto;
+
+import aibe.hosik.analysis.client.GeminiTokenLedger;
+import aibe.hosik.analysis.service.BudgetLevel;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 하루 토큰 예산 현황 (관리자용)
+ *
+ * @param date          기준 날짜
+ * @param enabled       예산에 따른 단계 축소 여부
+ * @param level         일반 작업의 단계 축소 수준
+ * @param priorityLevel 우선 작업(작성자가 기다리는 분석, 수동 재시도)의 단계 축소 수준
+ * @param models        모델별 사용량
+ * @param keys          모델, 키별 사용량
+ */
+public record AnalysisBudgetStatus(
+        LocalDate date,
+        boolean enabled,
+        BudgetLevel level,
+        BudgetLevel priorityLevel,
+        List<ModelBudget> models,
+        List<GeminiTokenLedger.KeyUsage> keys
+) {
+    /**
+     * @param dailyTokens         하루 예산 (null 이면 제한 없음)
+     * @param usedTokens          오늘 사용량
+     * @param remainingRatio      남은 비율 (제한이 없으면 1)
+     * @param lastHourTokens      최근 1시간 사용량 (이 인스턴스 기준)
+     * @param averageTokensPerHour 오늘 시간당 평균 사용량
+     * @param projectedExhaustion 최근 1시간 속도가 이어질 때 예산이 바닥나는 시각 (오늘 안에 바닥나지 않으면 null)
+     */
+    public record ModelBudget(
+            String model,
+            Long dailyTokens,
+            long usedTokens,
+            double remainingRatio,
+            long lastHourTokens,
+            long averageTokensPerHour,
+            LocalDateTime projectedExhaustion
+    ) {
+    }
+}
@@ -0,0 +1,32 @@
+package aibe.hosik.analysis.dto;
+
+import aibe.hosik.analysis.entity.Analysis;
+
+import java.time.LocalDateTime;
+
+public record AnalysisHistoryResponse(
+        Long id,
+        int revision,
+        int score,
+        Integer contentScore,
+        Integer personalityScore,
+        Integer skillScore,
+        String result,
+        String modelConfig,         // 결과를 만든 단계별 모델
+        String promptFingerprint,   // 점수 분석 프롬프트 해시 (같으면 같은 입력으로 분석)
+        LocalDateTime createdAt
+) {
+    public static AnalysisHistoryResponse from(Analysis analysis) {
+        return new AnalysisHistoryResponse(
+                analysis.getId(),
+                analysis.getRevision(),
+                analysis.getScore(),
+                analysis.getContentScore(),
+                analysis.getPersonalityScore(),
+                analysis.getSkillScore(),
+                analysis.getResult(),
+                analysis.getModelConfig(),
+                analysis.getPromptFingerprint(),
+                analysis.getCreatedAt());
+    }
+}
@@ -0,0 +1,34 @@
+package aibe.hosik.analysis.dto;
+
+import aibe.hosik.common.Fingerprint;
+import aibe.hosik.post.entity.Post;
+import aibe.hosik.resume.entity.Resume;
+
+import java.util.List;
+
+/**
+ * 분석에 사용한 원본 입력의 해시 (분석 결과와 함께 저장)
+ * 프롬프트 해시와 달리 토큰 예산, 요약 사용 여부, 모델 설정과 관계없이 내용이 같으면 같은 값이 된다.
+ * 제목, 마감일처럼 분석에 쓰이지 않는 항목을 수정하면 값이 바뀌지 않는다.
+ *
+ * @param postFingerprint   모집 내용, 요구 성격, 모집 스킬 해시
+ * @param resumeFingerprint 자기소개서 내용, 성격, 보유 스킬 해시
+ */
+public record AnalysisInputs(String postFingerprint, String resumeFingerprint) {
+    public static AnalysisInputs of(Post post, List<String> postSkills, Resume resume, List<String> resumeSkills) {
+        return new AnalysisInputs(postFingerprint(post, postSkills), resumeFingerprint(resume, resumeSkills));
+    }
+
+    public static String postFingerprint(Post post, List<String> skills) {
+        return Fingerprint.of(post.getContent(), post.getRequirementPersonality(), skills(skills));
+    }
+
+    public static String resumeFingerprint(Resume resume, List<String> skills) {
+        return Fingerprint.of(resume.getContent(), resume.getPersonality(), skills(skills));
+    }
+
+    // 순서, 중복과 관계없이 같은 스킬 목록이면 같은 값
+    private static String skills(List<String> skills) {
+        return String.join(",", skills.stream().distinct().sorted().toList());
+    }
+}
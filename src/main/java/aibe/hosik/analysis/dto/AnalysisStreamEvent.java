@@ -0,0 +1,53 @@
+package aibe.hosik.analysis.dto;
+
+import aibe.hosik.analysis.entity.Analysis;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import aibe.hosik.analysis.entity.StageStatus;
+
+/**
+ * 분석 진행 상황 스트림(SSE) 이벤트
+ *
+ * @param name     SSE 이벤트 이름 (stage, score, chunk, complete, error)
+ * @param data     이벤트 내용 (JSON 으로 직렬화)
+ * @param terminal 마지막 이벤트 여부 (전송 후 연결 종료)
+ */
+public record AnalysisStreamEvent(String name, Object data, boolean terminal) {
+
+    public record StageData(AnalysisStage stage, StageStatus status, long latencyMs, boolean reused) {
+    }
+
+    public record ScoreData(int score, int contentScore, int personalityScore, int skillScore) {
+    }
+
+    public record ChunkData(AnalysisStage stage, String text) {
+    }
+
+    public record CompleteData(Long analysisId, int score, String result, String summary) {
+    }
+
+    // 분석 단계 완료 (성공, 실패, 이전 결과 재사용)
+    public static AnalysisStreamEvent stage(AnalysisStage stage, StageStatus status, long latencyMs, boolean reused) {
+        return new AnalysisStreamEvent("stage", new StageData(stage, status, latencyMs, reused), false);
+    }
+
+    // 최종 점수 계산 완료 (추천 문구 생성 전)
+    public static AnalysisStreamEvent score(int score, MatchScore merged) {
+        return new AnalysisStreamEvent("score",
+                new ScoreData(score, merged.contentScore(), merged.personalityScore(), merged.skillScore()), false);
+    }
+
+    // 모델 응답 일부
+    public static AnalysisStreamEvent chunk(AnalysisStage stage, String text) {
+        return new AnalysisStreamEvent("chunk", new ChunkData(stage, text), false);
+    }
+
+    public static AnalysisStreamEvent complete(Analysis analysis) {
+        return new AnalysisStreamEvent("complete",
+                new CompleteData(analysis.getId(), analysis.getScore(), analysis.getResult(), analysis.getSummary()), true);
+    }
+
+    // 분석 실패 (작업 큐에서 재시도되므로 연결은 유지)
+    public static AnalysisStreamEvent error(String message) {
+        return new AnalysisStreamEvent("error", message, false);
+    }
+}
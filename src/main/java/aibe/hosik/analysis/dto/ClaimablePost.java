@@ -0,0 +1,16 @@
+package aibe.hosik.analysis.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 처리 가능한 분석 작업을 모집글 단위로 모은 결과 (작업 우선순위 계산용)
+ */
+public record ClaimablePost(
+        Long postId,                        // 모집글 ID (모집글 없이 등록된 작업이면 null)
+        LocalDate endedAt,                  // 모집 마감일
+        LocalDateTime authorActiveUntil,    // 작성자가 지원자 목록을 보고 있는 것으로 간주하는 시각
+        LocalDateTime readySince,           // 가장 오래 기다린 작업이 처리 가능해진 시각
+        long jobCount                       // 처리 가능한 작업 수
+) {
+}
@@ -0,0 +1,10 @@
+package aibe.hosik.analysis.dto;
+
+public record GeminiCacheStats(
+        long memoryHits,    // 메모리 캐시 적중
+        long storeHits,     // DB 캐시 적중
+        long coalesced,     // 진행 중인 동일 요청에 합류
+        long misses,        // 실제 Gemini 호출
+        int memorySize      // 현재 메모리 캐시 크기
+) {
+}
@@ -0,0 +1,36 @@
+package aibe.hosik.analysis.dto;
+
+import java.util.List;
+
+/**
+ * 모델 1, 2가 반환하는 구조화된 점수
+ */
+public record MatchScore(
+        int contentScore,       // 내용 적합도 점수
+        int personalityScore,   // 성격 점수
+        int skillScore,         // 스킬 점수
+        String reason           // 점수 선정 및 추천 이유
+) {
+    public MatchScore {
+        contentScore = clamp(contentScore);
+        personalityScore = clamp(personalityScore);
+        skillScore = clamp(skillScore);
+    }
+
+    /**
+     * 여러 모델의 점수를 항목별로 평균낸다. 이유는 첫 번째 모델의 것을 사용한다.
+     */
+    public static MatchScore average(List<MatchScore> scores) {
+        int size = scores.size();
+        return new MatchScore(
+                Math.round((float) scores.stream().mapToInt(MatchScore::contentScore).sum() / size),
+                Math.round((float) scores.stream().mapToInt(MatchScore::personalityScore).sum() / size),
+                Math.round((float) scores.stream().mapToInt(MatchScore::skillScore).sum() / size),
+                scores.get(0).reason()
+        );
+    }
+
+    private static int clamp(int score) {
+        return Math.max(0, Math.min(100, score));
+    }
+}
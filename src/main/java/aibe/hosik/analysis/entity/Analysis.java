@@ -1,16 +1,22 @@
 package aibe.hosik.analysis.entity;
 
 import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.common.TimeEntity;
 import jakarta.persistence.*;
 import lombok.*;
 
+/**
+ * AI 분석 결과 이력
+ * 분석할 때마다 지원서별로 revision 을 올려 새 행을 쌓고, 지원서의 latestAnalysis 가 가장 최근 행을 가리킨다.
+ */
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_analysis_apply_revision", columnNames = {"apply_id", "revision"}))
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Getter
 @Setter
-public class Analysis {
+public class Analysis extends TimeEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -24,6 +30,40 @@ public class Analysis {
     @Column(nullable = false)
     private int score;
 
+    // 모델 1, 2 평균 세부 점수 (점수 산정 방식 변경 이전 데이터는 null)
+    @Column
+    private Integer contentScore;
+
+    @Column
+    private Integer personalityScore;
+
+    @Column
+    private Integer skillScore;
+
+    // 모델 4 추천 문구 생성 여부
+    @Column(nullable = false)
+    @Builder.Default
+    private boolean narrated = false;
+
+    // 지원서별 분석 차수 (1부터, 이력 도입 이전 데이터는 ID 순서대로 채움)
+    @Column(nullable = false)
+    private int revision;
+
+    // 결과를 만든 단계별 모델 (예: MATCH_PRIMARY=gemini-2.0-flash-lite,MATCH_SECONDARY=gemini-1.5-flash-8b)
+    @Column
+    private String modelConfig;
+
+    // 점수 분석에 사용한 프롬프트 해시
+    @Column(length = 64)
+    private String promptFingerprint;
+
+    // 분석에 사용한 모집글, 자기소개서 내용 해시 (수정 후 다시 분석할 지원서를 고를 때 비교, AnalysisInputs)
+    @Column(length = 64)
+    private String postFingerprint;
+
+    @Column(length = 64)
+    private String resumeFingerprint;
+
     @ManyToOne(fetch = FetchType.LAZY)
     private Apply apply;
 
@@ -0,0 +1,167 @@
+package aibe.hosik.analysis.entity;
+
+import aibe.hosik.common.TimeEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 분석 작업 큐(outbox) 엔티티
+ * 지원서 저장과 같은 트랜잭션에서 생성되고, 워커가 lease 를 잡아 처리한다.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_analysis_job_status_next", columnList = "status, nextAttemptAt"),
+        @Index(name = "idx_analysis_job_post_status", columnList = "postId, status")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class AnalysisJob extends TimeEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // 지원서 삭제와 무관하게 큐가 유지되도록 FK 없이 ID만 보관
+    @Column(nullable = false, unique = true)
+    private Long applyId;
+
+    // 같은 모집글의 작업을 묶어 일괄 분석하기 위해 보관
+    @Column
+    private Long postId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    private AnalysisJobStatus status = AnalysisJobStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column
+    private String leaseOwner;
+
+    @Column
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    // 이 시각까지 모집글 작성자가 지원자를 보고 있는 것으로 간주해 먼저 처리
+    @Column
+    private LocalDateTime authorActiveUntil;
+
+    // 실행 중에 모집글/자기소개서가 수정된 경우, 끝난 뒤 이 시각 이후 다시 분석
+    @Column
+    private LocalDateTime rerunAt;
+
+    public static AnalysisJob of(Long applyId, Long postId) {
+        return AnalysisJob.builder()
+                .applyId(applyId)
+                .postId(postId)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * 작업을 다시 대기 상태로 되돌린다. (재분석 요청 시)
+     */
+    public void reset() {
+        reset(LocalDateTime.now());
+    }
+
+    /**
+     * 작업을 notBefore 이후 실행할 대기 상태로 되돌린다. (내용 수정 후 재분석)
+     */
+    public void reset(LocalDateTime notBefore) {
+        this.status = AnalysisJobStatus.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = notBefore;
+        this.rerunAt = null;
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+        this.lastError = null;
+    }
+
+    /**
+     * 실행 중인 작업이 이전 내용으로 분석하고 있으므로 끝난 뒤 다시 실행하도록 표시한다.
+     */
+    public void requestRerun(LocalDateTime notBefore) {
+        if (this.rerunAt == null || notBefore.isBefore(this.rerunAt)) {
+            this.rerunAt = notBefore;
+        }
+    }
+
+    /**
+     * 모집글 작성자가 결과를 기다리는 작업으로 표시한다. (수동 재시도)
+     */
+    public void markAuthorActive(LocalDateTime until) {
+        this.authorActiveUntil = until;
+    }
+
+    public void complete() {
+        if (rerunAt != null) {
+            reset(rerunAt);
+            return;
+        }
+        this.status = AnalysisJobStatus.DONE;
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+        this.lastError = null;
+    }
+
+    /**
+     * 실패한 작업을 nextAttemptAt 이후 다시 실행하도록 대기 상태로 되돌린다.
+     */
+    public void retryLater(String error, LocalDateTime nextAttemptAt) {
+        this.status = AnalysisJobStatus.PENDING;
+        this.nextAttemptAt = rerunAt != null && rerunAt.isBefore(nextAttemptAt) ? rerunAt : nextAttemptAt;
+        this.rerunAt = null;
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+        this.lastError = truncate(error);
+    }
+
+    /**
+     * 가져온 작업을 다른 워커가 바로 가져갈 수 있도록 대기 상태로 되돌린다. (일괄 분석에서 빠진 작업)
+     * 실행을 시도하지 않았다면 lease 를 잡으며 올린 시도 횟수를 되돌린다.
+     */
+    public void release(boolean attempted) {
+        if (!attempted && attempts > 0) {
+            this.attempts--;
+        }
+        this.status = AnalysisJobStatus.PENDING;
+        this.nextAttemptAt = rerunAt != null ? rerunAt : LocalDateTime.now();
+        this.rerunAt = null;
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+    }
+
+    /**
+     * 반복 실패한 작업을 격리한다. 수동 재분석 전까지 자동으로 실행되지 않는다.
+     */
+    public void quarantine(String error) {
+        if (rerunAt != null) {
+            // 내용이 바뀌었으므로 시도 횟수를 초기화하고 다시 분석
+            reset(rerunAt);
+            return;
+        }
+        this.status = AnalysisJobStatus.QUARANTINED;
+        this.leaseOwner = null;
+        this.leaseExpiresAt = null;
+        this.lastError = truncate(error);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
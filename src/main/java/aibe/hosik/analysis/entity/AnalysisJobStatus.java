@@ -0,0 +1,9 @@
+package aibe.hosik.analysis.entity;
+
+public enum AnalysisJobStatus {
+    PENDING, RUNNING, DONE, FAILED,
+    // 반복 실패로 자동 재시도 대상에서 제외됨
+    QUARANTINED,
+    // 지원서 삭제, 모집 마감으로 취소됨 (모집글이 다시 열리면 재시도 스케줄러가 다시 등록)
+    CANCELLED
+}
@@ -0,0 +1,15 @@
+package aibe.hosik.analysis.entity;
+
+/**
+ * AI 분석 파이프라인 단계
+ */
+public enum AnalysisStage {
+    // 모델 1 적합도 점수
+    MATCH_PRIMARY,
+    // 모델 2 적합도 점수
+    MATCH_SECONDARY,
+    // 모델 4 추천 문구
+    NARRATIVE,
+    // 모델 3 자기소개서 요약 (자기소개서에 저장되므로 단계 결과는 남기지 않음)
+    RESUME_SUMMARY
+}
@@ -0,0 +1,80 @@
+package aibe.hosik.analysis.entity;
+
+import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.common.TimeEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * AI 분석 단계별 결과 (체크포인트)
+ * 지원서-단계당 한 행을 유지하며, 재시도 시 실패했거나 입력(fingerprint)이 바뀐 단계만 다시 실행한다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_analysis_stage_apply_stage", columnNames = {"apply_id", "stage"}))
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class AnalysisStageResult extends TimeEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Apply apply;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AnalysisStage stage;
+
+    @Column(nullable = false)
+    private String model;
+
+    // (model, prompt) 해시
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private StageStatus status;
+
+    @Column(columnDefinition = "TEXT")
+    private String output;
+
+    @Column(nullable = false)
+    private long latencyMs;
+
+    @Column(length = 500)
+    private String error;
+
+    public static AnalysisStageResult of(Apply apply, AnalysisStage stage) {
+        return AnalysisStageResult.builder()
+                .apply(apply)
+                .stage(stage)
+                .build();
+    }
+
+    public boolean isReusable(String fingerprint) {
+        return status == StageStatus.SUCCESS && fingerprint.equals(this.fingerprint);
+    }
+
+    public void succeed(String model, String fingerprint, String output, long latencyMs) {
+        this.model = model;
+        this.fingerprint = fingerprint;
+        this.status = StageStatus.SUCCESS;
+        this.output = output;
+        this.latencyMs = latencyMs;
+        this.error = null;
+    }
+
+    public void fail(String model, String fingerprint, String error, long latencyMs) {
+        this.model = model;
+        this.fingerprint = fingerprint;
+        this.status = StageStatus.FAILED;
+        this.latencyMs = latencyMs;
+        this.error = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
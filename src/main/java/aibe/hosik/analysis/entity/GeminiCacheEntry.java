@@ -0,0 +1,44 @@
+package aibe.hosik.analysis.entity;
+
+import aibe.hosik.common.TimeEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Gemini 응답 캐시 (영속 계층)
+ * (model, prompt) 해시를 키로 검증을 통과한 응답만 저장한다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_gemini_cache_expires_at", columnList = "expiresAt"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class GeminiCacheEntry extends TimeEntity {
+    @Id
+    @Column(length = 64)
+    private String fingerprint;
+
+    @Column(nullable = false)
+    private String model;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String response;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public static GeminiCacheEntry of(String fingerprint, String model, String response, LocalDateTime expiresAt) {
+        return GeminiCacheEntry.builder()
+                .fingerprint(fingerprint)
+                .model(model)
+                .response(response)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package aibe.hosik.analysis.entity;
+
+import aibe.hosik.common.TimeEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Gemini 일별 토큰 사용량 장부 (모델, API 키 단위)
+ * 응답의 usageMetadata 를 모아 주기적으로 더한다. 키는 원문 대신 해시 앞부분으로 구분한다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_gemini_token_usage_day_model_key",
+        columnNames = {"usageDate", "model", "keyId"}))
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+public class GeminiTokenUsage extends TimeEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate usageDate;
+
+    @Column(nullable = false)
+    private String model;
+
+    @Column(nullable = false, length = 16)
+    private String keyId;
+
+    // 입력 토큰 (캐시된 입력 제외)
+    private long promptTokens;
+
+    // 캐시된 입력 토큰
+    private long cachedTokens;
+
+    // 출력 토큰
+    private long outputTokens;
+
+    private long requests;
+
+    /**
+     * 예산 계산에 쓰는 토큰 수 (입력 + 캐시된 입력 + 출력)
+     */
+    public long totalTokens() {
+        return promptTokens + cachedTokens + outputTokens;
+    }
+}
@@ -0,0 +1,5 @@
+package aibe.hosik.analysis.entity;
+
+public enum StageStatus {
+    SUCCESS, FAILED
+}
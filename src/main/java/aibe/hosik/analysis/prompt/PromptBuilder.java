@@ -0,0 +1,161 @@
+package aibe.hosik.analysis.prompt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 토큰 예산 안에서 프롬프트를 만드는 컴포넌트
+ * - 템플릿은 시작 시 한 번만 읽고 해석한다. (잘못된 템플릿은 애플리케이션 시작 시 실패)
+ * - 예상 토큰 수가 예산을 넘으면 줄일 수 있는 필드를 짧은 것부터 공평하게 나눠 줄인다.
+ *   요약이 있고 할당량 안에 들어가면 요약으로 바꾸고, 아니면 줄 단위로 잘라낸다.
+ * 같은 입력과 예산이면 항상 같은 프롬프트가 만들어지므로 응답 캐시, 체크포인트를 그대로 재사용할 수 있다.
+ */
+@Slf4j
+@Component
+public class PromptBuilder {
+    static final String TRUNCATION_MARKER = "\n...(이하 생략)";
+
+    private final Map<PromptTemplateId, PromptTemplate> templates;
+
+    public PromptBuilder() {
+        this(loadTemplates());
+    }
+
+    PromptBuilder(Map<PromptTemplateId, PromptTemplate> templates) {
+        this.templates = templates;
+    }
+
+    private static Map<PromptTemplateId, PromptTemplate> loadTemplates() {
+        Map<PromptTemplateId, PromptTemplate> loaded = new EnumMap<>(PromptTemplateId.class);
+        for (PromptTemplateId id : PromptTemplateId.values()) {
+            try (InputStream in = new ClassPathResource(id.path()).getInputStream()) {
+                loaded.put(id, PromptTemplate.parse(id.name(), new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("프롬프트 템플릿을 읽을 수 없습니다: " + id.path(), e);
+            }
+        }
+        return loaded;
+    }
+
+    public PromptTemplate template(PromptTemplateId id) {
+        return templates.get(id);
+    }
+
+    /**
+     * @param id          템플릿
+     * @param fields      필드 이름별 값
+     * @param tokenBudget 최대 입력 토큰 수
+     * @return 렌더링된 프롬프트 (고정 부분만으로 예산을 넘으면 줄일 수 있는 필드를 모두 비운 결과)
+     */
+    public RenderedPrompt render(PromptTemplateId id, Map<String, PromptField> fields, long tokenBudget) {
+        PromptTemplate template = templates.get(id);
+        Map<String, String> values = new HashMap<>();
+        List<String> shrinkable = new ArrayList<>();
+        long fixedChars = template.literalLength();
+        for (String name : template.fieldNames()) {
+            PromptField field = fields.get(name);
+            if (field == null) {
+                throw new IllegalArgumentException("필드 값이 없습니다 - template: " + id + ", field: " + name);
+            }
+            values.put(name, field.value());
+            if (field.shrinkable()) {
+                shrinkable.add(name);
+            } else {
+                fixedChars += (long) field.value().length() * template.occurrences(name);
+            }
+        }
+
+        Set<String> shrunk = shrink(template, fields, shrinkable, TokenEstimator.maxChars(tokenBudget) - fixedChars, values);
+        String text = template.render(values);
+        long tokens = TokenEstimator.estimate(text);
+        if (!shrunk.isEmpty()) {
+            log.info("프롬프트 토큰 예산 초과로 필드 축약 - template: {}, budget: {}, tokens: {}, fields: {}",
+                    id, tokenBudget, tokens, shrunk);
+        }
+        return new RenderedPrompt(text, tokens, shrunk);
+    }
+
+    /**
+     * 줄일 수 있는 필드들에 남은 글자 수를 나눠 준다. (짧은 필드는 그대로 두고 남는 몫을 긴 필드에 배분)
+     *
+     * @return 줄인 필드 이름
+     */
+    private Set<String> shrink(PromptTemplate template, Map<String, PromptField> fields, List<String> names,
+                               long available, Map<String, String> values) {
+        long demand = 0;
+        int weight = 0;
+        for (String name : names) {
+            demand += (long) fields.get(name).value().length() * template.occurrences(name);
+            weight += template.occurrences(name);
+        }
+        Set<String> shrunk = new LinkedHashSet<>();
+        if (demand <= available) {
+            return shrunk;
+        }
+
+        // 길이 오름차순 (같으면 이름순) 으로 처리해야 결과가 입력 순서에 의존하지 않음
+        names.sort(Comparator.<String>comparingInt(name -> fields.get(name).value().length())
+                .thenComparing(Comparator.naturalOrder()));
+        long remaining = Math.max(0, available);
+        for (String name : names) {
+            PromptField field = fields.get(name);
+            int occurrences = template.occurrences(name);
+            long share = remaining / weight;
+            weight -= occurrences;
+            if (field.value().length() <= share) {
+                remaining -= (long) field.value().length() * occurrences;
+                continue;
+            }
+            String value = field.summary() != null && field.summary().length() <= share
+                    ? field.summary()
+                    : truncate(field.value(), (int) Math.min(share, Integer.MAX_VALUE));
+            values.put(name, value);
+            remaining -= (long) value.length() * occurrences;
+            shrunk.add(name);
+        }
+        return shrunk;
+    }
+
+    /**
+     * 표시 문구를 포함해 limit 글자 이내로 자른다. 가능하면 줄바꿈, 공백 위치에서 자른다.
+     */
+    static String truncate(String value, int limit) {
+        int keep = limit - TRUNCATION_MARKER.length();
+        if (keep <= 0) {
+            return "";
+        }
+        int end = lastBreak(value, keep);
+        if (Character.isHighSurrogate(value.charAt(end - 1))) {
+            end--;
+        }
+        return value.substring(0, end).stripTrailing() + TRUNCATION_MARKER;
+    }
+
+    // 앞쪽 절반 이상을 남길 수 있는 마지막 줄바꿈 (없으면 공백, 그것도 없으면 keep 위치)
+    private static int lastBreak(String value, int keep) {
+        int newline = value.lastIndexOf('\n', keep);
+        if (newline >= keep / 2 && newline > 0) {
+            return newline;
+        }
+        for (int i = keep; i > keep / 2; i--) {
+            if (Character.isWhitespace(value.charAt(i))) {
+                return i;
+            }
+        }
+        return keep;
+    }
+}
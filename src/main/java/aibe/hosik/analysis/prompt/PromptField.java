@@ -0,0 +1,22 @@
+package aibe.hosik.analysis.prompt;
+
+/**
+ * 템플릿 자리표시자에 들어갈 값
+ *
+ * @param value      값 (null 은 "null" 로 렌더링, 기존 String.format 과 동일)
+ * @param shrinkable 토큰 예산을 넘을 때 줄일 수 있는 필드인지 (이력서, 모집 내용 등 길이 제한이 없는 입력)
+ * @param summary    줄여야 할 때 잘라내기보다 먼저 사용할 요약 (없으면 null)
+ */
+public record PromptField(String value, boolean shrinkable, String summary) {
+    public static PromptField fixed(Object value) {
+        return new PromptField(String.valueOf(value), false, null);
+    }
+
+    public static PromptField shrinkable(Object value) {
+        return new PromptField(String.valueOf(value), true, null);
+    }
+
+    public static PromptField shrinkable(Object value, String summary) {
+        return new PromptField(String.valueOf(value), true, summary);
+    }
+}
@@ -0,0 +1,120 @@
+package aibe.hosik.analysis.prompt;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 미리 해석해 둔 프롬프트 템플릿
+ * {{name}} 자리표시자를 기준으로 고정 문구와 자리표시자 목록으로 나눠 두고, 렌더링할 때는 이어 붙이기만 한다.
+ * (호출마다 형식 문자열을 다시 해석하는 String.format 대신 사용)
+ */
+public final class PromptTemplate {
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String name;
+    // literals.length == placeholders.length + 1
+    private final String[] literals;
+    private final String[] placeholders;
+    private final int literalLength;
+    private final Set<String> fieldNames;
+
+    private PromptTemplate(String name, String[] literals, String[] placeholders) {
+        this.name = name;
+        this.literals = literals;
+        this.placeholders = placeholders;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+        this.fieldNames = Set.copyOf(new LinkedHashSet<>(List.of(placeholders)));
+    }
+
+    /**
+     * 템플릿 원문을 해석한다.
+     *
+     * @param name   템플릿 이름 (오류 메시지용)
+     * @param source 템플릿 원문
+     * @throws IllegalArgumentException 자리표시자가 닫히지 않았거나 이름이 비어 있는 경우
+     */
+    public static PromptTemplate parse(String name, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("닫히지 않은 자리표시자 - template: " + name + ", index: " + open);
+            }
+            String field = source.substring(open + OPEN.length(), close).trim();
+            if (field.isEmpty()) {
+                throw new IllegalArgumentException("이름이 없는 자리표시자 - template: " + name + ", index: " + open);
+            }
+            literals.add(source.substring(position, open));
+            placeholders.add(field);
+            position = close + CLOSE.length();
+        }
+        return new PromptTemplate(name, literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Set<String> fieldNames() {
+        return fieldNames;
+    }
+
+    /**
+     * 자리표시자를 제외한 고정 문구의 글자 수
+     */
+    public int literalLength() {
+        return literalLength;
+    }
+
+    /**
+     * 같은 필드가 여러 번 쓰인 경우를 포함한 자리표시자 수
+     */
+    public int occurrences(String field) {
+        int count = 0;
+        for (String placeholder : placeholders) {
+            if (placeholder.equals(field)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param values 필드 이름별 값 (템플릿의 모든 필드가 있어야 함)
+     * @return 렌더링된 프롬프트
+     */
+    public String render(Map<String, String> values) {
+        int length = literalLength;
+        for (String placeholder : placeholders) {
+            length += value(values, placeholder).length();
+        }
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]).append(value(values, placeholders[i]));
+        }
+        return builder.append(literals[placeholders.length]).toString();
+    }
+
+    private String value(Map<String, String> values, String field) {
+        String value = values.get(field);
+        if (value == null) {
+            throw new IllegalArgumentException("필드 값이 없습니다 - template: " + name + ", field: " + field);
+        }
+        return value;
+    }
+}
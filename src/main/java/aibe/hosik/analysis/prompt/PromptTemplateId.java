@@ -0,0 +1,25 @@
+package aibe.hosik.analysis.prompt;
+
+/**
+ * 분석에 사용하는 프롬프트 템플릿 (src/main/resources/prompts)
+ */
+public enum PromptTemplateId {
+    // 모집글 단위 공유 프롬프트 (모델 1, 2 공통, 서버 측 캐시 대상)
+    MATCH_CONTEXT("prompts/match-context.txt"),
+    // 지원서마다 달라지는 프롬프트 (모델 1, 2 공통)
+    MATCH_APPLICANT("prompts/match-applicant.txt"),
+    // 모집글 단위 일괄 분석
+    MATCH_BATCH("prompts/match-batch.txt"),
+    // 모델 3 자기소개서 요약
+    RESUME_SUMMARY("prompts/resume-summary.txt");
+
+    private final String path;
+
+    PromptTemplateId(String path) {
+        this.path = path;
+    }
+
+    public String path() {
+        return path;
+    }
+}
@@ -0,0 +1,16 @@
+package aibe.hosik.analysis.prompt;
+
+import java.util.Set;
+
+/**
+ * 렌더링된 프롬프트
+ *
+ * @param text            프롬프트
+ * @param estimatedTokens 예상 입력 토큰 수
+ * @param shrunkFields    토큰 예산 때문에 요약 또는 잘라낸 필드
+ */
+public record RenderedPrompt(String text, long estimatedTokens, Set<String> shrunkFields) {
+    public boolean isShrunk() {
+        return !shrunkFields.isEmpty();
+    }
+}
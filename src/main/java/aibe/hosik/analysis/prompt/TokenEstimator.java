@@ -0,0 +1,27 @@
+package aibe.hosik.analysis.prompt;
+
+/**
+ * 대략적인 입력 토큰 수 계산 (한글 기준 약 2글자당 1토큰)
+ * 요청 한도(TPM), 컨텍스트 캐시 최소 크기, 프롬프트 토큰 예산이 모두 같은 기준을 사용한다.
+ */
+public final class TokenEstimator {
+    private static final int CHARS_PER_TOKEN = 2;
+
+    private TokenEstimator() {
+    }
+
+    public static long estimate(CharSequence text) {
+        return estimate(text.length());
+    }
+
+    public static long estimate(long length) {
+        return length / CHARS_PER_TOKEN + 1;
+    }
+
+    /**
+     * 주어진 토큰 수 안에 들어가는 최대 글자 수
+     */
+    public static long maxChars(long tokens) {
+        return Math.max(0, (tokens - 1) * CHARS_PER_TOKEN + 1);
+    }
+}
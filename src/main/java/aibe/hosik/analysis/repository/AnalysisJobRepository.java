@@ -0,0 +1,187 @@
+package aibe.hosik.analysis.repository;
+
+import aibe.hosik.analysis.dto.ClaimablePost;
+import aibe.hosik.analysis.entity.AnalysisJob;
+import aibe.hosik.analysis.entity.AnalysisJobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, Long> {
+    Optional<AnalysisJob> findByApplyId(Long applyId);
+
+    long countByStatus(AnalysisJobStatus status);
+
+    /**
+     * 처리 가능한 작업을 모집글별로 모아 조회 (우선순위, 모집글 간 공평 분배 계산용)
+     * 처리 가능: 대기 중이면서 실행 시각이 지난 작업 + lease 가 만료된 실행 중 작업(워커 재시작 등)
+     * 최대 pageable 크기만큼 가져오므로, 잘리기 전에 AnalysisJobPriority 와 같은 기준으로 급한 모집글부터 정렬한다.
+     * 작성자가 보고 있거나 overdueBefore 이전부터 기다린 모집글 -> 마감일이 deadlineFrom 이후인 모집글(마감 순)
+     * -> 나머지(마감이 오래 지났거나 모집글 없음), 같은 단계에서는 오래 기다린 순
+     *
+     * @param overdueBefore 이 시각 이전부터 기다린 작업이 있으면 마감일과 관계없이 먼저 (now - maxWait)
+     * @param deadlineFrom  이 날짜 이후 마감인 모집글만 마감 순으로 앞당김 (now - deadlineGrace)
+     */
+    @Query("""
+            SELECT new aibe.hosik.analysis.dto.ClaimablePost(
+                j.postId, p.endedAt, MAX(j.authorActiveUntil), MIN(j.nextAttemptAt), COUNT(j))
+            FROM AnalysisJob j
+            LEFT JOIN Post p ON p.id = j.postId
+            WHERE (j.status = :pending AND j.nextAttemptAt <= :now)
+               OR (j.status = :running AND j.leaseExpiresAt < :now)
+            GROUP BY j.postId, p.endedAt
+            ORDER BY
+                CASE WHEN MAX(j.authorActiveUntil) > :now OR MIN(j.nextAttemptAt) <= :overdueBefore THEN 0
+                     WHEN p.endedAt >= :deadlineFrom THEN 1
+                     ELSE 2 END,
+                CASE WHEN MAX(j.authorActiveUntil) > :now OR MIN(j.nextAttemptAt) <= :overdueBefore THEN NULL
+                     ELSE p.endedAt END,
+                MIN(j.nextAttemptAt)
+            """)
+    List<ClaimablePost> findClaimablePosts(@Param("pending") AnalysisJobStatus pending,
+                                           @Param("running") AnalysisJobStatus running,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("overdueBefore") LocalDateTime overdueBefore,
+                                           @Param("deadlineFrom") LocalDate deadlineFrom,
+                                           Pageable pageable);
+
+    /**
+     * 모집글 없이 등록된 처리 가능한 작업 ID 조회
+     */
+    @Query("""
+            SELECT j.id
+            FROM AnalysisJob j
+            WHERE j.postId IS NULL
+            AND ((j.status = :pending AND j.nextAttemptAt <= :now)
+               OR (j.status = :running AND j.leaseExpiresAt < :now))
+            ORDER BY j.id
+            """)
+    List<Long> findClaimableIdsWithoutPost(@Param("pending") AnalysisJobStatus pending,
+                                           @Param("running") AnalysisJobStatus running,
+                                           @Param("now") LocalDateTime now,
+                                           Pageable pageable);
+
+    /**
+     * 모집글 작성자가 지원자를 보고 있는 동안 해당 모집글의 대기 작업을 먼저 처리하도록 표시한다.
+     */
+    @Modifying
+    @Query("""
+            UPDATE AnalysisJob j
+            SET j.authorActiveUntil = :until
+            WHERE j.postId = :postId
+            AND j.status IN (:pending, :running)
+            """)
+    int markAuthorActive(@Param("postId") Long postId,
+                         @Param("until") LocalDateTime until,
+                         @Param("pending") AnalysisJobStatus pending,
+                         @Param("running") AnalysisJobStatus running);
+
+    /**
+     * 특정 모집글의 처리 가능한 작업 ID 조회 (일괄 분석용)
+     */
+    @Query("""
+            SELECT j.id
+            FROM AnalysisJob j
+            WHERE j.postId = :postId
+            AND ((j.status = :pending AND j.nextAttemptAt <= :now)
+               OR (j.status = :running AND j.leaseExpiresAt < :now))
+            ORDER BY j.id
+            """)
+    List<Long> findClaimableIdsByPostId(@Param("postId") Long postId,
+                                        @Param("pending") AnalysisJobStatus pending,
+                                        @Param("running") AnalysisJobStatus running,
+                                        @Param("now") LocalDateTime now,
+                                        Pageable pageable);
+
+    /**
+     * 특정 모집글에서 아직 한 번도 실행하지 않은 대기 작업 ID 조회 (일괄 분석에 추가로 묶을 작업)
+     * 재시도 중인 작업과 lease 가 만료된 작업은 단건으로 처리한다.
+     */
+    @Query("""
+            SELECT j.id
+            FROM AnalysisJob j
+            WHERE j.postId = :postId
+            AND j.status = :pending
+            AND j.attempts = 0
+            AND j.nextAttemptAt <= :now
+            ORDER BY j.id
+            """)
+    List<Long> findFreshIdsByPostId(@Param("postId") Long postId,
+                                    @Param("pending") AnalysisJobStatus pending,
+                                    @Param("now") LocalDateTime now,
+                                    Pageable pageable);
+
+    /**
+     * 지원서의 대기 중, 실행 중 작업을 취소한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE AnalysisJob j
+            SET j.status = :cancelled, j.leaseOwner = NULL, j.leaseExpiresAt = NULL
+            WHERE j.applyId = :applyId
+            AND j.status IN :statuses
+            """)
+    int cancelByApplyId(@Param("applyId") Long applyId,
+                        @Param("cancelled") AnalysisJobStatus cancelled,
+                        @Param("statuses") List<AnalysisJobStatus> statuses);
+
+    /**
+     * 모집글의 대기 중, 실행 중 작업을 취소한다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE AnalysisJob j
+            SET j.status = :cancelled, j.leaseOwner = NULL, j.leaseExpiresAt = NULL
+            WHERE j.postId = :postId
+            AND j.status IN :statuses
+            """)
+    int cancelByPostId(@Param("postId") Long postId,
+                       @Param("cancelled") AnalysisJobStatus cancelled,
+                       @Param("statuses") List<AnalysisJobStatus> statuses);
+
+    /**
+     * 조건부 UPDATE 로 lease 를 획득한다. 다른 워커가 먼저 가져갔다면 0을 반환한다.
+     * 시도 횟수는 대기 작업을 가져올 때만 올린다. lease 가 만료된 작업은 워커가 종료된 경우이므로 작업의 실패로 세지 않는다.
+     * (MySQL 은 SET 을 왼쪽부터 적용하므로 상태를 바꾸기 전에 시도 횟수를 계산)
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE AnalysisJob j
+            SET j.attempts = CASE WHEN j.status = :pending THEN j.attempts + 1 ELSE j.attempts END,
+                j.status = :running, j.leaseOwner = :owner, j.leaseExpiresAt = :leaseUntil
+            WHERE j.id = :id
+            AND ((j.status = :pending AND j.nextAttemptAt <= :now)
+                OR (j.status = :running AND j.leaseExpiresAt < :now))
+            """)
+    int claim(@Param("id") Long id,
+              @Param("owner") String owner,
+              @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("now") LocalDateTime now,
+              @Param("pending") AnalysisJobStatus pending,
+              @Param("running") AnalysisJobStatus running);
+
+    /**
+     * 워커가 실행 중인 작업의 lease 를 연장한다. (heartbeat)
+     * 이미 끝났거나 취소된 작업, 다른 워커가 다시 가져간 작업은 제외된다.
+     */
+    @Modifying
+    @Query("""
+            UPDATE AnalysisJob j
+            SET j.leaseExpiresAt = :leaseUntil
+            WHERE j.id IN :ids
+            AND j.leaseOwner = :owner
+            AND j.status = :running
+            """)
+    int renewLeases(@Param("ids") Collection<Long> ids,
+                    @Param("owner") String owner,
+                    @Param("leaseUntil") LocalDateTime leaseUntil,
+                    @Param("running") AnalysisJobStatus running);
+}
@@ -11,6 +11,20 @@ import java.util.Optional;
 public interface AnalysisRepository extends JpaRepository<Analysis, Long> {
     List<Analysis> findByApplyId(Long applyId);
 
-    @Query("SELECT a FROM Analysis a WHERE a.apply.id = :applyId ")
+    /**
+     * 지원서의 최신 분석 결과 (지원서의 latestAnalysis 참조를 따라감)
+     */
+    @Query("SELECT an FROM Apply a JOIN a.latestAnalysis an WHERE a.id = :applyId")
     Optional<Analysis> findLatestByApplyId(@Param("applyId") Long applyId);
+
+    /**
+     * 지원서의 마지막 분석 차수 (분석 결과가 없으면 0)
+     */
+    @Query("SELECT COALESCE(MAX(an.revision), 0) FROM Analysis an WHERE an.apply.id = :applyId")
+    int findMaxRevisionByApplyId(@Param("applyId") Long applyId);
+
+    /**
+     * 지원서의 분석 이력 (최신 순)
+     */
+    List<Analysis> findByApplyIdOrderByRevisionDesc(Long applyId);
 }
@@ -0,0 +1,14 @@
+package aibe.hosik.analysis.repository;
+
+import aibe.hosik.analysis.entity.AnalysisStage;
+import aibe.hosik.analysis.entity.AnalysisStageResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface AnalysisStageResultRepository extends JpaRepository<AnalysisStageResult, Long> {
+    Optional<AnalysisStageResult> findByApplyIdAndStage(Long applyId, AnalysisStage stage);
+
+    List<AnalysisStageResult> findByApplyId(Long applyId);
+}
@@ -0,0 +1,20 @@
+package aibe.hosik.analysis.repository;
+
+import aibe.hosik.analysis.entity.GeminiCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface GeminiCacheEntryRepository extends JpaRepository<GeminiCacheEntry, String> {
+    Optional<GeminiCacheEntry> findByFingerprintAndExpiresAtAfter(String fingerprint, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM GeminiCacheEntry e WHERE e.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
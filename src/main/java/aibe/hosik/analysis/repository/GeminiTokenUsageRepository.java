@@ -0,0 +1,38 @@
+package aibe.hosik.analysis.repository;
+
+import aibe.hosik.analysis.entity.GeminiTokenUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface GeminiTokenUsageRepository extends JpaRepository<GeminiTokenUsage, Long> {
+    List<GeminiTokenUsage> findByUsageDate(LocalDate usageDate);
+
+    /**
+     * 사용량을 더한다. 여러 인스턴스가 동시에 반영해도 값을 덮어쓰지 않도록 UPDATE 로 더함
+     *
+     * @return 갱신된 행 수 (0 이면 아직 행이 없음)
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE GeminiTokenUsage u
+            SET u.promptTokens = u.promptTokens + :promptTokens,
+                u.cachedTokens = u.cachedTokens + :cachedTokens,
+                u.outputTokens = u.outputTokens + :outputTokens,
+                u.requests = u.requests + :requests
+            WHERE u.usageDate = :usageDate AND u.model = :model AND u.keyId = :keyId
+            """)
+    int addUsage(@Param("usageDate") LocalDate usageDate,
+                 @Param("model") String model,
+                 @Param("keyId") String keyId,
+                 @Param("promptTokens") long promptTokens,
+                 @Param("cachedTokens") long cachedTokens,
+                 @Param("outputTokens") long outputTokens,
+                 @Param("requests") long requests);
+}
@@ -0,0 +1,191 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.client.GeminiClient;
+import aibe.hosik.analysis.client.GeminiFailoverExecutor;
+import aibe.hosik.analysis.client.ModelResponse;
+import aibe.hosik.analysis.dto.AnalysisInputs;
+import aibe.hosik.analysis.dto.MatchScore;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import aibe.hosik.analysis.prompt.PromptBuilder;
+import aibe.hosik.analysis.prompt.PromptField;
+import aibe.hosik.analysis.prompt.PromptTemplateId;
+import aibe.hosik.analysis.prompt.TokenEstimator;
+import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.apply.repository.ApplyRepository;
+import aibe.hosik.common.Fingerprint;
+import aibe.hosik.post.entity.Post;
+import aibe.hosik.skill.repository.PostSkillRepository;
+import aibe.hosik.skill.repository.ResumeSkillRepository;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 같은 모집글의 대기 중인 지원서를 한 번의 요청으로 일괄 분석
+ * 모집글 정보는 한 번만 보내고, 지원자는 요약 블록으로 압축해 입력 토큰과 요청 수를 줄인다.
+ * 응답에서 점수를 해석하지 못한 지원서는 호출한 쪽에서 단건 분석으로 다시 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisBatchService {
+    private static final Pattern LINE_BREAK = Pattern.compile("\\s*\\R\\s*");
+
+    private final GeminiClient geminiClient;
+    private final GeminiFailoverExecutor geminiFailoverExecutor;
+    private final ApplyRepository applyRepository;
+    private final PostSkillRepository postSkillRepository;
+    private final ResumeSkillRepository resumeSkillRepository;
+    private final ResumeSummaryService resumeSummaryService;
+    private final MatchScoreParser matchScoreParser;
+    private final AnalysisService analysisService;
+    private final PromptBuilder promptBuilder;
+    private final AnalysisMetrics analysisMetrics;
+    private final AnalysisCancellationRegistry analysisCancellationRegistry;
+    private final AnalysisBudget analysisBudget;
+
+    /**
+     * 한 모집글에 속한 지원서들을 일괄 분석하고 결과를 저장한다.
+     *
+     * @param postId   모집글 ID
+     * @param applyIds 지원서 ID 목록
+     * @return 분석 결과가 저장된 지원서 ID (토큰 예산이 바닥나면 비어 있음, 단건 분석에서 로컬 점수로 처리)
+     */
+    public Set<Long> analyzeBatch(Long postId, List<Long> applyIds) {
+        if (!analysisBudget.allows(AnalysisStage.MATCH_PRIMARY, false)) {
+            return new HashSet<>();
+        }
+        List<Apply> applies = applyRepository.findAllWithPostAndResumeByIdIn(applyIds).stream()
+                .filter(apply -> apply.getPost().getId().equals(postId))
+                .toList();
+        Set<Long> analyzed = new HashSet<>();
+        if (applies.isEmpty()) {
+            return analyzed;
+        }
+
+        Post post = applies.get(0).getPost();
+        List<String> postSkillNames = postSkillRepository.findSkillByPostId(postId);
+        Map<Long, List<String>> resumeSkillNames = resumeSkillRepository.findByResumeIdIn(
+                        applies.stream().map(apply -> apply.getResume().getId()).toList()).stream()
+                .collect(Collectors.groupingBy(rs -> rs.getResume().getId(),
+                        Collectors.mapping(rs -> rs.getSkill().getName(), Collectors.toList())));
+
+        // 자기소개서 요약은 이력서 버전별로 캐시되어 있으므로 지원자 블록으로 재사용 (요약이 없으면 원문 사용)
+        Map<Long, CompletableFuture<Optional<String>>> summaries = applies.stream()
+                .collect(Collectors.toMap(Apply::getId,
+                        apply -> resumeSummaryService.getOrCreateSummary(apply.getResume())));
+        CompletableFuture.allOf(summaries.values().toArray(CompletableFuture[]::new)).join();
+
+        // 지원자 목록을 빼고 렌더링한 길이 (모집글 필드가 예산을 넘으면 줄인 결과) 와 모집글 필드를 모두 비운 길이
+        long tokenBudget = geminiClient.inputTokenBudget(AnalysisStage.MATCH_PRIMARY);
+        long maxChars = TokenEstimator.maxChars(tokenBudget);
+        long room = maxChars - renderPrompt(post, postSkillNames, "", tokenBudget).length();
+        long minimumRoom = maxChars - renderPrompt(post, postSkillNames, "", 0).length();
+
+        // 예산 안에 들어가는 지원자 블록만 통째로 넣는다. (중간에서 잘린 지원자가 점수화되지 않도록)
+        // 빠진 지원자는 점수가 없으므로 호출한 쪽에서 단건 분석으로 처리되고,
+        // 첫 지원자는 모집글 필드를 줄여서라도 넣어 모집글 내용이 길어도 일괄 분석이 진행되도록 한다.
+        List<Apply> included = new ArrayList<>();
+        StringBuilder applicants = new StringBuilder();
+        for (Apply apply : applies) {
+            String block = formatApplicant(apply, summaries.get(apply.getId()).join()
+                            .orElse(apply.getResume().getContent()),
+                    resumeSkillNames.getOrDefault(apply.getResume().getId(), List.of()));
+            long length = applicants.length() + (included.isEmpty() ? 0 : 1) + block.length();
+            if (length > (included.isEmpty() ? minimumRoom : room)) {
+                continue;
+            }
+            if (!included.isEmpty()) {
+                applicants.append('\n');
+            }
+            applicants.append(block);
+            included.add(apply);
+        }
+        if (included.isEmpty()) {
+            log.info("AI 일괄 분석 생략 - 지원자 블록이 토큰 예산을 넘습니다. postId: {}", postId);
+            return analyzed;
+        }
+        if (included.size() < applies.size()) {
+            log.info("토큰 예산 초과로 일부 지원자를 일괄 분석에서 제외 - postId: {}, 포함: {}/{}",
+                    postId, included.size(), applies.size());
+        }
+        applies = included;
+        String prompt = renderPrompt(post, postSkillNames, applicants.toString(), tokenBudget);
+
+        log.info("AI 일괄 분석 시작 - postId: {}, 지원서 수: {}", postId, applies.size());
+        Instant start = Instant.now();
+        Timer.Sample sample = analysisMetrics.start("batch");
+        // 단건 분석의 모델 1 단계와 같은 모델 순서, 서킷 브레이커를 사용
+        ModelResponse response;
+        try {
+            response = analysisCancellationRegistry.track(null, postId,
+                    geminiFailoverExecutor.execute(geminiClient.modelsFor(AnalysisStage.MATCH_PRIMARY),
+                            model -> geminiClient.generateContentAsync(prompt, model, this::isBatchScore),
+                            this::isBatchScore, true)).join();
+        } catch (RuntimeException e) {
+            analysisMetrics.finish(sample, "batch", false);
+            throw e;
+        }
+        Map<Long, MatchScore> scores = matchScoreParser.parseBatch(response.text());
+        String modelConfig = "BATCH=" + response.model();
+        String promptFingerprint = Fingerprint.of(prompt);
+
+        for (Apply apply : applies) {
+            MatchScore score = scores.get(apply.getId());
+            if (score == null) {
+                continue;
+            }
+            try {
+                analysisService.saveAnalysis(apply, List.of(score), summaries.get(apply.getId()).join().orElse(AnalysisService.NO_SUMMARY),
+                        modelConfig, promptFingerprint, AnalysisInputs.of(post, postSkillNames, apply.getResume(),
+                                resumeSkillNames.getOrDefault(apply.getResume().getId(), List.of())));
+                analyzed.add(apply.getId());
+            } catch (Exception e) {
+                log.warn("일괄 분석 결과 저장 실패 - applyId: {}", apply.getId(), e);
+            }
+        }
+
+        long durationMs = Duration.between(start, Instant.now()).toMillis();
+        log.info("AI 일괄 분석 완료 - postId: {}, 성공: {}/{}, 소요 시간: {} ms",
+                postId, analyzed.size(), applies.size(), durationMs);
+        analysisMetrics.finish(sample, "batch", true);
+        return analyzed;
+    }
+
+    private String renderPrompt(Post post, List<String> postSkillNames, String applicants, long tokenBudget) {
+        return promptBuilder.render(PromptTemplateId.MATCH_BATCH, Map.of(
+                "postContent", PromptField.shrinkable(post.getContent()),
+                "requirementPersonality", PromptField.shrinkable(post.getRequirementPersonality()),
+                "postSkills", PromptField.fixed(postSkillNames),
+                "applicants", PromptField.fixed(applicants)),
+                tokenBudget).text();
+    }
+
+    private boolean isBatchScore(String response) {
+        return !matchScoreParser.parseBatch(response).isEmpty();
+    }
+
+    // 지원자 하나가 한 줄이 되도록 입력의 줄바꿈을 공백으로 바꿈
+    private String formatApplicant(Apply apply, String resumeSummary, List<String> skillNames) {
+        return String.format("- applyId: %d | 이력서 요약: %s | 지원 동기: %s | 성격 및 특징: %s | 보유 기술 스킬: %s",
+                apply.getId(), singleLine(resumeSummary), singleLine(apply.getReason()),
+                singleLine(apply.getResume().getPersonality()), skillNames);
+    }
+
+    private static String singleLine(String value) {
+        return value == null ? null : LINE_BREAK.matcher(value.strip()).replaceAll(" ");
+    }
+}
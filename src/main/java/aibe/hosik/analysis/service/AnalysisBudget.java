@@ -0,0 +1,127 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.client.GeminiProperties;
+import aibe.hosik.analysis.client.GeminiTokenLedger;
+import aibe.hosik.analysis.dto.AnalysisBudgetStatus;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 하루 토큰 예산에 따라 분석 단계를 줄인다.
+ * 예산이 있는 모델 중 남은 비율이 가장 낮은 값을 기준으로 수준을 정한다.
+ * - 일반 작업(작업 큐, 재시도 스케줄러): 요약 생략 -> 추천 문구 생략 -> 로컬 점수만 순서로 줄임
+ * - 우선 작업(작성자가 기다리는 분석, 수동 재시도): 마지막 priorityReserve 만큼을 쓸 수 있고, 예산이 바닥나야 로컬 점수만 사용
+ */
+@Slf4j
+@Component
+public class AnalysisBudget {
+    private final GeminiProperties geminiProperties;
+    private final GeminiTokenLedger geminiTokenLedger;
+    private final AtomicReference<BudgetLevel> lastLevel = new AtomicReference<>(BudgetLevel.FULL);
+
+    public AnalysisBudget(GeminiProperties geminiProperties, GeminiTokenLedger geminiTokenLedger,
+                          MeterRegistry registry) {
+        this.geminiProperties = geminiProperties;
+        this.geminiTokenLedger = geminiTokenLedger;
+        Gauge.builder("analysis.budget.level", this, budget -> budget.level(false).ordinal())
+                .description("일반 작업의 단계 축소 수준 (0: 전체, 1: 요약 생략, 2: 추천 문구 생략, 3: 로컬 점수만)")
+                .register(registry);
+    }
+
+    /**
+     * @param priority 작성자가 기다리는 분석이나 수동 재시도 여부
+     */
+    public BudgetLevel level(boolean priority) {
+        GeminiProperties.Budget config = geminiProperties.getBudget();
+        if (!config.isEnabled()) {
+            return BudgetLevel.FULL;
+        }
+        double remaining = remainingRatio();
+        BudgetLevel level = priority ? priorityLevel(config, remaining) : normalLevel(config, remaining);
+        if (!priority && lastLevel.getAndSet(level) != level) {
+            log.warn("Gemini 토큰 예산 단계 변경 - 수준: {}, 남은 비율: {}", level, String.format("%.3f", remaining));
+        }
+        return level;
+    }
+
+    public boolean allows(AnalysisStage stage, boolean priority) {
+        return level(priority).allows(stage);
+    }
+
+    /**
+     * 예산이 있는 모델 중 가장 낮은 남은 비율 (예산이 없으면 1)
+     */
+    double remainingRatio() {
+        return geminiProperties.getBudget().getDailyTokens().entrySet().stream()
+                .mapToDouble(entry -> ratio(entry.getValue(), geminiTokenLedger.usedToday(entry.getKey())))
+                .min()
+                .orElse(1.0);
+    }
+
+    public AnalysisBudgetStatus status() {
+        Map<String, Long> dailyTokens = geminiProperties.getBudget().getDailyTokens();
+        TreeSet<String> models = new TreeSet<>(dailyTokens.keySet());
+        geminiTokenLedger.todayByKey().forEach(usage -> models.add(usage.model()));
+
+        LocalDateTime now = LocalDateTime.now();
+        double hoursToday = Math.max(Duration.between(LocalDate.now().atStartOfDay(), now).toMinutes(), 1) / 60.0;
+        return new AnalysisBudgetStatus(
+                LocalDate.now(),
+                geminiProperties.getBudget().isEnabled(),
+                level(false),
+                level(true),
+                models.stream().map(model -> {
+                    Long daily = dailyTokens.get(model);
+                    long used = geminiTokenLedger.usedToday(model);
+                    long lastHour = geminiTokenLedger.lastHour(model);
+                    return new AnalysisBudgetStatus.ModelBudget(model, daily, used,
+                            daily == null ? 1.0 : ratio(daily, used), lastHour, Math.round(used / hoursToday),
+                            projectedExhaustion(daily, used, lastHour, now));
+                }).toList(),
+                geminiTokenLedger.todayByKey());
+    }
+
+    static BudgetLevel normalLevel(GeminiProperties.Budget config, double remaining) {
+        if (remaining <= config.getPriorityReserve()) {
+            return BudgetLevel.LOCAL_ONLY;
+        }
+        if (remaining <= config.getSkipNarrativeBelow()) {
+            return BudgetLevel.SKIP_NARRATIVE;
+        }
+        if (remaining <= config.getSkipSummaryBelow()) {
+            return BudgetLevel.SKIP_SUMMARY;
+        }
+        return BudgetLevel.FULL;
+    }
+
+    static BudgetLevel priorityLevel(GeminiProperties.Budget config, double remaining) {
+        if (remaining <= 0) {
+            return BudgetLevel.LOCAL_ONLY;
+        }
+        // 남은 예비분은 점수, 추천 문구에 쓰고 다시 만들 수 있는 요약은 생략
+        return remaining <= config.getPriorityReserve() ? BudgetLevel.SKIP_SUMMARY : BudgetLevel.FULL;
+    }
+
+    private static double ratio(long daily, long used) {
+        return daily <= 0 ? 0.0 : Math.max(0.0, (double) (daily - used) / daily);
+    }
+
+    private static LocalDateTime projectedExhaustion(Long daily, long used, long lastHour, LocalDateTime now) {
+        if (daily == null || lastHour <= 0) {
+            return null;
+        }
+        long remaining = Math.max(0, daily - used);
+        LocalDateTime exhaustion = now.plusMinutes(Math.round(remaining * 60.0 / lastHour));
+        return exhaustion.toLocalDate().isAfter(now.toLocalDate()) ? null : exhaustion;
+    }
+}
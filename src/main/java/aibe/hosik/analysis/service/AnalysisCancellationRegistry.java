@@ -0,0 +1,96 @@
+package aibe.hosik.analysis.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 진행 중인 분석 호출을 지원서, 모집글 단위로 모아 두고 한 번에 취소하는 저장소
+ * 취소하면 모델 호출 실행기(GeminiFailoverExecutor)를 거쳐 키 대기와 HTTP 요청까지 중단된다.
+ * 이 인스턴스에서 실행 중인 호출만 취소하며, 대기 중인 작업은 작업 큐(DB)에서 취소한다.
+ */
+@Component
+public class AnalysisCancellationRegistry {
+    private final Map<Long, Set<CompletableFuture<?>>> byApply = new ConcurrentHashMap<>();
+    private final Map<Long, Set<CompletableFuture<?>>> byPost = new ConcurrentHashMap<>();
+
+    /**
+     * 호출을 등록한다. 완료되면 자동으로 빠진다.
+     *
+     * @param applyId 지원서 ID (일괄 분석처럼 모집글 단위 호출이면 null)
+     * @param postId  모집글 ID
+     * @param call    취소할 호출
+     */
+    public <T> CompletableFuture<T> track(Long applyId, Long postId, CompletableFuture<T> call) {
+        add(byApply, applyId, call);
+        add(byPost, postId, call);
+        call.whenComplete((result, error) -> {
+            remove(byApply, applyId, call);
+            remove(byPost, postId, call);
+        });
+        return call;
+    }
+
+    /**
+     * @return 취소한 호출 수
+     */
+    public int cancelApply(Long applyId) {
+        return cancel(byApply.get(applyId));
+    }
+
+    /**
+     * @return 취소한 호출 수
+     */
+    public int cancelPost(Long postId) {
+        return cancel(byPost.get(postId));
+    }
+
+    /**
+     * 예외의 원인 중에 취소가 있는지 확인한다. (취소된 분석은 실패로 기록하지 않기 위함)
+     */
+    public static boolean isCancelled(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof CancellationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int cancel(Set<CompletableFuture<?>> calls) {
+        if (calls == null) {
+            return 0;
+        }
+        int cancelled = 0;
+        for (CompletableFuture<?> call : calls) {
+            if (call.cancel(true)) {
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    private void add(Map<Long, Set<CompletableFuture<?>>> calls, Long id, CompletableFuture<?> call) {
+        if (id != null) {
+            calls.compute(id, (k, set) -> {
+                Set<CompletableFuture<?>> updated = set != null ? set : ConcurrentHashMap.newKeySet();
+                updated.add(call);
+                return updated;
+            });
+        }
+    }
+
+    private void remove(Map<Long, Set<CompletableFuture<?>>> calls, Long id, CompletableFuture<?> call) {
+        if (id == null) {
+            return;
+        }
+        calls.computeIfPresent(id, (k, set) -> {
+            set.remove(call);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
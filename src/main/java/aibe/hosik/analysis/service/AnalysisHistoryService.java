@@ -0,0 +1,41 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.entity.Analysis;
+import aibe.hosik.analysis.repository.AnalysisRepository;
+import aibe.hosik.apply.repository.ApplyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * 분석 결과 이력 저장
+ * 같은 지원서의 분석이 동시에 끝나도 차수가 겹치지 않도록 지원서 행을 잠근 상태에서 차수를 정하고 최신 참조를 옮긴다.
+ * (Gemini 호출은 끝난 뒤 호출되므로 잠금은 저장하는 동안만 유지된다)
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalysisHistoryService {
+    private final AnalysisRepository analysisRepository;
+    private final ApplyRepository applyRepository;
+
+    /**
+     * 분석 결과를 지원서의 다음 차수로 저장하고 최신 분석으로 지정한다.
+     *
+     * @param applyId  지원서 ID
+     * @param analysis 저장할 분석 결과 (revision 은 여기서 정함)
+     * @return 저장된 분석 결과
+     */
+    @Transactional
+    public Analysis append(Long applyId, Analysis analysis) {
+        applyRepository.findByIdForUpdate(applyId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "지원서를 찾을 수 없습니다."));
+
+        analysis.setRevision(analysisRepository.findMaxRevisionByApplyId(applyId) + 1);
+        Analysis saved = analysisRepository.save(analysis);
+        applyRepository.updateLatestAnalysis(applyId, saved, saved.getId(), saved.getScore(),
+                saved.getContentScore(), saved.getPersonalityScore(), saved.getSkillScore());
+        return saved;
+    }
+}
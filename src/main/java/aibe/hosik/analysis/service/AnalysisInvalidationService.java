@@ -0,0 +1,92 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.dto.AnalysisInputs;
+import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.apply.repository.ApplyRepository;
+import aibe.hosik.post.repository.PostRepository;
+import aibe.hosik.post.service.PostContentChangedEvent;
+import aibe.hosik.resume.repository.ResumeRepository;
+import aibe.hosik.resume.service.ResumeContentChangedEvent;
+import aibe.hosik.skill.repository.PostSkillRepository;
+import aibe.hosik.skill.repository.ResumeSkillRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 모집글이나 자기소개서가 수정되면 이전 내용으로 만든 분석을 다시 분석하도록 작업 큐에 등록한다.
+ * - 분석에 저장된 내용 해시(AnalysisInputs)가 현재와 다른 지원서만 등록 (제목, 마감일 수정은 제외)
+ * - 단계별로는 입력이 같은 단계의 체크포인트와 자기소개서 요약을 재사용하므로 바뀐 입력을 쓰는 단계만 다시 호출된다.
+ * - 수정 후 reanalysisDelay 가 지난 뒤부터 분당 reanalysisPerMinute 개씩 나눠 예약한다. (인스턴스 기준)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisInvalidationService {
+    private final PostRepository postRepository;
+    private final ResumeRepository resumeRepository;
+    private final PostSkillRepository postSkillRepository;
+    private final ResumeSkillRepository resumeSkillRepository;
+    private final ApplyRepository applyRepository;
+    private final AnalysisJobService analysisJobService;
+    private final AnalysisJobProperties properties;
+
+    // 다음 재분석을 예약할 수 있는 가장 이른 시각
+    private LocalDateTime nextSlot;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostContentChanged(PostContentChangedEvent event) {
+        postRepository.findById(event.postId()).ifPresent(post -> {
+            String fingerprint = AnalysisInputs.postFingerprint(post,
+                    postSkillRepository.findSkillByPostId(post.getId()));
+            enqueue("Post", post.getId(), applyRepository.findStaleAppliesByPostId(post.getId(), fingerprint));
+        });
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onResumeContentChanged(ResumeContentChangedEvent event) {
+        resumeRepository.findById(event.resumeId()).ifPresent(resume -> {
+            List<String> skills = resumeSkillRepository.findByResumeId(resume.getId()).stream()
+                    .map(rs -> rs.getSkill().getName())
+                    .toList();
+            String fingerprint = AnalysisInputs.resumeFingerprint(resume, skills);
+            enqueue("Resume", resume.getId(), applyRepository.findStaleAppliesByResumeId(resume.getId(), fingerprint));
+        });
+    }
+
+    private void enqueue(String source, Long sourceId, List<Apply> applies) {
+        if (applies.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime first = null;
+        LocalDateTime last = null;
+        for (Apply apply : applies) {
+            LocalDateTime slot = reserveSlot(now);
+            analysisJobService.enqueueReanalysis(apply.getId(), apply.getPost().getId(), slot);
+            first = first == null ? slot : first;
+            last = slot;
+        }
+        log.info("{} ID {} 수정으로 재분석 예약 - 지원서 수: {}, 시작: {}, 종료: {}",
+                source, sourceId, applies.size(), first, last);
+    }
+
+    /**
+     * 수정 후 reanalysisDelay 이후의 시각 중 분당 제한을 넘지 않는 가장 이른 시각을 예약한다.
+     */
+    synchronized LocalDateTime reserveSlot(LocalDateTime now) {
+        LocalDateTime earliest = now.plus(properties.getReanalysisDelay());
+        LocalDateTime slot = nextSlot == null || nextSlot.isBefore(earliest) ? earliest : nextSlot;
+        nextSlot = slot.plus(Duration.ofMinutes(1).dividedBy(Math.max(properties.getReanalysisPerMinute(), 1)));
+        return slot;
+    }
+}
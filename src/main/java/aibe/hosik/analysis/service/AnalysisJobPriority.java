@@ -0,0 +1,71 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.dto.ClaimablePost;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 분석 작업 우선순위와 모집글 간 슬롯 분배
+ * - 모집글의 처리 기한: 작성자가 지원자를 보고 있거나 maxWait 넘게 기다린 작업이 있으면 지금, 아니면 마감 시각(마감일 끝)
+ *   기한이 같으면(지금) 오래 기다린 순으로 처리한다.
+ *   마감일이 없거나 마감 후 deadlineGrace 가 지난 모집글은 가장 뒤로 간다. (오래전 마감된 모집글이 계속 앞서지 않도록)
+ * - 기한이 이른 모집글부터 한 슬롯씩 돌아가며 나눠 준다. (지원이 몰린 모집글 하나가 모든 슬롯을 차지하지 않도록)
+ */
+final class AnalysisJobPriority {
+    private AnalysisJobPriority() {
+    }
+
+    static LocalDateTime dueAt(ClaimablePost post, LocalDateTime now, AnalysisJobProperties properties) {
+        boolean authorActive = post.authorActiveUntil() != null && post.authorActiveUntil().isAfter(now);
+        boolean waitedTooLong = !post.readySince().plus(properties.getMaxWait()).isAfter(now);
+        if (authorActive || waitedTooLong) {
+            return now;
+        }
+        if (post.endedAt() == null) {
+            return LocalDateTime.MAX;
+        }
+        LocalDateTime deadline = post.endedAt().atTime(LocalTime.MAX);
+        if (!deadline.plus(properties.getDeadlineGrace()).isAfter(now)) {
+            return LocalDateTime.MAX;
+        }
+        // 마감 직후(유예 기간)는 작성자가 결정하는 시점이므로 가장 급함
+        return deadline.isBefore(now) ? now : deadline;
+    }
+
+    /**
+     * @param posts 처리 가능한 작업이 있는 모집글
+     * @param slots 가져올 작업 수
+     * @return 우선순위 순서의 모집글 ID별 가져올 작업 수 (모집글 없는 작업은 null 키)
+     */
+    static Map<Long, Integer> allocate(List<ClaimablePost> posts, int slots, LocalDateTime now,
+                                       AnalysisJobProperties properties) {
+        List<ClaimablePost> ranked = posts.stream()
+                .sorted(Comparator.comparing((ClaimablePost post) -> dueAt(post, now, properties))
+                        .thenComparing(ClaimablePost::readySince))
+                .toList();
+
+        Map<Long, Integer> allocation = new LinkedHashMap<>();
+        int remaining = slots;
+        boolean allocated = true;
+        while (remaining > 0 && allocated) {
+            allocated = false;
+            for (ClaimablePost post : ranked) {
+                if (remaining == 0) {
+                    break;
+                }
+                int count = allocation.getOrDefault(post.postId(), 0);
+                if (count < post.jobCount()) {
+                    allocation.put(post.postId(), count + 1);
+                    remaining--;
+                    allocated = true;
+                }
+            }
+        }
+        return allocation;
+    }
+}
@@ -0,0 +1,53 @@
+package aibe.hosik.analysis.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "analysis.job")
+public class AnalysisJobProperties {
+    // 동시에 실행할 분석 워커 수 (Gemini 처리량 기준으로 웹 스레드와 별도로 조정)
+    private int workerCount = 4;
+    // 큐 폴링 주기 (ms)
+    private long pollIntervalMs = 1000;
+    // 작업 lease 시간. 워커가 죽으면 이 시간 이후 다른 워커가 다시 가져간다.
+    private Duration leaseDuration = Duration.ofMinutes(5);
+    // 실행 중인 작업의 lease 연장 주기 (ms). leaseDuration 보다 충분히 짧아야 한다.
+    private long heartbeatIntervalMs = 60_000;
+    // 대기 작업이 이 수를 넘으면 경고 로그를 남긴다.
+    private int queueWarnThreshold = 500;
+
+    // 우선순위: 마감이 가까운 모집글, 작성자가 보고 있는 모집글의 작업을 먼저 처리 (모집글마다 한 개씩 돌아가며)
+    // 작성자가 지원자를 조회한 뒤 이 시간 동안 해당 모집글을 우선 처리
+    private Duration authorActiveWindow = Duration.ofMinutes(10);
+    // 마감 후 이 시간이 지난 모집글은 마감일로 앞당기지 않음
+    private Duration deadlineGrace = Duration.ofDays(3);
+    // 이 시간 넘게 기다린 작업은 마감일과 관계없이 먼저 처리 (마감이 먼 모집글의 기아 방지)
+    private Duration maxWait = Duration.ofMinutes(30);
+    // 한 번에 우선순위를 비교하는 모집글 수 (작성자 활동, 오래 기다림, 마감 순으로 DB 에서 먼저 추림)
+    private int candidatePostLimit = 200;
+
+    // 재시도: 최대 시도 횟수를 넘으면 격리
+    private int maxAttempts = 5;
+    // 재시도 간격: base * 2^(시도 횟수 - 1), 최대 maxDelay (지터 적용)
+    private Duration retryBaseDelay = Duration.ofMinutes(1);
+    private Duration retryMaxDelay = Duration.ofHours(6);
+    // 분석 누락 지원서를 찾을 때 한 번에 조회하는 개수
+    private int retryPageSize = 200;
+
+    // 내용 수정 후 재분석: 연속으로 수정해도 한 번만 분석하도록 수정 후 이 시간이 지나야 실행
+    private Duration reanalysisDelay = Duration.ofMinutes(2);
+    // 수정으로 인한 재분석을 분당 최대 이 수만큼 나눠 예약 (모집글 하나에 지원서가 많아도 한꺼번에 호출하지 않음)
+    private int reanalysisPerMinute = 30;
+
+    // 같은 모집글의 대기 작업이 batchMinSize 이상이면 한 번의 요청으로 일괄 분석
+    private boolean batchEnabled = true;
+    private int batchMinSize = 3;
+    private int batchMaxSize = 10;
+}
@@ -0,0 +1,272 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.dto.ClaimablePost;
+import aibe.hosik.analysis.entity.AnalysisJob;
+import aibe.hosik.analysis.entity.AnalysisJobStatus;
+import aibe.hosik.analysis.repository.AnalysisJobRepository;
+import aibe.hosik.apply.service.ApplyDeletedEvent;
+import aibe.hosik.post.service.PostClosedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * AI 분석 작업 큐 관리
+ * 모든 메서드는 짧은 트랜잭션으로 끝나며, Gemini 호출은 트랜잭션 밖(워커)에서 수행된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisJobService {
+    private final AnalysisJobRepository analysisJobRepository;
+    private final AnalysisJobProperties properties;
+    private final AnalysisCancellationRegistry analysisCancellationRegistry;
+
+    private static final int AUTHOR_ACTIVE_MARKS_MAX = 10_000;
+    private static final List<AnalysisJobStatus> CANCELLABLE = List.of(AnalysisJobStatus.PENDING, AnalysisJobStatus.RUNNING);
+    // 모집글별 마지막 작성자 활동 기록 시각 (DB 갱신 횟수 제한용)
+    private final Map<Long, LocalDateTime> authorActiveMarks = new ConcurrentHashMap<>();
+
+    /**
+     * 지원서에 대한 분석 작업을 큐에 등록한다. 이미 작업이 있으면 대기 상태로 되돌린다.
+     *
+     * @param applyId 지원서 ID
+     * @param postId  모집글 ID
+     */
+    @Transactional
+    public void enqueue(Long applyId, Long postId) {
+        AnalysisJob job = analysisJobRepository.findByApplyId(applyId)
+                .orElseGet(() -> AnalysisJob.of(applyId, postId));
+        if (job.getStatus() == AnalysisJobStatus.RUNNING) {
+            return;
+        }
+        job.reset();
+        analysisJobRepository.save(job);
+    }
+
+    /**
+     * 모집글 작성자의 수동 재시도를 큐에 등록한다. 작성자가 기다리는 작업으로 표시해 먼저 처리하고 예산의 예비분을 쓸 수 있게 한다.
+     * 격리된 작업도 시도 횟수를 초기화해 다시 실행하고, 실행 중인 작업은 끝난 뒤 한 번 더 실행한다.
+     *
+     * @param applyId 지원서 ID
+     * @param postId  모집글 ID
+     */
+    @Transactional
+    public void enqueueRetry(Long applyId, Long postId) {
+        LocalDateTime now = LocalDateTime.now();
+        AnalysisJob job = analysisJobRepository.findByApplyId(applyId)
+                .orElseGet(() -> AnalysisJob.of(applyId, postId));
+        if (job.getStatus() == AnalysisJobStatus.RUNNING) {
+            job.requestRerun(now);
+        } else {
+            job.reset(now);
+        }
+        job.markAuthorActive(now.plus(properties.getAuthorActiveWindow()));
+        analysisJobRepository.save(job);
+    }
+
+    /**
+     * 모집글/자기소개서 수정으로 내용이 바뀐 지원서를 notBefore 이후 다시 분석하도록 등록한다.
+     * 실행 중인 작업은 끝난 뒤 다시 실행하고, 대기 중인 작업은 더 늦게 미루지 않는다. (실행 시점의 내용으로 분석)
+     *
+     * @param applyId   지원서 ID
+     * @param postId    모집글 ID
+     * @param notBefore 실행 가능 시각
+     */
+    @Transactional
+    public void enqueueReanalysis(Long applyId, Long postId, LocalDateTime notBefore) {
+        AnalysisJob job = analysisJobRepository.findByApplyId(applyId)
+                .orElseGet(() -> AnalysisJob.of(applyId, postId));
+        if (job.getStatus() == AnalysisJobStatus.RUNNING) {
+            job.requestRerun(notBefore);
+        } else if (job.getId() == null || job.getStatus() != AnalysisJobStatus.PENDING
+                || job.getNextAttemptAt().isAfter(notBefore)) {
+            job.reset(notBefore);
+        }
+        analysisJobRepository.save(job);
+    }
+
+    /**
+     * 처리 가능한 작업을 최대 limit 개까지 lease 를 잡아 가져온다.
+     * 마감이 가깝거나 작성자가 보고 있는 모집글부터, 모집글마다 한 개씩 돌아가며 가져온다. (AnalysisJobPriority)
+     *
+     * @param owner 워커 식별자
+     * @param limit 가져올 최대 개수 (워커의 남은 슬롯 수)
+     * @return lease 를 획득한 작업 목록
+     */
+    @Transactional
+    public List<AnalysisJob> claim(String owner, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<ClaimablePost> posts = analysisJobRepository.findClaimablePosts(AnalysisJobStatus.PENDING,
+                AnalysisJobStatus.RUNNING, now, now.minus(properties.getMaxWait()),
+                now.minus(properties.getDeadlineGrace()).toLocalDate(),
+                PageRequest.of(0, properties.getCandidatePostLimit()));
+        List<Long> candidateIds = new ArrayList<>();
+        AnalysisJobPriority.allocate(posts, limit, now, properties).forEach((postId, count) ->
+                candidateIds.addAll(postId == null
+                        ? analysisJobRepository.findClaimableIdsWithoutPost(AnalysisJobStatus.PENDING,
+                        AnalysisJobStatus.RUNNING, now, PageRequest.of(0, count))
+                        : analysisJobRepository.findClaimableIdsByPostId(postId, AnalysisJobStatus.PENDING,
+                        AnalysisJobStatus.RUNNING, now, PageRequest.of(0, count))));
+        return claimAll(candidateIds, owner, now);
+    }
+
+    /**
+     * 모집글 작성자가 지원자 목록, 분석 결과를 보고 있음을 기록한다.
+     * authorActiveWindow 동안 해당 모집글의 분석 작업을 먼저 처리하며, DB 갱신은 창의 절반마다 한 번만 한다.
+     * 조회 요청의 트랜잭션(읽기 전용일 수 있음)과 분리해 실행한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void markAuthorActive(Long postId) {
+        LocalDateTime now = LocalDateTime.now();
+        Duration window = properties.getAuthorActiveWindow();
+        LocalDateTime last = authorActiveMarks.get(postId);
+        if (last != null && last.plus(window.dividedBy(2)).isAfter(now)) {
+            return;
+        }
+        if (authorActiveMarks.size() > AUTHOR_ACTIVE_MARKS_MAX) {
+            authorActiveMarks.values().removeIf(marked -> marked.plus(window).isBefore(now));
+        }
+        authorActiveMarks.put(postId, now);
+        analysisJobRepository.markAuthorActive(postId, now.plus(window),
+                AnalysisJobStatus.PENDING, AnalysisJobStatus.RUNNING);
+    }
+
+    /**
+     * 특정 모집글에서 아직 실행하지 않은 대기 작업을 최대 limit 개까지 추가로 가져온다. (일괄 분석용)
+     */
+    @Transactional
+    public List<AnalysisJob> claimForPost(String owner, Long postId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> candidateIds = analysisJobRepository.findFreshIdsByPostId(
+                postId, AnalysisJobStatus.PENDING, now, PageRequest.of(0, limit));
+        return claimAll(candidateIds, owner, now);
+    }
+
+    /**
+     * 가져온 작업을 실행하지 않고 바로 큐로 되돌린다.
+     *
+     * @param jobId     작업 ID
+     * @param attempted 실행을 시도했는지 여부 (false 면 lease 를 잡으며 올린 시도 횟수를 되돌림)
+     */
+    @Transactional
+    public void release(Long jobId, boolean attempted) {
+        analysisJobRepository.findById(jobId)
+                .filter(job -> job.getStatus() == AnalysisJobStatus.RUNNING)
+                .ifPresent(job -> job.release(attempted));
+    }
+
+    private List<AnalysisJob> claimAll(List<Long> candidateIds, String owner, LocalDateTime now) {
+        LocalDateTime leaseUntil = now.plus(properties.getLeaseDuration());
+        List<Long> claimedIds = new ArrayList<>();
+        for (Long id : candidateIds) {
+            int updated = analysisJobRepository.claim(
+                    id, owner, leaseUntil, now, AnalysisJobStatus.PENDING, AnalysisJobStatus.RUNNING);
+            if (updated == 1) {
+                claimedIds.add(id);
+            }
+        }
+        return analysisJobRepository.findAllById(claimedIds);
+    }
+
+    /**
+     * 워커가 실행 중인 작업의 lease 를 연장한다. 분석이 lease 시간보다 오래 걸려도 다른 워커가 다시 가져가지 않는다.
+     *
+     * @param owner  워커 식별자
+     * @param jobIds 워커가 실행 중인 작업 ID
+     * @return 연장된 작업 수
+     */
+    @Transactional
+    public int renewLeases(String owner, Collection<Long> jobIds) {
+        if (jobIds.isEmpty()) {
+            return 0;
+        }
+        return analysisJobRepository.renewLeases(jobIds, owner,
+                LocalDateTime.now().plus(properties.getLeaseDuration()), AnalysisJobStatus.RUNNING);
+    }
+
+    @Transactional
+    public void complete(Long jobId) {
+        analysisJobRepository.findById(jobId)
+                .filter(job -> job.getStatus() != AnalysisJobStatus.CANCELLED)
+                .ifPresent(AnalysisJob::complete);
+    }
+
+    /**
+     * 지원서가 삭제되면 대기 중인 작업과 이 인스턴스에서 진행 중인 Gemini 호출을 취소한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onApplyDeleted(ApplyDeletedEvent event) {
+        int jobs = analysisJobRepository.cancelByApplyId(event.applyId(), AnalysisJobStatus.CANCELLED, CANCELLABLE);
+        int calls = analysisCancellationRegistry.cancelApply(event.applyId());
+        log.info("Apply ID {} 삭제로 분석 취소 - 작업: {}건, 진행 중 호출: {}건", event.applyId(), jobs, calls);
+    }
+
+    /**
+     * 모집글이 삭제되거나 마감되면 해당 모집글의 대기 중인 작업과 진행 중인 Gemini 호출을 취소한다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostClosed(PostClosedEvent event) {
+        int jobs = analysisJobRepository.cancelByPostId(event.postId(), AnalysisJobStatus.CANCELLED, CANCELLABLE);
+        int calls = analysisCancellationRegistry.cancelPost(event.postId());
+        log.info("Post ID {} 마감으로 분석 취소 - 작업: {}건, 진행 중 호출: {}건", event.postId(), jobs, calls);
+    }
+
+    /**
+     * 실패한 작업을 지수 백오프(지터 포함) 후 재시도하도록 예약하고, 최대 시도 횟수를 넘으면 격리한다.
+     */
+    @Transactional
+    public void fail(Long jobId, String error) {
+        analysisJobRepository.findById(jobId).ifPresent(job -> {
+            if (job.getStatus() == AnalysisJobStatus.CANCELLED) {
+                return;
+            }
+            if (job.getAttempts() >= properties.getMaxAttempts()) {
+                job.quarantine(error);
+                log.warn("Apply ID {} 분석 작업 격리 - 시도 횟수: {}", job.getApplyId(), job.getAttempts());
+                return;
+            }
+            Duration delay = backoff(job.getAttempts());
+            job.retryLater(error, LocalDateTime.now().plus(delay));
+            log.info("Apply ID {} 분석 작업 재시도 예약 - {}초 후", job.getApplyId(), delay.toSeconds());
+        });
+    }
+
+    /**
+     * 재시도해도 성공할 수 없는 작업(지원서 삭제 등)을 바로 격리한다.
+     */
+    @Transactional
+    public void quarantine(Long jobId, String error) {
+        analysisJobRepository.findById(jobId).ifPresent(job -> job.quarantine(error));
+    }
+
+    // 동시에 실패한 작업들이 같은 시각에 몰리지 않도록 [delay/2, delay] 구간에서 무작위로 선택
+    private Duration backoff(int attempts) {
+        long base = properties.getRetryBaseDelay().toMillis();
+        long max = properties.getRetryMaxDelay().toMillis();
+        long delay = Math.min(max, base << Math.min(attempts - 1, 20));
+        long jittered = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        return Duration.ofMillis(jittered);
+    }
+
+    public long countPending() {
+        return analysisJobRepository.countByStatus(AnalysisJobStatus.PENDING);
+    }
+}
@@ -0,0 +1,198 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.entity.AnalysisJob;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 분석 작업 큐를 소비하는 워커
+ * 남은 슬롯 수만큼만 작업을 가져오므로, 처리량을 넘는 요청은 DB 큐에 쌓여 대기한다. (backpressure)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisJobWorker {
+    private final AnalysisJobService analysisJobService;
+    private final AnalysisService analysisService;
+    private final AnalysisBatchService analysisBatchService;
+    private final AnalysisJobProperties properties;
+
+    private final String workerId = "worker-" + UUID.randomUUID();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // 이 워커가 실행 중인 작업 ID (lease 연장 대상)
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private ExecutorService executor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger seq = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(properties.getWorkerCount(), r -> {
+            Thread thread = new Thread(r, "analysis-worker-" + seq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        // 처리 중이던 작업은 lease 만료 후 다른 인스턴스가 다시 가져간다.
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${analysis.job.poll-interval-ms:1000}")
+    public void poll() {
+        int free = properties.getWorkerCount() - inFlight.get();
+        if (free <= 0) {
+            return;
+        }
+
+        List<AnalysisJob> jobs = analysisJobService.claim(workerId, free);
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        long pending = analysisJobService.countPending();
+        if (pending > properties.getQueueWarnThreshold()) {
+            log.warn("AI 분석 대기 작업이 많습니다. pending: {}", pending);
+        }
+
+        if (!properties.isBatchEnabled()) {
+            jobs.forEach(this::submit);
+            return;
+        }
+
+        // 같은 모집글의 작업을 모아, 충분히 쌓였으면 한 슬롯에서 일괄 분석한다.
+        // 재시도 중인 작업(일괄 응답에서 빠졌거나 실패한 작업)은 단건으로 분석한다.
+        Map<Long, List<AnalysisJob>> jobsByPost = new LinkedHashMap<>();
+        for (AnalysisJob job : jobs) {
+            if (job.getPostId() == null || job.getAttempts() > 1) {
+                submit(job);
+            } else {
+                jobsByPost.computeIfAbsent(job.getPostId(), k -> new ArrayList<>()).add(job);
+            }
+        }
+        jobsByPost.forEach((postId, postJobs) -> {
+            int extra = properties.getBatchMaxSize() - postJobs.size();
+            List<AnalysisJob> extras = extra > 0 ? analysisJobService.claimForPost(workerId, postId, extra) : List.of();
+            if (postJobs.size() + extras.size() >= properties.getBatchMinSize()) {
+                List<AnalysisJob> batch = new ArrayList<>(postJobs);
+                batch.addAll(extras);
+                submitBatch(postId, batch);
+                return;
+            }
+            // 일괄 분석하지 않으면 남은 슬롯 수만큼 가져온 작업만 실행하고, 추가로 가져온 작업은 큐로 되돌린다.
+            postJobs.forEach(this::submit);
+            extras.forEach(job -> analysisJobService.release(job.getId(), false));
+        });
+    }
+
+    // 가져온 작업은 실행 대기 중에도 lease 연장 대상
+    private void submit(AnalysisJob job) {
+        inFlight.incrementAndGet();
+        running.add(job.getId());
+        executor.execute(() -> run(job));
+    }
+
+    private void submitBatch(Long postId, List<AnalysisJob> batch) {
+        inFlight.incrementAndGet();
+        batch.forEach(job -> running.add(job.getId()));
+        executor.execute(() -> runBatch(postId, batch));
+    }
+
+    /**
+     * 실행 중인 작업의 lease 를 연장한다.
+     * lease 는 워커가 종료된 경우에만 만료되므로, 분석이 오래 걸려도 다른 워커가 같은 작업을 다시 가져가지 않는다.
+     */
+    @Scheduled(fixedDelayString = "${analysis.job.heartbeat-interval-ms:60000}")
+    public void heartbeat() {
+        if (running.isEmpty()) {
+            return;
+        }
+        List<Long> jobIds = List.copyOf(running);
+        int renewed = analysisJobService.renewLeases(workerId, jobIds);
+        if (renewed < jobIds.size()) {
+            // 실행 중에 취소되었거나 끝난 작업
+            log.debug("분석 작업 lease 연장 - 대상: {}, 연장: {}", jobIds.size(), renewed);
+        }
+    }
+
+    private void runBatch(Long postId, List<AnalysisJob> batch) {
+        try {
+            Set<Long> analyzed = analysisBatchService.analyzeBatch(postId,
+                    batch.stream().map(AnalysisJob::getApplyId).toList());
+            for (AnalysisJob job : batch) {
+                if (analyzed.contains(job.getApplyId())) {
+                    analysisJobService.complete(job.getId());
+                } else {
+                    // 일괄 응답에 빠진 지원서는 큐로 되돌려 다른 슬롯에서 단건 분석
+                    analysisJobService.release(job.getId(), true);
+                }
+            }
+        } catch (Exception e) {
+            if (AnalysisCancellationRegistry.isCancelled(e)) {
+                // 모집글 마감으로 취소된 경우 작업도 취소 상태이므로 되돌리지 않는다.
+                log.info("Post ID {}에 대한 AI 일괄 분석 취소", postId);
+                return;
+            }
+            log.error("Post ID {}에 대한 AI 일괄 분석 실패, 단건 분석으로 전환합니다.", postId, e);
+            batch.forEach(job -> analysisJobService.release(job.getId(), true));
+        } finally {
+            batch.forEach(job -> running.remove(job.getId()));
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void run(AnalysisJob job) {
+        try {
+            analyze(job);
+        } finally {
+            running.remove(job.getId());
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void analyze(AnalysisJob job) {
+        try {
+            // 작성자가 지원자를 보고 있는 모집글의 작업은 토큰 예산의 예비분을 사용할 수 있음
+            boolean priority = job.getAuthorActiveUntil() != null && job.getAuthorActiveUntil().isAfter(LocalDateTime.now());
+            analysisService.analysisApply(job.getApplyId(), priority);
+            analysisJobService.complete(job.getId());
+            log.info("Apply ID {}에 대한 AI 분석 작업 완료", job.getApplyId());
+        } catch (CancellationException e) {
+            // 작업도 취소 상태이므로 재시도하지 않는다.
+            log.info("Apply ID {}에 대한 AI 분석 작업 취소", job.getApplyId());
+        } catch (ResponseStatusException e) {
+            if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
+                log.warn("Apply ID {}를 찾을 수 없어 분석 작업을 격리합니다.", job.getApplyId());
+                analysisJobService.quarantine(job.getId(), e.getReason());
+            } else {
+                log.error("Apply ID {}에 대한 AI 분석 작업 실패", job.getApplyId(), e);
+                analysisJobService.fail(job.getId(), e.getCause() != null ? e.getCause().getMessage() : e.getReason());
+            }
+        } catch (Exception e) {
+            log.error("Apply ID {}에 대한 AI 분석 작업 실패", job.getApplyId(), e);
+            analysisJobService.fail(job.getId(), e.getMessage());
+        }
+    }
+}
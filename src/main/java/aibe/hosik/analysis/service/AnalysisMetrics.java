@@ -0,0 +1,128 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.client.GeminiResponseCache;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 분석 파이프라인 지표 (/actuator/prometheus 로 수집, 모델 호출 단위 지표는 GeminiMetrics)
+ * - analysis.stage: 단계, 응답한 모델, 결과별 소요 시간 (대체 모델, 중복 요청 포함)
+ * - analysis.stage.reused: 체크포인트를 재사용해 건너뛴 단계 수
+ * - analysis.duration: 분석 방식(single/batch), 결과별 전체 소요 시간
+ * - analysis.in.flight: 진행 중인 분석 수
+ * - gemini.cache.requests: 응답 캐시 결과별 요청 수, analysis.stream.subscribers: 진행 상황 구독자 수
+ * - analysis.shadow: 그림자 평가 모델의 단계, 결과별 소요 시간
+ * - analysis.shadow.divergence: 그림자 평가 모델과 실제 응답 모델의 점수 차이 (항목별 절대 차이 평균)
+ */
+@Component
+public class AnalysisMetrics {
+    private static final Duration MIN_EXPECTED = Duration.ofMillis(100);
+    private static final Duration MAX_EXPECTED = Duration.ofMinutes(5);
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public AnalysisMetrics(MeterRegistry registry, GeminiResponseCache geminiResponseCache,
+                           AnalysisStreamHub analysisStreamHub) {
+        this.registry = registry;
+        cacheCounter(geminiResponseCache, "memory_hit", cache -> cache.stats().memoryHits());
+        cacheCounter(geminiResponseCache, "store_hit", cache -> cache.stats().storeHits());
+        cacheCounter(geminiResponseCache, "coalesced", cache -> cache.stats().coalesced());
+        cacheCounter(geminiResponseCache, "miss", cache -> cache.stats().misses());
+        Gauge.builder("analysis.stream.subscribers", analysisStreamHub, AnalysisStreamHub::subscriberCount)
+                .description("분석 진행 상황 구독자 수")
+                .register(registry);
+    }
+
+    private void cacheCounter(GeminiResponseCache cache, String result, ToDoubleFunction<GeminiResponseCache> count) {
+        FunctionCounter.builder("gemini.cache.requests", cache, count)
+                .description("Gemini 응답 캐시 결과별 요청 수")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    public void stage(AnalysisStage stage, String model, boolean success, long nanos) {
+        Timer.builder("analysis.stage")
+                .description("분석 단계 소요 시간")
+                .tags("stage", stage.name(), "model", model, "outcome", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void stageReused(AnalysisStage stage) {
+        Counter.builder("analysis.stage.reused")
+                .description("체크포인트 재사용으로 건너뛴 분석 단계 수")
+                .tag("stage", stage.name())
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * @param outcome success, failure, invalid(형식 오류)
+     */
+    public void shadow(AnalysisStage stage, String model, String outcome, long nanos) {
+        Timer.builder("analysis.shadow")
+                .description("그림자 평가 모델 소요 시간")
+                .tags("stage", stage.name(), "model", model, "outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void shadowDivergence(AnalysisStage stage, String model, String baseline, double divergence) {
+        DistributionSummary.builder("analysis.shadow.divergence")
+                .description("그림자 평가 모델과 실제 응답 모델의 점수 차이")
+                .tags("stage", stage.name(), "model", model, "baseline", baseline)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(100.0)
+                .register(registry)
+                .record(divergence);
+    }
+
+    /**
+     * 분석 시작. 반환된 Sample 로 {@link #finish} 를 한 번 호출해야 한다.
+     *
+     * @param type single(단건) 또는 batch(일괄)
+     */
+    public Timer.Sample start(String type) {
+        inFlight.computeIfAbsent(type, t -> {
+            AtomicInteger count = new AtomicInteger();
+            Gauge.builder("analysis.in.flight", count, AtomicInteger::get)
+                    .description("진행 중인 분석 수")
+                    .tag("type", t)
+                    .register(registry);
+            return count;
+        }).incrementAndGet();
+        return Timer.start(registry);
+    }
+
+    public void finish(Timer.Sample sample, String type, boolean success) {
+        inFlight.get(type).decrementAndGet();
+        sample.stop(Timer.builder("analysis.duration")
+                .description("분석 전체 소요 시간")
+                .tags("type", type, "outcome", success ? "success" : "failure")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED)
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(registry));
+    }
+}
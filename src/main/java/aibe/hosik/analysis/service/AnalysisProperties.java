@@ -0,0 +1,30 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.dto.MatchScore;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "analysis.pipeline")
+public class AnalysisProperties {
+    private NarrativeMode narrativeMode = NarrativeMode.LAZY;
+
+    // 최종 점수 가중치 (내용 적합도, 성격, 스킬)
+    private double contentWeight = 0.4;
+    private double personalityWeight = 0.3;
+    private double skillWeight = 0.3;
+
+    /**
+     * 세부 점수 가중 평균 (AI 분석, 로컬 사전 점수 공통)
+     */
+    public int weightedScore(MatchScore score) {
+        double weighted = score.contentScore() * contentWeight
+                + score.personalityScore() * personalityWeight
+                + score.skillScore() * skillWeight;
+        return (int) Math.round(weighted / (contentWeight + personalityWeight + skillWeight));
+    }
+}
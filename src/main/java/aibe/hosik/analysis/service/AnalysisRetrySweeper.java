@@ -0,0 +1,62 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.entity.AnalysisJobStatus;
+import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.apply.repository.ApplyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 분석이 누락된 지원서를 작업 큐에 다시 등록
+ * 지원서마다 AnalysisJobService 의 트랜잭션으로 등록해, 한 건의 실패가 나머지 등록에 영향을 주지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisRetrySweeper {
+    private final AnalysisJobService analysisJobService;
+    private final AnalysisJobProperties properties;
+    private final ApplyRepository applyRepository;
+    private final AnalysisBudget analysisBudget;
+
+    private static final List<AnalysisJobStatus> ACTIVE_STATUSES = List.of(
+            AnalysisJobStatus.PENDING, AnalysisJobStatus.RUNNING, AnalysisJobStatus.QUARANTINED);
+
+    /**
+     * 분석 결과도, 진행 중인 작업도 없는 지원서를 페이지 단위로 찾아 큐에 등록한다. (마감된 모집글 제외)
+     * 토큰 예산 부족으로 로컬 점수만 있는 지원서도 다시 등록한다.
+     *
+     * @return 등록한 작업 수
+     */
+    public int sweep() {
+        if (analysisBudget.level(false) == BudgetLevel.LOCAL_ONLY) {
+            // 다시 분석해도 로컬 점수만 나오므로 예산이 돌아올 때까지 등록하지 않음
+            log.info("토큰 예산 부족으로 분석 재시도 등록 생략");
+            return 0;
+        }
+        int enqueued = 0;
+        long lastId = 0L;
+        while (true) {
+            List<Apply> applies = applyRepository.findAppliesWithoutAnalysis(
+                    lastId, ACTIVE_STATUSES, AnalysisService.LOCAL_MODEL_CONFIG, PageRequest.of(0, properties.getRetryPageSize()));
+            if (applies.isEmpty()) {
+                return enqueued;
+            }
+            for (Apply apply : applies) {
+                try {
+                    analysisJobService.enqueue(apply.getId(), apply.getPost().getId());
+                    enqueued++;
+                } catch (DataIntegrityViolationException e) {
+                    // 지원서 저장과 동시에 작업이 먼저 생성된 경우 (apply_id unique)
+                    log.info("Apply ID {} 분석 작업이 이미 등록되어 재시도 등록 생략", apply.getId());
+                }
+            }
+            lastId = applies.get(applies.size() - 1).getId();
+        }
+    }
+}
@@ -1,61 +1,107 @@
 package aibe.hosik.analysis.service;
 
 import aibe.hosik.analysis.client.GeminiClient;
+import aibe.hosik.analysis.client.GeminiStoreExecutor;
+import aibe.hosik.analysis.client.PromptContext;
+import aibe.hosik.analysis.dto.AnalysisHistoryResponse;
+import aibe.hosik.analysis.dto.AnalysisInputs;
+import aibe.hosik.analysis.dto.AnalysisStreamEvent;
+import aibe.hosik.analysis.dto.MatchScore;
 import aibe.hosik.analysis.entity.Analysis;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import aibe.hosik.analysis.entity.AnalysisStageResult;
+import aibe.hosik.analysis.entity.StageStatus;
+import aibe.hosik.analysis.prompt.PromptBuilder;
+import aibe.hosik.analysis.prompt.PromptField;
+import aibe.hosik.analysis.prompt.PromptTemplateId;
+import aibe.hosik.analysis.prompt.RenderedPrompt;
+import aibe.hosik.analysis.prompt.TokenEstimator;
+import aibe.hosik.analysis.repository.AnalysisStageResultRepository;
 import aibe.hosik.analysis.repository.AnalysisRepository;
 import aibe.hosik.apply.entity.Apply;
 import aibe.hosik.apply.repository.ApplyRepository;
+import aibe.hosik.common.Fingerprint;
+import aibe.hosik.handler.exception.CustomException;
+import aibe.hosik.handler.exception.ErrorCode;
 import aibe.hosik.post.entity.Post;
+import aibe.hosik.post.service.PostContentChangedEvent;
 import aibe.hosik.resume.entity.Resume;
 import aibe.hosik.skill.entity.ResumeSkill;
 import aibe.hosik.skill.repository.PostSkillRepository;
 import aibe.hosik.skill.repository.ResumeSkillRepository;
+import aibe.hosik.user.entity.User;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AnalysisService {
+    // 토큰 예산이 바닥나 로컬 사전 점수로 만든 분석의 모델 구성 (재시도 스케줄러가 예산이 돌아오면 다시 분석)
+    public static final String LOCAL_MODEL_CONFIG = "LOCAL";
+    // 요약을 만들지 못했을 때(생성 실패, 토큰 예산 부족) 저장하는 값. 오류 문구는 요약으로 남기지 않음
+    static final String NO_SUMMARY = "";
+    private static final String LOCAL_REASON = "AI 사용량 한도에 도달해 스킬 일치도와 내용 유사도로 계산한 사전 점수입니다. 한도가 초기화되면 AI 분석으로 다시 계산됩니다.";
+
     private final GeminiClient geminiClient;
     private final AnalysisRepository analysisRepository;
+    private final AnalysisHistoryService analysisHistoryService;
     private final PostSkillRepository postSkillRepository;
     private final ResumeSkillRepository resumeSkillRepository;
     private final ApplyRepository applyRepository;
+    private final ResumeSummaryService resumeSummaryService;
+    private final MatchScoreParser matchScoreParser;
+    private final AnalysisProperties analysisProperties;
+    private final AnalysisStageService analysisStageService;
+    private final AnalysisStageResultRepository analysisStageResultRepository;
+    private final AnalysisStreamHub analysisStreamHub;
+    private final PromptBuilder promptBuilder;
+    private final AnalysisMetrics analysisMetrics;
+    private final AnalysisJobService analysisJobService;
+    private final AnalysisBudget analysisBudget;
+    private final LocalPreScorer localPreScorer;
+    private final GeminiStoreExecutor geminiStoreExecutor;
+
+
+    // 지연 생성 중인 추천 문구 (중복 요청 방지)
+    private final Set<Long> narrativeInProgress = ConcurrentHashMap.newKeySet();
 
-    @Async
-    public CompletableFuture<Void> analysisApplyAsync(Long applyId) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                analysisApply(applyId);
-                log.info("Apply ID {}에 대한 AI 분석이 완료되었습니다.", applyId);
-            } catch (Exception e) {
-                log.error("Apply ID {}에 대한 AI 분석 중 오류 발생", applyId, e);
-            }
-        });
+    public Analysis analysisApply(Long applyId) {
+        return analysisApply(applyId, false);
     }
 
-    public Analysis analysisApply(Long applyId) {
+    /**
+     * @param applyId  지원서 ID
+     * @param priority 작성자가 기다리는 분석이나 수동 재시도 여부 (토큰 예산의 예비분 사용 가능)
+     * @throws CancellationException 지원서 삭제, 모집글 마감으로 분석이 취소된 경우
+     */
+    public Analysis analysisApply(Long applyId, boolean priority) {
 
-        Apply apply = applyRepository.findById(applyId)
+        Apply apply = applyRepository.findWithPostAndResumeById(applyId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "지원서를 찾을 수 없습니다."));
 
-        long startTotal = System.currentTimeMillis();
-
-        // 강제 재실행시 테스트
-        Optional<Analysis> existing = analysisRepository.findLatestByApplyId(applyId);
-
         Resume resume = apply.getResume();
         Post post = apply.getPost();
 
@@ -66,19 +112,32 @@ public class AnalysisService {
         // 성격 조회
         String postRequirementPersonality = post.getRequirementPersonality();
         String resumePersonality = resume.getPersonality();
+        AnalysisInputs inputs = AnalysisInputs.of(post, postSkillNames, resume, resumeSkillNames);
+
+        // 진행 상황을 보고 있는 작성자가 있으면 우선 작업
+        boolean prioritized = priority || analysisStreamHub.hasSubscribers(applyId);
+        if (analysisBudget.level(prioritized) == BudgetLevel.LOCAL_ONLY) {
+            return saveLocalAnalysis(apply, inputs, prioritized);
+        }
 
         log.info("AI 분석 시작 - applyId: {}", applyId);
         Instant start = Instant.now();
+        Timer.Sample sample = analysisMetrics.start("single");
         try {
+            // 모델 1, 2 는 본문이 같으므로 프롬프트를 한 번만 만들어 공유 (두 단계 모델 중 가장 작은 토큰 예산 기준)
+            long tokenBudget = Math.min(geminiClient.inputTokenBudget(AnalysisStage.MATCH_PRIMARY),
+                    geminiClient.inputTokenBudget(AnalysisStage.MATCH_SECONDARY));
+            PromptContext context = postContext(post, postRequirementPersonality, postSkillNames, tokenBudget);
+            String prompt = applicantPrompt(resume, apply, resumePersonality, resumeSkillNames,
+                    tokenBudget - TokenEstimator.estimate(context.text()));
+
             // 병렬처리
             // 모델 1, 2 병렬 분석
-            CompletableFuture<String> analysisModel1Future = analysisModel1(post, resume, apply,
-                    postRequirementPersonality, postSkillNames, resumePersonality, resumeSkillNames);
-            CompletableFuture<String> analysisModel2Future = analysisModel2(post, resume, apply,
-                    postRequirementPersonality, postSkillNames, resumePersonality, resumeSkillNames);
+            CompletableFuture<String> analysisModel1Future = analysisMatch(AnalysisStage.MATCH_PRIMARY, apply, context, prompt);
+            CompletableFuture<String> analysisModel2Future = analysisMatch(AnalysisStage.MATCH_SECONDARY, apply, context, prompt);
 
             // 모델 3
-            CompletableFuture<String> summarizeResumeFuture = analysisModel3(resume);
+            CompletableFuture<String> summarizeResumeFuture = analysisModel3(resume, prioritized);
 
             // 모든 분석 대기
             CompletableFuture.allOf(analysisModel1Future, analysisModel2Future, summarizeResumeFuture).join();
@@ -88,174 +147,375 @@ public class AnalysisService {
             String model2Result = analysisModel2Future.join();
             String resumeSummary = summarizeResumeFuture.join();
 
-            // 모델 4로 최종 점수 결과 생성
-            CompletableFuture<String> finalAnalysisFuture = analysisModel4(model1Result, model2Result);
-            String finalAnalysisResult = finalAnalysisFuture.join();
-            log.info(finalAnalysisResult);
-
-            // 점수 추출
-            int finalScore = extractScoreFromAnalysis(finalAnalysisResult);
-
-            // AI 결과 저장
-            Analysis analysis;
-            if (existing.isPresent()) {
-                // 덮어쓰기
-                analysis = existing.get();
-                analysis.setResult(finalAnalysisResult);
-                analysis.setScore(finalScore);
-                analysis.setSummary(resumeSummary);
-            } else {
-                // 새로 생성
-                analysis = Analysis.builder()
-                        .apply(apply)
-                        .result(finalAnalysisResult)
-                        .summary(resumeSummary)
-                        .score(finalScore)
-                        .build();
+            // 모델 1, 2 구조화 점수 해석 (각 단계에서 형식 검증을 마친 응답)
+            List<MatchScore> matchScores = Stream.of(model1Result, model2Result)
+                    .map(matchScoreParser::parse)
+                    .flatMap(Optional::stream)
+                    .toList();
+            if (matchScores.isEmpty()) {
+                throw new IllegalStateException("모델 1, 2 응답에서 점수를 해석할 수 없습니다.");
             }
 
+            Analysis analysis = saveAnalysis(apply, matchScores, resumeSummary,
+                    matchModelConfig(applyId), Fingerprint.of(context.text() + prompt), inputs, prioritized);
+
             Instant end = Instant.now();  // ⏱ 종료 시간 기록
             long durationMs = Duration.between(start, end).toMillis();
             log.info("AI 전체 분석 완료 - applyId: {}, 소요 시간: {} ms", applyId, durationMs);
+            analysisMetrics.finish(sample, "single", true);
 
-            return analysisRepository.save(analysis);
+            return analysis;
         } catch (Exception e) {
+            analysisMetrics.finish(sample, "single", false);
+            if (AnalysisCancellationRegistry.isCancelled(e)) {
+                // 지원서 삭제, 모집글 마감으로 취소된 분석은 실패로 알리지 않는다. (작업도 이미 취소 상태)
+                log.info("Apply ID {}에 대한 AI 분석 취소", applyId);
+                CancellationException cancelled = new CancellationException("AI 분석이 취소되었습니다.");
+                cancelled.initCause(e);
+                throw cancelled;
+            }
             log.error("Apply ID {}에 대한 AI 분석 중 오류 발생", applyId, e);
+            analysisStreamHub.publish(applyId, AnalysisStreamEvent.error("AI 분석 중 오류가 발생했습니다."));
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "AI 분석 중 오류가 발생했습니다.", e);
         }
     }
 
 
-    private CompletableFuture<String> analysisModel1(
-            Post post, Resume resume, Apply apply,
-            String postRequirementPersonality, List<String> postSkillNames, String resumePersonality, List<String> resumeSkillNames) {
-        String prompt = String.format("""
-                        당신은 지원서를 보고 모집글에 가장 적합한 지원서를 점수화하고, 지원자를 선정하는데 최적화된 AI 어시스턴트입니다.
-                        모집글의 정보는 다음과 같습니다.
-                        [모집글 정보]
-                        - 모집 내용 : %s
-                        - 요구사항 및 요구성격, 우대사항 : %s
-                        - 필요 기술 스킬 : %s
-                        
-                        지원자 정보는 다음과 같습니다.
-                        [지원자 정보]
-                        - 이력서 : %s 
-                        - 지원 동기 : %s
-                        - 성격 및 특징 : %s
-                        - 보유하고 있는 기술 스킬 : %s
-                        
-                        분석에 사용할 기준은 다음과 같습니다.
-                        [기준]
-                        - 내용 적합도 점수는 [모집글 정보]의 "모집 내용"과, [지원자 정보]의 "이력서", "지원 동기" 파트를 비교하여 지원자가 모집글에 어울리는 사람인지 판단해주세요.
-                        - 성격 점수는 [모집글 정보]의 "요구사항 및 요구성격, 우대사항"과 [지원자 정보]의 "성격 및 특징"을 비교하고 분석하여 두 사람이 성격적으로 잘 맞을지 판단해주세요.
-                        - 스킬 점수는 [모집글 정보]의 "필요 기술 스킬"과 [지원자 정보]의 "보유하고 있는 기술 스킬"의 일치도를 바탕으로 나타내주세요. 모두 일치할 경우 100. 그외에는 비슷한 스킬의 경우일 경우 점수 부여.
-                        
-                        위의 [기준]을 바탕으로 다음과 같은 형식으로 분석 결과를 제공해주세요. 숫자의 크기가 클수록 일치도가 높고 적합한 사람입니다
-                        [결과 형식]
-                        - 내용 적합도 점수 : 0-100 사이의 숫자
-                        - 성격 점수 : 0-100 사이의 숫자
-                        - 스킬 점수 : 0-100 사이의 숫자
-                        - 이유 : 내용 적합도, 성격, 스킬을 바탕으로 점수 선정 이유와 추천 이유를 400자 이내로 작성해주세요.
-                        """,
-                post.getContent(), postRequirementPersonality, postSkillNames, resume.getContent(), apply.getReason(), resumePersonality, resumeSkillNames);
-
-        CompletableFuture<String> responseFuture = geminiClient.analysisWithModel1(prompt);
-        log.info("모델 1 프롬프트 전송");
+    /**
+     * 토큰 예산이 바닥났을 때 Gemini 호출 없이 로컬 사전 점수로 분석 결과를 저장합니다.
+     */
+    private Analysis saveLocalAnalysis(Apply apply, AnalysisInputs inputs, boolean priority) {
+        log.info("토큰 예산 부족으로 로컬 점수 사용 - applyId: {}", apply.getId());
+        MatchScore local = localPreScorer.subScores(apply.getPost(), apply.getResume(), apply.getReason());
+        String resumeSummary = resumeSummaryService.getOrCreateSummary(apply.getResume(), priority).join()
+                .orElse(NO_SUMMARY);
+        return saveAnalysis(apply, List.of(new MatchScore(local.contentScore(), local.personalityScore(),
+                local.skillScore(), LOCAL_REASON)), resumeSummary, LOCAL_MODEL_CONFIG, null, inputs, priority);
+    }
 
-        return responseFuture.thenApply(response -> {
-            log.info("모델 1 응답 받음: {}", response);
-            return response;
-        });
+    public Analysis saveAnalysis(Apply apply, List<MatchScore> matchScores, String resumeSummary,
+                                 String modelConfig, String promptFingerprint, AnalysisInputs inputs) {
+        return saveAnalysis(apply, matchScores, resumeSummary, modelConfig, promptFingerprint, inputs, false);
     }
 
-    private CompletableFuture<String> analysisModel2(
-            Post post, Resume resume, Apply apply,
-            String postRequirementPersonality, List<String> postSkillNames, String resumePersonality, List<String> resumeSkillNames) {
-        String prompt = String.format("""
-                        당신은 지원서를 보고 모집글에 가장 적합한 지원서를 점수화하고, 지원자를 선정하는데 최적화된 AI 어시스턴트입니다.
-                        모집글의 정보는 다음과 같습니다.
-                        [모집글 정보]
-                        - 모집 내용 : %s
-                        - 요구사항 및 요구성격, 우대사항 : %s
-                        - 필요 기술 스킬 : %s
-                        
-                        지원자 정보는 다음과 같습니다.
-                        [지원자 정보]
-                        - 이력서 : %s
-                        - 지원 동기 : %s
-                        - 성격 및 특징 : %s
-                        - 보유하고 있는 기술 스킬 : %s
-                        
-                        분석에 사용할 기준은 다음과 같습니다.
-                        [기준]
-                        - 내용 적합도 점수는 [모집글 정보]의 "모집 내용"과, [지원자 정보]의 "이력서", "지원 동기" 파트를 비교하여 지원자가 모집글에 어울리는 사람인지 판단해주세요.
-                        - 성격 점수는 [모집글 정보]의 "요구사항 및 요구성격, 우대사항"과 [지원자 정보]의 "성격 및 특징"을 비교하고 분석하여 두 사람이 성격적으로 잘 맞을지 판단해주세요.
-                        - 스킬 점수는 [모집글 정보]의 "필요 기술 스킬"과 [지원자 정보]의 "보유하고 있는 기술 스킬"의 일치도를 바탕으로 나타내주세요. 모두 일치할 경우 100. 그외에는 비슷한 스킬의 경우일 경우 점수 부여.
-                        
-                        위의 [기준]을 바탕으로 다음과 같은 형식으로 분석 결과를 제공해주세요. 숫자의 크기가 클수록 일치도가 높고 적합한 사람입니다
-                        [결과 형식]
-                        - 내용 적합도 점수 : 0-100 사이의 숫자
-                        - 성격 점수 : 0-100 사이의 숫자
-                        - 스킬 점수 : 0-100 사이의 숫자
-                        - 이유 : 내용 적합도, 성격, 스킬을 바탕으로 점수 선정 이유와 추천 이유를 400자 이내로 작성해주세요.
-                        """,
-                post.getContent(), postRequirementPersonality, postSkillNames, resume.getContent(), apply.getReason(), resumePersonality, resumeSkillNames);
-
-        CompletableFuture<String> responseFuture = geminiClient.analysisWithModel2(prompt);
-        log.info("모델 2 프롬프트 전송");
+    /**
+     * 모델 점수로 최종 점수를 계산하고 분석 결과를 새 차수로 저장합니다. (단건, 일괄 분석 공통)
+     * 이전 결과는 이력으로 남기고 지원서의 최신 분석 참조만 새 결과로 바꿉니다.
+     *
+     * @param apply             지원서
+     * @param matchScores       형식 검증을 마친 모델별 점수
+     * @param resumeSummary     자기소개서 요약
+     * @param modelConfig       결과를 만든 단계별 모델
+     * @param promptFingerprint 점수 분석 프롬프트 해시
+     * @param inputs            분석에 사용한 모집글, 자기소개서 내용 해시
+     * @param priority          작성자가 기다리는 분석 여부 (추천 문구 예산 판단용)
+     * @return 저장된 분석 결과
+     */
+    public Analysis saveAnalysis(Apply apply, List<MatchScore> matchScores, String resumeSummary,
+                                 String modelConfig, String promptFingerprint, AnalysisInputs inputs,
+                                 boolean priority) {
+        // 최종 점수는 로컬에서 계산
+        MatchScore merged = MatchScore.average(matchScores);
+        int finalScore = computeFinalScore(merged);
+
+        String finalAnalysisResult = formatResult(finalScore, merged, merged.reason());
+        boolean narrated = false;
+        analysisStreamHub.publish(apply.getId(), AnalysisStreamEvent.score(finalScore, merged));
+
+        // 모델 4 추천 문구 (EAGER 일 때만 파이프라인에서 생성, 로컬 점수이거나 토큰 예산이 부족하면 생략)
+        boolean local = LOCAL_MODEL_CONFIG.equals(modelConfig);
+        if (analysisProperties.getNarrativeMode() == NarrativeMode.EAGER && !local
+                && analysisBudget.allows(AnalysisStage.NARRATIVE, priority)) {
+            try {
+                String narrative = analysisModel4(apply, finalScore, merged,
+                        matchScores.stream().map(MatchScore::reason).toList()).join();
+                finalAnalysisResult = formatResult(finalScore, merged, narrative);
+                narrated = true;
+            } catch (Exception e) {
+                log.warn("모델 4 추천 문구 생성 실패, 로컬 결과 사용 - applyId: {}", apply.getId(), e);
+            }
+        }
+        log.info(finalAnalysisResult);
+
+        // AI 결과 저장 (차수는 저장할 때 정함)
+        Analysis analysis = Analysis.builder()
+                .apply(apply)
+                .result(finalAnalysisResult)
+                .summary(resumeSummary)
+                .score(finalScore)
+                .contentScore(merged.contentScore())
+                .personalityScore(merged.personalityScore())
+                .skillScore(merged.skillScore())
+                .narrated(narrated)
+                .modelConfig(modelConfig)
+                .promptFingerprint(promptFingerprint)
+                .postFingerprint(inputs.postFingerprint())
+                .resumeFingerprint(inputs.resumeFingerprint())
+                .build();
+
+        Analysis saved = analysisHistoryService.append(apply.getId(), analysis);
+        if (analysisStreamHub.hasSubscribers(apply.getId())) {
+            // 보고 있는 작성자가 있으면 LAZY 모드라도 추천 문구를 바로 생성해 스트림으로 보냄
+            if (!saved.isNarrated() && analysisProperties.getNarrativeMode() == NarrativeMode.LAZY && !local) {
+                requestNarrative(saved);
+            } else {
+                analysisStreamHub.publish(apply.getId(), AnalysisStreamEvent.complete(saved));
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * 점수 분석 단계별로 실제 응답한 모델 (대체 모델로 넘어간 경우 포함)
+     */
+    private String matchModelConfig(Long applyId) {
+        return analysisStageResultRepository.findByApplyId(applyId).stream()
+                .filter(stage -> stage.getStage() != AnalysisStage.NARRATIVE && stage.getStatus() == StageStatus.SUCCESS)
+                .sorted(Comparator.comparing(AnalysisStageResult::getStage))
+                .map(stage -> stage.getStage() + "=" + stage.getModel())
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * 지원서의 분석 이력을 조회한다. (모집글 작성자만, 최신 순)
+     *
+     * @param applyId 지원서 ID
+     * @param user    요청 사용자
+     * @return 분석 이력
+     */
+    public List<AnalysisHistoryResponse> getHistory(Long applyId, User user) {
+        getAuthorizedApply(applyId, user);
+        return analysisRepository.findByApplyIdOrderByRevisionDesc(applyId).stream()
+                .map(AnalysisHistoryResponse::from)
+                .toList();
+    }
+
+    /**
+     * 지원서 AI 분석 수동 재시도를 작업 큐에 등록한다. (모집글 작성자만)
+     * 요청 스레드에서 분석하지 않고 워커가 작성자 우선 작업으로 처리한다. 결과는 stream, history 로 확인한다.
+     *
+     * @param applyId 지원서 ID
+     * @param user    요청 사용자
+     */
+    public void retry(Long applyId, User user) {
+        Apply apply = getAuthorizedApply(applyId, user);
+        analysisJobService.enqueueRetry(applyId, apply.getPost().getId());
+        log.info("AI 분석 수동 재시도 등록 - applyId: {}", applyId);
+    }
+
+    /**
+     * 지원서의 분석 진행 상황을 구독한다. (모집글 작성자만)
+     * 이미 분석이 끝났으면 현재 결과를 먼저 보내고, 추천 문구가 없으면 생성하면서 조각 단위로 보낸다.
+     *
+     * @param applyId 지원서 ID
+     * @param user    요청 사용자
+     * @return SSE 연결
+     */
+    public SseEmitter subscribe(Long applyId, User user) {
+        Apply apply = getAuthorizedApply(applyId, user);
+        // 작성자가 진행 상황을 기다리는 동안 이 모집글의 분석을 먼저 처리
+        analysisJobService.markAuthorActive(apply.getPost().getId());
+
+        Optional<Analysis> existing = analysisRepository.findLatestByApplyId(applyId);
+        if (existing.isEmpty()) {
+            return analysisStreamHub.subscribe(applyId, List.of());
+        }
+
+        Analysis analysis = existing.get();
+        boolean pendingNarrative = canNarrate(analysis);
+        if (!pendingNarrative) {
+            return analysisStreamHub.subscribe(applyId, List.of(AnalysisStreamEvent.complete(analysis)));
+        }
+
+        SseEmitter emitter = analysisStreamHub.subscribe(applyId, List.of(AnalysisStreamEvent.score(analysis.getScore(),
+                new MatchScore(analysis.getContentScore(), analysis.getPersonalityScore(), analysis.getSkillScore(), ""))));
+        requestNarrative(analysis);
+        return emitter;
+    }
+
+    /**
+     * 지원서를 조회하고 요청 사용자가 모집글 작성자인지 확인한다.
+     */
+    private Apply getAuthorizedApply(Long applyId, User user) {
+        Apply apply = applyRepository.findWithPostAndResumeById(applyId)
+                .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND_APPLY));
+        if (!apply.getPost().getUser().getId().equals(user.getId())) {
+            throw new CustomException(ErrorCode.POST_AUTHOR_FORBIDDEN);
+        }
+        return apply;
+    }
+
+    /**
+     * 모집글 단위로 공유되는 프롬프트 앞부분 (역할, 모집글 정보, 기준, 결과 형식)
+     * 같은 모집글의 지원서 분석은 이 부분을 서버 측 캐시로 재사용한다.
+     * 지원서와 관계없이 같은 내용이 되도록 모집 내용은 예산의 절반 안에서만 줄인다.
+     */
+    private PromptContext postContext(Post post, String postRequirementPersonality, List<String> postSkillNames,
+                                      long tokenBudget) {
+        RenderedPrompt rendered = promptBuilder.render(PromptTemplateId.MATCH_CONTEXT, Map.of(
+                "postContent", PromptField.shrinkable(post.getContent()),
+                "requirementPersonality", PromptField.shrinkable(postRequirementPersonality),
+                "postSkills", PromptField.fixed(postSkillNames)), tokenBudget / 2);
+        return new PromptContext(postContextId(post.getId()), rendered.text());
+    }
+
+    private String postContextId(Long postId) {
+        return "post:" + postId;
+    }
+
+    /**
+     * 지원서마다 달라지는 프롬프트 뒷부분
+     * 이력서가 예산을 넘으면 저장된 자기소개서 요약으로 바꾸고, 요약이 없으면 잘라서 보낸다.
+     */
+    private String applicantPrompt(Resume resume, Apply apply, String resumePersonality, List<String> resumeSkillNames,
+                                   long tokenBudget) {
+        return promptBuilder.render(PromptTemplateId.MATCH_APPLICANT, Map.of(
+                "resumeContent", PromptField.shrinkable(resume.getContent(), resume.hasFreshSummary() ? resume.getSummary() : null),
+                "applyReason", PromptField.shrinkable(apply.getReason()),
+                "resumePersonality", PromptField.shrinkable(resumePersonality),
+                "resumeSkills", PromptField.fixed(resumeSkillNames)), tokenBudget).text();
+    }
+
+    /**
+     * 모델 1, 2 점수 분석 (두 단계가 같은 프롬프트를 사용)
+     */
+    private CompletableFuture<String> analysisMatch(AnalysisStage stage, Apply apply, PromptContext context, String prompt) {
+        // 같은 입력으로 성공한 결과가 있으면 재사용 (체크포인트)
+        CompletableFuture<String> responseFuture = analysisStageService.run(apply, stage,
+                context.text() + prompt, model -> geminiClient.generateContentAsync(context, prompt, model, this::isMatchScore),
+                this::isMatchScore, true);
+        log.info("{} 프롬프트 전송", stage);
 
         return responseFuture.thenApply(response -> {
-            log.info("모델 2 응답 받음: {}", response);
+            log.info("{} 응답 받음: {}", stage, response);
             return response;
         });
     }
 
-    private CompletableFuture<String> analysisModel3(Resume resume) {
-        // 자기소개서 내용이 없을 경우 기본 메시지 반환
-        if (resume.getContent() == null || resume.getContent().trim().isEmpty()) {
-            return CompletableFuture.completedFuture("자기소개서 내용이 없습니다.");
-        }
-        String prompt = String.format("""
-                다음은 지원자의 자기소개서입니다. 핵심 내용을 200자 이내로 간결하게 요약해주세요:
-                
-                %s
-                """, resume.getContent());
-        return geminiClient.summarizeResume(prompt);
+    /**
+     * 모집글 내용이 수정되면 해당 모집글의 공유 프롬프트 캐시를 삭제한다.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostContentChanged(PostContentChangedEvent event) {
+        geminiClient.invalidateContext(postContextId(event.postId()));
     }
 
-    private CompletableFuture<String> analysisModel4(String model1Result, String model2Result) {
+    private CompletableFuture<String> analysisModel3(Resume resume, boolean priority) {
+        // 자기소개서 버전당 한 번만 요약 (이미 있으면 Gemini 호출 없음, 토큰 예산이 부족하면 생략)
+        return resumeSummaryService.getOrCreateSummary(resume, priority)
+                .thenApply(summary -> summary.orElse(NO_SUMMARY));
+    }
+
+    private CompletableFuture<String> analysisModel4(Apply apply, int finalScore, MatchScore merged, List<String> reasons) {
         String prompt = String.format("""
-                당신은 지원서 분석 결과를 종합하여 최종 평가를 내리는 AI 어시스턴트입니다.
-                다음은 두 개의 다른 모델이 동일한 지원서에 대해 분석한 결과입니다:
+                당신은 지원서 분석 결과를 바탕으로 모집글 작성자에게 지원자를 추천하는 AI 어시스턴트입니다.
+                다음은 지원서에 대한 분석 점수와 분석 이유입니다:
                 
-                [모델 1 분석 결과]
-                %s
+                [점수]
+                - 추천 점수: %d
+                - 내용 적합도 점수: %d, 성격 점수: %d, 스킬 점수: %d
                 
-                [모델 2 분석 결과]
+                [분석 이유]
                 %s
                 
-                위 두 모델의 분석 결과를 종합하여 다음 형식으로 추천 평가를 제공해주세요. 다른 추가적인 부분은 모두 제외하고 아래 형식을 지켜 작성해주세요.:
-                
-                - 추천 점수: 0-100 사이의 숫자 (두 모델의 내용 적합도 점수, 성격 점수와 스킬 점수를 종합적으로 고려, 숫자가 클수록 추천도가 높음)
-                - 추천 이유: 두 모델을 종합한 [내용 적합도 점수: , 성격 점수: , 스킬 점수: ]를 작성해주시고, 
-                두 모델이 제공한 이유를 바탕으로 이 지원자가 해당 모집글에 왜 적합한지, 위의 점수가 나온 이유 및 추천 이유를 400자 이내로 작성해주세요.
+                위 점수와 이유를 바탕으로 이 지원자가 해당 모집글에 왜 적합한지, 위의 점수가 나온 이유 및 추천 이유를 400자 이내로 작성해주세요.
+                점수는 다시 적지 말고 추천 이유 본문만 작성해주세요.
                 이때 "모델의 결과를 종합한" "모델 결과"와 같은 말은 빼고, 사용자 친화적으로 AI 어시스턴트가 추천하는 말을 한글로 작성해주세요.
-                """, model1Result, model2Result);
+                """, finalScore, merged.contentScore(), merged.personalityScore(), merged.skillScore(),
+                String.join("\n\n", reasons));
+
+        // 구독자가 있으면 조각 단위로 받아 바로 전달 (조각이 섞이지 않도록 중복 요청은 하지 않음)
+        Long applyId = apply.getId();
+        boolean streaming = analysisStreamHub.hasSubscribers(applyId);
+        Predicate<String> validator = narrative -> narrative != null && !narrative.isBlank();
+        Function<String, CompletableFuture<String>> call = streaming
+                ? model -> geminiClient.streamContentAsync(prompt, model, validator,
+                        chunk -> analysisStreamHub.publish(applyId, AnalysisStreamEvent.chunk(AnalysisStage.NARRATIVE, chunk)))
+                : model -> geminiClient.generateContentAsync(prompt, model, validator);
+
+        return analysisStageService.run(apply, AnalysisStage.NARRATIVE, prompt, call, validator, !streaming);
+    }
 
-        return geminiClient.generateFinalAnalysis(prompt);
+    private boolean isMatchScore(String response) {
+        return matchScoreParser.parse(response).isPresent();
     }
 
-    // 점수 추출 메서드
-    private int extractScoreFromAnalysis(String analysisResult) {
-        try {
-            String scoreText = analysisResult.split("추천 점수:")[1].trim().split("\\s+")[0];
-            // 숫자만 추출
-            return Integer.parseInt(scoreText.replaceAll("[^0-9]", ""));
-        } catch (Exception e) {
-            log.error("점수 추출 중 오류 발생", e);
-            // 오류 발생 시 기본값 반환
-            return 0;
+    /**
+     * 추천 문구가 아직 없는 분석에 대해 모델 4를 비동기로 실행한다. (LAZY 모드)
+     * 점수는 바꾸지 않고 결과 문구만 교체한다.
+     *
+     * @param analysis 조회된 분석 결과
+     */
+    public void requestNarrative(Analysis analysis) {
+        if (!canNarrate(analysis)) {
+            return;
+        }
+        Long analysisId = analysis.getId();
+        if (!narrativeInProgress.add(analysisId)) {
+            return;
         }
+
+        MatchScore merged = new MatchScore(analysis.getContentScore(), analysis.getPersonalityScore(),
+                analysis.getSkillScore(), analysis.getResult());
+        int finalScore = analysis.getScore();
+
+        // 저장된 모델 1, 2 단계 결과의 이유를 사용 (없으면 현재 결과 문구)
+        Apply apply = analysis.getApply();
+        List<String> reasons = analysisStageResultRepository.findByApplyId(apply.getId()).stream()
+                .filter(stage -> stage.getStage() != AnalysisStage.NARRATIVE && stage.getStatus() == StageStatus.SUCCESS)
+                .map(AnalysisStageResult::getOutput)
+                .map(matchScoreParser::parse)
+                .flatMap(Optional::stream)
+                .map(MatchScore::reason)
+                .toList();
+        if (reasons.isEmpty()) {
+            reasons = List.of(analysis.getResult());
+        }
+
+        // 추천 문구 저장(JPA)은 응답을 완료한 HTTP 스레드가 아닌 저장 전용 스레드에서 실행
+        analysisModel4(apply, finalScore, merged, reasons)
+                .thenAcceptAsync(narrative -> analysisRepository.findById(analysisId).ifPresent(saved -> {
+                    saved.setResult(formatResult(finalScore, merged, narrative));
+                    saved.setNarrated(true);
+                    analysisRepository.save(saved);
+                    analysisStreamHub.publish(apply.getId(), AnalysisStreamEvent.complete(saved));
+                    log.info("추천 문구 생성 완료 - analysisId: {}", analysisId);
+                }), geminiStoreExecutor.executor())
+                .whenComplete((ignored, e) -> {
+                    narrativeInProgress.remove(analysisId);
+                    if (e != null) {
+                        log.error("추천 문구 생성 실패 - analysisId: {}", analysisId, e);
+                        // 추천 문구 없이 로컬 결과로 스트림 종료
+                        analysisStreamHub.publish(apply.getId(), AnalysisStreamEvent.complete(analysis));
+                    }
+                });
+    }
+
+    /**
+     * 추천 문구를 지연 생성할 수 있는지 여부
+     * 작성자가 보고 있을 때 호출되므로 우선 작업 기준으로 토큰 예산을 확인하고, 로컬 점수 결과에는 만들지 않는다.
+     */
+    private boolean canNarrate(Analysis analysis) {
+        return analysisProperties.getNarrativeMode() == NarrativeMode.LAZY
+                && !analysis.isNarrated()
+                && analysis.getContentScore() != null
+                && !LOCAL_MODEL_CONFIG.equals(analysis.getModelConfig())
+                && analysisBudget.allows(AnalysisStage.NARRATIVE, true);
+    }
+
+    /**
+     * 세부 점수 가중 평균으로 최종 점수를 계산합니다.
+     */
+    private int computeFinalScore(MatchScore score) {
+        return analysisProperties.weightedScore(score);
+    }
+
+    // 기존 모델 4 응답과 같은 형식의 결과 문구
+    private String formatResult(int finalScore, MatchScore score, String reason) {
+        return String.format("""
+                - 추천 점수: %d
+                - 추천 이유: [내용 적합도 점수: %d, 성격 점수: %d, 스킬 점수: %d]
+                %s""", finalScore, score.contentScore(), score.personalityScore(), score.skillScore(), reason);
     }
 
     /**
@@ -0,0 +1,82 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.client.ModelResponse;
+import aibe.hosik.analysis.dto.MatchScore;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import aibe.hosik.apply.entity.Apply;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 그림자 평가: 단계가 성공한 뒤 새 모델에도 같은 프롬프트를 보내 응답 시간과 점수 차이를 기록한다.
+ * 결과는 체크포인트, 분석 결과, 진행 상황 어디에도 쓰지 않으며 실패해도 분석에 영향을 주지 않는다.
+ * 지원서 삭제, 모집 마감 시 함께 취소되도록 취소 저장소에 등록한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisShadowEvaluator {
+    private final AnalysisMetrics analysisMetrics;
+    private final MatchScoreParser matchScoreParser;
+    private final AnalysisCancellationRegistry analysisCancellationRegistry;
+
+    /**
+     * @param baseline 사용자에게 전달된 응답
+     */
+    public void evaluate(Apply apply, AnalysisStage stage, String model,
+                         Function<String, CompletableFuture<String>> call,
+                         Predicate<String> validator, ModelResponse baseline) {
+        long start = System.nanoTime();
+        CompletableFuture<String> shadow;
+        try {
+            shadow = call.apply(model);
+        } catch (Exception e) {
+            shadow = CompletableFuture.failedFuture(e);
+        }
+        analysisCancellationRegistry.track(apply.getId(), apply.getPost().getId(), shadow)
+                .whenComplete((text, error) -> {
+                    long elapsed = System.nanoTime() - start;
+                    if (AnalysisCancellationRegistry.isCancelled(error)) {
+                        return;
+                    }
+                    if (error != null || !validator.test(text)) {
+                        analysisMetrics.shadow(stage, model, error != null ? "failure" : "invalid", elapsed);
+                        log.debug("그림자 평가 실패 - stage: {}, model: {}", stage, model, error);
+                        return;
+                    }
+                    analysisMetrics.shadow(stage, model, "success", elapsed);
+                    if (stage == AnalysisStage.NARRATIVE) {
+                        return;
+                    }
+                    divergence(baseline.text(), text).ifPresent(value -> {
+                        analysisMetrics.shadowDivergence(stage, model, baseline.model(), value);
+                        log.debug("그림자 평가 - stage: {}, model: {}, 기준 모델: {}, 점수 차이: {}",
+                                stage, model, baseline.model(), value);
+                    });
+                });
+    }
+
+    /**
+     * 두 응답이 모두 점수 형식이면 항목별 절대 차이의 평균
+     */
+    private Optional<Double> divergence(String baseline, String shadow) {
+        Optional<MatchScore> expected = matchScoreParser.parse(baseline);
+        Optional<MatchScore> actual = matchScoreParser.parse(shadow);
+        if (expected.isEmpty() || actual.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(divergence(expected.get(), actual.get()));
+    }
+
+    static double divergence(MatchScore expected, MatchScore actual) {
+        return (Math.abs(expected.contentScore() - actual.contentScore())
+                + Math.abs(expected.personalityScore() - actual.personalityScore())
+                + Math.abs(expected.skillScore() - actual.skillScore())) / 3.0;
+    }
+}
@@ -0,0 +1,131 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.client.GeminiFailoverExecutor;
+import aibe.hosik.analysis.client.GeminiModelRouter;
+import aibe.hosik.analysis.client.GeminiStoreExecutor;
+import aibe.hosik.analysis.client.ModelResponse;
+import aibe.hosik.analysis.dto.AnalysisStreamEvent;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import aibe.hosik.analysis.entity.AnalysisStageResult;
+import aibe.hosik.analysis.entity.StageStatus;
+import aibe.hosik.analysis.repository.AnalysisStageResultRepository;
+import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.common.Fingerprint;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * AI 분석 단계 실행 및 체크포인트 관리
+ * 같은 입력으로 이미 성공한 단계는 다시 호출하지 않고 저장된 결과를 사용한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisStageService {
+    private final AnalysisStageResultRepository analysisStageResultRepository;
+    private final AnalysisStreamHub analysisStreamHub;
+    private final GeminiModelRouter geminiModelRouter;
+    private final GeminiFailoverExecutor geminiFailoverExecutor;
+    private final AnalysisMetrics analysisMetrics;
+    private final AnalysisCancellationRegistry analysisCancellationRegistry;
+    private final AnalysisShadowEvaluator analysisShadowEvaluator;
+    private final AnalysisBudget analysisBudget;
+    private final GeminiStoreExecutor geminiStoreExecutor;
+
+    /**
+     * 단계를 실행하고 결과(성공/실패, 응답한 모델, 소요 시간)를 저장한다.
+     * 라우팅한 모델 순서대로 호출하며, 서킷이 열린 모델은 건너뛰고 느린 모델에는 대체 모델로 중복 요청한다.
+     * 성공하면 설정한 비율만큼 그림자 평가 모델도 호출한다. (중복 요청을 허용하는 단계, 토큰 예산이 FULL 일 때만)
+     *
+     * @param apply     지원서
+     * @param stage     분석 단계
+     * @param prompt    프롬프트 (체크포인트 비교용)
+     * @param call      모델 이름을 받아 호출하는 함수
+     * @param validator 응답이 다음 단계에서 사용할 수 있는 형식인지 검사
+     * @param hedge     중복 요청, 그림자 평가 허용 여부
+     * @return 단계 결과 future (실패 시 예외로 완료)
+     */
+    public CompletableFuture<String> run(Apply apply, AnalysisStage stage, String prompt,
+                                         Function<String, CompletableFuture<String>> call,
+                                         Predicate<String> validator, boolean hedge) {
+        List<String> models = geminiModelRouter.route(stage);
+        // 라우팅 순서가 바뀌어도 체크포인트를 재사용하도록 설정한 후보 목록 기준
+        String fingerprint = Fingerprint.of(String.join(",", geminiModelRouter.candidates(stage)), prompt);
+        AnalysisStageResult result = analysisStageResultRepository.findByApplyIdAndStage(apply.getId(), stage)
+                .orElseGet(() -> AnalysisStageResult.of(apply, stage));
+
+        if (result.isReusable(fingerprint)) {
+            log.info("{} 단계 결과 재사용 - applyId: {}", stage, apply.getId());
+            analysisMetrics.stageReused(stage);
+            analysisStreamHub.publish(apply.getId(), AnalysisStreamEvent.stage(stage, StageStatus.SUCCESS, 0, true));
+            return CompletableFuture.completedFuture(result.getOutput());
+        }
+
+        long start = System.nanoTime();
+        // 지원서 삭제, 모집 마감 시 진행 중인 호출을 중단할 수 있도록 등록
+        CompletableFuture<ModelResponse> execution = analysisCancellationRegistry.track(apply.getId(),
+                apply.getPost().getId(), geminiFailoverExecutor.execute(models, call, validator, hedge));
+        Duration timeout = geminiModelRouter.timeout(stage);
+        if (timeout != null) {
+            // 제한 시간을 넘기면 진행 중인 시도를 모두 취소하고 실패로 기록 (작업 재시도 대상)
+            execution.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        // 체크포인트 저장(JPA)은 응답을 완료한 HTTP, 제한 시간 스레드가 아닌 저장 전용 스레드에서 실행
+        return execution.handleAsync((response, error) -> {
+            long elapsed = System.nanoTime() - start;
+            long latencyMs = elapsed / 1_000_000;
+            Throwable cause = unwrap(error);
+
+            if (cause instanceof CancellationException) {
+                // 취소된 분석은 체크포인트를 남기지 않음 (지원서가 이미 삭제되었을 수 있음)
+                log.info("{} 단계 취소 - applyId: {}", stage, apply.getId());
+                throw (CancellationException) cause;
+            }
+            if (cause != null) {
+                String message = cause instanceof TimeoutException ? stage + " 단계 제한 시간 초과 (" + timeout + ")" : cause.getMessage();
+                result.fail(models.get(0), fingerprint, message, latencyMs);
+                analysisMetrics.stage(stage, models.get(0), false, elapsed);
+                save(result);
+                analysisStreamHub.publish(apply.getId(), AnalysisStreamEvent.stage(stage, StageStatus.FAILED, latencyMs, false));
+                throw new CompletionException(cause);
+            }
+
+            result.succeed(response.model(), fingerprint, response.text(), latencyMs);
+            analysisMetrics.stage(stage, response.model(), true, elapsed);
+            save(result);
+            analysisStreamHub.publish(apply.getId(), AnalysisStreamEvent.stage(stage, StageStatus.SUCCESS, latencyMs, false));
+            log.info("{} 단계 완료 - applyId: {}, model: {}, 소요 시간: {} ms", stage, apply.getId(), response.model(), latencyMs);
+            // 토큰 예산이 줄어든 단계에서는 사용자에게 보이는 단계를 먼저 남기도록 그림자 평가를 하지 않음
+            if (hedge && analysisBudget.level(false) == BudgetLevel.FULL) {
+                geminiModelRouter.shadow(stage)
+                        .filter(model -> !model.equals(response.model()))
+                        .ifPresent(model -> analysisShadowEvaluator.evaluate(apply, stage, model, call, validator, response));
+            }
+            return response.text();
+        }, geminiStoreExecutor.executor());
+    }
+
+    private void save(AnalysisStageResult result) {
+        try {
+            analysisStageResultRepository.save(result);
+        } catch (Exception e) {
+            // 체크포인트 저장 실패는 분석 자체를 실패시키지 않음 (다음 재시도에서 다시 실행될 뿐)
+            log.warn("{} 단계 결과 저장 실패", result.getStage(), e);
+        }
+    }
+
+    private Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+}
@@ -0,0 +1,178 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.dto.AnalysisStreamEvent;
+import aibe.hosik.handler.exception.CustomException;
+import aibe.hosik.handler.exception.ErrorCode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 지원서별 분석 진행 이벤트를 SSE 구독자에게 전달하는 메모리 팬아웃 허브
+ * 발행 측은 구독자별 버퍼에 넣기만 하고, 전송은 소수의 전송 스레드가 맡는다. (구독자마다 스레드를 잡지 않음)
+ * 버퍼가 가득 찬 느린 구독자는 다른 구독자나 분석 파이프라인을 막지 않도록 연결을 끊는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AnalysisStreamHub {
+    private final AnalysisStreamProperties properties;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private ExecutorService sender;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger seq = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(properties.getSenderThreads(), r -> {
+            Thread thread = new Thread(r, "analysis-stream-" + seq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * 지원서의 분석 이벤트를 구독한다.
+     *
+     * @param applyId  지원서 ID
+     * @param snapshot 구독 직후 먼저 보낼 현재 상태 이벤트
+     * @return SSE 연결
+     */
+    public SseEmitter subscribe(Long applyId, List<AnalysisStreamEvent> snapshot) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new CustomException(ErrorCode.TOO_MANY_ANALYSIS_STREAMS);
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(applyId, emitter);
+        AtomicBoolean accepted = new AtomicBoolean();
+        subscribers.compute(applyId, (k, applySubscribers) -> {
+            Set<Subscriber> current = applySubscribers != null ? applySubscribers : ConcurrentHashMap.newKeySet();
+            if (current.size() < properties.getMaxSubscribersPerApply()) {
+                accepted.set(current.add(subscriber));
+            }
+            return current.isEmpty() ? null : current;
+        });
+        if (!accepted.get()) {
+            subscriberCount.decrementAndGet();
+            throw new CustomException(ErrorCode.TOO_MANY_ANALYSIS_STREAMS);
+        }
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+
+        snapshot.forEach(subscriber::offer);
+        return emitter;
+    }
+
+    public boolean hasSubscribers(Long applyId) {
+        return subscribers.containsKey(applyId);
+    }
+
+    /**
+     * 지원서의 모든 구독자에게 이벤트를 보낸다. 구독자가 없으면 아무것도 하지 않는다.
+     */
+    public void publish(Long applyId, AnalysisStreamEvent event) {
+        Set<Subscriber> applySubscribers = subscribers.get(applyId);
+        if (applySubscribers == null) {
+            return;
+        }
+        applySubscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private final class Subscriber {
+        private final Long applyId;
+        private final SseEmitter emitter;
+        private final Queue<AnalysisStreamEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(Long applyId, SseEmitter emitter) {
+            this.applyId = applyId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+        }
+
+        private void offer(AnalysisStreamEvent event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                log.warn("분석 스트림 구독자가 느려 연결을 종료합니다. applyId: {}", applyId);
+                close();
+                emitter.complete();
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                AnalysisStreamEvent event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .name(event.name())
+                            .data(event.data(), MediaType.APPLICATION_JSON));
+                    if (event.terminal()) {
+                        close();
+                        emitter.complete();
+                    }
+                }
+            } catch (Exception e) {
+                // 클라이언트가 연결을 끊은 경우
+                log.debug("분석 스트림 전송 실패 - applyId: {}", applyId, e);
+                close();
+            } finally {
+                draining.set(false);
+                // 전송 중에 들어온 이벤트가 있으면 다시 예약
+                if (!closed.get() && !buffer.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        private void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(applyId, (k, applySubscribers) -> {
+                applySubscribers.remove(this);
+                return applySubscribers.isEmpty() ? null : applySubscribers;
+            });
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package aibe.hosik.analysis.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "analysis.stream")
+public class AnalysisStreamProperties {
+    // SSE 연결 유지 시간
+    private Duration timeout = Duration.ofMinutes(10);
+    // 구독자별 전송 대기 이벤트 수. 넘치면 느린 구독자로 보고 연결을 끊는다.
+    private int bufferSize = 256;
+    // 전체 / 지원서별 최대 구독자 수
+    private int maxSubscribers = 500;
+    private int maxSubscribersPerApply = 4;
+    // 이벤트 전송 스레드 수 (구독자 수와 무관)
+    private int senderThreads = 2;
+}
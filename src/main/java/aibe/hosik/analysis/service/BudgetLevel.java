@@ -0,0 +1,28 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.entity.AnalysisStage;
+
+/**
+ * 토큰 예산 소진 정도에 따른 분석 단계 축소 수준 (아래로 갈수록 더 많이 줄임)
+ */
+public enum BudgetLevel {
+    // 모든 단계 실행
+    FULL,
+    // 자기소개서 요약 생략 (저장된 요약은 사용)
+    SKIP_SUMMARY,
+    // 요약, 추천 문구 생략 (점수 분석만)
+    SKIP_NARRATIVE,
+    // Gemini 호출 없이 로컬 사전 점수만 사용
+    LOCAL_ONLY;
+
+    /**
+     * 이 수준에서 단계를 실행할 수 있는지 여부
+     */
+    public boolean allows(AnalysisStage stage) {
+        return switch (stage) {
+            case RESUME_SUMMARY -> this == FULL;
+            case NARRATIVE -> compareTo(SKIP_NARRATIVE) < 0;
+            case MATCH_PRIMARY, MATCH_SECONDARY -> this != LOCAL_ONLY;
+        };
+    }
+}
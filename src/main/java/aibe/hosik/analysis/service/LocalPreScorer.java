@@ -0,0 +1,120 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.dto.MatchScore;
+import aibe.hosik.post.entity.Post;
+import aibe.hosik.resume.entity.Resume;
+import aibe.hosik.skill.repository.PostSkillRepository;
+import aibe.hosik.skill.repository.ResumeSkillRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * AI 분석 전에 바로 계산하는 로컬 사전 점수
+ * 스킬 일치도(스킬 ID 비트셋 교집합)와 글자 bigram 기반 텍스트 유사도를 AI 점수와 같은 가중치로 합산한다.
+ * 외부 호출이 없어 지원 시점에 계산할 수 있고, AI 분석이 계속 실패할 때도 순위 기준으로 쓸 수 있다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalPreScorer {
+    // 비교할 정보가 없을 때의 중립 점수
+    private static final int NEUTRAL_SCORE = 50;
+
+    private final PostSkillRepository postSkillRepository;
+    private final ResumeSkillRepository resumeSkillRepository;
+    private final AnalysisProperties analysisProperties;
+
+    /**
+     * 지원서의 사전 점수를 계산한다.
+     *
+     * @param post   모집글
+     * @param resume 이력서
+     * @param reason 지원 동기
+     * @return 0-100 점수
+     */
+    public int score(Post post, Resume resume, String reason) {
+        return analysisProperties.weightedScore(subScores(post, resume, reason));
+    }
+
+    /**
+     * 항목별 사전 점수 (토큰 예산이 바닥났을 때 AI 점수 대신 사용)
+     */
+    public MatchScore subScores(Post post, Resume resume, String reason) {
+        return subScores(
+                postSkillRepository.findSkillIdsByPostId(post.getId()),
+                resumeSkillRepository.findSkillIdsByResumeId(resume.getId()),
+                post.getContent(),
+                resume.getContent() + " " + (reason != null ? reason : ""),
+                post.getRequirementPersonality(),
+                resume.getPersonality());
+    }
+
+    static MatchScore subScores(Collection<Long> postSkillIds, Collection<Long> resumeSkillIds,
+                                String postContent, String applicantContent,
+                                String requiredPersonality, String personality) {
+        return new MatchScore(
+                coverage(postContent, applicantContent),
+                coverage(requiredPersonality, personality),
+                skillOverlap(postSkillIds, resumeSkillIds),
+                ""
+        );
+    }
+
+    /**
+     * 요구 스킬 중 보유한 스킬의 비율
+     */
+    static int skillOverlap(Collection<Long> required, Collection<Long> owned) {
+        if (required.isEmpty()) {
+            return NEUTRAL_SCORE;
+        }
+        BitSet requiredBits = toBitSet(required);
+        int requiredCount = requiredBits.cardinality();
+        requiredBits.and(toBitSet(owned));
+        return Math.round(100f * requiredBits.cardinality() / requiredCount);
+    }
+
+    /**
+     * 기준 텍스트의 글자 bigram 중 비교 텍스트에 포함된 비율 (공백, 문장부호, 대소문자 무시)
+     */
+    static int coverage(String reference, String text) {
+        Set<Integer> referenceGrams = bigrams(reference);
+        if (referenceGrams.isEmpty()) {
+            return NEUTRAL_SCORE;
+        }
+        Set<Integer> textGrams = bigrams(text);
+        long matched = referenceGrams.stream().filter(textGrams::contains).count();
+        return Math.round(100f * matched / referenceGrams.size());
+    }
+
+    private static BitSet toBitSet(Collection<Long> ids) {
+        BitSet bits = new BitSet();
+        for (Long id : ids) {
+            bits.set(Math.toIntExact(id));
+        }
+        return bits;
+    }
+
+    // 연속한 두 글자를 하나의 int 로 묶음 (char 는 16비트)
+    private static Set<Integer> bigrams(String text) {
+        Set<Integer> grams = new HashSet<>();
+        if (text == null) {
+            return grams;
+        }
+        char previous = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (!Character.isLetterOrDigit(c)) {
+                continue;
+            }
+            if (previous != 0) {
+                grams.add((previous << 16) | c);
+            }
+            previous = c;
+        }
+        return grams;
+    }
+}
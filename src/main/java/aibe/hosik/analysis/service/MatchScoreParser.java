@@ -0,0 +1,111 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.dto.MatchScore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 모델 응답에서 구조화된 점수를 추출한다.
+ * JSON 응답을 우선 해석하고, 실패하면 기존 텍스트 형식("내용 적합도 점수 : 85")을 해석한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MatchScoreParser {
+    private static final Pattern CONTENT = Pattern.compile("내용 적합도 점수\\s*:?\\s*(\\d{1,3})");
+    private static final Pattern PERSONALITY = Pattern.compile("성격 점수\\s*:?\\s*(\\d{1,3})");
+    private static final Pattern SKILL = Pattern.compile("스킬 점수\\s*:?\\s*(\\d{1,3})");
+    private static final Pattern REASON = Pattern.compile("이유\\s*:\\s*([\\s\\S]+)");
+
+    private final ObjectMapper objectMapper;
+
+    public Optional<MatchScore> parse(String response) {
+        if (response == null || response.isBlank()) {
+            return Optional.empty();
+        }
+        return parseJson(response).or(() -> parseText(response));
+    }
+
+    /**
+     * 일괄 분석 응답(JSON 배열)에서 지원서별 점수를 추출한다. 형식이 맞지 않는 항목은 제외한다.
+     *
+     * @param response 모델 응답
+     * @return 지원서 ID -> 점수
+     */
+    public Map<Long, MatchScore> parseBatch(String response) {
+        Map<Long, MatchScore> scores = new HashMap<>();
+        if (response == null) {
+            return scores;
+        }
+        int start = response.indexOf('[');
+        int end = response.lastIndexOf(']');
+        if (start < 0 || end <= start) {
+            return scores;
+        }
+        try {
+            for (JsonNode node : objectMapper.readTree(response.substring(start, end + 1))) {
+                if (node.path("applyId").canConvertToLong()) {
+                    toMatchScore(node).ifPresent(score -> scores.put(node.get("applyId").asLong(), score));
+                }
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("일괄 분석 응답 JSON 파싱 실패: {}", e.getOriginalMessage());
+        }
+        return scores;
+    }
+
+    private Optional<MatchScore> parseJson(String response) {
+        // 코드 블록(```json) 등으로 감싸져 오는 경우를 위해 첫 '{' 부터 마지막 '}' 까지만 사용
+        int start = response.indexOf('{');
+        int end = response.lastIndexOf('}');
+        if (start < 0 || end <= start) {
+            return Optional.empty();
+        }
+        try {
+            return toMatchScore(objectMapper.readTree(response.substring(start, end + 1)));
+        } catch (JsonProcessingException e) {
+            log.warn("모델 응답 JSON 파싱 실패: {}", e.getOriginalMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<MatchScore> toMatchScore(JsonNode node) {
+        if (!node.path("contentScore").isNumber()
+                || !node.path("personalityScore").isNumber()
+                || !node.path("skillScore").isNumber()) {
+            return Optional.empty();
+        }
+        return Optional.of(new MatchScore(
+                node.get("contentScore").asInt(),
+                node.get("personalityScore").asInt(),
+                node.get("skillScore").asInt(),
+                node.path("reason").asText("")
+        ));
+    }
+
+    private Optional<MatchScore> parseText(String response) {
+        Matcher content = CONTENT.matcher(response);
+        Matcher personality = PERSONALITY.matcher(response);
+        Matcher skill = SKILL.matcher(response);
+        if (!content.find() || !personality.find() || !skill.find()) {
+            return Optional.empty();
+        }
+        Matcher reason = REASON.matcher(response);
+        return Optional.of(new MatchScore(
+                Integer.parseInt(content.group(1)),
+                Integer.parseInt(personality.group(1)),
+                Integer.parseInt(skill.group(1)),
+                reason.find() ? reason.group(1).trim() : ""
+        ));
+    }
+}
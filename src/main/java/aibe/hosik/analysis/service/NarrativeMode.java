@@ -0,0 +1,13 @@
+package aibe.hosik.analysis.service;
+
+/**
+ * 모델 4(최종 추천 문구) 실행 방식
+ */
+public enum NarrativeMode {
+    // 분석 파이프라인에서 바로 생성
+    EAGER,
+    // 지원서 상세 조회 시 처음 한 번 비동기로 생성
+    LAZY,
+    // 생성하지 않음 (로컬에서 만든 결과만 사용)
+    DISABLED
+}
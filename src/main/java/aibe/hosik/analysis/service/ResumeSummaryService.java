@@ -0,0 +1,115 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.client.GeminiClient;
+import aibe.hosik.analysis.client.GeminiFailoverExecutor;
+import aibe.hosik.analysis.client.GeminiModelRouter;
+import aibe.hosik.analysis.client.GeminiStoreExecutor;
+import aibe.hosik.analysis.client.ModelResponse;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import aibe.hosik.analysis.prompt.PromptBuilder;
+import aibe.hosik.analysis.prompt.PromptField;
+import aibe.hosik.analysis.prompt.PromptTemplateId;
+import aibe.hosik.resume.entity.Resume;
+import aibe.hosik.resume.repository.ResumeRepository;
+import aibe.hosik.resume.service.ResumeContentChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * 자기소개서 요약 관리
+ * 요약은 지원서가 아닌 자기소개서 내용에만 의존하므로, 내용 버전(fingerprint)당 한 번만 생성해 자기소개서에 저장한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResumeSummaryService {
+    private static final String EMPTY_CONTENT_SUMMARY = "자기소개서 내용이 없습니다.";
+
+    private final GeminiClient geminiClient;
+    private final GeminiFailoverExecutor geminiFailoverExecutor;
+    private final GeminiModelRouter geminiModelRouter;
+    private final ResumeRepository resumeRepository;
+    private final PromptBuilder promptBuilder;
+    private final AnalysisBudget analysisBudget;
+    private final GeminiStoreExecutor geminiStoreExecutor;
+
+    /**
+     * 자기소개서 저장(커밋) 후 요약을 미리 생성한다.
+     */
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onResumeContentChanged(ResumeContentChangedEvent event) {
+        resumeRepository.findById(event.resumeId())
+                .ifPresent(resume -> getOrCreateSummary(resume).join());
+    }
+
+    /**
+     * 현재 내용 기준 요약이 있으면 재사용하고, 없으면 생성 후 저장한다.
+     * 생성에 실패하면 저장하지 않고 빈 값을 반환한다. (오류 문구를 요약으로 남기지 않음)
+     *
+     * @param resume 자기소개서
+     * @return 요약 future
+     */
+    public CompletableFuture<Optional<String>> getOrCreateSummary(Resume resume) {
+        return getOrCreateSummary(resume, false);
+    }
+
+    /**
+     * 토큰 예산이 부족하면 새로 생성하지 않고 빈 값을 반환한다. (저장된 요약은 그대로 사용)
+     * 요약 단계의 모델 순서대로 호출하며, 서킷이 열린 모델은 건너뛰고 실패하면 대체 모델로 넘어간다.
+     *
+     * @param resume   자기소개서
+     * @param priority 작성자가 기다리는 분석 여부 (예비 예산 사용 가능)
+     * @return 요약 future (생성 실패, 예산 부족이면 빈 값)
+     */
+    public CompletableFuture<Optional<String>> getOrCreateSummary(Resume resume, boolean priority) {
+        // 자기소개서 내용이 없을 경우 기본 메시지 반환
+        if (resume.getContent() == null || resume.getContent().trim().isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.of(EMPTY_CONTENT_SUMMARY));
+        }
+        if (resume.hasFreshSummary()) {
+            log.info("자기소개서 요약 재사용 - resumeId: {}", resume.getId());
+            return CompletableFuture.completedFuture(Optional.of(resume.getSummary()));
+        }
+        if (!analysisBudget.allows(AnalysisStage.RESUME_SUMMARY, priority)) {
+            log.info("토큰 예산 부족으로 자기소개서 요약 생략 - resumeId: {}", resume.getId());
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        String fingerprint = resume.contentFingerprint();
+        String prompt = promptBuilder.render(PromptTemplateId.RESUME_SUMMARY,
+                Map.of("resumeContent", PromptField.shrinkable(resume.getContent())),
+                geminiClient.summaryInputTokenBudget()).text();
+
+        Predicate<String> validator = summary -> !summary.isBlank();
+        CompletableFuture<ModelResponse> execution = geminiFailoverExecutor.execute(
+                geminiModelRouter.route(AnalysisStage.RESUME_SUMMARY),
+                model -> geminiClient.generateContentAsync(prompt, model, validator), validator, false);
+        Duration timeout = geminiModelRouter.timeout(AnalysisStage.RESUME_SUMMARY);
+        if (timeout != null) {
+            execution.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        // 요약 저장(JPA)은 응답을 완료한 HTTP 스레드가 아닌 저장 전용 스레드에서 실행
+        return execution
+                .thenApplyAsync(response -> {
+                    resumeRepository.updateSummary(resume.getId(), response.text(), fingerprint);
+                    log.info("자기소개서 요약 생성 - resumeId: {}, model: {}", resume.getId(), response.model());
+                    return Optional.of(response.text());
+                }, geminiStoreExecutor.executor())
+                .exceptionally(e -> {
+                    log.error("자기소개서 요약 생성 실패 - resumeId: {}", resume.getId(), e);
+                    return Optional.empty();
+                });
+    }
+}
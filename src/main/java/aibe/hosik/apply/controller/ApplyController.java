@@ -2,7 +2,10 @@ package aibe.hosik.apply.controller;
 
 import aibe.hosik.apply.dto.ApplyByResumeSkillResponse;
 import aibe.hosik.apply.dto.ApplyDetailResponse;
+import aibe.hosik.apply.dto.ApplyPageResponse;
 import aibe.hosik.apply.dto.ApplyRequest;
+import aibe.hosik.apply.dto.ApplyScrollResponse;
+import aibe.hosik.apply.dto.ApplySearchCondition;
 import aibe.hosik.apply.service.ApplyService;
 import aibe.hosik.handler.exception.CustomException;
 import aibe.hosik.handler.exception.ErrorCode;
@@ -49,6 +52,33 @@ public class ApplyController {
         return ResponseEntity.ok(result);
     }
 
+    @SecurityRequirement(name = "JWT")
+    @Operation(summary = "모집글별 지원자 목록 (정렬, 필터, 페이지)",
+            description = "추천 점수나 항목별 점수(내용, 성격, 스킬)로 정렬하고 최소 점수로 거른 지원자를 페이지 단위로 조회합니다")
+    @GetMapping("/post/{postId}")
+    public ResponseEntity<ApplyPageResponse> searchApplies(@PathVariable Long postId,
+                                                           @ModelAttribute ApplySearchCondition condition,
+                                                           @AuthenticationPrincipal User user) {
+        if (user == null) {
+            throw new CustomException(ErrorCode.LOGIN_REQUIRED);
+        }
+        return ResponseEntity.ok(applyService.searchApplies(postId, condition, user));
+    }
+
+    @SecurityRequirement(name = "JWT")
+    @Operation(summary = "모집글별 지원자 목록 (커서 페이지)",
+            description = "추천 점수 내림차순으로 지원자를 조회합니다. 다음 페이지는 응답의 nextCursor 를 cursor 로 넘겨 조회합니다")
+    @GetMapping("/post/{postId}/scroll")
+    public ResponseEntity<ApplyScrollResponse> scrollApplies(@PathVariable Long postId,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(required = false) Integer size,
+                                                             @AuthenticationPrincipal User user) {
+        if (user == null) {
+            throw new CustomException(ErrorCode.LOGIN_REQUIRED);
+        }
+        return ResponseEntity.ok(applyService.scrollApplies(postId, cursor, size, user));
+    }
+
     @SecurityRequirement(name = "JWT")
     @Operation(summary = "지원서 상세보기", description = "특정 지원서의 상세 정보를 조회합니다")
     @GetMapping("/{applyId}")
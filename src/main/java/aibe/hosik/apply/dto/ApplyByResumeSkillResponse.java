@@ -1,11 +1,8 @@
 package aibe.hosik.apply.dto;
 
-import aibe.hosik.analysis.entity.Analysis;
-import aibe.hosik.apply.entity.Apply;
 import aibe.hosik.apply.entity.PassStatus;
-import aibe.hosik.profile.entity.Profile;
+import aibe.hosik.profile.dto.ProfileResponse;
 import aibe.hosik.resume.dto.ResumeDetailResponse;
-import aibe.hosik.user.entity.User;
 import lombok.Builder;
 
 import java.util.List;
@@ -21,25 +18,33 @@ public record ApplyByResumeSkillResponse(
         String reason,
 
         Integer aiScore,
+        boolean aiScoreProvisional,     // AI 분석 전 사전 점수 여부
         String aiReason,
         String aiSummary
 ) {
-    public static ApplyByResumeSkillResponse from(Apply apply, List<String> skills, Analysis analysis) {
-        User user = apply.getUser();
-        Profile profile = user.getProfile();
-        ResumeDetailResponse resume = ResumeDetailResponse.from(apply.getResume());
+    /**
+     * @param row    지원자 목록 프로젝션
+     * @param skills 이력서 스킬 (페이지 단위로 한 번에 조회한 값)
+     */
+    public static ApplyByResumeSkillResponse from(ApplyListRow row, List<String> skills) {
+        ProfileResponse profile = new ProfileResponse(row.profileId(), row.userName(), row.introduction(),
+                row.profileImage(), row.nickname(), row.userId());
+        ResumeDetailResponse resume = new ResumeDetailResponse(row.resumeId(), row.resumeTitle(), row.resumeContent(),
+                row.personality(), row.portfolio(), row.isMain(), skills, profile);
+        boolean analyzed = row.analysisId() != null;
 
         return ApplyByResumeSkillResponse.builder()
-                .applyId(apply.getId())
-                .userId(user.getId())
+                .applyId(row.applyId())
+                .userId(row.userId())
                 .resume(resume)
-                .nickname(profile.getNickname())
-                .profileImage(profile.getImage())
-                .isSelected(apply.getIsSelected())
-                .reason(apply.getReason())
-                .aiScore(analysis != null ? analysis.getScore() : null)
-                .aiReason(analysis != null ? analysis.getResult() : null)
-                .aiSummary(analysis != null ? analysis.getSummary() : null)
+                .nickname(row.nickname())
+                .profileImage(row.profileImage())
+                .isSelected(row.isSelected())
+                .reason(row.reason())
+                .aiScore(analyzed ? row.analysisScore() : row.preScore())
+                .aiScoreProvisional(!analyzed && row.preScore() != null)
+                .aiReason(analyzed ? row.analysisResult() : null)
+                .aiSummary(analyzed ? row.analysisSummary() : null)
                 .build();
     }
 }
@@ -0,0 +1,46 @@
+package aibe.hosik.apply.dto;
+
+import aibe.hosik.handler.exception.CustomException;
+import aibe.hosik.handler.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 지원자 목록 keyset 커서 (이전 페이지 마지막 행의 점수, 지원서 ID)
+ * 클라이언트에는 내용을 해석하지 않도록 Base64 문자열로 전달한다.
+ *
+ * @param score 마지막 행의 점수 (점수가 없으면 null)
+ * @param id    마지막 행의 지원서 ID
+ */
+public record ApplyCursor(Integer score, Long id) {
+    private static final String NO_SCORE = "-";
+
+    public static ApplyCursor of(ApplyListRow row) {
+        return new ApplyCursor(row.score(), row.applyId());
+    }
+
+    public String encode() {
+        String raw = (score == null ? NO_SCORE : score.toString()) + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param cursor encode() 로 만든 문자열 (없으면 첫 페이지)
+     * @return 커서 (첫 페이지면 null)
+     */
+    public static ApplyCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(cursor);
+            }
+            return new ApplyCursor(NO_SCORE.equals(parts[0]) ? null : Integer.valueOf(parts[0]), Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new CustomException(ErrorCode.INVALID_REQUEST_FORMAT);
+        }
+    }
+}
@@ -33,7 +33,8 @@ public record ApplyDetailResponse(
 
         // ai
         Integer aiScore,
-        String aiReason
+        String aiReason,
+        boolean aiScoreProvisional      // AI 분석 전 사전 점수 여부
 ) {
     public static ApplyDetailResponse from(Apply apply, List<String> skills, Analysis analysis) {
         User user = apply.getUser();
@@ -59,8 +60,9 @@ public record ApplyDetailResponse(
                 resume.getPortfolio(),
                 skills,
 
-                analysis != null ? analysis.getScore() : null,
-                analysis != null ? analysis.getResult() : null
+                analysis != null ? analysis.getScore() : apply.getPreScore(),
+                analysis != null ? analysis.getResult() : null,
+                analysis == null && apply.getPreScore() != null
         );
     }
 }
@@ -0,0 +1,33 @@
+package aibe.hosik.apply.dto;
+
+import aibe.hosik.apply.entity.PassStatus;
+
+/**
+ * 지원자 목록 한 행 (엔티티 대신 필요한 컬럼만 한 번에 조회하는 프로젝션)
+ * 지원자, 프로필, 이력서, 최신 분석을 조인해 만들고 스킬은 페이지 단위로 따로 조회한다.
+ * 지원할 때 본인 이력서만 사용할 수 있으므로 이력서 작성자 프로필은 지원자 프로필과 같다.
+ */
+public record ApplyListRow(
+        Long applyId,
+        Long userId,
+        String userName,
+        Long profileId,
+        String introduction,
+        String profileImage,
+        String nickname,
+        PassStatus isSelected,
+        String reason,
+        Integer preScore,
+        Integer score,              // 정렬용 점수 사본 (keyset 커서 값)
+        Long resumeId,
+        String resumeTitle,
+        String resumeContent,
+        String personality,
+        String portfolio,
+        boolean isMain,
+        Long analysisId,            // 최신 분석 ID (분석 전이면 null)
+        Integer analysisScore,
+        String analysisResult,
+        String analysisSummary
+) {
+}
@@ -0,0 +1,15 @@
+package aibe.hosik.apply.dto;
+
+import java.util.List;
+
+/**
+ * 모집글별 지원자 목록 페이지
+ */
+public record ApplyPageResponse(
+        List<ApplyByResumeSkillResponse> applies,
+        int page,
+        int size,
+        long totalCount,
+        boolean hasNext
+) {
+}
@@ -0,0 +1,15 @@
+package aibe.hosik.apply.dto;
+
+import java.util.List;
+
+/**
+ * 모집글별 지원자 목록 keyset 페이지 (추천 점수 내림차순)
+ *
+ * @param nextCursor 다음 페이지 요청에 넘길 커서 (마지막 페이지면 null)
+ */
+public record ApplyScrollResponse(
+        List<ApplyByResumeSkillResponse> applies,
+        String nextCursor,
+        boolean hasNext
+) {
+}
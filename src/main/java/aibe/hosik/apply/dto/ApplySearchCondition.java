@@ -0,0 +1,41 @@
+package aibe.hosik.apply.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * 모집글별 지원자 목록 조회 조건 (점수 조건은 null 이면 적용하지 않음)
+ * 분석 전이거나 항목별 점수가 없는 지원자는 해당 점수 조건을 주면 제외되고, 내림차순 정렬 시 마지막에 온다. (사전 점수는 정렬에 쓰지 않음)
+ */
+public record ApplySearchCondition(
+        ApplySortField sort,            // 정렬 기준 (기본: 추천 점수)
+        Sort.Direction direction,       // 정렬 방향 (기본: 내림차순)
+        Integer minScore,               // 최소 추천 점수
+        Integer minContentScore,        // 최소 내용 적합도 점수
+        Integer minPersonalityScore,    // 최소 성격 점수
+        Integer minSkillScore,          // 최소 스킬 점수
+        Integer page,                   // 페이지 번호 (0부터)
+        Integer size                    // 페이지 크기 (최대 MAX_SIZE)
+) {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    public ApplySearchCondition {
+        sort = sort != null ? sort : ApplySortField.SCORE;
+        direction = direction != null ? direction : Sort.Direction.DESC;
+        page = page != null ? Math.max(page, 0) : 0;
+        size = size != null ? Math.min(Math.max(size, 1), MAX_SIZE) : DEFAULT_SIZE;
+    }
+
+    /**
+     * 같은 점수끼리는 지원 순서(ID)로 정렬해 페이지 사이에 중복, 누락이 없도록 한다.
+     */
+    public Pageable toPageable() {
+        Sort order = Sort.by(direction, sort.getProperty());
+        if (sort != ApplySortField.APPLIED_AT) {
+            order = order.and(Sort.by(direction, ApplySortField.APPLIED_AT.getProperty()));
+        }
+        return PageRequest.of(page, size, order);
+    }
+}
@@ -0,0 +1,19 @@
+package aibe.hosik.apply.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 지원자 목록 정렬 기준 (Apply 의 점수 사본 컬럼, 모집글별 인덱스 사용)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ApplySortField {
+    SCORE("score"),
+    CONTENT_SCORE("contentScore"),
+    PERSONALITY_SCORE("personalityScore"),
+    SKILL_SCORE("skillScore"),
+    APPLIED_AT("id");
+
+    private final String property;
+}
@@ -1,6 +1,7 @@
 package aibe.hosik.apply.entity;
 
 import aibe.hosik.analysis.entity.Analysis;
+import aibe.hosik.analysis.entity.AnalysisStageResult;
 import aibe.hosik.common.TimeEntity;
 import aibe.hosik.post.entity.Post;
 import aibe.hosik.resume.entity.Resume;
@@ -10,11 +11,19 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_apply_post_score", columnList = "post_id, score"),
+        @Index(name = "idx_apply_post_content_score", columnList = "post_id, contentScore"),
+        @Index(name = "idx_apply_post_personality_score", columnList = "post_id, personalityScore"),
+        @Index(name = "idx_apply_post_skill_score", columnList = "post_id, skillScore")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -32,6 +41,24 @@ public class Apply extends TimeEntity {
     @Column
     private String reason;
 
+    // AI 분석 전 로컬에서 계산한 사전 점수 (AI 분석 결과가 있으면 그 점수를 사용)
+    @Column
+    private Integer preScore;
+
+    // 최신 분석 점수 사본 (모집글별 지원자 정렬, 필터를 인덱스로 처리하기 위해 보관)
+    // 분석 전에는 모두 null (사전 점수는 preScore 에만 보관해 분석 점수와 섞지 않음)
+    @Column
+    private Integer score;
+
+    @Column
+    private Integer contentScore;
+
+    @Column
+    private Integer personalityScore;
+
+    @Column
+    private Integer skillScore;
+
     @ManyToOne(fetch = FetchType.LAZY)
     private Post post;
 
@@ -41,10 +68,22 @@ public class Apply extends TimeEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
-    // ai 파트 연결
+    // ai 파트 연결 (분석 이력)
     @OneToMany(mappedBy = "apply", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Analysis> analysis = new ArrayList<>();
 
+    // 가장 최근 분석 결과 (지원자 목록에서 이력을 뒤지지 않고 한 번에 조회하기 위한 참조)
+    // 지원서 삭제 시 분석 이력이 먼저 지워지므로 참조는 DB 에서 비움
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "latest_analysis_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Analysis latestAnalysis;
+
+    // ai 단계별 결과
+    @OneToMany(mappedBy = "apply", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private List<AnalysisStageResult> analysisStages = new ArrayList<>();
+
     /**
      * 지정된 모집글, 사용자, 이력서 및 이유를 바탕으로 Apply 객체를 생성한다.
      * 생성된 객체는 기본적으로 미선정 상태로 설정된다.
@@ -64,6 +103,10 @@ public class Apply extends TimeEntity {
                 .build();
     }
 
+    public void updatePreScore(int preScore) {
+        this.preScore = preScore;
+    }
+
     public void updateIsSelected(boolean selected) {
         this.isSelected = selected ? PassStatus.PASS : PassStatus.FAIL;
     }
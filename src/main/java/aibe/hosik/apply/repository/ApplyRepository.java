@@ -1,13 +1,23 @@
 package aibe.hosik.apply.repository;
 
+import aibe.hosik.analysis.entity.Analysis;
+import aibe.hosik.analysis.entity.AnalysisJobStatus;
+import aibe.hosik.apply.dto.ApplyListRow;
 import aibe.hosik.apply.entity.Apply;
 import aibe.hosik.apply.entity.PassStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 public interface ApplyRepository extends JpaRepository<Apply, Long> {
 
@@ -36,22 +46,251 @@ public interface ApplyRepository extends JpaRepository<Apply, Long> {
     List<Map<String, Object>> countSelectedAppliesByPostId(PassStatus status);
 
     /**
-     * 특정 모집글에 지원한 지원자들과 그들의 이력서, 프로필 및 분석 결과를 함께 조회한다.
-     * (AI 분석 결과까지 한 번에 조회)
+     * 특정 모집글의 지원자 목록을 지원 순서대로 조회한다. (프로젝션, 한 번의 쿼리)
+     * 지원자, 프로필, 이력서, 최신 분석(latestAnalysis 참조만 조인하므로 지원서당 한 행)을 함께 가져온다.
      *
      * @param postId 모집글 ID
-     * @return Apply 리스트 (User + Profile + Resume + Analysis 포함)
+     * @return 지원자 목록 (지원서 ID 오름차순)
      */
-    @Query("SELECT DISTINCT a FROM Apply a " +
-            "JOIN FETCH a.user u " +
-            "JOIN FETCH u.profile p " +
-            "JOIN FETCH a.resume r " +
-            "LEFT JOIN FETCH a.analysis " +
-            "WHERE a.post.id = :postId")
-    List<Apply> findWithUserResumeAndAnalysisByPostId(@Param("postId") Long postId);
+    @Query("""
+            SELECT new aibe.hosik.apply.dto.ApplyListRow(
+                a.id, u.id, u.name, p.id, p.introduction, p.image, p.nickname,
+                a.isSelected, a.reason, a.preScore, a.score,
+                r.id, r.title, r.content, r.personality, r.portfolio, r.isMain,
+                an.id, an.score, an.result, an.summary)
+            FROM Apply a
+            JOIN a.user u
+            JOIN u.profile p
+            JOIN a.resume r
+            LEFT JOIN a.latestAnalysis an
+            WHERE a.post.id = :postId
+            ORDER BY a.id
+            """)
+    List<ApplyListRow> findListRowsByPostId(@Param("postId") Long postId);
 
+    /**
+     * 점수가 있는 지원자를 (점수, ID) 내림차순으로 keyset 페이지 조회한다.
+     * a.score <= :cursorScore 조건으로 (post_id, score) 인덱스를 범위 스캔하고, 같은 점수 안에서는 ID 로 이어서 조회한다.
+     *
+     * @param postId      모집글 ID
+     * @param cursorScore 이전 페이지 마지막 행의 점수 (첫 페이지면 Integer.MAX_VALUE)
+     * @param cursorId    이전 페이지 마지막 행의 지원서 ID (첫 페이지면 Long.MAX_VALUE)
+     * @param pageable    조회할 개수 (offset 없이 0 페이지만 사용, 정렬은 쿼리에 고정)
+     * @return 지원자 목록
+     */
+    @Query("""
+            SELECT new aibe.hosik.apply.dto.ApplyListRow(
+                a.id, u.id, u.name, p.id, p.introduction, p.image, p.nickname,
+                a.isSelected, a.reason, a.preScore, a.score,
+                r.id, r.title, r.content, r.personality, r.portfolio, r.isMain,
+                an.id, an.score, an.result, an.summary)
+            FROM Apply a
+            JOIN a.user u
+            JOIN u.profile p
+            JOIN a.resume r
+            LEFT JOIN a.latestAnalysis an
+            WHERE a.post.id = :postId
+            AND a.score <= :cursorScore
+            AND (a.score < :cursorScore OR a.id < :cursorId)
+            ORDER BY a.score DESC, a.id DESC
+            """)
+    List<ApplyListRow> findScoredListRowsByPostId(@Param("postId") Long postId,
+                                                  @Param("cursorScore") int cursorScore,
+                                                  @Param("cursorId") long cursorId,
+                                                  Pageable pageable);
 
-    // 분석 결과가 없는 지원서 조회
-    @Query("SELECT a FROM Apply a WHERE NOT EXISTS (SELECT 1 FROM Analysis an WHERE an.apply = a)")
-    List<Apply> findAppliesWithoutAnalysis();
-}
\ No newline at end of file
+    /**
+     * 아직 점수가 없는 지원자를 ID 내림차순으로 keyset 페이지 조회한다. (점수 있는 지원자 다음에 이어지는 구간)
+     *
+     * @param postId   모집글 ID
+     * @param cursorId 이전 페이지 마지막 행의 지원서 ID (이 구간의 첫 페이지면 Long.MAX_VALUE)
+     * @param pageable 조회할 개수 (offset 없이 0 페이지만 사용, 정렬은 쿼리에 고정)
+     * @return 지원자 목록
+     */
+    @Query("""
+            SELECT new aibe.hosik.apply.dto.ApplyListRow(
+                a.id, u.id, u.name, p.id, p.introduction, p.image, p.nickname,
+                a.isSelected, a.reason, a.preScore, a.score,
+                r.id, r.title, r.content, r.personality, r.portfolio, r.isMain,
+                an.id, an.score, an.result, an.summary)
+            FROM Apply a
+            JOIN a.user u
+            JOIN u.profile p
+            JOIN a.resume r
+            LEFT JOIN a.latestAnalysis an
+            WHERE a.post.id = :postId
+            AND a.score IS NULL
+            AND a.id < :cursorId
+            ORDER BY a.id DESC
+            """)
+    List<ApplyListRow> findUnscoredListRowsByPostId(@Param("postId") Long postId,
+                                                    @Param("cursorId") long cursorId,
+                                                    Pageable pageable);
+
+    /**
+     * AI 분석에 필요한 모집글, 이력서를 함께 조회한다.
+     * 분석 워커는 트랜잭션 밖에서 동작하므로 지연 로딩 없이 한 번에 가져온다.
+     *
+     * @param applyId 지원서 ID
+     * @return Apply (Post + Resume 포함)
+     */
+    @Query("SELECT a FROM Apply a " +
+            "JOIN FETCH a.post " +
+            "JOIN FETCH a.resume " +
+            "WHERE a.id = :applyId")
+    Optional<Apply> findWithPostAndResumeById(@Param("applyId") Long applyId);
+
+    /**
+     * 일괄 분석에 필요한 모집글, 이력서를 함께 조회한다.
+     *
+     * @param applyIds 지원서 ID 목록
+     * @return Apply 리스트 (Post + Resume 포함)
+     */
+    @Query("SELECT a FROM Apply a " +
+            "JOIN FETCH a.post " +
+            "JOIN FETCH a.resume " +
+            "WHERE a.id IN :applyIds")
+    List<Apply> findAllWithPostAndResumeByIdIn(@Param("applyIds") List<Long> applyIds);
+
+    /**
+     * 분석 결과를 저장하는 동안 지원서 행을 잠근다. (같은 지원서의 분석 차수가 겹치지 않도록)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Apply a WHERE a.id = :applyId")
+    Optional<Apply> findByIdForUpdate(@Param("applyId") Long applyId);
+
+    /**
+     * 지원서의 최신 분석 참조와 정렬용 점수 사본을 갱신한다. 더 최근 분석이 이미 연결되어 있으면 바꾸지 않는다.
+     *
+     * @param applyId  지원서 ID
+     * @param analysis 새로 저장한 분석 결과
+     * @return 갱신된 행 수
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Apply a
+            SET a.latestAnalysis = :analysis,
+                a.score = :score,
+                a.contentScore = :contentScore,
+                a.personalityScore = :personalityScore,
+                a.skillScore = :skillScore
+            WHERE a.id = :applyId
+            AND (a.latestAnalysis IS NULL OR a.latestAnalysis.id < :analysisId)
+            """)
+    int updateLatestAnalysis(@Param("applyId") Long applyId,
+                             @Param("analysis") Analysis analysis,
+                             @Param("analysisId") Long analysisId,
+                             @Param("score") int score,
+                             @Param("contentScore") Integer contentScore,
+                             @Param("personalityScore") Integer personalityScore,
+                             @Param("skillScore") Integer skillScore);
+
+    /**
+     * 모집글의 지원자를 점수 조건으로 걸러 페이지 단위로 조회한다. (정렬은 pageable 의 점수 사본 컬럼)
+     * 조건이 null 이면 적용하지 않으며, (모집글, 점수) 인덱스로 정렬과 범위 조건을 처리한다.
+     *
+     * @param postId              모집글 ID
+     * @param minScore            최소 추천 점수
+     * @param minContentScore     최소 내용 적합도 점수
+     * @param minPersonalityScore 최소 성격 점수
+     * @param minSkillScore       최소 스킬 점수
+     * @param pageable            페이지, 정렬
+     * @return 지원자 목록 페이지 (프로젝션)
+     */
+    @Query(value = """
+            SELECT new aibe.hosik.apply.dto.ApplyListRow(
+                a.id, u.id, u.name, p.id, p.introduction, p.image, p.nickname,
+                a.isSelected, a.reason, a.preScore, a.score,
+                r.id, r.title, r.content, r.personality, r.portfolio, r.isMain,
+                an.id, an.score, an.result, an.summary)
+            FROM Apply a
+            JOIN a.user u
+            JOIN u.profile p
+            JOIN a.resume r
+            LEFT JOIN a.latestAnalysis an
+            WHERE a.post.id = :postId
+            AND (:minScore IS NULL OR a.score >= :minScore)
+            AND (:minContentScore IS NULL OR a.contentScore >= :minContentScore)
+            AND (:minPersonalityScore IS NULL OR a.personalityScore >= :minPersonalityScore)
+            AND (:minSkillScore IS NULL OR a.skillScore >= :minSkillScore)
+            """,
+            countQuery = """
+                    SELECT COUNT(a) FROM Apply a
+                    WHERE a.post.id = :postId
+                    AND (:minScore IS NULL OR a.score >= :minScore)
+                    AND (:minContentScore IS NULL OR a.contentScore >= :minContentScore)
+                    AND (:minPersonalityScore IS NULL OR a.personalityScore >= :minPersonalityScore)
+                    AND (:minSkillScore IS NULL OR a.skillScore >= :minSkillScore)
+                    """)
+    Page<ApplyListRow> searchByPostId(@Param("postId") Long postId,
+                               @Param("minScore") Integer minScore,
+                               @Param("minContentScore") Integer minContentScore,
+                               @Param("minPersonalityScore") Integer minPersonalityScore,
+                               @Param("minSkillScore") Integer minSkillScore,
+                               Pageable pageable);
+
+    /**
+     * 분석 결과가 없고, 진행 중(또는 격리된) 분석 작업도 없는 지원서를 ID 순으로 조회한다. (keyset 페이지)
+     * 마감된 모집글의 지원서는 분석해도 읽히지 않으므로 제외하고, 로컬 점수로 대신한 분석만 있는 지원서는 포함한다.
+     *
+     * @param lastId         이전 페이지의 마지막 지원서 ID
+     * @param activeStatuses 이미 처리 중으로 간주할 작업 상태
+     * @param localModelConfig 로컬 점수 분석의 모델 구성 값
+     * @param pageable       페이지 크기
+     * @return 지원서 목록
+     */
+    @Query("""
+            SELECT a
+            FROM Apply a
+            WHERE a.id > :lastId
+            AND a.post.isDone = false
+            AND NOT EXISTS (SELECT 1 FROM Analysis an WHERE an.apply = a
+                            AND (an.modelConfig IS NULL OR an.modelConfig <> :localModelConfig))
+            AND NOT EXISTS (SELECT 1 FROM AnalysisJob j WHERE j.applyId = a.id AND j.status IN :activeStatuses)
+            ORDER BY a.id
+            """)
+    List<Apply> findAppliesWithoutAnalysis(@Param("lastId") Long lastId,
+                                           @Param("activeStatuses") List<AnalysisJobStatus> activeStatuses,
+                                           @Param("localModelConfig") String localModelConfig,
+                                           Pageable pageable);
+
+    /**
+     * 최신 분석이 현재 모집글 내용과 다른 내용으로 만들어진 지원서를 조회한다. (마감된 모집글 제외)
+     * 분석 결과가 아직 없는 지원서는 대기 중인 작업이 현재 내용으로 분석하므로 제외한다.
+     *
+     * @param postId          모집글 ID
+     * @param postFingerprint 현재 모집글 내용 해시
+     * @return 지원서 목록
+     */
+    @Query("""
+            SELECT a
+            FROM Apply a
+            JOIN a.latestAnalysis an
+            WHERE a.post.id = :postId
+            AND a.post.isDone = false
+            AND (an.postFingerprint IS NULL OR an.postFingerprint <> :postFingerprint)
+            ORDER BY a.id
+            """)
+    List<Apply> findStaleAppliesByPostId(@Param("postId") Long postId,
+                                         @Param("postFingerprint") String postFingerprint);
+
+    /**
+     * 최신 분석이 현재 자기소개서 내용과 다른 내용으로 만들어진 지원서를 조회한다. (마감된 모집글 제외)
+     *
+     * @param resumeId          자기소개서 ID
+     * @param resumeFingerprint 현재 자기소개서 내용 해시
+     * @return 지원서 목록
+     */
+    @Query("""
+            SELECT a
+            FROM Apply a
+            JOIN a.latestAnalysis an
+            WHERE a.resume.id = :resumeId
+            AND a.post.isDone = false
+            AND (an.resumeFingerprint IS NULL OR an.resumeFingerprint <> :resumeFingerprint)
+            ORDER BY a.id
+            """)
+    List<Apply> findStaleAppliesByResumeId(@Param("resumeId") Long resumeId,
+                                           @Param("resumeFingerprint") String resumeFingerprint);
+}
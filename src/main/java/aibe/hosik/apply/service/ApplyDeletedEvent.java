@@ -0,0 +1,9 @@
+package aibe.hosik.apply.service;
+
+/**
+ * 지원서가 삭제되었을 때 발행되는 이벤트 (대기 중이거나 진행 중인 분석 취소용)
+ *
+ * @param applyId 지원서 ID
+ */
+public record ApplyDeletedEvent(Long applyId) {
+}
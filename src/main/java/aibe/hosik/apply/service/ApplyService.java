@@ -2,15 +2,23 @@ package aibe.hosik.apply.service;
 
 import aibe.hosik.analysis.entity.Analysis;
 import aibe.hosik.analysis.repository.AnalysisRepository;
+import aibe.hosik.analysis.service.AnalysisJobService;
 import aibe.hosik.analysis.service.AnalysisService;
+import aibe.hosik.analysis.service.LocalPreScorer;
 import aibe.hosik.apply.dto.ApplyByResumeSkillResponse;
+import aibe.hosik.apply.dto.ApplyCursor;
 import aibe.hosik.apply.dto.ApplyDetailResponse;
+import aibe.hosik.apply.dto.ApplyListRow;
+import aibe.hosik.apply.dto.ApplyPageResponse;
+import aibe.hosik.apply.dto.ApplyScrollResponse;
+import aibe.hosik.apply.dto.ApplySearchCondition;
 import aibe.hosik.apply.entity.Apply;
 import aibe.hosik.apply.entity.PassStatus;
 import aibe.hosik.apply.repository.ApplyRepository;
 import aibe.hosik.handler.exception.CustomException;
 import aibe.hosik.handler.exception.ErrorCode;
 import aibe.hosik.post.entity.Post;
+import aibe.hosik.post.service.PostClosedEvent;
 import aibe.hosik.post.repository.PostRepository;
 import aibe.hosik.resume.entity.Resume;
 import aibe.hosik.resume.repository.ResumeRepository;
@@ -20,10 +28,16 @@ import aibe.hosik.user.entity.User;
 import aibe.hosik.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -37,16 +51,21 @@ public class ApplyService {
     private final UserRepository userRepository; // User 테이블과 통신
     private final ResumeSkillRepository resumeSkillRepository;
     private final AnalysisRepository analysisRepository;
+    private final AnalysisJobService analysisJobService;
     private final AnalysisService analysisService;
+    private final LocalPreScorer localPreScorer;
+    private final ApplicationEventPublisher eventPublisher;
 
 
     /**
      * 사용자가 특정 모집글에 특정 이력서를 가지고 지원하는 기능
+     * AI 분석은 같은 트랜잭션에서 작업 큐에 등록만 하고, 워커가 비동기로 처리한다.
      *
      * @param userId   지원자 ID
      * @param postId   모집글 ID
      * @param resumeId 지원자가 선택한 이력서 ID
      */
+    @Transactional
     public void apply(Long userId, Long postId, Long resumeId, String reason) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new IllegalArgumentException("Post not found"));
@@ -63,46 +82,105 @@ public class ApplyService {
         }
 
         Apply apply = Apply.of(post, user, resume, reason);
+        // AI 분석 전까지 사용할 사전 점수 (외부 호출 없음)
+        apply.updatePreScore(localPreScorer.score(post, resume, reason));
         applyRepository.save(apply);
 
-        log.info("AI 분석 시작 - applyId: {}", apply.getId());
-        try {
-            analysisService.analysisApply(apply.getId());
-
-        } catch (Exception e) {
-            log.error("AI 분석 중 오류 발생", e);
-        }
+        analysisJobService.enqueue(apply.getId(), post.getId());
+        log.info("AI 분석 작업 등록 - applyId: {}", apply.getId());
     }
 
     /**
      * 지원서 모아보기
      * 지정된 구인 공고 ID에 연결된 지원 데이터를 기반으로, 지원 정보와 이력서에 포함된 스킬 정보를 함께 반환합니다.
+     * 지원자 수와 관계없이 목록 조회 1번, 스킬 조회 1번으로 끝납니다. (지원 순서, 점수순은 scrollApplies 사용)
      *
      * @param postId 대상 구인 공고 ID
      * @return ApplyByResumeSkillResponse 객체의 리스트. 각 객체는 지원 정보 및 해당 지원자의 이력서에 포함된 스킬 정보를 포함합니다.
      */
     public List<ApplyByResumeSkillResponse> getApplyResumeWithSkillsByPostId(Long postId, User user) {
-        // 모집글 정보 조회
+        checkPostAuthor(postId, user);
+        return toResponses(applyRepository.findListRowsByPostId(postId));
+    }
+
+    /**
+     * 모집글별 지원자 목록을 추천 점수 내림차순으로 keyset 페이지 조회합니다.
+     * offset 을 쓰지 않으므로 뒤쪽 페이지도 조회 비용이 같고, 페이지당 목록 조회 최대 2번(점수 있는 구간, 없는 구간), 스킬 조회 1번으로 끝납니다.
+     *
+     * @param postId 대상 구인 공고 ID
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 null)
+     * @param size   페이지 크기 (최대 ApplySearchCondition.MAX_SIZE)
+     * @param user   요청 사용자 (모집글 작성자만)
+     * @return 지원자 페이지와 다음 커서
+     */
+    public ApplyScrollResponse scrollApplies(Long postId, String cursor, Integer size, User user) {
+        ApplyCursor after = ApplyCursor.decode(cursor);
+        int limit = size != null ? Math.min(Math.max(size, 1), ApplySearchCondition.MAX_SIZE) : ApplySearchCondition.DEFAULT_SIZE;
+        checkPostAuthor(postId, user);
+
+        // 다음 페이지 여부를 알기 위해 한 행 더 조회
+        // 점수 있는 구간을 먼저 읽고, 모자라면 점수 없는 구간에서 이어서 채운다. (각 구간이 인덱스 범위 스캔이 되도록 쿼리 분리)
+        List<ApplyListRow> rows = new ArrayList<>();
+        if (after == null || after.score() != null) {
+            rows.addAll(applyRepository.findScoredListRowsByPostId(postId,
+                    after != null ? after.score() : Integer.MAX_VALUE,
+                    after != null ? after.id() : Long.MAX_VALUE,
+                    PageRequest.of(0, limit + 1)));
+        }
+        if (rows.size() <= limit) {
+            rows.addAll(applyRepository.findUnscoredListRowsByPostId(postId,
+                    after != null && after.score() == null ? after.id() : Long.MAX_VALUE,
+                    PageRequest.of(0, limit + 1 - rows.size())));
+        }
+        boolean hasNext = rows.size() > limit;
+        List<ApplyListRow> page = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? ApplyCursor.of(page.get(page.size() - 1)).encode() : null;
+        return new ApplyScrollResponse(toResponses(page), nextCursor, hasNext);
+    }
+
+    /**
+     * 모집글별 지원자 목록을 점수로 정렬, 필터링해 페이지 단위로 반환합니다.
+     * 정렬과 점수 조건은 지원서의 점수 사본 컬럼으로 DB 에서 처리하고, 스킬은 페이지 단위로 한 번에 조회합니다.
+     *
+     * @param postId    대상 구인 공고 ID
+     * @param condition 정렬, 점수 조건, 페이지
+     * @param user      요청 사용자 (모집글 작성자만)
+     * @return 지원자 페이지
+     */
+    public ApplyPageResponse searchApplies(Long postId, ApplySearchCondition condition, User user) {
+        checkPostAuthor(postId, user);
+        Page<ApplyListRow> page = applyRepository.searchByPostId(postId, condition.minScore(), condition.minContentScore(),
+                condition.minPersonalityScore(), condition.minSkillScore(), condition.toPageable());
+        return new ApplyPageResponse(toResponses(page.getContent()), page.getNumber(), page.getSize(),
+                page.getTotalElements(), page.hasNext());
+    }
+
+    /**
+     * 모집글 작성자인지 확인하고, 작성자가 지원자를 보고 있는 동안 이 모집글의 분석을 먼저 처리하도록 표시합니다.
+     */
+    private void checkPostAuthor(Long postId, User user) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new CustomException(ErrorCode.NOT_FOUND_POST));
-
-        // 모집글 작성자 검증
         if (!post.getUser().getId().equals(user.getId())) {
             throw new CustomException(ErrorCode.POST_AUTHOR_FORBIDDEN);
         }
+        analysisJobService.markAuthorActive(postId);
+    }
 
-        List<Apply> applies = applyRepository.findWithUserResumeAndAnalysisByPostId(postId);
-
-        return applies.stream()
-                .map(apply -> {
-                    // 이력서에 연결된 스킬 정보 조회
-                    List<String> skills = getSkillsByResumeId(apply.getResume().getId());
-                    Analysis analysis = analysisRepository.findLatestByApplyId(apply.getId()).orElse(null);
-
-                    // 정적 팩토리 메서드 활용
-                    return ApplyByResumeSkillResponse.from(apply, skills, analysis);
-                })
-                .collect(Collectors.toList());
+    /**
+     * 목록 행에 이력서 스킬을 붙여 응답으로 만듭니다. 스킬은 페이지의 이력서를 모아 한 번에 조회합니다.
+     */
+    private List<ApplyByResumeSkillResponse> toResponses(List<ApplyListRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<String>> skills = resumeSkillRepository.findByResumeIdIn(
+                        rows.stream().map(ApplyListRow::resumeId).distinct().toList()).stream()
+                .collect(Collectors.groupingBy(rs -> rs.getResume().getId(),
+                        Collectors.mapping(rs -> rs.getSkill().getName(), Collectors.toList())));
+        return rows.stream()
+                .map(row -> ApplyByResumeSkillResponse.from(row, skills.getOrDefault(row.resumeId(), List.of())))
+                .toList();
     }
 
     /**
@@ -116,9 +194,14 @@ public class ApplyService {
         if (!apply.getPost().getUser().getId().equals(user.getId())) {
             throw new CustomException(ErrorCode.POST_AUTHOR_FORBIDDEN);
         }
+        analysisJobService.markAuthorActive(apply.getPost().getId());
 
         List<String> skills = getSkillsByResumeId(apply.getResume().getId());
         Analysis analysis = analysisRepository.findLatestByApplyId(applyId).orElse(null);
+        if (analysis != null) {
+            // 추천 문구가 없으면 첫 조회 시 비동기로 생성 (LAZY 모드)
+            analysisService.requestNarrative(analysis);
+        }
 
         return ApplyDetailResponse.from(apply, skills, analysis);
     }
@@ -138,6 +221,7 @@ public class ApplyService {
             throw new CustomException(ErrorCode.APPLY_DELETE_FORBIDDEN);
         }
         applyRepository.delete(apply);
+        eventPublisher.publishEvent(new ApplyDeletedEvent(applyId));
     }
 
     /**
@@ -171,6 +255,7 @@ public class ApplyService {
             if (currentCount >= post.getHeadCount()) {
                 post.setDone(true);
                 postRepository.save(post);
+                eventPublisher.publishEvent(new PostClosedEvent(post.getId()));
             }
         }
 
@@ -1,6 +1,7 @@
 package aibe.hosik.auth;
 
 import aibe.hosik.auth.service.CustomUserDetailsService;
+import aibe.hosik.user.entity.Role;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -65,6 +66,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/auth/login").permitAll()
                         .requestMatchers("/oauth2/**").permitAll()
                         .requestMatchers("/api/data/**").authenticated()
+                        .requestMatchers("/api/admin/**").hasAuthority(Role.ADMIN.name())
                         .anyRequest().permitAll()
                 )
                 .authenticationProvider(daoAuthProvider())
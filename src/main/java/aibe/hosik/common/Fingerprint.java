@@ -0,0 +1,39 @@
+package aibe.hosik.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * 내용 기반 식별자(SHA-256 hex) 생성 유틸
+ */
+public final class Fingerprint {
+    private Fingerprint() {
+    }
+
+    /**
+     * 주어진 문자열들을 순서대로 이어 SHA-256 해시를 만든다. null 은 빈 문자열과 구분된다.
+     *
+     * @param parts 해시할 문자열 목록
+     * @return 64자리 16진수 문자열
+     */
+    public static String of(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                if (part == null) {
+                    digest.update((byte) 0);
+                } else {
+                    digest.update((byte) 1);
+                    digest.update(part.getBytes(StandardCharsets.UTF_8));
+                }
+                // 구분자: ("ab", "c") 와 ("a", "bc") 가 같은 해시가 되지 않도록
+                digest.update((byte) 0x1F);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not supported", e);
+        }
+    }
+}
@@ -39,6 +39,8 @@ public enum ErrorCode {
 
     AUTHENTICATION_FAILED(HttpStatus.UNAUTHORIZED, "인증에 실패했습니다."),
 
+    TOO_MANY_ANALYSIS_STREAMS(HttpStatus.TOO_MANY_REQUESTS, "분석 스트림 연결이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+
     INVALID_REQUEST_FORMAT(HttpStatus.BAD_REQUEST, "요청 형식이 올바르지 않습니다."),
     MISSING_REQUIRED_FIELD(HttpStatus.BAD_REQUEST, "필수 입력값이 누락되었습니다.");
 
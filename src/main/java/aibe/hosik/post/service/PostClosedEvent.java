@@ -0,0 +1,10 @@
+package aibe.hosik.post.service;
+
+/**
+ * 모집글이 삭제되거나 마감(기한 만료, 모집 인원 충족)되었을 때 발행되는 이벤트
+ * 더 이상 읽히지 않을 분석을 취소하는 데 사용한다.
+ *
+ * @param postId 모집글 ID
+ */
+public record PostClosedEvent(Long postId) {
+}
@@ -0,0 +1,9 @@
+package aibe.hosik.post.service;
+
+/**
+ * 모집글의 분석에 쓰이는 내용(모집 내용, 요구 성격, 스킬)이 수정되었을 때 발행되는 이벤트
+ *
+ * @param postId 모집글 ID
+ */
+public record PostContentChangedEvent(Long postId) {
+}
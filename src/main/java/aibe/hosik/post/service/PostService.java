@@ -15,6 +15,7 @@ import aibe.hosik.skill.repository.PostSkillRepository;
 import aibe.hosik.skill.repository.SkillRepository;
 import aibe.hosik.user.entity.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -33,6 +34,7 @@ public class PostService {
     private final PostSkillRepository postSkillRepository;
     private final StorageService storageService;
     private final ApplyRepository applyRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 모든 게시글을 조회하는 메서드입니다.
@@ -186,6 +188,7 @@ public class PostService {
             throw new CustomException(ErrorCode.POST_ACCESS_DENIED);
         }
         postRepository.delete(post);
+        eventPublisher.publishEvent(new PostClosedEvent(postId));
     }
 
     /**
@@ -238,6 +241,9 @@ public class PostService {
                     .collect(Collectors.toList());
         }
 
+        // 분석용 모집글 캐시 무효화
+        eventPublisher.publishEvent(new PostContentChangedEvent(postId));
+
         // 수정 X
         int currentCount = applyRepository.countByPostIdAndIsSelected(postId, PassStatus.PASS);
         return PostResponse.from(post, skills, currentCount);
@@ -1,15 +1,13 @@
 package aibe.hosik.post.service;
 
 
-import aibe.hosik.analysis.repository.AnalysisRepository;
-import aibe.hosik.analysis.service.AnalysisService;
-import aibe.hosik.apply.entity.Apply;
-import aibe.hosik.apply.repository.ApplyRepository;
+import aibe.hosik.analysis.service.AnalysisRetrySweeper;
 import aibe.hosik.post.entity.Post;
 import aibe.hosik.post.repository.PostRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -21,9 +19,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SchedularService {
     private final PostRepository postRepository;
-    private final ApplyRepository applyRepository;
-    private final AnalysisRepository analysisRepository;
-    private final AnalysisService analysisService;
+    private final AnalysisRetrySweeper analysisRetrySweeper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 매일 자정 모집 기한 지난 글 idDone을 true로 설정
@@ -40,26 +37,21 @@ public class SchedularService {
         for (Post post : finishedPost) {
             post.setDone(true);
             postRepository.save(post);
+            eventPublisher.publishEvent(new PostClosedEvent(post.getId()));
             log.info("모집글 ID: {} : 모집 기간 만료. 자동 마감 처리", post.getId());
         }
     }
 
 
+    /**
+     * 30분마다 분석 결과가 없는 지원서를 작업 큐에 등록
+     * Gemini 호출은 분석 워커가 동시 실행 제한, 백오프를 적용해 처리하므로 여기서는 트랜잭션을 길게 잡지 않는다.
+     */
     @Scheduled(cron = "0 0/30 * * * ?")
-    @Transactional
     public void retryAnalysis() {
         log.info("AI 분석 실패 재시도");
 
-        List<Apply> failedAnalysisApplies = applyRepository.findAppliesWithoutAnalysis();
-
-        for (Apply apply : failedAnalysisApplies) {
-            try {
-                log.info("Apply ID {}에 대한 AI 분석 결과가 없어 재시도합니다.", apply.getId());
-                analysisService.analysisApply(apply.getId());
-            } catch (Exception e) {
-                log.error("Apply ID {}에 대한 AI 분석 재시도 중 오류 발생", apply.getId(), e);
-            }
-
-        }
+        int enqueued = analysisRetrySweeper.sweep();
+        log.info("AI 분석 재시도 작업 {}건 등록", enqueued);
     }
 }
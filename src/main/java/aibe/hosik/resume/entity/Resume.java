@@ -1,6 +1,7 @@
 package aibe.hosik.resume.entity;
 
 import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.common.Fingerprint;
 import aibe.hosik.common.TimeEntity;
 import aibe.hosik.skill.entity.ResumeSkill;
 import aibe.hosik.user.entity.User;
@@ -39,6 +40,13 @@ public class Resume extends TimeEntity {
     @Column
     private String portfolio;
 
+    // AI 요약 (content 가 바뀌면 summaryFingerprint 가 달라져 다시 생성된다)
+    @Column(columnDefinition = "TEXT")
+    private String summary;
+
+    @Column(length = 64)
+    private String summaryFingerprint;
+
     @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
@@ -47,4 +55,18 @@ public class Resume extends TimeEntity {
 
     @OneToMany(mappedBy = "resume", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Apply> applies = new ArrayList<>();
+
+    /**
+     * 현재 자기소개서 내용의 fingerprint
+     */
+    public String contentFingerprint() {
+        return Fingerprint.of(content);
+    }
+
+    /**
+     * 저장된 요약이 현재 내용 기준으로 생성된 것인지 확인한다.
+     */
+    public boolean hasFreshSummary() {
+        return summary != null && contentFingerprint().equals(summaryFingerprint);
+    }
 }
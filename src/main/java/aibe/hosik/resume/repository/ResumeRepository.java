@@ -4,6 +4,8 @@ import aibe.hosik.resume.entity.Resume;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,4 +32,13 @@ public interface ResumeRepository extends JpaRepository<Resume, Long> {
     List<Resume> findAllMainResumes();
 
     void deleteByIdAndUserId(Long id, Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE Resume r
+            SET r.summary = :summary, r.summaryFingerprint = :fingerprint
+            WHERE r.id = :id
+            """)
+    void updateSummary(@Param("id") Long id, @Param("summary") String summary, @Param("fingerprint") String fingerprint);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package aibe.hosik.resume.service;
+
+/**
+ * 자기소개서가 생성되거나 수정되었을 때 발행되는 이벤트
+ *
+ * @param resumeId 자기소개서 ID
+ */
+public record ResumeContentChangedEvent(Long resumeId) {
+}
@@ -16,6 +16,7 @@ import aibe.hosik.skill.repository.SkillRepository;
 import aibe.hosik.user.entity.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -34,6 +35,7 @@ public class ResumeService {
     private final ApplyRepository applyRepository;
 
     private final StorageService storageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public void createResume(ResumeRequest request, MultipartFile file, User user) {
         if (request.isMain()) {
@@ -62,6 +64,8 @@ public class ResumeService {
         }
 
         resumeRepository.save(resume);
+        // 커밋 후 AI 요약 미리 생성
+        eventPublisher.publishEvent(new ResumeContentChangedEvent(saved.getId()));
     }
 
     public ResumeDetailResponse getResume(Long id) {
@@ -117,6 +121,8 @@ public class ResumeService {
                 .build();
 
         resumeRepository.save(updated);
+        // 커밋 후 내용이 바뀌었으면 AI 요약을 다시 생성하고, 성격, 스킬을 포함해 바뀐 내용으로 지원서를 다시 분석
+        eventPublisher.publishEvent(new ResumeContentChangedEvent(resumeId));
     }
 
     public void deleteResume(Long resumeId, User user) {
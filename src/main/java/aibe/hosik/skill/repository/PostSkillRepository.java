@@ -17,6 +17,10 @@ public interface PostSkillRepository extends JpaRepository<PostSkill, Long> {
     @Query("SELECT s.skill.name FROM PostSkill s WHERE s.post.id = :postId")
     List<String> findSkillByPostId(@Param("postId") Long postId);
 
+    // Post ID로 해당 글과 연관된 모든 스킬 ID 조회
+    @Query("SELECT s.skill.id FROM PostSkill s WHERE s.post.id = :postId")
+    List<Long> findSkillIdsByPostId(@Param("postId") Long postId);
+
     void deleteByPostId(Long postId);
 
     Long post(Post post);
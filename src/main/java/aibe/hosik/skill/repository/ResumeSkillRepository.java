@@ -14,4 +14,16 @@ public interface ResumeSkillRepository extends JpaRepository<ResumeSkill, Long>
      */
     @Query("SELECT rs FROM ResumeSkill rs JOIN FETCH rs.skill WHERE rs.resume.id = :resumeId")
     List<ResumeSkill> findByResumeId(@Param("resumeId") Long resumeId);
+
+    /**
+     * 특정 이력서에 연결된 스킬 ID 조회
+     */
+    @Query("SELECT rs.skill.id FROM ResumeSkill rs WHERE rs.resume.id = :resumeId")
+    List<Long> findSkillIdsByResumeId(@Param("resumeId") Long resumeId);
+
+    /**
+     * 여러 이력서에 연결된 스킬을 한 번에 조회
+     */
+    @Query("SELECT rs FROM ResumeSkill rs JOIN FETCH rs.skill WHERE rs.resume.id IN :resumeIds")
+    List<ResumeSkill> findByResumeIdIn(@Param("resumeIds") List<Long> resumeIds);
 }
\ No newline at end of file
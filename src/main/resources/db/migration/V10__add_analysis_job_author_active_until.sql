@@ -0,0 +1,3 @@
+-- 작성자가 최근 지원자 목록을 본 시각 기준 우선순위
+ALTER TABLE analysis_job
+    ADD COLUMN author_active_until DATETIME(6);
@@ -0,0 +1,3 @@
+-- 지원서 삭제, 모집 마감으로 취소된 작업 상태
+ALTER TABLE analysis_job
+    MODIFY COLUMN status ENUM ('CANCELLED','DONE','FAILED','PENDING','QUARANTINED','RUNNING') NOT NULL;
@@ -0,0 +1,3 @@
+-- 자기소개서 요약 단계
+ALTER TABLE analysis_stage_result
+    MODIFY COLUMN stage ENUM ('MATCH_PRIMARY','MATCH_SECONDARY','NARRATIVE','RESUME_SUMMARY') NOT NULL;
@@ -0,0 +1,16 @@
+-- 일별, 모델별, API 키별 Gemini 토큰 사용량
+CREATE TABLE gemini_token_usage
+(
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at    DATETIME(6),
+    updated_at    DATETIME(6),
+    cached_tokens BIGINT       NOT NULL,
+    key_id        VARCHAR(16)  NOT NULL,
+    model         VARCHAR(255) NOT NULL,
+    output_tokens BIGINT       NOT NULL,
+    prompt_tokens BIGINT       NOT NULL,
+    requests      BIGINT       NOT NULL,
+    usage_date    DATE         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_gemini_token_usage_day_model_key UNIQUE (usage_date, model, key_id)
+) ENGINE = InnoDB;
@@ -0,0 +1,7 @@
+-- 분석에 사용한 모집글, 자기소개서 내용 해시와 실행 중 수정된 작업의 재실행 예약 시각
+ALTER TABLE analysis
+    ADD COLUMN post_fingerprint   VARCHAR(64),
+    ADD COLUMN resume_fingerprint VARCHAR(64);
+
+ALTER TABLE analysis_job
+    ADD COLUMN rerun_at DATETIME(6);
@@ -0,0 +1,19 @@
+-- 정렬, 필터용 최신 분석 점수 사본 (분석 전인 지원서는 null)
+ALTER TABLE apply
+    ADD COLUMN score             INT,
+    ADD COLUMN content_score     INT,
+    ADD COLUMN personality_score INT,
+    ADD COLUMN skill_score       INT;
+
+CREATE INDEX idx_apply_post_score ON apply (post_id, score);
+CREATE INDEX idx_apply_post_content_score ON apply (post_id, content_score);
+CREATE INDEX idx_apply_post_personality_score ON apply (post_id, personality_score);
+CREATE INDEX idx_apply_post_skill_score ON apply (post_id, skill_score);
+
+-- 기존 지원서는 최신 분석 점수로 채운다. (사전 점수는 pre_score 에만 둔다)
+UPDATE apply a
+    JOIN analysis an ON an.id = a.latest_analysis_id
+SET a.score             = an.score,
+    a.content_score     = an.content_score,
+    a.personality_score = an.personality_score,
+    a.skill_score       = an.skill_score;
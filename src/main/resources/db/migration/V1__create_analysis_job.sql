@@ -0,0 +1,19 @@
+-- 지원서 분석 작업 큐
+-- 운영 DB 는 ddl-auto: validate 이므로 배포 전에 이 디렉터리의 스크립트를 버전 순서대로 적용한다.
+CREATE TABLE analysis_job
+(
+    id               BIGINT                                     NOT NULL AUTO_INCREMENT,
+    created_at       DATETIME(6),
+    updated_at       DATETIME(6),
+    apply_id         BIGINT                                     NOT NULL,
+    attempts         INT                                        NOT NULL,
+    last_error       VARCHAR(500),
+    lease_expires_at DATETIME(6),
+    lease_owner      VARCHAR(255),
+    next_attempt_at  DATETIME(6)                                NOT NULL,
+    status           ENUM ('DONE','FAILED','PENDING','RUNNING') NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_analysis_job_apply_id UNIQUE (apply_id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_analysis_job_status_next ON analysis_job (status, next_attempt_at);
@@ -0,0 +1,13 @@
+-- Gemini 응답 캐시 (모델 + 프롬프트 해시 기준)
+CREATE TABLE gemini_cache_entry
+(
+    fingerprint VARCHAR(64)  NOT NULL,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    expires_at  DATETIME(6)  NOT NULL,
+    model       VARCHAR(255) NOT NULL,
+    response    TEXT         NOT NULL,
+    PRIMARY KEY (fingerprint)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_gemini_cache_expires_at ON gemini_cache_entry (expires_at);
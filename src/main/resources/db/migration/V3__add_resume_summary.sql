@@ -0,0 +1,4 @@
+-- 자기소개서 요약 캐시 (요약과 요약에 사용한 내용 해시)
+ALTER TABLE resume
+    ADD COLUMN summary             TEXT,
+    ADD COLUMN summary_fingerprint VARCHAR(64);
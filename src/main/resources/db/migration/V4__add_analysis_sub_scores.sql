@@ -0,0 +1,10 @@
+-- 세부 점수와 추천 문구 생성 여부
+ALTER TABLE analysis
+    ADD COLUMN content_score     INT,
+    ADD COLUMN personality_score INT,
+    ADD COLUMN skill_score       INT,
+    ADD COLUMN narrated          BIT(1) NOT NULL DEFAULT b'0';
+
+-- 기존 분석은 모델이 만든 추천 문구를 이미 가지고 있으므로 다시 생성하지 않는다.
+UPDATE analysis
+SET narrated = b'1';
@@ -0,0 +1,18 @@
+-- 분석 단계별 체크포인트 (지원서, 단계마다 한 행)
+CREATE TABLE analysis_stage_result
+(
+    id          BIGINT                                             NOT NULL AUTO_INCREMENT,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    error       VARCHAR(500),
+    fingerprint VARCHAR(64)                                        NOT NULL,
+    latency_ms  BIGINT                                             NOT NULL,
+    model       VARCHAR(255)                                       NOT NULL,
+    output      TEXT,
+    stage       ENUM ('MATCH_PRIMARY','MATCH_SECONDARY','NARRATIVE') NOT NULL,
+    status      ENUM ('FAILED','SUCCESS')                          NOT NULL,
+    apply_id    BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_analysis_stage_apply_stage UNIQUE (apply_id, stage),
+    CONSTRAINT fk_analysis_stage_result_apply FOREIGN KEY (apply_id) REFERENCES apply (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,3 @@
+-- 재시도 한도를 넘긴 작업 격리 상태
+ALTER TABLE analysis_job
+    MODIFY COLUMN status ENUM ('DONE','FAILED','PENDING','QUARANTINED','RUNNING') NOT NULL;
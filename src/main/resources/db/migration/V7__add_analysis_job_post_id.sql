@@ -0,0 +1,10 @@
+-- 같은 모집글의 작업을 묶어 처리하기 위한 모집글 ID
+ALTER TABLE analysis_job
+    ADD COLUMN post_id BIGINT;
+
+UPDATE analysis_job j
+    JOIN apply a ON a.id = j.apply_id
+SET j.post_id = a.post_id
+WHERE j.post_id IS NULL;
+
+CREATE INDEX idx_analysis_job_post_status ON analysis_job (post_id, status);
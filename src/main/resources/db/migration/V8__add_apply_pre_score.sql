@@ -0,0 +1,3 @@
+-- 로컬 사전 점수
+ALTER TABLE apply
+    ADD COLUMN pre_score INT;
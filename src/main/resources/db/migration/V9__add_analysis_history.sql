@@ -0,0 +1,26 @@
+-- 분석 이력 (지원서별 차수)과 지원서의 최신 분석 참조
+ALTER TABLE analysis
+    ADD COLUMN created_at         DATETIME(6),
+    ADD COLUMN updated_at         DATETIME(6),
+    ADD COLUMN model_config       VARCHAR(255),
+    ADD COLUMN prompt_fingerprint VARCHAR(64),
+    ADD COLUMN revision           INT NOT NULL DEFAULT 0;
+
+-- 기존 분석은 지원서마다 ID 순서대로 1부터 차수를 매긴다. (유니크 키 추가 전에 중복 제거)
+UPDATE analysis a
+    JOIN (SELECT id, ROW_NUMBER() OVER (PARTITION BY apply_id ORDER BY id) AS rn
+          FROM analysis) r ON r.id = a.id
+SET a.revision = r.rn;
+
+ALTER TABLE analysis
+    ADD CONSTRAINT uk_analysis_apply_revision UNIQUE (apply_id, revision);
+
+ALTER TABLE apply
+    ADD COLUMN latest_analysis_id BIGINT,
+    ADD CONSTRAINT uk_apply_latest_analysis_id UNIQUE (latest_analysis_id),
+    ADD CONSTRAINT fk_apply_latest_analysis FOREIGN KEY (latest_analysis_id) REFERENCES analysis (id) ON DELETE SET NULL;
+
+-- 가장 최근 분석을 최신 분석으로 지정한다.
+UPDATE apply a
+SET a.latest_analysis_id = (SELECT MAX(an.id) FROM analysis an WHERE an.apply_id = a.id)
+WHERE a.latest_analysis_id IS NULL;
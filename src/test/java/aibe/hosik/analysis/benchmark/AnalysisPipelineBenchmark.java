@@ -0,0 +1,263 @@
+package aibe.hosik.analysis.benchmark;
+
+import aibe.hosik.analysis.client.FakeGeminiServer;
+import aibe.hosik.analysis.service.AnalysisService;
+import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.apply.repository.ApplyRepository;
+import aibe.hosik.apply.service.ApplyService;
+import aibe.hosik.post.entity.Post;
+import aibe.hosik.post.entity.PostCategory;
+import aibe.hosik.post.entity.PostType;
+import aibe.hosik.post.repository.PostRepository;
+import aibe.hosik.resume.entity.Resume;
+import aibe.hosik.resume.repository.ResumeRepository;
+import aibe.hosik.user.entity.User;
+import aibe.hosik.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 분석 파이프라인 처리량 벤치마크 (Gemini 대역 서버 사용, 실제 API 호출 없음)
+ * 기본 테스트에서는 제외되며 ./gradlew benchmarkTest 로 실행한다.
+ * <p>
+ * - queuedApplies: ApplyService.apply 로 지원 -> 작업 큐 -> 워커(일괄/단건 분석)까지, 지원 시점부터 최신 분석이 연결될 때까지
+ * - directAnalysis: AnalysisService.analysisApply 를 동시에 직접 호출 (큐 대기 없이 파이프라인 자체)
+ * <p>
+ * 설정 (-D): benchmark.applies, benchmark.concurrency, benchmark.posts, benchmark.latency-median-ms,
+ * benchmark.latency-p99-ms, benchmark.error-rate, benchmark.rate-limit-rate, benchmark.timeout-seconds
+ * 워커 수 등 애플리케이션 설정도 -D 로 바꿀 수 있다. (예: -Danalysis.job.worker-count=8)
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles({"prod", "benchmark"})
+class AnalysisPipelineBenchmark {
+    private static final int APPLIES = Integer.getInteger("benchmark.applies", 200);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 16);
+    private static final int POSTS = Integer.getInteger("benchmark.posts", 10);
+    private static final Duration TIMEOUT = Duration.ofSeconds(Long.getLong("benchmark.timeout-seconds", 300));
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    private static FakeGeminiServer gemini;
+
+    @Autowired
+    private ApplyService applyService;
+    @Autowired
+    private AnalysisService analysisService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private ResumeRepository resumeRepository;
+    @Autowired
+    private ApplyRepository applyRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void geminiServer(DynamicPropertyRegistry registry) throws IOException {
+        gemini = FakeGeminiServer.builder()
+                .latency(FakeGeminiServer.Latency.logNormal(
+                        Duration.ofMillis(Long.getLong("benchmark.latency-median-ms", 300)),
+                        Duration.ofMillis(Long.getLong("benchmark.latency-p99-ms", 2000))))
+                .errorRate(Double.parseDouble(System.getProperty("benchmark.error-rate", "0.02")))
+                .rateLimitRate(Double.parseDouble(System.getProperty("benchmark.rate-limit-rate", "0.01")))
+                .start();
+        registry.add("gemini.base-url", gemini::baseUrl);
+    }
+
+    @AfterAll
+    static void stopServer() {
+        gemini.close();
+    }
+
+    @Test
+    void queuedApplies() throws Exception {
+        List<Post> posts = createPosts();
+        List<Applicant> applicants = createApplicants();
+        Map<Long, Long> submittedAt = new ConcurrentHashMap<>();
+        Snapshot before = Snapshot.of(gemini);
+
+        long start = System.nanoTime();
+        runConcurrently(applicants.size(), i -> {
+            Applicant applicant = applicants.get(i);
+            submittedAt.put(applicant.resumeId(), System.nanoTime());
+            applyService.apply(applicant.userId(), posts.get(i % posts.size()).getId(), applicant.resumeId(), "함께 성장하고 싶습니다.");
+        });
+
+        // 지원서에 최신 분석이 연결된 시점을 완료로 본다. (조회 간격만큼의 오차 포함)
+        Map<Long, Long> completedAt = new ConcurrentHashMap<>();
+        long deadline = start + TIMEOUT.toNanos();
+        while (completedAt.size() < applicants.size() && System.nanoTime() < deadline) {
+            long now = System.nanoTime();
+            jdbcTemplate.queryForList("SELECT resume_id FROM apply WHERE latest_analysis_id IS NOT NULL", Long.class)
+                    .stream()
+                    .filter(submittedAt::containsKey)
+                    .forEach(resumeId -> completedAt.putIfAbsent(resumeId, now));
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<Long> latencies = new ArrayList<>();
+        completedAt.forEach((resumeId, done) -> latencies.add(done - submittedAt.get(resumeId)));
+        report("queuedApplies (ApplyService -> 작업 큐 -> 워커)", applicants.size(), latencies, elapsed, before);
+        assertTrue(!latencies.isEmpty(), "완료된 분석이 없습니다.");
+    }
+
+    @Test
+    void directAnalysis() throws Exception {
+        List<Post> posts = createPosts();
+        List<Applicant> applicants = createApplicants();
+        // 작업 큐를 거치지 않도록 지원서를 직접 저장
+        List<Long> applyIds = new ArrayList<>();
+        for (int i = 0; i < applicants.size(); i++) {
+            Applicant applicant = applicants.get(i);
+            Apply apply = Apply.of(posts.get(i % posts.size()), userRepository.getReferenceById(applicant.userId()),
+                    resumeRepository.getReferenceById(applicant.resumeId()), "함께 성장하고 싶습니다.");
+            applyIds.add(applyRepository.save(apply).getId());
+        }
+        Snapshot before = Snapshot.of(gemini);
+
+        List<Long> latencies = new ArrayList<>();
+        AtomicInteger failed = new AtomicInteger();
+        long start = System.nanoTime();
+        runConcurrently(applyIds.size(), i -> {
+            long begin = System.nanoTime();
+            try {
+                analysisService.analysisApply(applyIds.get(i));
+                synchronized (latencies) {
+                    latencies.add(System.nanoTime() - begin);
+                }
+            } catch (Exception e) {
+                failed.incrementAndGet();
+            }
+        });
+        long elapsed = System.nanoTime() - start;
+
+        report("directAnalysis (AnalysisService.analysisApply)", applyIds.size(), latencies, elapsed, before);
+        assertTrue(!latencies.isEmpty(), "완료된 분석이 없습니다.");
+    }
+
+    private List<Post> createPosts() {
+        User author = userRepository.save(User.builder().username("author-" + UUID.randomUUID()).name("작성자").build());
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            posts.add(postRepository.save(Post.builder()
+                    .title("벤치마크 모집글 " + i)
+                    .content("스프링 부트 기반 백엔드 개발자를 모집합니다. 주 2회 회의가 있습니다. ".repeat(10) + i)
+                    .requirementPersonality("꼼꼼하고 책임감 있는 분")
+                    .headCount(5)
+                    .endedAt(LocalDate.now().plusDays(30))
+                    .category(PostCategory.PROJECT)
+                    .type(PostType.ONLINE)
+                    .user(author)
+                    .build()));
+        }
+        return posts;
+    }
+
+    private List<Applicant> createApplicants() {
+        List<Applicant> applicants = new ArrayList<>();
+        for (int i = 0; i < APPLIES; i++) {
+            User user = userRepository.save(User.builder().username("applicant-" + UUID.randomUUID()).name("지원자" + i).build());
+            // 응답 캐시에 걸리지 않도록 지원자마다 다른 내용
+            Resume resume = resumeRepository.save(Resume.builder()
+                    .title("이력서 " + i)
+                    .content("결제 시스템을 운영하며 장애 대응 경험을 쌓았습니다. ".repeat(30) + UUID.randomUUID())
+                    .personality("적극적이고 꼼꼼합니다.")
+                    .user(user)
+                    .build());
+            applicants.add(new Applicant(user.getId(), resume.getId()));
+        }
+        return applicants;
+    }
+
+    private void runConcurrently(int count, IndexedTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    task.run(index);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void report(String name, int total, List<Long> latencies, long elapsedNanos, Snapshot before) {
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        Snapshot after = Snapshot.of(gemini);
+        int completed = sorted.length;
+        double seconds = elapsedNanos / 1e9;
+
+        StringBuilder out = new StringBuilder()
+                .append("\n=== ").append(name).append(" ===\n")
+                .append(String.format("지원서 %d건, 동시 요청 %d, 모집글 %d개%n", total, CONCURRENCY, POSTS))
+                .append(String.format("완료 %d/%d, 소요 %.2f s, 처리량 %.2f 건/s%n", completed, total, seconds, completed / seconds))
+                .append(String.format("지연 p50 %d ms, p99 %d ms, 최대 %d ms%n",
+                        percentileMs(sorted, 0.50), percentileMs(sorted, 0.99), percentileMs(sorted, 1.0)))
+                .append(String.format("지원서당 모델 호출 %.2f회 (전체 %d회)%n",
+                        (double) (after.modelCalls - before.modelCalls) / Math.max(1, total), after.modelCalls - before.modelCalls));
+        for (FakeGeminiServer.Kind kind : FakeGeminiServer.Kind.values()) {
+            long calls = gemini.calls(kind) - before.calls[kind.ordinal()];
+            if (calls > 0) {
+                out.append(String.format("  %-12s %d%n", kind, calls));
+            }
+        }
+        out.append("응답 상태 (누적) ").append(gemini.statusCounts()).append('\n');
+        System.out.println(out);
+    }
+
+    private static long percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1_000_000;
+    }
+
+    private record Applicant(Long userId, Long resumeId) {
+    }
+
+    @FunctionalInterface
+    private interface IndexedTask {
+        void run(int index) throws Exception;
+    }
+
+    private record Snapshot(long modelCalls, long[] calls) {
+        static Snapshot of(FakeGeminiServer server) {
+            return new Snapshot(server.modelCalls(), Arrays.stream(FakeGeminiServer.Kind.values())
+                    .mapToLong(server::calls).toArray());
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package aibe.hosik.analysis.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 테스트, 벤치마크용 Gemini API 대역 서버 (실제 API 호출 없이 분석 파이프라인 측정)
+ * - generateContent, streamGenerateContent(SSE), cachedContents 생성/삭제를 흉내 낸다.
+ * - 모델별 응답 지연 분포, 500 오류 비율, 429 비율, 모델별 고정 상태 코드, 만료된 서버 측 캐시를 설정할 수 있다.
+ * - 프롬프트 종류(점수 분석, 일괄 분석, 요약, 추천 문구)에 맞는 형식의 응답을 돌려준다. 점수는 프롬프트로 정해진다.
+ */
+public final class FakeGeminiServer implements AutoCloseable {
+    private static final Pattern MODEL_PATH = Pattern.compile("/models/([^/:]+):(generateContent|streamGenerateContent)");
+    private static final Pattern APPLY_ID = Pattern.compile("applyId: (\\d+)");
+
+    /**
+     * 요청 종류 (호출 수 집계 단위)
+     */
+    public enum Kind {
+        MATCH, BATCH, SUMMARY, NARRATIVE, CACHE_CREATE, CACHE_DELETE
+    }
+
+    /**
+     * 응답 지연 분포
+     */
+    @FunctionalInterface
+    public interface Latency {
+        Duration sample(Random random);
+
+        static Latency none() {
+            return random -> Duration.ZERO;
+        }
+
+        static Latency fixed(Duration delay) {
+            return random -> delay;
+        }
+
+        static Latency uniform(Duration min, Duration max) {
+            return random -> min.plusNanos((long) (random.nextDouble() * (max.toNanos() - min.toNanos())));
+        }
+
+        /**
+         * 중앙값과 p99 로 정한 로그 정규 분포 (실제 API 처럼 꼬리가 긴 지연)
+         */
+        static Latency logNormal(Duration median, Duration p99) {
+            double mu = Math.log(median.toNanos());
+            double sigma = Math.log((double) p99.toNanos() / median.toNanos()) / 2.326;
+            return random -> Duration.ofNanos((long) Math.exp(mu + sigma * random.nextGaussian()));
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random;
+    private final Latency defaultLatency;
+    private final Map<String, Latency> modelLatencies;
+    private final double errorRate;
+    private final double rateLimitRate;
+    private final Map<String, Integer> modelStatuses;
+    private final int cachedContentStatus;
+
+    private final Map<Kind, LongAdder> calls = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> modelCalls = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final AtomicInteger cacheSeq = new AtomicInteger();
+    private final LongAdder cachedContentRequests = new LongAdder();
+
+    private FakeGeminiServer(Builder builder) throws IOException {
+        this.random = new Random(builder.seed);
+        this.defaultLatency = builder.latency;
+        this.modelLatencies = Map.copyOf(builder.modelLatencies);
+        this.errorRate = builder.errorRate;
+        this.rateLimitRate = builder.rateLimitRate;
+        this.modelStatuses = Map.copyOf(builder.modelStatuses);
+        this.cachedContentStatus = builder.cachedContentStatus;
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "fake-gemini");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * gemini.base-url 에 넣을 주소
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long calls(Kind kind) {
+        LongAdder count = calls.get(kind);
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * 모델 호출 수 (캐시 생성/삭제 제외)
+     */
+    public long modelCalls() {
+        return modelCalls.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public Map<String, Long> modelCallsByModel() {
+        Map<String, Long> result = new HashMap<>();
+        modelCalls.forEach((model, count) -> result.put(model, count.sum()));
+        return result;
+    }
+
+    /**
+     * 서버 측 캐시(cachedContent)를 참조한 모델 호출 수
+     */
+    public long cachedContentRequests() {
+        return cachedContentRequests.sum();
+    }
+
+    public Map<Integer, Long> statusCounts() {
+        Map<Integer, Long> result = new HashMap<>();
+        statuses.forEach((status, count) -> result.put(status, count.sum()));
+        return result;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith("/cachedContents")) {
+                handleCache(exchange);
+                return;
+            }
+            Matcher matcher = MODEL_PATH.matcher(path);
+            if (!matcher.matches()) {
+                respond(exchange, 404, "{\"error\": {\"code\": 404}}");
+                return;
+            }
+            String model = matcher.group(1);
+            boolean stream = matcher.group(2).equals("streamGenerateContent");
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            String prompt = request.path("contents").path(0).path("parts").path(0).path("text").asText("");
+            Kind kind = kindOf(prompt);
+            calls.computeIfAbsent(kind, k -> new LongAdder()).increment();
+            modelCalls.computeIfAbsent(model, k -> new LongAdder()).increment();
+
+            sleep(modelLatencies.getOrDefault(model, defaultLatency));
+            if (request.hasNonNull("cachedContent")) {
+                cachedContentRequests.increment();
+                if (cachedContentStatus != 200) {
+                    respond(exchange, cachedContentStatus, "{\"error\": {\"code\": " + cachedContentStatus + "}}");
+                    return;
+                }
+            }
+            Integer status = modelStatuses.get(model);
+            if (status != null) {
+                respond(exchange, status, "{\"error\": {\"code\": " + status + "}}");
+                return;
+            }
+            double roll = nextDouble();
+            if (roll < rateLimitRate) {
+                respond(exchange, 429, "{\"error\": {\"code\": 429, \"status\": \"RESOURCE_EXHAUSTED\"}}");
+                return;
+            }
+            if (roll < rateLimitRate + errorRate) {
+                respond(exchange, 500, "{\"error\": {\"code\": 500, \"status\": \"INTERNAL\"}}");
+                return;
+            }
+
+            String text = responseText(kind, prompt);
+            if (stream) {
+                respondStream(exchange, text);
+            } else {
+                respond(exchange, 200, candidate(text));
+            }
+        }
+    }
+
+    private void handleCache(HttpExchange exchange) throws IOException {
+        if (exchange.getRequestMethod().equals("DELETE")) {
+            calls.computeIfAbsent(Kind.CACHE_DELETE, k -> new LongAdder()).increment();
+            respond(exchange, 200, "{}");
+            return;
+        }
+        exchange.getRequestBody().readAllBytes();
+        calls.computeIfAbsent(Kind.CACHE_CREATE, k -> new LongAdder()).increment();
+        respond(exchange, 200, "{\"name\": \"cachedContents/fake-" + cacheSeq.incrementAndGet() + "\"}");
+    }
+
+    private Kind kindOf(String prompt) {
+        if (prompt.contains("[지원자 목록]")) {
+            return Kind.BATCH;
+        }
+        if (prompt.contains("요약해주세요")) {
+            return Kind.SUMMARY;
+        }
+        if (prompt.contains("추천 이유 본문만")) {
+            return Kind.NARRATIVE;
+        }
+        // 점수 분석 (공유 프롬프트가 서버 측 캐시로 빠진 경우 포함)
+        return Kind.MATCH;
+    }
+
+    private String responseText(Kind kind, String prompt) throws IOException {
+        return switch (kind) {
+            case BATCH -> {
+                StringBuilder array = new StringBuilder("[");
+                Matcher matcher = APPLY_ID.matcher(prompt);
+                while (matcher.find()) {
+                    if (array.length() > 1) {
+                        array.append(',');
+                    }
+                    long applyId = Long.parseLong(matcher.group(1));
+                    array.append(score(prompt + applyId).replaceFirst("\\{", "{\"applyId\": " + applyId + ", "));
+                }
+                yield array.append(']').toString();
+            }
+            case SUMMARY -> "백엔드 개발 경험이 있고 협업과 문제 해결을 중요하게 생각하는 지원자입니다.";
+            case NARRATIVE -> "모집글에서 요구하는 기술과 경험을 갖추고 있어 팀에 빠르게 적응할 수 있는 지원자로 추천합니다.";
+            default -> score(prompt);
+        };
+    }
+
+    // 프롬프트로 정해지는 점수 (같은 입력이면 같은 점수)
+    private String score(String seed) throws IOException {
+        Random scores = new Random(seed.hashCode());
+        return objectMapper.writeValueAsString(Map.of(
+                "contentScore", 40 + scores.nextInt(60),
+                "personalityScore", 40 + scores.nextInt(60),
+                "skillScore", 40 + scores.nextInt(60),
+                "reason", "모집 내용과 지원자의 경험이 잘 맞습니다."));
+    }
+
+    private String candidate(String text) throws IOException {
+        return objectMapper.writeValueAsString(Map.of(
+                "candidates", new Object[]{Map.of(
+                        "content", Map.of("role", "model", "parts", new Object[]{Map.of("text", text)}),
+                        "finishReason", "STOP")},
+                "usageMetadata", Map.of("promptTokenCount", 1000, "candidatesTokenCount", text.length() / 2,
+                        "totalTokenCount", 1000 + text.length() / 2)));
+    }
+
+    private void respondStream(HttpExchange exchange, String text) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        statuses.computeIfAbsent(200, k -> new LongAdder()).increment();
+        try (OutputStream out = exchange.getResponseBody()) {
+            int chunkSize = Math.max(1, text.length() / 3);
+            for (int i = 0; i < text.length(); i += chunkSize) {
+                String chunk = text.substring(i, Math.min(text.length(), i + chunkSize));
+                out.write(("data: " + candidate(chunk) + "\n\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+    }
+
+    private void sleep(Latency latency) {
+        Duration delay;
+        synchronized (random) {
+            delay = latency.sample(random);
+        }
+        if (delay.isZero() || delay.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay.toMillis(), (int) (delay.toNanos() % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double nextDouble() {
+        synchronized (random) {
+            return random.nextDouble();
+        }
+    }
+
+    public static final class Builder {
+        private Latency latency = Latency.none();
+        private final Map<String, Latency> modelLatencies = new HashMap<>();
+        private double errorRate;
+        private double rateLimitRate;
+        private final Map<String, Integer> modelStatuses = new HashMap<>();
+        private int cachedContentStatus = 200;
+        private long seed = 42;
+
+        public Builder latency(Latency latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        public Builder latency(String model, Latency latency) {
+            modelLatencies.put(model, latency);
+            return this;
+        }
+
+        // 500 응답 비율 (0~1)
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        // 429 응답 비율 (0~1)
+        public Builder rateLimitRate(double rateLimitRate) {
+            this.rateLimitRate = rateLimitRate;
+            return this;
+        }
+
+        // 모델의 모든 요청에 돌려줄 상태 코드
+        public Builder status(String model, int status) {
+            modelStatuses.put(model, status);
+            return this;
+        }
+
+        // 서버 측 캐시를 참조한 요청에 돌려줄 상태 코드 (403, 404 로 만료/삭제된 캐시를 흉내 냄)
+        public Builder cachedContentStatus(int cachedContentStatus) {
+            this.cachedContentStatus = cachedContentStatus;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public FakeGeminiServer start() throws IOException {
+            return new FakeGeminiServer(this);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package aibe.hosik.analysis.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Gemini 대역 서버로 HTTP 요청, 응답 처리 경로를 검증
+ */
+class GeminiClientTest {
+    private static final String MODEL = "model";
+
+    private FakeGeminiServer server;
+    private final GeminiProperties properties = new GeminiProperties();
+    // 할당된 키의 반납, 429 로 쉬게 한 횟수
+    private final AtomicInteger released = new AtomicInteger();
+    private final AtomicInteger throttled = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private GeminiClient client(FakeGeminiServer.Builder builder) throws IOException {
+        server = builder.start();
+        properties.setBaseUrl(server.baseUrl());
+        properties.setModelKeys(Map.of(MODEL, List.of("key")));
+        // 응답 캐시 없이 매번 HTTP 요청
+        properties.getCache().setEnabled(false);
+        properties.getContextCache().setMinTokens(1);
+
+        GeminiRateLimiter rateLimiter = new GeminiRateLimiter(properties) {
+            @Override
+            public CompletableFuture<GeminiKeyLease> acquire(String model, long estimatedTokens) {
+                return CompletableFuture.completedFuture(new GeminiKeyLease() {
+                    @Override
+                    public String apiKey() {
+                        return "key";
+                    }
+
+                    @Override
+                    public void release() {
+                        released.incrementAndGet();
+                    }
+
+                    @Override
+                    public void throttle() {
+                        throttled.incrementAndGet();
+                    }
+                });
+            }
+        };
+        HttpClient httpClient = HttpClient.newHttpClient();
+        ObjectMapper objectMapper = new ObjectMapper();
+        return new GeminiClient(httpClient, properties, objectMapper, new GeminiResponseCache(null, properties, null),
+                rateLimiter, new GeminiContextCache(httpClient, properties, objectMapper),
+                new GeminiMetrics(new SimpleMeterRegistry(), properties), null, new GeminiTokenLedger(null));
+    }
+
+    private Throwable failure(CompletableFuture<String> result) {
+        return assertThrows(CompletionException.class, result::join).getCause();
+    }
+
+    @Test
+    void returnsCandidateText() throws IOException {
+        GeminiClient client = client(FakeGeminiServer.builder());
+
+        String response = client.generateContentAsync("요약해주세요", MODEL, text -> true).join();
+
+        assertTrue(response.contains("백엔드 개발 경험"), response);
+        assertEquals(1, released.get());
+    }
+
+    @Test
+    void nonOkStatusFailsWithGeminiException() throws IOException {
+        GeminiClient client = client(FakeGeminiServer.builder().status(MODEL, 500));
+
+        Throwable error = failure(client.generateContentAsync("프롬프트", MODEL, text -> true));
+
+        GeminiException e = assertInstanceOf(GeminiException.class, error);
+        assertEquals(500, e.getStatusCode());
+        assertEquals(0, throttled.get());
+        assertEquals(1, released.get());
+    }
+
+    @Test
+    void rateLimitedResponseThrottlesKey() throws IOException {
+        GeminiClient client = client(FakeGeminiServer.builder().status(MODEL, 429));
+
+        Throwable error = failure(client.generateContentAsync("프롬프트", MODEL, text -> true));
+
+        assertEquals(429, assertInstanceOf(GeminiException.class, error).getStatusCode());
+        assertEquals(1, throttled.get());
+        assertEquals(1, released.get());
+    }
+
+    @Test
+    void requestTimesOutAfterModelTimeout() throws IOException {
+        GeminiClient client = client(FakeGeminiServer.builder()
+                .latency(MODEL, FakeGeminiServer.Latency.fixed(Duration.ofSeconds(5))));
+        properties.getModelTimeouts().put(MODEL, Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        Throwable error = failure(client.generateContentAsync("프롬프트", MODEL, text -> true));
+
+        assertInstanceOf(HttpTimeoutException.class, error);
+        // 기본 제한 시간(30초)이나 서버 지연(5초)이 아닌 모델별 제한 시간으로 끝남
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(3)) < 0);
+        assertEquals(1, released.get());
+    }
+
+    @Test
+    void expiredContextCacheIsRetriedWithFullPrompt() throws IOException {
+        assertRetriedWithFullPrompt(404);
+    }
+
+    @Test
+    void forbiddenContextCacheIsRetriedWithFullPrompt() throws IOException {
+        assertRetriedWithFullPrompt(403);
+    }
+
+    private void assertRetriedWithFullPrompt(int cacheStatus) throws IOException {
+        GeminiClient client = client(FakeGeminiServer.builder().cachedContentStatus(cacheStatus));
+        PromptContext context = new PromptContext("post:1", "모집 내용\n");
+
+        String response = client.generateContentAsync(context, "요약해주세요", MODEL, text -> true).join();
+
+        assertTrue(response.contains("백엔드 개발 경험"), response);
+        // 캐시를 참조한 호출이 실패한 뒤, 같은 키로 전체 프롬프트를 한 번 더 보냄
+        assertEquals(1, server.calls(FakeGeminiServer.Kind.CACHE_CREATE));
+        assertEquals(1, server.cachedContentRequests());
+        assertEquals(2, server.modelCalls());
+        assertEquals(1, released.get());
+    }
+}
@@ -0,0 +1,98 @@
+package aibe.hosik.analysis.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeminiContextCacheTest {
+    private HttpServer server;
+    private GeminiContextCache cache;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private volatile int createStatus = 200;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            requests.add(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath());
+            byte[] body = exchange.getRequestMethod().equals("POST") && createStatus == 200
+                    ? ("{\"name\": \"cachedContents/c" + created.incrementAndGet() + "\"}").getBytes(StandardCharsets.UTF_8)
+                    : "{}".getBytes(StandardCharsets.UTF_8);
+            int status = exchange.getRequestMethod().equals("POST") ? createStatus : 200;
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        GeminiProperties properties = new GeminiProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort());
+        properties.getContextCache().setMinTokens(1);
+        cache = new GeminiContextCache(HttpClient.newHttpClient(), properties, new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void createsOnceAndReusesForSameContextVersion() {
+        PromptContext context = new PromptContext("post:1", "모집 내용");
+
+        Optional<String> first = cache.resolve(context, "model", "key").join();
+        Optional<String> second = cache.resolve(context, "model", "key").join();
+
+        assertEquals(Optional.of("cachedContents/c1"), first);
+        assertEquals(first, second);
+        assertEquals(List.of("POST /cachedContents"), requests);
+    }
+
+    @Test
+    void createsNewHandleWhenContentChanges() {
+        cache.resolve(new PromptContext("post:1", "모집 내용"), "model", "key").join();
+
+        Optional<String> updated = cache.resolve(new PromptContext("post:1", "수정된 모집 내용"), "model", "key").join();
+
+        assertEquals(Optional.of("cachedContents/c2"), updated);
+    }
+
+    @Test
+    void invalidateDeletesRemoteCache() throws InterruptedException {
+        PromptContext context = new PromptContext("post:1", "모집 내용");
+        cache.resolve(context, "model", "key").join();
+
+        cache.invalidate("post:1");
+        for (int i = 0; i < 50 && requests.size() < 2; i++) {
+            Thread.sleep(20);
+        }
+
+        assertTrue(requests.contains("DELETE /cachedContents/c1"));
+        assertEquals(Optional.of("cachedContents/c2"), cache.resolve(context, "model", "key").join());
+    }
+
+    @Test
+    void fallsBackWithoutRetryingWhenCreationFails() {
+        createStatus = 400;
+        PromptContext context = new PromptContext("post:1", "짧은 내용");
+
+        assertTrue(cache.resolve(context, "model", "key").join().isEmpty());
+        assertTrue(cache.resolve(context, "model", "key").join().isEmpty());
+        assertEquals(1, requests.size());
+    }
+}
@@ -0,0 +1,86 @@
+package aibe.hosik.analysis.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeminiFailoverExecutorTest {
+    private final GeminiProperties properties = new GeminiProperties();
+    private final GeminiFailoverExecutor executor = new GeminiFailoverExecutor(properties,
+            new GeminiMetrics(new SimpleMeterRegistry(), properties));
+
+    @Test
+    void fallsBackToNextModelOnFailure() {
+        ModelResponse response = executor.execute(List.of("a", "b"),
+                model -> model.equals("a")
+                        ? CompletableFuture.failedFuture(new GeminiException("a", 500, "down"))
+                        : CompletableFuture.completedFuture("ok"),
+                text -> true, false).join();
+
+        assertEquals(new ModelResponse("b", "ok"), response);
+    }
+
+    @Test
+    void invalidResponseCountsAsFailure() {
+        ModelResponse response = executor.execute(List.of("a", "b"),
+                model -> CompletableFuture.completedFuture(model.equals("a") ? "형식 오류" : "{}"),
+                text -> text.startsWith("{"), false).join();
+
+        assertEquals("b", response.model());
+    }
+
+    @Test
+    void hedgesSlowPrimaryAndCancelsLoser() throws Exception {
+        properties.getResilience().setDefaultHedgeDelay(Duration.ofMillis(20));
+        properties.getResilience().setMinHedgeDelay(Duration.ofMillis(20));
+        Map<String, CompletableFuture<String>> attempts = new ConcurrentHashMap<>();
+
+        ModelResponse response = executor.execute(List.of("slow", "fast"),
+                model -> attempts.computeIfAbsent(model, m -> m.equals("slow")
+                        ? new CompletableFuture<>()
+                        : CompletableFuture.completedFuture("hedged")),
+                text -> true, true).get(1, TimeUnit.SECONDS);
+
+        assertEquals(new ModelResponse("fast", "hedged"), response);
+        assertTrue(attempts.get("slow").isCancelled());
+    }
+
+    @Test
+    void skipsModelWhileCircuitIsOpen() {
+        properties.getResilience().setMinimumCalls(2);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(List.of("a"), model -> CompletableFuture.failedFuture(new GeminiException("a", 500, "down")),
+                    text -> true, false).exceptionally(e -> null).join();
+        }
+        List<String> called = new CopyOnWriteArrayList<>();
+
+        ModelResponse response = executor.execute(List.of("a", "b"), model -> {
+            called.add(model);
+            return CompletableFuture.completedFuture("ok");
+        }, text -> true, false).join();
+
+        assertEquals(GeminiCircuitBreaker.State.OPEN, executor.state("a"));
+        assertEquals(List.of("b"), called);
+        assertEquals("b", response.model());
+    }
+
+    @Test
+    void cancellingResultCancelsInFlightAttempt() {
+        CompletableFuture<String> attempt = new CompletableFuture<>();
+        CompletableFuture<ModelResponse> result = executor.execute(List.of("a"), model -> attempt, text -> true, false);
+
+        result.cancel(true);
+
+        assertTrue(attempt.isCancelled());
+    }
+}
@@ -0,0 +1,51 @@
+package aibe.hosik.analysis.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GeminiMetricsTest {
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GeminiProperties properties = new GeminiProperties();
+    private final GeminiMetrics metrics = new GeminiMetrics(registry, properties);
+
+    @Test
+    void recordsTokensAndCostExcludingCachedFromPrompt() {
+        GeminiProperties.Pricing pricing = new GeminiProperties.Pricing();
+        pricing.setInputPerMillion(1.0);
+        pricing.setCachedInputPerMillion(0.25);
+        pricing.setOutputPerMillion(4.0);
+        properties.getPricing().put("m", pricing);
+
+        metrics.usage("m", new GeminiResponse.UsageMetadata(3000, 500, 3500, 2000));
+
+        assertEquals(1000, registry.get("gemini.tokens").tags("model", "m", "type", "prompt").counter().count());
+        assertEquals(2000, registry.get("gemini.tokens").tags("model", "m", "type", "cached").counter().count());
+        assertEquals(500, registry.get("gemini.tokens").tags("model", "m", "type", "candidates").counter().count());
+        // (1000 * 1.0 + 2000 * 0.25 + 500 * 4.0) / 1,000,000
+        assertEquals(0.0035, registry.get("gemini.cost").tag("model", "m").counter().count(), 1e-12);
+    }
+
+    @Test
+    void timesRequestAndCountsErrorByCause() {
+        GeminiMetrics.Sample sample = metrics.start("m", "generate");
+        assertEquals(1, registry.get("gemini.requests.in.flight").tag("model", "m").gauge().value());
+
+        metrics.stop(sample, new CompletionException(new GeminiException("m", 503, "unavailable")));
+
+        assertEquals(0, registry.get("gemini.requests.in.flight").tag("model", "m").gauge().value());
+        assertEquals(1, registry.get("gemini.request").tags("model", "m", "outcome", "server_error").timer().count());
+        assertEquals(1, registry.get("gemini.errors").tags("model", "m", "cause", "server_error").counter().count());
+    }
+
+    @Test
+    void classifiesCauses() {
+        assertEquals("rate_limited", GeminiMetrics.cause(new GeminiException("m", 429, "quota")));
+        assertEquals("invalid_response", GeminiMetrics.cause(new GeminiException("m", 200, "응답 파싱 실패")));
+        assertEquals("timeout", GeminiMetrics.cause(new CompletionException(new HttpTimeoutException("timeout"))));
+    }
+}
@@ -0,0 +1,83 @@
+package aibe.hosik.analysis.client;
+
+import aibe.hosik.analysis.entity.AnalysisStage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeminiModelRouterTest {
+    private final GeminiProperties properties = new GeminiProperties();
+    private final GeminiFailoverExecutor executor = new GeminiFailoverExecutor(properties,
+            new GeminiMetrics(new SimpleMeterRegistry(), properties));
+
+    GeminiModelRouterTest() {
+        Map<String, List<String>> keys = new HashMap<>();
+        for (String model : List.of("fast", "slow", "next")) {
+            keys.put(model, List.of("key"));
+        }
+        properties.setModelKeys(keys);
+        for (AnalysisStage stage : AnalysisStage.values()) {
+            GeminiProperties.Stage config = new GeminiProperties.Stage();
+            config.setModels(List.of("slow", "fast"));
+            properties.getStages().put(stage, config);
+        }
+    }
+
+    @Test
+    void keepsConfiguredOrderUnlessAdaptive() {
+        recordLatency("slow", Duration.ofSeconds(8));
+        recordLatency("fast", Duration.ofSeconds(1));
+        GeminiModelRouter router = new GeminiModelRouter(properties, executor);
+
+        assertEquals(List.of("slow", "fast"), router.route(AnalysisStage.MATCH_PRIMARY));
+
+        properties.getStages().get(AnalysisStage.MATCH_PRIMARY).setAdaptive(true);
+        assertEquals(List.of("fast", "slow"), router.route(AnalysisStage.MATCH_PRIMARY));
+    }
+
+    @Test
+    void weightsAndFailuresShiftAdaptiveOrder() {
+        GeminiProperties.Stage config = properties.getStages().get(AnalysisStage.MATCH_PRIMARY);
+        config.setAdaptive(true);
+        recordLatency("slow", Duration.ofSeconds(2));
+        recordLatency("fast", Duration.ofSeconds(1));
+        GeminiModelRouter router = new GeminiModelRouter(properties, executor);
+
+        // 가중치 3배면 2배 느려도 먼저 호출
+        config.setWeights(Map.of("slow", 3.0));
+        assertEquals(List.of("slow", "fast"), router.route(AnalysisStage.MATCH_PRIMARY));
+
+        // 실패율이 높으면 다시 뒤로
+        for (int i = 0; i < 8; i++) {
+            executor.breaker("slow").onFailure();
+        }
+        assertEquals(List.of("fast", "slow"), router.route(AnalysisStage.MATCH_PRIMARY));
+    }
+
+    @Test
+    void samplesShadowModelAndRejectsMissingKeys() {
+        GeminiProperties.Shadow shadow = properties.getStages().get(AnalysisStage.NARRATIVE).getShadow();
+        shadow.setModel("next");
+        shadow.setSampleRate(1.0);
+        GeminiModelRouter router = new GeminiModelRouter(properties, executor);
+        assertEquals(Optional.of("next"), router.shadow(AnalysisStage.NARRATIVE));
+        assertEquals(Optional.empty(), router.shadow(AnalysisStage.MATCH_PRIMARY));
+
+        shadow.setModel("unknown");
+        assertThrows(IllegalStateException.class, () -> new GeminiModelRouter(properties, executor));
+    }
+
+    private void recordLatency(String model, Duration latency) {
+        for (int i = 0; i < 5; i++) {
+            executor.breaker(model).onSuccess(latency.toNanos());
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package aibe.hosik.analysis.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeminiRateLimiterTest {
+    private static final String MODEL = "model";
+
+    private final GeminiProperties properties = new GeminiProperties();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private GeminiRateLimiter rateLimiter;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdownNow();
+        rateLimiter.shutdown();
+    }
+
+    // 분당 rpm 개 요청 (토큰 한도는 충분히 크게)
+    private GeminiRateLimiter rateLimiter(long rpm, List<String> keys) {
+        GeminiProperties.Quota quota = new GeminiProperties.Quota();
+        quota.setRpm(rpm);
+        properties.setDefaultQuota(quota);
+        properties.setModelKeys(Map.of(MODEL, keys));
+        rateLimiter = new GeminiRateLimiter(properties);
+        return rateLimiter;
+    }
+
+    private GeminiKeyLease acquireNow(GeminiRateLimiter limiter) {
+        CompletableFuture<GeminiKeyLease> lease = limiter.acquire(MODEL, 1);
+        assertTrue(lease.isDone());
+        return lease.join();
+    }
+
+    @Test
+    void picksKeyWithMostRemainingRequests() {
+        GeminiRateLimiter limiter = rateLimiter(60, List.of("k1", "k2"));
+
+        GeminiKeyLease first = acquireNow(limiter);
+        GeminiKeyLease second = acquireNow(limiter);
+        // 429 로 쉬게 한 키는 남은 요청이 없으므로 다른 키를 사용
+        second.throttle();
+        GeminiKeyLease third = acquireNow(limiter);
+
+        assertEquals("k1", first.apiKey());
+        assertEquals("k2", second.apiKey());
+        assertEquals("k1", third.apiKey());
+    }
+
+    @Test
+    void unknownModelFails() {
+        GeminiRateLimiter limiter = rateLimiter(60, List.of("k1"));
+
+        CompletableFuture<GeminiKeyLease> lease = limiter.acquire("other", 1);
+
+        CompletionException e = assertThrows(CompletionException.class, lease::join);
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    }
+
+    @Test
+    void waitsForRefillInsteadOfFailing() {
+        // 초당 10개
+        GeminiRateLimiter limiter = rateLimiter(600, List.of("k1"));
+        acquireNow(limiter).throttle();
+
+        CompletableFuture<GeminiKeyLease> lease = limiter.acquire(MODEL, 1);
+
+        assertFalse(lease.isDone());
+        assertEquals("k1", lease.orTimeout(2, TimeUnit.SECONDS).join().apiKey());
+    }
+
+    @Test
+    void failsWhenWaitWouldExceedMaxQueueWait() {
+        // 초당 1개, 최대 대기 1.5초
+        GeminiRateLimiter limiter = rateLimiter(60, List.of("k1"));
+        properties.setMaxQueueWait(Duration.ofMillis(1500));
+        GeminiKeyLease holder = acquireNow(limiter);
+        holder.throttle();
+        // 다른 요청이 계속 429 를 받아 키가 채워지지 않는 상황
+        scheduler.scheduleAtFixedRate(holder::throttle, 100, 100, TimeUnit.MILLISECONDS);
+
+        long start = System.nanoTime();
+        CompletableFuture<GeminiKeyLease> lease = limiter.acquire(MODEL, 1);
+        CompletionException e = assertThrows(CompletionException.class, () -> lease.orTimeout(5, TimeUnit.SECONDS).join());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(429, assertInstanceOf(GeminiException.class, e.getCause()).getStatusCode());
+        // 처음에는 1초 대기로 다시 시도하고, 다시 시도할 때 남은 대기 시간이 최대 대기 시간을 넘어 실패
+        assertTrue(elapsedMs >= 900 && elapsedMs < 1500, "elapsed: " + elapsedMs);
+    }
+
+    @Test
+    void cancelledWaiterDoesNotTakeKey() throws InterruptedException {
+        // 초당 1개
+        GeminiRateLimiter limiter = rateLimiter(60, List.of("k1"));
+        acquireNow(limiter).throttle();
+
+        CompletableFuture<GeminiKeyLease> waiting = limiter.acquire(MODEL, 1);
+        assertFalse(waiting.isDone());
+        waiting.cancel(true);
+        Thread.sleep(1200);
+
+        // 취소된 대기 요청이 다시 시도하면서 요청 한도를 쓰지 않았으므로 바로 할당됨
+        assertEquals("k1", acquireNow(limiter).apiKey());
+    }
+}
@@ -0,0 +1,216 @@
+package aibe.hosik.analysis.client;
+
+import aibe.hosik.analysis.entity.GeminiCacheEntry;
+import aibe.hosik.analysis.repository.GeminiCacheEntryRepository;
+import aibe.hosik.common.Fingerprint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeminiResponseCacheTest {
+    // DB 캐시 대역 (fingerprint -> 저장된 응답)
+    private final Map<String, GeminiCacheEntry> stored = new ConcurrentHashMap<>();
+    // DB 캐시를 호출한 스레드
+    private final List<String> storeThreads = new CopyOnWriteArrayList<>();
+    private final GeminiCacheEntryRepository repository = (GeminiCacheEntryRepository) Proxy.newProxyInstance(
+            getClass().getClassLoader(), new Class<?>[]{GeminiCacheEntryRepository.class},
+            (proxy, method, args) -> {
+                storeThreads.add(Thread.currentThread().getName());
+                return switch (method.getName()) {
+                    case "findByFingerprintAndExpiresAtAfter" -> Optional.ofNullable(stored.get((String) args[0]));
+                    case "save" -> {
+                        GeminiCacheEntry entry = (GeminiCacheEntry) args[0];
+                        stored.put(entry.getFingerprint(), entry);
+                        yield entry;
+                    }
+                    case "deleteById" -> {
+                        stored.remove((String) args[0]);
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                };
+            });
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<CompletableFuture<String>> upstreams = new ArrayList<>();
+    private final Supplier<CompletableFuture<String>> loader = () -> {
+        loads.incrementAndGet();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        synchronized (upstreams) {
+            upstreams.add(upstream);
+        }
+        return upstream;
+    };
+
+    private GeminiResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        GeminiProperties properties = new GeminiProperties();
+        // DB 작업을 호출한 스레드에서 바로 실행 (순서 검증용)
+        cache = new GeminiResponseCache(repository, properties, new GeminiStoreExecutor(properties) {
+            @Override
+            public Executor executor() {
+                return Runnable::run;
+            }
+        });
+        cache.init();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<CompletableFuture<String>>> submitted = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            submitted.add(executor.submit(() -> {
+                start.await();
+                return cache.getOrLoad("m", "prompt", response -> true, loader);
+            }));
+        }
+        start.countDown();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (Future<CompletableFuture<String>> future : submitted) {
+            results.add(future.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(1, loads.get());
+        upstreams.get(0).complete("응답");
+        for (CompletableFuture<String> result : results) {
+            assertEquals("응답", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(callers - 1, cache.stats().coalesced());
+
+        // 이후 호출은 메모리 캐시에서 응답
+        assertEquals("응답", cache.getOrLoad("m", "prompt", response -> true, loader).get());
+        assertEquals(1, loads.get());
+        assertEquals(1, stored.size());
+    }
+
+    @Test
+    void cancellingOneCallerKeepsSharedLoad() throws Exception {
+        CompletableFuture<String> first = cache.getOrLoad("m", "prompt", response -> true, loader);
+        CompletableFuture<String> second = cache.getOrLoad("m", "prompt", response -> true, loader);
+
+        first.cancel(true);
+
+        CompletableFuture<String> upstream = upstreams.get(0);
+        assertFalse(upstream.isCancelled());
+        upstream.complete("응답");
+        assertEquals("응답", second.get(5, TimeUnit.SECONDS));
+        assertTrue(first.isCancelled());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void cancellingAllCallersCancelsUpstream() throws Exception {
+        CompletableFuture<String> first = cache.getOrLoad("m", "prompt", response -> true, loader);
+        CompletableFuture<String> second = cache.getOrLoad("m", "prompt", response -> true, loader);
+
+        first.cancel(true);
+        second.cancel(true);
+
+        assertTrue(upstreams.get(0).isCancelled());
+
+        // 중단된 호출에는 합류하지 않고 새로 호출
+        CompletableFuture<String> retry = cache.getOrLoad("m", "prompt", response -> true, loader);
+        assertEquals(2, loads.get());
+        upstreams.get(1).complete("응답");
+        assertEquals("응답", retry.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failedLoadIsNotCached() throws Exception {
+        CompletableFuture<String> failed = cache.getOrLoad("m", "prompt", response -> true, loader);
+        upstreams.get(0).completeExceptionally(new GeminiException("m", 503, "일시적 오류"));
+
+        assertThrows(ExecutionException.class, () -> failed.get(5, TimeUnit.SECONDS));
+        CompletableFuture<String> retry = cache.getOrLoad("m", "prompt", response -> true, loader);
+        assertEquals(2, loads.get());
+        upstreams.get(1).complete("응답");
+        assertEquals("응답", retry.get(5, TimeUnit.SECONDS));
+        assertTrue(stored.values().stream().allMatch(entry -> entry.getResponse().equals("응답")));
+    }
+
+    @Test
+    void invalidResponseIsReturnedButNotCached() throws Exception {
+        CompletableFuture<String> invalid = cache.getOrLoad("m", "prompt", response -> !response.isBlank(), loader);
+        upstreams.get(0).complete(" ");
+
+        // 호출자는 응답을 받아 직접 재시도 여부를 판단
+        assertEquals(" ", invalid.get(5, TimeUnit.SECONDS));
+        assertTrue(stored.isEmpty());
+
+        CompletableFuture<String> retry = cache.getOrLoad("m", "prompt", response -> !response.isBlank(), loader);
+        assertEquals(2, loads.get());
+        upstreams.get(1).complete("응답");
+        assertEquals("응답", retry.get(5, TimeUnit.SECONDS));
+        assertEquals("응답", stored.get(Fingerprint.of("m", "prompt")).getResponse());
+    }
+
+    @Test
+    void storedResponseFailingValidationIsEvicted() throws Exception {
+        String key = Fingerprint.of("m", "prompt");
+        stored.put(key, GeminiCacheEntry.of(key, "m", "형식 오류", LocalDateTime.now().plusDays(1)));
+
+        CompletableFuture<String> result = cache.getOrLoad("m", "prompt", response -> response.startsWith("{"), loader);
+
+        assertFalse(stored.containsKey(key));
+        assertEquals(1, loads.get());
+        upstreams.get(0).complete("{\"score\": 80}");
+        assertEquals("{\"score\": 80}", result.get(5, TimeUnit.SECONDS));
+        assertEquals("{\"score\": 80}", stored.get(key).getResponse());
+    }
+
+    @Test
+    void storeCallsRunOnStoreExecutor() throws Exception {
+        GeminiProperties properties = new GeminiProperties();
+        GeminiStoreExecutor storeExecutor = new GeminiStoreExecutor(properties);
+        storeExecutor.start();
+        cache = new GeminiResponseCache(repository, properties, storeExecutor);
+        cache.init();
+        ExecutorService http = Executors.newSingleThreadExecutor(r -> new Thread(r, "gemini-http-test"));
+        try {
+            CompletableFuture<String> result = cache.getOrLoad("m", "prompt", response -> true,
+                    () -> CompletableFuture.supplyAsync(() -> "응답", http));
+
+            assertEquals("응답", result.get(5, TimeUnit.SECONDS));
+            // 저장은 응답 뒤에 비동기로 진행
+            long deadline = System.currentTimeMillis() + 5000;
+            while (stored.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, stored.size());
+            assertEquals(2, storeThreads.size());
+            assertTrue(storeThreads.stream().allMatch(name -> name.startsWith("gemini-store-")));
+        } finally {
+            http.shutdownNow();
+            storeExecutor.stop();
+        }
+    }
+}
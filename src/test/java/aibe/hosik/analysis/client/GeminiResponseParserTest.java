@@ -0,0 +1,55 @@
+package aibe.hosik.analysis.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeminiResponseParserTest {
+
+    @Test
+    void readsFirstCandidateTextAndUsage() throws IOException {
+        String body = """
+                {
+                  "candidates": [
+                    {
+                      "content": {"parts": [{"text": "첫 번째 "}, {"text": "응답"}], "role": "model"},
+                      "finishReason": "STOP",
+                      "safetyRatings": [{"category": "HARM_CATEGORY_HATE_SPEECH", "probability": "NEGLIGIBLE"}]
+                    },
+                    {"content": {"parts": [{"text": "두 번째 후보"}]}, "finishReason": "STOP"}
+                  ],
+                  "usageMetadata": {"promptTokenCount": 120, "candidatesTokenCount": 30, "totalTokenCount": 150,
+                                    "promptTokensDetails": [{"modality": "TEXT", "tokenCount": 120}]},
+                  "modelVersion": "gemini-2.0-flash"
+                }
+                """;
+
+        GeminiResponse response = GeminiResponseParser.parse(body);
+
+        assertEquals("첫 번째 응답", response.text());
+        assertEquals("STOP", response.finishReason());
+        assertEquals(new GeminiResponse.UsageMetadata(120, 30, 150, 0), response.usage());
+    }
+
+    @Test
+    void reportsBlockedResponseWithoutText() throws IOException {
+        String body = """
+                {"candidates": [{"finishReason": "SAFETY"}], "usageMetadata": {"promptTokenCount": 10}}
+                """;
+
+        GeminiResponse response = GeminiResponseParser.parse(body);
+
+        assertNull(response.text());
+        assertFalse(response.isComplete());
+    }
+
+    @Test
+    void rejectsNonObjectBody() {
+        assertThrows(IOException.class, () -> GeminiResponseParser.parse("[]"));
+    }
+}
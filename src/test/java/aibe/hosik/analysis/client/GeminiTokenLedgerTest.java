@@ -0,0 +1,35 @@
+package aibe.hosik.analysis.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GeminiTokenLedgerTest {
+    private final Clock clock = Clock.fixed(Instant.parse("2025-06-01T03:00:00Z"), ZoneId.of("Asia/Seoul"));
+    // DB 반영(flush) 전 사용량만 확인하므로 저장소는 사용하지 않음
+    private final GeminiTokenLedger ledger = new GeminiTokenLedger(null, clock);
+
+    @Test
+    void accumulatesUnflushedUsagePerModelAndKey() {
+        ledger.record("m", "key-1", new GeminiResponse.UsageMetadata(1000, 200, 1200, 400));
+        ledger.record("m", "key-2", new GeminiResponse.UsageMetadata(500, 100, 600, 0));
+        ledger.record("other", "key-1", new GeminiResponse.UsageMetadata(10, 10, 20, 0));
+
+        assertEquals(1800, ledger.usedToday("m"));
+        assertEquals(1800, ledger.lastHour("m"));
+
+        List<GeminiTokenLedger.KeyUsage> keys = ledger.todayByKey().stream()
+                .filter(usage -> usage.model().equals("m"))
+                .toList();
+        assertEquals(2, keys.size());
+        GeminiTokenLedger.KeyUsage first = keys.stream().filter(usage -> usage.cachedTokens() == 400).findFirst().orElseThrow();
+        assertEquals(600, first.promptTokens());
+        assertEquals(200, first.outputTokens());
+        assertEquals(1, first.requests());
+    }
+}
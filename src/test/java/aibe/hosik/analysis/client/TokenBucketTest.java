@@ -0,0 +1,46 @@
+package aibe.hosik.analysis.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+    private final AtomicLong now = new AtomicLong();
+    private final TokenBucket bucket = new TokenBucket(60, now::get);
+
+    @Test
+    void rejectsWhenEmptyAndReportsWaitTime() {
+        assertEquals(0, bucket.tryAcquire(60));
+
+        long wait = bucket.tryAcquire(1);
+
+        // 분당 60개 = 초당 1개
+        assertEquals(1_000_000_000L, wait);
+    }
+
+    @Test
+    void refillsOverTime() {
+        bucket.tryAcquire(60);
+        now.addAndGet(2_000_000_000L);
+
+        assertEquals(0, bucket.tryAcquire(2));
+        assertTrue(bucket.tryAcquire(1) > 0);
+    }
+
+    @Test
+    void refundReturnsTokens() {
+        bucket.tryAcquire(60);
+        bucket.refund(5);
+
+        assertEquals(0, bucket.tryAcquire(5));
+    }
+
+    @Test
+    void oversizedRequestIsClampedToCapacity() {
+        assertEquals(0, bucket.tryAcquire(1000));
+        assertEquals(0, bucket.available());
+    }
+}
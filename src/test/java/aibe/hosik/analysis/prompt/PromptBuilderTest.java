@@ -0,0 +1,68 @@
+package aibe.hosik.analysis.prompt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PromptBuilderTest {
+    private final PromptBuilder promptBuilder = new PromptBuilder();
+
+    private Map<String, PromptField> applicant(String resumeContent, String summary) {
+        return Map.of(
+                "resumeContent", PromptField.shrinkable(resumeContent, summary),
+                "applyReason", PromptField.shrinkable("함께 성장하고 싶습니다."),
+                "resumePersonality", PromptField.shrinkable(null),
+                "resumeSkills", PromptField.fixed(List.of("Java", "Spring")));
+    }
+
+    @Test
+    void rendersSameTextAsFormatWithinBudget() {
+        RenderedPrompt rendered = promptBuilder.render(PromptTemplateId.MATCH_APPLICANT, applicant("백엔드 개발 경험", null), 8000);
+
+        assertEquals(String.format("""
+                        지원자 정보는 다음과 같습니다.
+                        [지원자 정보]
+                        - 이력서 : %s
+                        - 지원 동기 : %s
+                        - 성격 및 특징 : %s
+                        - 보유하고 있는 기술 스킬 : %s
+                        """, "백엔드 개발 경험", "함께 성장하고 싶습니다.", null, List.of("Java", "Spring")),
+                rendered.text());
+        assertFalse(rendered.isShrunk());
+    }
+
+    @Test
+    void truncatesLongestFieldDeterministically() {
+        String resume = "프로젝트 경험을 정리했습니다.\n".repeat(2000);
+
+        RenderedPrompt first = promptBuilder.render(PromptTemplateId.MATCH_APPLICANT, applicant(resume, null), 500);
+        RenderedPrompt second = promptBuilder.render(PromptTemplateId.MATCH_APPLICANT, applicant(resume, null), 500);
+
+        assertTrue(first.estimatedTokens() <= 500);
+        assertEquals(Set.of("resumeContent"), first.shrunkFields());
+        assertTrue(first.text().contains("정리했습니다." + PromptBuilder.TRUNCATION_MARKER));
+        assertTrue(first.text().contains("함께 성장하고 싶습니다."));
+        assertEquals(first, second);
+    }
+
+    @Test
+    void usesSummaryWhenItFits() {
+        String resume = "대규모 트래픽 서비스 운영 경험 ".repeat(2000);
+
+        RenderedPrompt rendered = promptBuilder.render(PromptTemplateId.MATCH_APPLICANT, applicant(resume, "트래픽 서비스 운영 요약"), 500);
+
+        assertTrue(rendered.text().contains("- 이력서 : 트래픽 서비스 운영 요약\n"));
+    }
+
+    @Test
+    void rejectsMalformedTemplate() {
+        assertThrows(IllegalArgumentException.class, () -> PromptTemplate.parse("broken", "이력서 : {{resumeContent"));
+    }
+}
@@ -0,0 +1,227 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.client.GeminiClient;
+import aibe.hosik.analysis.client.GeminiFailoverExecutor;
+import aibe.hosik.analysis.client.GeminiMetrics;
+import aibe.hosik.analysis.client.GeminiModelRouter;
+import aibe.hosik.analysis.client.GeminiProperties;
+import aibe.hosik.analysis.client.GeminiResponseCache;
+import aibe.hosik.analysis.client.GeminiStoreExecutor;
+import aibe.hosik.analysis.dto.AnalysisInputs;
+import aibe.hosik.analysis.dto.MatchScore;
+import aibe.hosik.analysis.entity.Analysis;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import aibe.hosik.analysis.prompt.PromptBuilder;
+import aibe.hosik.analysis.prompt.TokenEstimator;
+import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.apply.repository.ApplyRepository;
+import aibe.hosik.post.entity.Post;
+import aibe.hosik.resume.entity.Resume;
+import aibe.hosik.skill.repository.PostSkillRepository;
+import aibe.hosik.skill.repository.ResumeSkillRepository;
+import aibe.hosik.support.TestFixtures;
+import aibe.hosik.user.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisBatchServiceTest {
+    private static final Pattern APPLY_ID = Pattern.compile("applyId: (\\d+)");
+
+    private final GeminiProperties properties = new GeminiProperties();
+    private final List<Apply> applies = new ArrayList<>();
+    private final List<String> prompts = new CopyOnWriteArrayList<>();
+    // 저장된 분석 결과의 지원서 ID
+    private final List<Long> saved = new CopyOnWriteArrayList<>();
+    // 응답에서 빠뜨릴 지원서 ID
+    private final Set<Long> omitted = new HashSet<>();
+    private long tokenBudget = 8000;
+    private boolean budgetAllows = true;
+
+    private final AnalysisBatchService service;
+
+    AnalysisBatchServiceTest() {
+        properties.setModelKeys(Map.of("primary", List.of("key")));
+        for (AnalysisStage stage : AnalysisStage.values()) {
+            GeminiProperties.Stage config = new GeminiProperties.Stage();
+            config.setModels(List.of("primary"));
+            properties.getStages().put(stage, config);
+        }
+        MeterRegistry registry = new SimpleMeterRegistry();
+        GeminiFailoverExecutor executor = new GeminiFailoverExecutor(properties, new GeminiMetrics(registry, properties));
+        GeminiModelRouter router = new GeminiModelRouter(properties, executor);
+        GeminiStoreExecutor storeExecutor = new GeminiStoreExecutor(properties) {
+            @Override
+            public Executor executor() {
+                return Runnable::run;
+            }
+        };
+
+        // 프롬프트에 들어간 지원자에게 점수를 돌려줌 (omitted 제외)
+        GeminiClient geminiClient = new GeminiClient(null, properties, null, null, null, null, null, router, null) {
+            @Override
+            public CompletableFuture<String> generateContentAsync(String prompt, String model, Predicate<String> validator) {
+                prompts.add(prompt);
+                List<String> scores = new ArrayList<>();
+                Matcher matcher = APPLY_ID.matcher(prompt);
+                while (matcher.find()) {
+                    if (omitted.contains(Long.parseLong(matcher.group(1)))) {
+                        continue;
+                    }
+                    scores.add("{\"applyId\": " + matcher.group(1)
+                            + ", \"contentScore\": 80, \"personalityScore\": 70, \"skillScore\": 60, \"reason\": \"이유\"}");
+                }
+                return CompletableFuture.completedFuture("[" + String.join(",", scores) + "]");
+            }
+
+            @Override
+            public long inputTokenBudget(AnalysisStage stage) {
+                return tokenBudget;
+            }
+        };
+        ApplyRepository applyRepository = (ApplyRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{ApplyRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findAllWithPostAndResumeByIdIn")) {
+                        return applies.stream().filter(apply -> ((List<?>) args[0]).contains(apply.getId())).toList();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        PostSkillRepository postSkillRepository = (PostSkillRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{PostSkillRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findSkillByPostId")) {
+                        return List.of("Java", "Spring");
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        ResumeSkillRepository resumeSkillRepository = (ResumeSkillRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{ResumeSkillRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findByResumeIdIn")) {
+                        return List.of();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        // 요약이 없으면 자기소개서 원문을 지원자 블록에 사용
+        ResumeSummaryService summaryService = new ResumeSummaryService(null, null, null, null, null, null, null) {
+            @Override
+            public CompletableFuture<Optional<String>> getOrCreateSummary(Resume resume) {
+                return CompletableFuture.completedFuture(Optional.empty());
+            }
+        };
+        AnalysisService analysisService = new AnalysisService(null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null) {
+            @Override
+            public Analysis saveAnalysis(Apply apply, List<MatchScore> matchScores, String resumeSummary,
+                                         String modelConfig, String promptFingerprint, AnalysisInputs inputs) {
+                saved.add(apply.getId());
+                return null;
+            }
+        };
+        AnalysisBudget budget = new AnalysisBudget(properties, null, registry) {
+            @Override
+            public boolean allows(AnalysisStage stage, boolean priority) {
+                return budgetAllows;
+            }
+        };
+        AnalysisMetrics metrics = new AnalysisMetrics(registry, new GeminiResponseCache(null, properties, storeExecutor),
+                new AnalysisStreamHub(new AnalysisStreamProperties()));
+
+        service = new AnalysisBatchService(geminiClient, executor, applyRepository, postSkillRepository,
+                resumeSkillRepository, summaryService, new MatchScoreParser(new ObjectMapper()), analysisService,
+                new PromptBuilder(), metrics, new AnalysisCancellationRegistry(), budget);
+    }
+
+    private List<Long> apply(Post post, String content) {
+        User user = TestFixtures.user().id((long) applies.size() + 1).build();
+        Resume resume = TestFixtures.resume(user).id((long) applies.size() + 1).content(content).build();
+        applies.add(TestFixtures.apply(post, user, resume).id((long) applies.size() + 1).build());
+        return applies.stream().map(Apply::getId).toList();
+    }
+
+    private Post post() {
+        return post(10L);
+    }
+
+    private Post post(Long id) {
+        return TestFixtures.post(TestFixtures.user().id(100L).build()).id(id).build();
+    }
+
+    @Test
+    void savesReturnedScoresAndSkipsApplicantsMissingFromResponse() {
+        Post post = post();
+        apply(post, "백엔드 개발 3년");
+        apply(post, "프론트엔드 개발 2년");
+        List<Long> applyIds = apply(post, "데이터 엔지니어 1년");
+        omitted.add(2L);
+
+        Set<Long> analyzed = service.analyzeBatch(post.getId(), applyIds);
+
+        // 응답에서 빠진 지원서는 저장하지 않고, 호출한 쪽에서 단건 분석으로 처리
+        assertEquals(Set.of(1L, 3L), analyzed);
+        assertEquals(List.of(1L, 3L), saved);
+        assertEquals(1, prompts.size());
+    }
+
+    @Test
+    void ignoresAppliesOfOtherPosts() {
+        apply(post(), "백엔드 개발 3년");
+        List<Long> applyIds = apply(post(20L), "프론트엔드 개발 2년");
+
+        Set<Long> analyzed = service.analyzeBatch(10L, applyIds);
+
+        assertEquals(Set.of(1L), analyzed);
+        assertFalse(prompts.get(0).contains("applyId: 2"));
+    }
+
+    @Test
+    void exhaustedBudgetSkipsBatchWithoutCalling() {
+        List<Long> applyIds = apply(post(), "백엔드 개발 3년");
+        budgetAllows = false;
+
+        assertTrue(service.analyzeBatch(10L, applyIds).isEmpty());
+        assertTrue(prompts.isEmpty());
+        assertTrue(saved.isEmpty());
+    }
+
+    @Test
+    void overBudgetBatchDropsWholeApplicantsInsteadOfCuttingOne() {
+        Post post = post();
+        // 여러 줄로 된 긴 자기소개서 (잘리면 다음 줄부터 빠짐)
+        String content = "백엔드 개발 3년\n".repeat(100) + "마지막 줄";
+        apply(post, content);
+        apply(post, content);
+        List<Long> applyIds = apply(post, content);
+        // 지원자 두 명까지만 들어가는 예산
+        tokenBudget = 1800;
+
+        Set<Long> analyzed = service.analyzeBatch(post.getId(), applyIds);
+
+        String prompt = prompts.get(0);
+        assertEquals(Set.of(1L, 2L), analyzed);
+        assertEquals(List.of(1L, 2L), saved);
+        assertTrue(TokenEstimator.estimate(prompt) <= tokenBudget);
+        assertFalse(prompt.contains("이하 생략"));
+        // 지원자마다 한 줄이고, 자기소개서는 끝까지 들어감
+        List<String> blocks = prompt.lines().filter(line -> line.startsWith("- applyId:")).toList();
+        assertEquals(2, blocks.size());
+        blocks.forEach(block -> assertTrue(block.contains("마지막 줄"), block));
+    }
+}
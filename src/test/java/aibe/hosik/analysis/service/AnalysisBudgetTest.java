@@ -0,0 +1,37 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.client.GeminiProperties;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisBudgetTest {
+    private final GeminiProperties.Budget config = new GeminiProperties.Budget();
+
+    @Test
+    void normalWorkDegradesStepByStep() {
+        assertEquals(BudgetLevel.FULL, AnalysisBudget.normalLevel(config, 0.8));
+        assertEquals(BudgetLevel.SKIP_SUMMARY, AnalysisBudget.normalLevel(config, 0.4));
+        assertEquals(BudgetLevel.SKIP_NARRATIVE, AnalysisBudget.normalLevel(config, 0.2));
+        assertEquals(BudgetLevel.LOCAL_ONLY, AnalysisBudget.normalLevel(config, 0.1));
+    }
+
+    @Test
+    void priorityWorkUsesReserveUntilExhausted() {
+        assertEquals(BudgetLevel.FULL, AnalysisBudget.priorityLevel(config, 0.2));
+        assertEquals(BudgetLevel.SKIP_SUMMARY, AnalysisBudget.priorityLevel(config, 0.05));
+        assertEquals(BudgetLevel.LOCAL_ONLY, AnalysisBudget.priorityLevel(config, 0.0));
+    }
+
+    @Test
+    void levelsGateStages() {
+        assertFalse(BudgetLevel.SKIP_SUMMARY.allows(AnalysisStage.RESUME_SUMMARY));
+        assertTrue(BudgetLevel.SKIP_SUMMARY.allows(AnalysisStage.NARRATIVE));
+        assertFalse(BudgetLevel.SKIP_NARRATIVE.allows(AnalysisStage.NARRATIVE));
+        assertTrue(BudgetLevel.SKIP_NARRATIVE.allows(AnalysisStage.MATCH_PRIMARY));
+        assertFalse(BudgetLevel.LOCAL_ONLY.allows(AnalysisStage.MATCH_SECONDARY));
+    }
+}
@@ -0,0 +1,47 @@
+package aibe.hosik.analysis.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisCancellationRegistryTest {
+    private final AnalysisCancellationRegistry registry = new AnalysisCancellationRegistry();
+
+    @Test
+    void cancelsCallsOfPostIncludingBatch() {
+        CompletableFuture<String> single = registry.track(1L, 10L, new CompletableFuture<>());
+        CompletableFuture<String> batch = registry.track(null, 10L, new CompletableFuture<>());
+        CompletableFuture<String> other = registry.track(2L, 20L, new CompletableFuture<>());
+
+        assertEquals(2, registry.cancelPost(10L));
+
+        assertTrue(single.isCancelled());
+        assertTrue(batch.isCancelled());
+        assertFalse(other.isCancelled());
+    }
+
+    @Test
+    void completedCallsAreNoLongerTracked() {
+        CompletableFuture<String> call = registry.track(1L, 10L, new CompletableFuture<>());
+        call.complete("done");
+
+        assertEquals(0, registry.cancelApply(1L));
+        assertEquals(0, registry.cancelPost(10L));
+    }
+
+    @Test
+    void detectsCancellationInCauseChain() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        call.cancel(true);
+        CompletionException error = new CompletionException(new RuntimeException(
+                call.handle((result, e) -> e).join()));
+
+        assertTrue(AnalysisCancellationRegistry.isCancelled(error));
+        assertFalse(AnalysisCancellationRegistry.isCancelled(new IllegalStateException()));
+    }
+}
@@ -0,0 +1,148 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.entity.Analysis;
+import aibe.hosik.analysis.repository.AnalysisRepository;
+import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.apply.repository.ApplyRepository;
+import aibe.hosik.post.entity.Post;
+import aibe.hosik.post.repository.PostRepository;
+import aibe.hosik.resume.entity.Resume;
+import aibe.hosik.resume.repository.ResumeRepository;
+import aibe.hosik.support.TestFixtures;
+import aibe.hosik.user.entity.User;
+import aibe.hosik.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AnalysisHistoryServiceTest {
+    @Autowired
+    private AnalysisRepository analysisRepository;
+    @Autowired
+    private ApplyRepository applyRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private ResumeRepository resumeRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private AnalysisHistoryService analysisHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        analysisHistoryService = new AnalysisHistoryService(analysisRepository, applyRepository);
+    }
+
+    private Apply apply() {
+        User user = userRepository.save(TestFixtures.user().build());
+        Resume resume = resumeRepository.save(TestFixtures.resume(user).build());
+        Post post = postRepository.save(TestFixtures.post(user).build());
+        return applyRepository.save(TestFixtures.apply(post, user, resume).build());
+    }
+
+    private Analysis analysis(Apply apply, int score) {
+        return Analysis.builder().apply(apply).result("결과").summary("요약").score(score).build();
+    }
+
+    private Long latestAnalysisId(Long applyId) {
+        return analysisRepository.findLatestByApplyId(applyId).map(Analysis::getId).orElse(null);
+    }
+
+    @Test
+    void appendKeepsHistoryAndMovesLatestPointer() {
+        Apply apply = apply();
+
+        Analysis first = analysisHistoryService.append(apply.getId(), analysis(apply, 60));
+        Analysis second = analysisHistoryService.append(apply.getId(), analysis(apply, 80));
+        applyRepository.flush();
+
+        assertEquals(1, first.getRevision());
+        assertEquals(2, second.getRevision());
+        assertEquals(List.of(2, 1), analysisRepository.findByApplyIdOrderByRevisionDesc(apply.getId()).stream()
+                .map(Analysis::getRevision).toList());
+        assertEquals(second.getId(), latestAnalysisId(apply.getId()));
+    }
+
+    @Test
+    void revisionContinuesAfterLegacyRows() {
+        Apply apply = apply();
+        // 이력 도입 이전 데이터는 마이그레이션에서 ID 순서대로 차수를 채움
+        Analysis legacy = analysis(apply, 50);
+        legacy.setRevision(3);
+        analysisRepository.save(legacy);
+
+        assertEquals(4, analysisHistoryService.append(apply.getId(), analysis(apply, 70)).getRevision());
+    }
+
+    @Test
+    void deletingLatestAnalysisClearsPointer() {
+        Apply apply = apply();
+        Analysis saved = analysisHistoryService.append(apply.getId(), analysis(apply, 70));
+        applyRepository.flush();
+
+        analysisRepository.deleteAllInBatch(List.of(saved));
+
+        assertNull(latestAnalysisId(apply.getId()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentAnalysesOfSameApplyGetDistinctRevisions() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Apply apply = transaction.execute(status -> apply());
+        int analyses = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(analyses);
+        try {
+            // 같은 지원서의 분석이 동시에 끝나도 지원서 행 잠금으로 차수가 겹치지 않음
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Analysis>> saved = new ArrayList<>();
+            for (int i = 0; i < analyses; i++) {
+                int score = 60 + i;
+                saved.add(executor.submit(() -> {
+                    start.await();
+                    return transaction.execute(status -> analysisHistoryService.append(apply.getId(), analysis(apply, score)));
+                }));
+            }
+            start.countDown();
+            List<Integer> revisions = new ArrayList<>();
+            for (Future<Analysis> future : saved) {
+                revisions.add(future.get(10, TimeUnit.SECONDS).getRevision());
+            }
+
+            assertEquals(List.of(1, 2, 3, 4), revisions.stream().sorted().toList());
+            Analysis latest = analysisRepository.findLatestByApplyId(apply.getId()).orElseThrow();
+            assertEquals(4, latest.getRevision());
+        } finally {
+            executor.shutdown();
+            analysisRepository.deleteAllInBatch();
+            applyRepository.deleteAllInBatch();
+            postRepository.deleteAllInBatch();
+            resumeRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        }
+    }
+}
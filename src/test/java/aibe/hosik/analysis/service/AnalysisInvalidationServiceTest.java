@@ -0,0 +1,277 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.client.GeminiClient;
+import aibe.hosik.analysis.client.GeminiFailoverExecutor;
+import aibe.hosik.analysis.client.GeminiMetrics;
+import aibe.hosik.analysis.client.GeminiModelRouter;
+import aibe.hosik.analysis.client.GeminiProperties;
+import aibe.hosik.analysis.client.GeminiResponseCache;
+import aibe.hosik.analysis.client.GeminiStoreExecutor;
+import aibe.hosik.analysis.client.PromptContext;
+import aibe.hosik.analysis.dto.AnalysisInputs;
+import aibe.hosik.analysis.entity.AnalysisJob;
+import aibe.hosik.analysis.entity.AnalysisJobStatus;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import aibe.hosik.analysis.prompt.PromptBuilder;
+import aibe.hosik.analysis.repository.AnalysisRepository;
+import aibe.hosik.analysis.repository.AnalysisStageResultRepository;
+import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.apply.repository.ApplyRepository;
+import aibe.hosik.post.entity.Post;
+import aibe.hosik.post.repository.PostRepository;
+import aibe.hosik.post.service.PostContentChangedEvent;
+import aibe.hosik.resume.entity.Resume;
+import aibe.hosik.resume.repository.ResumeRepository;
+import aibe.hosik.resume.service.ResumeContentChangedEvent;
+import aibe.hosik.skill.repository.PostSkillRepository;
+import aibe.hosik.skill.repository.ResumeSkillRepository;
+import aibe.hosik.support.TestFixtures;
+import aibe.hosik.user.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AnalysisInvalidationServiceTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private AnalysisRepository analysisRepository;
+    @Autowired
+    private AnalysisStageResultRepository analysisStageResultRepository;
+    @Autowired
+    private ApplyRepository applyRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private ResumeRepository resumeRepository;
+    @Autowired
+    private PostSkillRepository postSkillRepository;
+    @Autowired
+    private ResumeSkillRepository resumeSkillRepository;
+
+    private final AnalysisJobProperties properties = new AnalysisJobProperties();
+    // 단계마다 다른 모델을 지정해 호출된 모델로 다시 실행된 단계를 구분
+    private static final Map<AnalysisStage, String> STAGE_MODELS = Map.of(
+            AnalysisStage.MATCH_PRIMARY, "primary",
+            AnalysisStage.MATCH_SECONDARY, "secondary",
+            AnalysisStage.RESUME_SUMMARY, "summary",
+            AnalysisStage.NARRATIVE, "narrative");
+    private final List<String> calledModels = new CopyOnWriteArrayList<>();
+    // 재분석이 예약된 지원서 ID
+    private final List<Long> reanalyzed = new ArrayList<>();
+
+    private AnalysisService analysisService;
+    private AnalysisInvalidationService invalidationService;
+
+    @BeforeEach
+    void setUp() {
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setModelKeys(Map.of("primary", List.of("key"), "secondary", List.of("key"),
+                "summary", List.of("key"), "narrative", List.of("key")));
+        STAGE_MODELS.forEach((stage, model) -> {
+            GeminiProperties.Stage config = new GeminiProperties.Stage();
+            config.setModels(List.of(model));
+            geminiProperties.getStages().put(stage, config);
+        });
+        MeterRegistry registry = new SimpleMeterRegistry();
+        // 저장 작업을 호출한 스레드에서 실행 (테스트 트랜잭션 안에서 저장되도록)
+        GeminiStoreExecutor storeExecutor = new GeminiStoreExecutor(geminiProperties) {
+            @Override
+            public Executor executor() {
+                return Runnable::run;
+            }
+        };
+        GeminiFailoverExecutor executor = new GeminiFailoverExecutor(geminiProperties, new GeminiMetrics(registry, geminiProperties));
+        GeminiModelRouter router = new GeminiModelRouter(geminiProperties, executor);
+        GeminiClient geminiClient = new GeminiClient(null, geminiProperties, null, null, null, null, null, router, null) {
+            @Override
+            public CompletableFuture<String> generateContentAsync(String prompt, String model, Predicate<String> validator) {
+                return respond(model, prompt);
+            }
+
+            @Override
+            public CompletableFuture<String> generateContentAsync(PromptContext context, String prompt, String model,
+                                                                  Predicate<String> validator) {
+                return respond(model, context.text() + prompt);
+            }
+        };
+
+        AnalysisStreamHub hub = new AnalysisStreamHub(new AnalysisStreamProperties());
+        AnalysisMetrics metrics = new AnalysisMetrics(registry, new GeminiResponseCache(null, geminiProperties, storeExecutor), hub);
+        MatchScoreParser parser = new MatchScoreParser(new ObjectMapper());
+        AnalysisCancellationRegistry cancellationRegistry = new AnalysisCancellationRegistry();
+        AnalysisBudget budget = new AnalysisBudget(geminiProperties, null, registry);
+        AnalysisProperties analysisProperties = new AnalysisProperties();
+        analysisProperties.setNarrativeMode(NarrativeMode.EAGER);
+        PromptBuilder promptBuilder = new PromptBuilder();
+        AnalysisJobService analysisJobService = new AnalysisJobService(null, properties, cancellationRegistry) {
+            @Override
+            public void enqueueReanalysis(Long applyId, Long postId, LocalDateTime notBefore) {
+                reanalyzed.add(applyId);
+            }
+        };
+
+        AnalysisStageService stageService = new AnalysisStageService(analysisStageResultRepository, hub, router, executor,
+                metrics, cancellationRegistry, new AnalysisShadowEvaluator(metrics, parser, cancellationRegistry), budget, storeExecutor);
+        ResumeSummaryService summaryService = new ResumeSummaryService(geminiClient, executor, router,
+                resumeRepository, promptBuilder, budget, storeExecutor);
+        analysisService = new AnalysisService(geminiClient, analysisRepository,
+                new AnalysisHistoryService(analysisRepository, applyRepository), postSkillRepository, resumeSkillRepository,
+                applyRepository, summaryService, parser, analysisProperties, stageService, analysisStageResultRepository,
+                hub, promptBuilder, metrics, analysisJobService, budget,
+                new LocalPreScorer(postSkillRepository, resumeSkillRepository, analysisProperties), storeExecutor);
+        invalidationService = new AnalysisInvalidationService(postRepository, resumeRepository, postSkillRepository,
+                resumeSkillRepository, applyRepository, analysisJobService, properties);
+    }
+
+    // 점수 분석 응답의 이유는 입력에 따라 달라짐 (추천 문구 단계의 입력)
+    private CompletableFuture<String> respond(String model, String prompt) {
+        calledModels.add(model);
+        String response = switch (model) {
+            case "primary", "secondary" -> "내용 적합도 점수: 80\n성격 점수: 70\n스킬 점수: 60\n이유: 입력 "
+                    + Integer.toHexString(prompt.hashCode());
+            case "summary" -> "자기소개서 요약";
+            default -> "추천 문구";
+        };
+        return CompletableFuture.completedFuture(response);
+    }
+
+    private Apply apply() {
+        User user = entityManager.persist(TestFixtures.user().build());
+        Resume resume = entityManager.persist(TestFixtures.resume(user).content("백엔드 개발 3년").build());
+        Post post = entityManager.persist(TestFixtures.post(user)
+                .content("Spring 백엔드 개발자 모집")
+                .requirementPersonality("꼼꼼함")
+                .build());
+        return entityManager.persist(TestFixtures.apply(post, user, resume).build());
+    }
+
+    // 워커가 작업마다 새 트랜잭션에서 분석하는 것처럼 영속성 컨텍스트를 비운 뒤 분석
+    private List<String> analyze(Long applyId) {
+        entityManager.flush();
+        entityManager.clear();
+        calledModels.clear();
+        analysisService.analysisApply(applyId, false);
+        entityManager.flush();
+        entityManager.clear();
+        return calledModels.stream().sorted().toList();
+    }
+
+    @Test
+    void postEditReRunsMatchAndNarrativeButReusesResumeSummary() {
+        Apply apply = apply();
+        assertEquals(List.of("narrative", "primary", "secondary", "summary"), analyze(apply.getId()));
+
+        Post post = postRepository.findById(apply.getPost().getId()).orElseThrow();
+        post.setContent("Spring, Kafka 백엔드 개발자 모집");
+        entityManager.flush();
+        invalidationService.onPostContentChanged(new PostContentChangedEvent(post.getId()));
+
+        assertEquals(List.of(apply.getId()), reanalyzed);
+        assertEquals(List.of("narrative", "primary", "secondary"), analyze(apply.getId()));
+    }
+
+    @Test
+    void resumeEditReRunsEveryStage() {
+        Apply apply = apply();
+        analyze(apply.getId());
+
+        Resume resume = resumeRepository.findById(apply.getResume().getId()).orElseThrow();
+        resumeRepository.save(resume.toBuilder().content("백엔드 개발 3년, 대용량 트래픽 처리").build());
+        entityManager.flush();
+        invalidationService.onResumeContentChanged(new ResumeContentChangedEvent(resume.getId()));
+
+        assertEquals(List.of(apply.getId()), reanalyzed);
+        assertEquals(List.of("narrative", "primary", "secondary", "summary"), analyze(apply.getId()));
+    }
+
+    @Test
+    void editOutsideAnalysisInputsReRunsNothing() {
+        Apply apply = apply();
+        analyze(apply.getId());
+
+        // 제목, 마감일은 분석에 쓰지 않으므로 재분석하지 않음
+        Post post = postRepository.findById(apply.getPost().getId()).orElseThrow();
+        post.setTitle("새 제목");
+        post.setEndedAt(LocalDate.now().plusDays(14));
+        entityManager.flush();
+        invalidationService.onPostContentChanged(new PostContentChangedEvent(post.getId()));
+
+        assertTrue(reanalyzed.isEmpty());
+        // 수동으로 다시 분석해도 모든 단계가 체크포인트와 저장된 요약을 재사용
+        assertEquals(List.of(), analyze(apply.getId()));
+    }
+
+    @Test
+    void spreadsReanalysisAfterDelay() {
+        properties.setReanalysisDelay(Duration.ofMinutes(2));
+        properties.setReanalysisPerMinute(30);
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+        assertEquals(now.plusMinutes(2), invalidationService.reserveSlot(now));
+        assertEquals(now.plusMinutes(2).plusSeconds(2), invalidationService.reserveSlot(now));
+
+        // 다음 수정도 앞선 예약 뒤로 이어서 예약
+        assertEquals(now.plusMinutes(2).plusSeconds(4), invalidationService.reserveSlot(now.plusSeconds(1)));
+        // 예약이 비어 있으면 다시 수정 시각 + 지연
+        assertEquals(now.plusMinutes(12), invalidationService.reserveSlot(now.plusMinutes(10)));
+    }
+
+    @Test
+    void fingerprintIgnoresFieldsNotUsedInAnalysis() {
+        Post post = Post.builder().title("제목").content("내용").requirementPersonality("꼼꼼함").build();
+        Post retitled = Post.builder().title("새 제목").content("내용").requirementPersonality("꼼꼼함").build();
+        Post personality = Post.builder().title("제목").content("내용").requirementPersonality("적극적").build();
+
+        String fingerprint = AnalysisInputs.postFingerprint(post, List.of("Java", "Spring"));
+        assertEquals(fingerprint, AnalysisInputs.postFingerprint(retitled, List.of("Spring", "Java", "Java")));
+        assertNotEquals(fingerprint, AnalysisInputs.postFingerprint(personality, List.of("Java", "Spring")));
+
+        Resume resume = Resume.builder().content("이력").personality("차분함").build();
+        assertNotEquals(AnalysisInputs.resumeFingerprint(resume, List.of("Java")),
+                AnalysisInputs.resumeFingerprint(resume, List.of("Kotlin")));
+    }
+
+    @Test
+    void runningJobIsRerunAfterCompletion() {
+        AnalysisJob job = AnalysisJob.builder().applyId(1L).status(AnalysisJobStatus.RUNNING)
+                .nextAttemptAt(LocalDateTime.now()).build();
+        LocalDateTime rerunAt = LocalDateTime.now().plusMinutes(2);
+
+        job.requestRerun(rerunAt);
+        job.complete();
+
+        assertEquals(AnalysisJobStatus.PENDING, job.getStatus());
+        assertEquals(rerunAt, job.getNextAttemptAt());
+        assertNull(job.getRerunAt());
+
+        job.complete();
+        assertEquals(AnalysisJobStatus.DONE, job.getStatus());
+    }
+}
@@ -0,0 +1,51 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.dto.ClaimablePost;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnalysisJobPriorityTest {
+    private final AnalysisJobProperties properties = new AnalysisJobProperties();
+    private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private ClaimablePost post(long postId, int endsInDays, LocalDateTime activeUntil, long jobs) {
+        return new ClaimablePost(postId, now.toLocalDate().plusDays(endsInDays), activeUntil, now.minusMinutes(1), jobs);
+    }
+
+    @Test
+    void closingSoonAndWatchedPostsComeFirst() {
+        Map<Long, Integer> allocation = AnalysisJobPriority.allocate(List.of(
+                post(1, 30, null, 1),
+                post(2, 0, null, 1),
+                post(3, 30, now.plusMinutes(5), 1)), 2, now, properties);
+
+        assertEquals(List.of(3L, 2L), new ArrayList<>(allocation.keySet()));
+    }
+
+    @Test
+    void busyPostDoesNotTakeAllSlots() {
+        Map<Long, Integer> allocation = AnalysisJobPriority.allocate(List.of(
+                post(1, 0, null, 1000),
+                post(2, 30, null, 2)), 4, now, properties);
+
+        assertEquals(Map.of(1L, 2, 2L, 2), allocation);
+    }
+
+    @Test
+    void longWaitingJobsOvertakeDeadlinesAndOldDeadlinesAreIgnored() {
+        ClaimablePost waiting = new ClaimablePost(1L, now.toLocalDate().plusDays(30), null, now.minusHours(1), 1);
+        ClaimablePost closingTomorrow = post(2, 1, null, 1);
+        ClaimablePost closedLongAgo = post(3, -10, null, 1);
+
+        Map<Long, Integer> allocation = AnalysisJobPriority.allocate(
+                List.of(closedLongAgo, closingTomorrow, waiting), 3, now, properties);
+
+        assertEquals(List.of(1L, 2L, 3L), new ArrayList<>(allocation.keySet()));
+    }
+}
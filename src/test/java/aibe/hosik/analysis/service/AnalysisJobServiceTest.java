@@ -0,0 +1,239 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.entity.AnalysisJob;
+import aibe.hosik.analysis.entity.AnalysisJobStatus;
+import aibe.hosik.analysis.repository.AnalysisJobRepository;
+import aibe.hosik.post.entity.Post;
+import aibe.hosik.support.TestFixtures;
+import aibe.hosik.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AnalysisJobServiceTest {
+    @Autowired
+    private AnalysisJobRepository analysisJobRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final AnalysisJobProperties properties = new AnalysisJobProperties();
+    private AnalysisJobService analysisJobService;
+
+    @BeforeEach
+    void setUp() {
+        analysisJobService = new AnalysisJobService(analysisJobRepository, properties, new AnalysisCancellationRegistry());
+    }
+
+    private AnalysisJob save(long applyId, AnalysisJobStatus status, String owner, LocalDateTime leaseExpiresAt, int attempts) {
+        return analysisJobRepository.saveAndFlush(AnalysisJob.builder()
+                .applyId(applyId)
+                .postId(1L)
+                .status(status)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now().minusSeconds(1))
+                .leaseOwner(owner)
+                .leaseExpiresAt(leaseExpiresAt)
+                .build());
+    }
+
+    @Test
+    void claimTakesOnlyFreeSlots() {
+        for (long applyId = 1; applyId <= 5; applyId++) {
+            save(applyId, AnalysisJobStatus.PENDING, null, null, 0);
+        }
+
+        List<AnalysisJob> claimed = analysisJobService.claim("worker-a", 2);
+
+        // 남은 작업은 DB 큐에서 기다린다. (backpressure)
+        assertEquals(2, claimed.size());
+        assertTrue(claimed.stream().allMatch(job -> job.getStatus() == AnalysisJobStatus.RUNNING
+                && "worker-a".equals(job.getLeaseOwner()) && job.getAttempts() == 1));
+        assertEquals(3, analysisJobService.countPending());
+        assertEquals(3, analysisJobService.claim("worker-b", 10).size());
+        assertTrue(analysisJobService.claim("worker-c", 10).isEmpty());
+    }
+
+    @Test
+    void liveLeaseIsNotReclaimed() {
+        save(1, AnalysisJobStatus.RUNNING, "worker-a", LocalDateTime.now().plusMinutes(1), 1);
+
+        assertTrue(analysisJobService.claim("worker-b", 10).isEmpty());
+    }
+
+    @Test
+    void expiredLeaseIsReclaimedWithoutCountingAttempt() {
+        AnalysisJob job = save(1, AnalysisJobStatus.RUNNING, "worker-a", LocalDateTime.now().minusSeconds(1), 1);
+
+        List<AnalysisJob> claimed = analysisJobService.claim("worker-b", 10);
+
+        assertEquals(1, claimed.size());
+        AnalysisJob reclaimed = claimed.get(0);
+        assertEquals(job.getId(), reclaimed.getId());
+        assertEquals("worker-b", reclaimed.getLeaseOwner());
+        // 워커 종료로 만료된 lease 는 작업의 실패가 아니므로 시도 횟수를 올리지 않음
+        assertEquals(1, reclaimed.getAttempts());
+    }
+
+    @Test
+    void heartbeatKeepsRunningJobFromBeingReclaimed() {
+        AnalysisJob job = save(1, AnalysisJobStatus.RUNNING, "worker-a", LocalDateTime.now().minusSeconds(1), 1);
+        AnalysisJob other = save(2, AnalysisJobStatus.RUNNING, "worker-b", LocalDateTime.now().minusSeconds(1), 1);
+
+        // 다른 워커의 작업은 연장하지 않음
+        assertEquals(1, analysisJobService.renewLeases("worker-a", List.of(job.getId(), other.getId())));
+
+        List<AnalysisJob> claimed = analysisJobService.claim("worker-c", 10);
+        assertEquals(List.of(other.getId()), claimed.stream().map(AnalysisJob::getId).toList());
+        AnalysisJob renewed = analysisJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals("worker-a", renewed.getLeaseOwner());
+        assertTrue(renewed.getLeaseExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void finishedJobIsNotRenewed() {
+        AnalysisJob job = save(1, AnalysisJobStatus.RUNNING, "worker-a", LocalDateTime.now().plusMinutes(1), 1);
+        analysisJobService.complete(job.getId());
+        analysisJobRepository.flush();
+
+        assertEquals(0, analysisJobService.renewLeases("worker-a", List.of(job.getId())));
+    }
+
+    @Test
+    void failedJobIsRetriedWithJitteredBackoff() {
+        properties.setRetryBaseDelay(Duration.ofMinutes(1));
+        AnalysisJob job = save(1, AnalysisJobStatus.RUNNING, "worker-a", LocalDateTime.now().plusMinutes(1), 3);
+
+        LocalDateTime before = LocalDateTime.now();
+        analysisJobService.fail(job.getId(), "timeout");
+        analysisJobRepository.flush();
+
+        // 세 번째 실패: base * 2^2 = 4분, 지터로 [2분, 4분]
+        AnalysisJob retried = analysisJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(AnalysisJobStatus.PENDING, retried.getStatus());
+        assertEquals("timeout", retried.getLastError());
+        assertNull(retried.getLeaseOwner());
+        assertFalse(retried.getNextAttemptAt().isBefore(before.plusMinutes(2)));
+        assertFalse(retried.getNextAttemptAt().isAfter(LocalDateTime.now().plusMinutes(4)));
+        assertTrue(analysisJobService.claim("worker-b", 10).isEmpty());
+    }
+
+    @Test
+    void jobIsQuarantinedAfterMaxAttempts() {
+        AnalysisJob job = save(1, AnalysisJobStatus.RUNNING, "worker-a", LocalDateTime.now().plusMinutes(1),
+                properties.getMaxAttempts());
+
+        analysisJobService.fail(job.getId(), "invalid response");
+        analysisJobRepository.flush();
+
+        AnalysisJob quarantined = analysisJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(AnalysisJobStatus.QUARANTINED, quarantined.getStatus());
+        assertEquals("invalid response", quarantined.getLastError());
+        assertEquals(0, analysisJobService.countPending());
+    }
+
+    @Test
+    void cancelledJobIsNotRetried() {
+        AnalysisJob job = save(1, AnalysisJobStatus.CANCELLED, null, null, 1);
+
+        analysisJobService.fail(job.getId(), "timeout");
+        analysisJobRepository.flush();
+
+        assertEquals(AnalysisJobStatus.CANCELLED, analysisJobRepository.findById(job.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void claimForPostTakesOnlyJobsNotYetAttempted() {
+        AnalysisJob fresh = save(1, AnalysisJobStatus.PENDING, null, null, 0);
+        save(2, AnalysisJobStatus.PENDING, null, null, 1);
+        save(3, AnalysisJobStatus.RUNNING, "worker-a", LocalDateTime.now().minusSeconds(1), 1);
+
+        // 재시도 중인 작업, lease 가 만료된 작업은 일괄 분석에 묶지 않음
+        List<AnalysisJob> claimed = analysisJobService.claimForPost("worker-b", 1L, 10);
+
+        assertEquals(List.of(fresh.getId()), claimed.stream().map(AnalysisJob::getId).toList());
+    }
+
+    @Test
+    void releasedJobReturnsToQueue() {
+        save(1, AnalysisJobStatus.PENDING, null, null, 0);
+        save(2, AnalysisJobStatus.PENDING, null, null, 0);
+        List<AnalysisJob> claimed = analysisJobService.claim("worker-a", 2);
+
+        // 추가로 가져왔지만 실행하지 않은 작업은 시도 횟수를 되돌리고, 일괄 응답에서 빠진 작업은 시도로 센다.
+        analysisJobService.release(claimed.get(0).getId(), false);
+        analysisJobService.release(claimed.get(1).getId(), true);
+        analysisJobRepository.flush();
+
+        List<AnalysisJob> reclaimed = analysisJobService.claim("worker-b", 10);
+        assertEquals(2, reclaimed.size());
+        assertEquals(1, analysisJobRepository.findById(claimed.get(0).getId()).orElseThrow().getAttempts());
+        assertEquals(2, analysisJobRepository.findById(claimed.get(1).getId()).orElseThrow().getAttempts());
+    }
+
+    @Test
+    void retryRequeuesQuarantinedJobAsAuthorPriority() {
+        AnalysisJob job = save(1, AnalysisJobStatus.QUARANTINED, null, null, properties.getMaxAttempts());
+
+        analysisJobService.enqueueRetry(1L, 1L);
+
+        AnalysisJob retried = analysisJobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(AnalysisJobStatus.PENDING, retried.getStatus());
+        assertEquals(0, retried.getAttempts());
+        assertTrue(retried.getAuthorActiveUntil().isAfter(LocalDateTime.now()));
+        assertEquals(1, analysisJobService.claim("worker-a", 10).size());
+    }
+
+    @Test
+    void retryOfRunningJobRerunsAfterCompletion() {
+        AnalysisJob job = save(1, AnalysisJobStatus.RUNNING, "worker-a", LocalDateTime.now().plusMinutes(1), 1);
+
+        analysisJobService.enqueueRetry(1L, 1L);
+        analysisJobService.complete(job.getId());
+
+        assertEquals(AnalysisJobStatus.PENDING, analysisJobRepository.findById(job.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void urgentPostsAreCandidatesEvenWhenCandidateListIsCapped() {
+        properties.setCandidatePostLimit(1);
+        User author = entityManager.persist(TestFixtures.user().build());
+        Post later = entityManager.persist(TestFixtures.post(author).endedAt(LocalDate.now().plusDays(30)).build());
+        Post closing = entityManager.persist(TestFixtures.post(author).endedAt(LocalDate.now()).build());
+        Post watched = entityManager.persist(TestFixtures.post(author).endedAt(LocalDate.now().plusDays(30)).build());
+        LocalDateTime now = LocalDateTime.now();
+        // 마감이 먼 모집글이 가장 오래 기다렸지만 maxWait 은 넘지 않음
+        pending(1, later, now.minusMinutes(10), null);
+        pending(2, closing, now.minusSeconds(1), null);
+        pending(3, watched, now.minusSeconds(1), now.plusMinutes(5));
+
+        assertEquals(watched.getId(), analysisJobService.claim("worker-a", 1).get(0).getPostId());
+        assertEquals(closing.getId(), analysisJobService.claim("worker-a", 1).get(0).getPostId());
+        assertEquals(later.getId(), analysisJobService.claim("worker-a", 1).get(0).getPostId());
+    }
+
+    private void pending(long applyId, Post post, LocalDateTime readySince, LocalDateTime authorActiveUntil) {
+        analysisJobRepository.saveAndFlush(AnalysisJob.builder()
+                .applyId(applyId)
+                .postId(post.getId())
+                .nextAttemptAt(readySince)
+                .authorActiveUntil(authorActiveUntil)
+                .build());
+    }
+}
@@ -0,0 +1,155 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.entity.Analysis;
+import aibe.hosik.analysis.entity.AnalysisJob;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 워커가 가져온 작업을 일괄 분석, 단건 분석으로 나누고 결과에 따라 완료하거나 큐로 되돌리는지 검증
+ */
+class AnalysisJobWorkerTest {
+    private static final Long POST_ID = 10L;
+
+    private final AnalysisJobProperties properties = new AnalysisJobProperties();
+    // claim 이 돌려줄 작업, claimForPost 가 돌려줄 같은 모집글의 추가 작업
+    private final List<AnalysisJob> claimable = new ArrayList<>();
+    private final List<AnalysisJob> extras = new ArrayList<>();
+    private final List<Long> completed = new CopyOnWriteArrayList<>();
+    // 되돌린 작업 ID -> 시도 횟수에 포함했는지
+    private final Map<Long, Boolean> released = new ConcurrentHashMap<>();
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+    private final List<Long> singles = new CopyOnWriteArrayList<>();
+    // 일괄 분석 결과 (null 이면 실패)
+    private Set<Long> batchAnalyzed = Set.of();
+
+    private final AnalysisJobWorker worker;
+
+    AnalysisJobWorkerTest() {
+        properties.setWorkerCount(4);
+        properties.setBatchMinSize(3);
+        properties.setBatchMaxSize(5);
+        AnalysisJobService jobService = new AnalysisJobService(null, properties, new AnalysisCancellationRegistry()) {
+            @Override
+            public List<AnalysisJob> claim(String owner, int limit) {
+                return List.copyOf(claimable);
+            }
+
+            @Override
+            public List<AnalysisJob> claimForPost(String owner, Long postId, int limit) {
+                return List.copyOf(extras);
+            }
+
+            @Override
+            public long countPending() {
+                return 0;
+            }
+
+            @Override
+            public void complete(Long jobId) {
+                completed.add(jobId);
+            }
+
+            @Override
+            public void release(Long jobId, boolean attempted) {
+                released.put(jobId, attempted);
+            }
+        };
+        AnalysisService analysisService = new AnalysisService(null, null, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null) {
+            @Override
+            public Analysis analysisApply(Long applyId, boolean priority) {
+                singles.add(applyId);
+                return null;
+            }
+        };
+        AnalysisBatchService batchService = new AnalysisBatchService(null, null, null, null, null, null, null, null,
+                null, null, null, null) {
+            @Override
+            public Set<Long> analyzeBatch(Long postId, List<Long> applyIds) {
+                batches.add(applyIds);
+                if (batchAnalyzed == null) {
+                    throw new IllegalStateException("일괄 분석 실패");
+                }
+                return batchAnalyzed;
+            }
+        };
+        worker = new AnalysisJobWorker(jobService, analysisService, batchService, properties);
+    }
+
+    // 작업 ID 와 지원서 ID 를 같게 둠
+    private AnalysisJob job(long id) {
+        return AnalysisJob.builder().id(id).applyId(id).postId(POST_ID).attempts(1)
+                .nextAttemptAt(LocalDateTime.now()).build();
+    }
+
+    // 워커 스레드에서 실행된 작업이 끝날 때까지 기다림
+    private void poll() throws InterruptedException {
+        worker.start();
+        worker.poll();
+        worker.stop();
+    }
+
+    @Test
+    void batchCompletesScoredJobsAndReleasesStragglers() throws InterruptedException {
+        claimable.addAll(List.of(job(1), job(2)));
+        extras.add(job(3));
+        batchAnalyzed = Set.of(1L, 3L);
+
+        poll();
+
+        assertEquals(List.of(List.of(1L, 2L, 3L)), batches);
+        assertEquals(Set.of(1L, 3L), Set.copyOf(completed));
+        // 일괄 응답에서 빠진 지원서는 시도 횟수에 포함해 되돌리므로 다음에는 단건으로 분석됨
+        assertEquals(Map.of(2L, true), released);
+        assertTrue(singles.isEmpty());
+    }
+
+    @Test
+    void failedBatchReleasesEveryJobForSingleAnalysis() throws InterruptedException {
+        claimable.addAll(List.of(job(1), job(2), job(3)));
+        batchAnalyzed = null;
+
+        poll();
+
+        assertTrue(completed.isEmpty());
+        assertEquals(Map.of(1L, true, 2L, true, 3L, true), released);
+    }
+
+    @Test
+    void smallBatchRunsClaimedJobsSingleAndReturnsExtras() throws InterruptedException {
+        claimable.add(job(1));
+        extras.add(job(2));
+
+        poll();
+
+        assertTrue(batches.isEmpty());
+        assertEquals(List.of(1L), singles);
+        assertEquals(List.of(1L), completed);
+        // 남은 슬롯보다 더 가져온 작업은 시도 횟수에 포함하지 않고 되돌림
+        assertEquals(Map.of(2L, false), released);
+    }
+
+    @Test
+    void retriedJobsAreAnalyzedSingle() throws InterruptedException {
+        AnalysisJob retried = AnalysisJob.builder().id(1L).applyId(1L).postId(POST_ID).attempts(2)
+                .nextAttemptAt(LocalDateTime.now()).build();
+        claimable.add(retried);
+
+        poll();
+
+        assertTrue(batches.isEmpty());
+        assertEquals(List.of(1L), singles);
+        assertEquals(List.of(1L), completed);
+    }
+}
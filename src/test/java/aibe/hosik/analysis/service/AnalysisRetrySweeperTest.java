@@ -0,0 +1,102 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.client.GeminiProperties;
+import aibe.hosik.analysis.entity.AnalysisJob;
+import aibe.hosik.analysis.entity.AnalysisJobStatus;
+import aibe.hosik.analysis.repository.AnalysisJobRepository;
+import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.apply.repository.ApplyRepository;
+import aibe.hosik.post.entity.Post;
+import aibe.hosik.resume.entity.Resume;
+import aibe.hosik.support.TestFixtures;
+import aibe.hosik.user.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AnalysisRetrySweeperTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private AnalysisJobRepository analysisJobRepository;
+    @Autowired
+    private ApplyRepository applyRepository;
+
+    private final AnalysisJobProperties properties = new AnalysisJobProperties();
+
+    private AnalysisRetrySweeper sweeper(AnalysisJobService analysisJobService) {
+        properties.setRetryPageSize(2);
+        AnalysisBudget budget = new AnalysisBudget(new GeminiProperties(), null, new SimpleMeterRegistry());
+        return new AnalysisRetrySweeper(analysisJobService, properties, applyRepository, budget);
+    }
+
+    private Post post(User user, boolean done) {
+        return entityManager.persist(TestFixtures.post(user).isDone(done).build());
+    }
+
+    private Apply apply(Post post, User user, Resume resume) {
+        return entityManager.persist(TestFixtures.apply(post, user, resume).build());
+    }
+
+    @Test
+    void sweepEnqueuesOnlyAppliesWithoutAnalysisOrJob() {
+        User user = entityManager.persist(TestFixtures.user().build());
+        Resume resume = entityManager.persist(TestFixtures.resume(user).build());
+        Post open = post(user, false);
+        Apply missing = apply(open, user, resume);
+        Apply queued = apply(open, user, resume);
+        Apply other = apply(open, user, resume);
+        apply(post(user, true), user, resume);
+        analysisJobRepository.save(AnalysisJob.of(queued.getId(), open.getId()));
+        entityManager.flush();
+
+        AnalysisJobService analysisJobService = new AnalysisJobService(analysisJobRepository, properties,
+                new AnalysisCancellationRegistry());
+
+        // 페이지 크기(2)보다 많은 지원서도 모두 확인
+        assertEquals(2, sweeper(analysisJobService).sweep());
+        assertEquals(Set.of(queued.getId(), missing.getId(), other.getId()), analysisJobRepository.findAll().stream()
+                .map(AnalysisJob::getApplyId).collect(Collectors.toSet()));
+        assertEquals(0, sweeper(analysisJobService).sweep());
+    }
+
+    @Test
+    void duplicateJobDoesNotStopSweep() {
+        User user = entityManager.persist(TestFixtures.user().build());
+        Resume resume = entityManager.persist(TestFixtures.resume(user).build());
+        Post open = post(user, false);
+        Apply conflicting = apply(open, user, resume);
+        Apply missing = apply(open, user, resume);
+        entityManager.flush();
+
+        // 다른 인스턴스가 같은 지원서의 작업을 먼저 만든 경우
+        AnalysisJobService analysisJobService = new AnalysisJobService(analysisJobRepository, properties,
+                new AnalysisCancellationRegistry()) {
+            @Override
+            public void enqueue(Long applyId, Long postId) {
+                if (applyId.equals(conflicting.getId())) {
+                    throw new DataIntegrityViolationException("uk_analysis_job_apply_id");
+                }
+                super.enqueue(applyId, postId);
+            }
+        };
+
+        assertEquals(1, sweeper(analysisJobService).sweep());
+        assertTrue(analysisJobRepository.findByApplyId(missing.getId())
+                .filter(job -> job.getStatus() == AnalysisJobStatus.PENDING).isPresent());
+    }
+}
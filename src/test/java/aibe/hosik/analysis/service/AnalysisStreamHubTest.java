@@ -0,0 +1,130 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.dto.AnalysisStreamEvent;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import aibe.hosik.analysis.entity.StageStatus;
+import aibe.hosik.handler.exception.CustomException;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+class AnalysisStreamHubTest {
+    private final AnalysisStreamProperties properties = new AnalysisStreamProperties();
+    private AnalysisStreamHub hub;
+    private MockMvc mockMvc;
+
+    // 실제 SSE 응답으로 전송 내용을 확인하기 위한 테스트용 엔드포인트
+    @RestController
+    class StreamController {
+        @GetMapping("/stream/{applyId}")
+        SseEmitter stream(@PathVariable Long applyId) {
+            return hub.subscribe(applyId, List.of(AnalysisStreamEvent.stage(AnalysisStage.MATCH_PRIMARY, StageStatus.SUCCESS, 10, false)));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxSubscribersPerApply(2);
+        hub = new AnalysisStreamHub(properties);
+        hub.start();
+        mockMvc = MockMvcBuilders.standaloneSetup(new StreamController()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+    }
+
+    private MvcResult subscribe(long applyId) throws Exception {
+        return mockMvc.perform(get("/stream/" + applyId)).andReturn();
+    }
+
+    private static String content(MvcResult result) {
+        return new String(result.getResponse().getContentAsByteArray(), StandardCharsets.UTF_8);
+    }
+
+    // 전송은 별도 스레드에서 이루어지므로 조건이 만족될 때까지 기다림
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 200 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    @Test
+    void subscriberReceivesSnapshotThenPublishedEvents() throws Exception {
+        MvcResult first = subscribe(1);
+        MvcResult second = subscribe(1);
+        MvcResult other = subscribe(2);
+
+        hub.publish(1L, AnalysisStreamEvent.chunk(AnalysisStage.NARRATIVE, "추천"));
+
+        for (MvcResult result : List.of(first, second)) {
+            await(() -> content(result).contains("event:chunk"));
+            String content = content(result);
+            assertTrue(content.indexOf("event:stage") < content.indexOf("event:chunk"));
+            assertTrue(content.contains("추천"));
+        }
+        assertFalse(content(other).contains("event:chunk"));
+        assertEquals(3, hub.subscriberCount());
+    }
+
+    @Test
+    void terminalEventCompletesStreamAndRemovesSubscriber() throws Exception {
+        MvcResult result = subscribe(1);
+
+        hub.publish(1L, new AnalysisStreamEvent("complete", "done", true));
+
+        await(() -> hub.subscriberCount() == 0);
+        // 응답 종료 (비동기 처리 완료)
+        result.getAsyncResult(1000);
+        assertTrue(content(result).contains("event:complete"));
+        assertFalse(hub.hasSubscribers(1L));
+
+        // 종료 후 발행은 무시됨
+        hub.publish(1L, AnalysisStreamEvent.chunk(AnalysisStage.NARRATIVE, "늦은 응답"));
+        assertFalse(content(result).contains("늦은 응답"));
+    }
+
+    @Test
+    void timedOutEmitterIsRemoved() throws Exception {
+        MvcResult result = subscribe(1);
+        MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+
+        assertEquals(0, hub.subscriberCount());
+        assertFalse(hub.hasSubscribers(1L));
+    }
+
+    @Test
+    void subscribersPerApplyAreLimited() throws Exception {
+        subscribe(1);
+        subscribe(1);
+
+        assertThrows(CustomException.class, () -> hub.subscribe(1L, List.of()));
+        assertEquals(2, hub.subscriberCount());
+    }
+}
@@ -0,0 +1,43 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.dto.MatchScore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalPreScorerTest {
+
+    @Test
+    void skillOverlapIsShareOfRequiredSkills() {
+        assertEquals(50, LocalPreScorer.skillOverlap(List.of(1L, 2L, 3L, 4L), List.of(2L, 4L, 9L)));
+        assertEquals(100, LocalPreScorer.skillOverlap(List.of(7L), List.of(7L)));
+        assertEquals(0, LocalPreScorer.skillOverlap(List.of(7L), List.of()));
+    }
+
+    @Test
+    void coverageIgnoresWhitespaceAndCase() {
+        assertEquals(100, LocalPreScorer.coverage("Spring Boot", "spring-boot 백엔드 개발"));
+        assertEquals(0, LocalPreScorer.coverage("꼼꼼함", "활발한 성격"));
+    }
+
+    @Test
+    void missingPostInformationIsNeutral() {
+        MatchScore score = LocalPreScorer.subScores(List.of(), List.of(1L), null, "이력서", "", "성격");
+
+        assertEquals(50, score.contentScore());
+        assertEquals(50, score.personalityScore());
+        assertEquals(50, score.skillScore());
+    }
+
+    @Test
+    void isDeterministic() {
+        MatchScore first = LocalPreScorer.subScores(List.of(1L, 2L), List.of(2L), "백엔드 개발자 모집", "백엔드 개발 경험", "책임감", "책임감 있는 성격");
+        MatchScore second = LocalPreScorer.subScores(List.of(1L, 2L), List.of(2L), "백엔드 개발자 모집", "백엔드 개발 경험", "책임감", "책임감 있는 성격");
+
+        assertEquals(first, second);
+        assertTrue(first.contentScore() > 0);
+    }
+}
@@ -0,0 +1,69 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.dto.MatchScore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MatchScoreParserTest {
+    private final MatchScoreParser parser = new MatchScoreParser(new ObjectMapper());
+
+    @Test
+    void parsesJsonWrappedInCodeBlock() {
+        String response = """
+                ```json
+                {"contentScore": 80, "personalityScore": 70, "skillScore": 120, "reason": "좋아요"}
+                ```
+                """;
+
+        MatchScore score = parser.parse(response).orElseThrow();
+
+        assertEquals(80, score.contentScore());
+        assertEquals(70, score.personalityScore());
+        assertEquals(100, score.skillScore());
+        assertEquals("좋아요", score.reason());
+    }
+
+    @Test
+    void fallsBackToLegacyTextFormat() {
+        String response = """
+                - 내용 적합도 점수 : 85
+                - 성격 점수 : 60
+                - 스킬 점수 : 90
+                - 이유 : 경험이 많습니다.
+                """;
+
+        MatchScore score = parser.parse(response).orElseThrow();
+
+        assertEquals(85, score.contentScore());
+        assertEquals(60, score.personalityScore());
+        assertEquals(90, score.skillScore());
+        assertEquals("경험이 많습니다.", score.reason());
+    }
+
+    @Test
+    void returnsEmptyForErrorMessage() {
+        Optional<MatchScore> score = parser.parse("분석 과정에서 오류가 발생했습니다.");
+
+        assertTrue(score.isEmpty());
+    }
+
+    @Test
+    void parsesBatchAndSkipsMalformedEntries() {
+        String response = """
+                [{"applyId": 1, "contentScore": 80, "personalityScore": 70, "skillScore": 60, "reason": "a"},
+                 {"applyId": 2, "contentScore": "높음", "personalityScore": 70, "skillScore": 60},
+                 {"contentScore": 50, "personalityScore": 50, "skillScore": 50}]
+                """;
+
+        Map<Long, MatchScore> scores = parser.parseBatch(response);
+
+        assertEquals(1, scores.size());
+        assertEquals(80, scores.get(1L).contentScore());
+    }
+}
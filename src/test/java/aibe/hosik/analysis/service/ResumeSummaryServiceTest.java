@@ -0,0 +1,134 @@
+package aibe.hosik.analysis.service;
+
+import aibe.hosik.analysis.client.GeminiClient;
+import aibe.hosik.analysis.client.GeminiException;
+import aibe.hosik.analysis.client.GeminiFailoverExecutor;
+import aibe.hosik.analysis.client.GeminiMetrics;
+import aibe.hosik.analysis.client.GeminiModelRouter;
+import aibe.hosik.analysis.client.GeminiProperties;
+import aibe.hosik.analysis.client.GeminiStoreExecutor;
+import aibe.hosik.analysis.entity.AnalysisStage;
+import aibe.hosik.analysis.prompt.PromptBuilder;
+import aibe.hosik.resume.entity.Resume;
+import aibe.hosik.resume.repository.ResumeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResumeSummaryServiceTest {
+    private final GeminiProperties properties = new GeminiProperties();
+    // 모델별 응답 (없으면 호출 실패)
+    private final Map<String, String> responses = new ConcurrentHashMap<>();
+    private final List<String> calledModels = new CopyOnWriteArrayList<>();
+    // 저장된 요약 (resumeId -> summary)
+    private final Map<Long, String> savedSummaries = new ConcurrentHashMap<>();
+    private boolean budgetAllows = true;
+
+    private final ResumeSummaryService service;
+
+    ResumeSummaryServiceTest() {
+        properties.setModelKeys(Map.of("primary", List.of("key"), "fallback", List.of("key")));
+        for (AnalysisStage stage : AnalysisStage.values()) {
+            GeminiProperties.Stage config = new GeminiProperties.Stage();
+            config.setModels(List.of("primary", "fallback"));
+            properties.getStages().put(stage, config);
+        }
+        GeminiFailoverExecutor executor = new GeminiFailoverExecutor(properties,
+                new GeminiMetrics(new SimpleMeterRegistry(), properties));
+
+        GeminiClient geminiClient = new GeminiClient(null, properties, null, null, null, null, null, null, null) {
+            @Override
+            public CompletableFuture<String> generateContentAsync(String prompt, String model, Predicate<String> validator) {
+                calledModels.add(model);
+                String response = responses.get(model);
+                return response == null
+                        ? CompletableFuture.failedFuture(new GeminiException(model, 503, "unavailable"))
+                        : CompletableFuture.completedFuture(response);
+            }
+
+            @Override
+            public long summaryInputTokenBudget() {
+                return 8000;
+            }
+        };
+        ResumeRepository resumeRepository = (ResumeRepository) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{ResumeRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("updateSummary")) {
+                        savedSummaries.put((Long) args[0], (String) args[1]);
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        AnalysisBudget budget = new AnalysisBudget(properties, null, new SimpleMeterRegistry()) {
+            @Override
+            public boolean allows(AnalysisStage stage, boolean priority) {
+                return budgetAllows;
+            }
+        };
+        GeminiStoreExecutor storeExecutor = new GeminiStoreExecutor(properties) {
+            @Override
+            public Executor executor() {
+                return Runnable::run;
+            }
+        };
+        service = new ResumeSummaryService(geminiClient, executor, new GeminiModelRouter(properties, executor),
+                resumeRepository, new PromptBuilder(), budget, storeExecutor);
+    }
+
+    private Resume resume() {
+        return Resume.builder().id(1L).title("이력서").content("백엔드 개발 경험").build();
+    }
+
+    @Test
+    void fallsBackToNextModelAndStoresSummary() {
+        responses.put("fallback", "요약");
+
+        assertEquals(Optional.of("요약"), service.getOrCreateSummary(resume()).join());
+        assertEquals(List.of("primary", "fallback"), calledModels);
+        assertEquals(Map.of(1L, "요약"), savedSummaries);
+    }
+
+    @Test
+    void failureReturnsEmptyWithoutStoring() {
+        assertEquals(Optional.empty(), service.getOrCreateSummary(resume()).join());
+        assertTrue(savedSummaries.isEmpty());
+    }
+
+    @Test
+    void blankResponseIsNotUsedAsSummary() {
+        responses.put("primary", "  ");
+
+        assertEquals(Optional.empty(), service.getOrCreateSummary(resume()).join());
+        assertTrue(savedSummaries.isEmpty());
+    }
+
+    @Test
+    void exhaustedBudgetSkipsWithoutCalling() {
+        budgetAllows = false;
+        responses.put("primary", "요약");
+
+        assertEquals(Optional.empty(), service.getOrCreateSummary(resume(), false).join());
+        assertTrue(calledModels.isEmpty());
+    }
+
+    @Test
+    void freshSummaryIsReused() {
+        Resume resume = resume();
+        Resume summarized = resume.toBuilder().summary("저장된 요약").summaryFingerprint(resume.contentFingerprint()).build();
+
+        assertEquals(Optional.of("저장된 요약"), service.getOrCreateSummary(summarized).join());
+        assertTrue(calledModels.isEmpty());
+    }
+}
@@ -0,0 +1,115 @@
+package aibe.hosik.apply.repository;
+
+import aibe.hosik.apply.dto.ApplyListRow;
+import aibe.hosik.apply.dto.ApplySearchCondition;
+import aibe.hosik.apply.dto.ApplySortField;
+import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.post.entity.Post;
+import aibe.hosik.resume.entity.Resume;
+import aibe.hosik.support.TestFixtures;
+import aibe.hosik.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ApplyRepositoryTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ApplyRepository applyRepository;
+
+    private User user;
+    private Resume resume;
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persist(TestFixtures.user().build());
+        entityManager.persist(TestFixtures.profile(user).build());
+        resume = entityManager.persist(TestFixtures.resume(user).build());
+        post = entityManager.persist(TestFixtures.post(user).build());
+    }
+
+    // 점수 사본이 채워진 지원서 (분석 전이면 점수 null)
+    private Apply apply(Integer score, Integer contentScore, Integer preScore) {
+        return entityManager.persist(TestFixtures.apply(post, user, resume)
+                .preScore(preScore)
+                .score(score)
+                .contentScore(contentScore)
+                .build());
+    }
+
+    private Page<ApplyListRow> search(ApplySearchCondition condition) {
+        entityManager.flush();
+        entityManager.clear();
+        return applyRepository.searchByPostId(post.getId(), condition.minScore(), condition.minContentScore(),
+                condition.minPersonalityScore(), condition.minSkillScore(), condition.toPageable());
+    }
+
+    private static List<Long> ids(Page<ApplyListRow> page) {
+        return page.getContent().stream().map(ApplyListRow::applyId).toList();
+    }
+
+    @Test
+    void sortsByScoreWithIdTiebreakAndUnanalyzedLast() {
+        Apply low = apply(80, 70, 60);
+        Apply high = apply(90, 60, 50);
+        Apply tie = apply(80, 90, 70);
+        // 사전 점수가 높아도 분석 전이면 마지막
+        Apply unanalyzed = apply(null, null, 95);
+
+        assertEquals(List.of(high.getId(), tie.getId(), low.getId(), unanalyzed.getId()),
+                ids(search(new ApplySearchCondition(null, null, null, null, null, null, null, null))));
+        assertEquals(List.of(tie.getId(), low.getId(), high.getId(), unanalyzed.getId()),
+                ids(search(new ApplySearchCondition(ApplySortField.CONTENT_SCORE, Sort.Direction.DESC,
+                        null, null, null, null, null, null))));
+    }
+
+    @Test
+    void filtersByScoreConditionsAndPages() {
+        Apply first = apply(90, 80, null);
+        Apply second = apply(85, 75, null);
+        apply(70, 90, null);
+        apply(95, 60, null);
+        apply(null, null, 99);
+
+        Page<ApplyListRow> page = search(new ApplySearchCondition(null, null, 80, 70, null, null, 0, 1));
+
+        assertEquals(List.of(first.getId()), ids(page));
+        assertEquals(2, page.getTotalElements());
+        assertTrue(page.hasNext());
+
+        Page<ApplyListRow> next = search(new ApplySearchCondition(null, null, 80, 70, null, null, 1, 1));
+        assertEquals(List.of(second.getId()), ids(next));
+        assertFalse(next.hasNext());
+    }
+
+    @Test
+    void preScoreDoesNotFillSortScore() {
+        Apply apply = apply(null, null, null);
+
+        apply.updatePreScore(88);
+        entityManager.flush();
+        entityManager.clear();
+
+        Apply saved = applyRepository.findById(apply.getId()).orElseThrow();
+        assertEquals(88, saved.getPreScore());
+        assertNull(saved.getScore());
+    }
+}
@@ -0,0 +1,126 @@
+package aibe.hosik.apply.service;
+
+import aibe.hosik.analysis.service.AnalysisCancellationRegistry;
+import aibe.hosik.analysis.service.AnalysisJobProperties;
+import aibe.hosik.analysis.service.AnalysisJobService;
+import aibe.hosik.apply.dto.ApplyByResumeSkillResponse;
+import aibe.hosik.apply.dto.ApplyScrollResponse;
+import aibe.hosik.apply.repository.ApplyRepository;
+import aibe.hosik.post.entity.Post;
+import aibe.hosik.post.repository.PostRepository;
+import aibe.hosik.resume.entity.Resume;
+import aibe.hosik.skill.repository.ResumeSkillRepository;
+import aibe.hosik.support.TestFixtures;
+import aibe.hosik.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ApplyServiceTest {
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private ApplyRepository applyRepository;
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private ResumeSkillRepository resumeSkillRepository;
+
+    private ApplyService applyService;
+    private User author;
+    private Post post;
+    private final List<Long> scoreOrder = new ArrayList<>();
+    private final List<Long> applyOrder = new ArrayList<>(); // 지원 순서
+
+    @BeforeEach
+    void setUp() {
+        // 작성자 표시만 하는 작업 서비스 (목록 조회와 무관)
+        AnalysisJobService analysisJobService = new AnalysisJobService(null, new AnalysisJobProperties(),
+                new AnalysisCancellationRegistry()) {
+            @Override
+            public void markAuthorActive(Long postId) {
+            }
+        };
+        applyService = new ApplyService(applyRepository, postRepository, null, null, resumeSkillRepository,
+                null, analysisJobService, null, null, null);
+
+        author = entityManager.persist(TestFixtures.user().username("author").name("작성자").build());
+        post = entityManager.persist(TestFixtures.post(author).build());
+
+        // 동점(80)과 점수 없는 지원서가 섞이도록 지원 순서와 점수를 엇갈리게 둔다.
+        Long noScoreFirst = apply(null);
+        Long tieFirst = apply(80);
+        Long top = apply(90);
+        Long tieSecond = apply(80);
+        Long noScoreSecond = apply(null);
+        Long low = apply(70);
+        Long tieThird = apply(80);
+        entityManager.flush();
+        entityManager.clear();
+
+        scoreOrder.addAll(List.of(top, tieThird, tieSecond, tieFirst, low, noScoreSecond, noScoreFirst));
+    }
+
+    private Long apply(Integer score) {
+        User user = entityManager.persist(TestFixtures.user().username("user" + applyOrder.size()).build());
+        entityManager.persist(TestFixtures.profile(user).build());
+        Resume resume = entityManager.persist(TestFixtures.resume(user).build());
+        Long id = entityManager.persist(TestFixtures.apply(post, user, resume)
+                .score(score)
+                .build()).getId();
+        applyOrder.add(id);
+        return id;
+    }
+
+    private static List<Long> ids(List<ApplyByResumeSkillResponse> applies) {
+        return applies.stream().map(ApplyByResumeSkillResponse::applyId).toList();
+    }
+
+    @Test
+    void scrollVisitsEveryApplyOnceAcrossTiesAndNullScores() {
+        // 페이지 경계가 동점 구간, 점수 있는 구간과 없는 구간 사이, 점수 없는 구간 안에 모두 걸리도록 여러 크기로 확인
+        for (int size = 1; size <= scoreOrder.size() + 1; size++) {
+            List<Long> visited = new ArrayList<>();
+            String cursor = null;
+            ApplyScrollResponse page;
+            do {
+                page = applyService.scrollApplies(post.getId(), cursor, size, author);
+                visited.addAll(ids(page.applies()));
+                cursor = page.nextCursor();
+            } while (page.hasNext());
+
+            assertEquals(scoreOrder, visited, "size " + size);
+            assertNull(cursor);
+        }
+    }
+
+    @Test
+    void scrollContinuesFromNullScoreCursor() {
+        ApplyScrollResponse first = applyService.scrollApplies(post.getId(), null, 6, author);
+        assertEquals(scoreOrder.subList(0, 6), ids(first.applies()));
+
+        // 마지막 행이 점수 없는 지원서이므로 커서도 점수 없는 구간에서 이어진다.
+        ApplyScrollResponse last = applyService.scrollApplies(post.getId(), first.nextCursor(), 6, author);
+        assertEquals(scoreOrder.subList(6, 7), ids(last.applies()));
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void resumeSkillsListKeepsApplyOrder() {
+        assertEquals(applyOrder, ids(applyService.getApplyResumeWithSkillsByPostId(post.getId(), author)));
+    }
+}
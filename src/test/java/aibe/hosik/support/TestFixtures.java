@@ -0,0 +1,48 @@
+package aibe.hosik.support;
+
+import aibe.hosik.apply.entity.Apply;
+import aibe.hosik.post.entity.Post;
+import aibe.hosik.post.entity.PostCategory;
+import aibe.hosik.post.entity.PostType;
+import aibe.hosik.profile.entity.Profile;
+import aibe.hosik.resume.entity.Resume;
+import aibe.hosik.user.entity.User;
+
+import java.time.LocalDate;
+
+/**
+ * 저장소, 서비스 테스트에서 함께 쓰는 엔티티 기본값
+ * 필수 값만 채운 빌더를 돌려주므로, 테스트는 검증하는 필드만 덮어쓴 뒤 build() 해서 저장한다.
+ */
+public final class TestFixtures {
+    private TestFixtures() {
+    }
+
+    public static User.UserBuilder user() {
+        return User.builder().username("user").name("지원자");
+    }
+
+    // 지원자 목록 조회는 프로필을 inner join 하므로 목록을 검증하는 테스트는 프로필도 저장해야 함
+    public static Profile.ProfileBuilder profile(User user) {
+        return Profile.builder().nickname("닉네임").user(user);
+    }
+
+    public static Resume.ResumeBuilder resume(User user) {
+        return Resume.builder().title("이력서").content("경력").user(user);
+    }
+
+    // 모집 중(마감 7일 뒤)인 모집글
+    public static Post.PostBuilder post(User author) {
+        return Post.builder()
+                .title("모집글")
+                .content("백엔드 개발자 모집")
+                .endedAt(LocalDate.now().plusDays(7))
+                .category(PostCategory.PROJECT)
+                .type(PostType.ONLINE)
+                .user(author);
+    }
+
+    public static Apply.ApplyBuilder apply(Post post, User user, Resume resume) {
+        return Apply.builder().post(post).user(user).resume(resume).reason("지원 동기");
+    }
+}